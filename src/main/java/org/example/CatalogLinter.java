@@ -0,0 +1,314 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Lint catalog dich truoc khi deploy, khong can trinh duyet
+ *
+ * Dung lai cac ham static cua checker (findUntranslatedEnglishText,
+ * checkTextLength, predictTranslatedLength, validateCurrency, validateDate) cho
+ * tung muc cua catalog moi ngon ngu. Moi catalog duoc chia thanh cac khoang
+ * BATCH_SIZE muc chay tren ForkJoinPool, doc ban chup khong khoa cua catalog
+ * (TranslationCatalog.freeze); loi duoc day ra sink ngay khi tim thay (khong gom
+ * vao bo nho).
+ *
+ * Cach dung: exec:java -Dexec.mainClass=org.example.CatalogLinter
+ * -Dexec.args="catalogs report/catalog_lint.csv"
+ */
+public class CatalogLinter {
+
+    public static final int BATCH_SIZE = 4096; // So muc toi da cua mot task la
+    public static final double EXPANSION_TOLERANCE = 1.5; // Dai hon du doan 50% = canh bao
+    public static final int MIN_EXPANSION_SOURCE = 10; // Chuoi goc ngan hon: bo qua ty le
+
+    public enum Rule {
+        UNTRANSLATED, // Ban dich giong het chuoi goc
+        ENGLISH_TEXT, // Ban dich con cum tu tieng Anh
+        TEXT_LENGTH, // Nhan vua khung o tieng Anh, ban dich vuot nguong
+        EXPANSION, // Dai hon nhieu so voi du doan
+        CURRENCY,
+        DATE
+    }
+
+    public enum Severity {
+        ERROR,
+        WARNING
+    }
+
+    private static final ThreadLocal<PriceScanner.PriceToken> TOKEN = ThreadLocal
+            .withInitial(PriceScanner.PriceToken::new);
+
+    private final ForkJoinPool pool;
+
+    public CatalogLinter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CatalogLinter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ==================== LINT ====================
+
+    /**
+     * Lint moi muc cua moi catalog song song
+     *
+     * @param catalogs Ma ngon ngu -> catalog (ma khong co LanguageConfig bi bo qua)
+     * @param sink     Nhan tung loi tu cac thread worker (phai thread-safe)
+     */
+    public Summary lint(Map<String, TranslationCatalog> catalogs, Consumer<Finding> sink) {
+        long start = System.nanoTime();
+        Counters counters = new Counters();
+        Consumer<Finding> counted = finding -> {
+            counters.byRule[finding.rule.ordinal()].increment();
+            sink.accept(finding);
+        };
+
+        List<String> skipped = new ArrayList<>();
+        List<LintRange> tasks = new ArrayList<>();
+        for (Map.Entry<String, TranslationCatalog> entry : catalogs.entrySet()) {
+            LanguageConfig config = LanguageConfig.get(entry.getKey());
+            if (config == null) {
+                skipped.add(entry.getKey());
+                continue;
+            }
+            TranslationCatalog.Entries catalog = entry.getValue().freeze();
+            tasks.add(new LintRange(catalog, config, 0, catalog.size(), counted, counters));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        return new Summary(counters, skipped, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Lint mot muc (chuoi goc tieng Anh -> ban dich)
+     */
+    public static List<Finding> lintEntry(String source, String target, LanguageConfig config) {
+        List<Finding> findings = new ArrayList<>();
+        lintEntry(source, target, config, findings::add);
+        return findings;
+    }
+
+    static void lintEntry(String source, String target, LanguageConfig config, Consumer<Finding> sink) {
+        String code = config.code;
+
+        // Chua dich: ca chuoi giong goc (canh bao: TranslationCatalog coi ban dich
+        // trung chuoi goc la giu nguyen co chu y - ten rieng, "Total"...), hoac
+        // con cum tu tieng Anh
+        if (!"en".equals(code)) {
+            long sourceHash = EnglishCorpus.hash(source);
+            if (sourceHash != 0 && sourceHash == EnglishCorpus.hash(target)) {
+                sink.accept(new Finding(code, source, target, Rule.UNTRANSLATED, Severity.WARNING,
+                        "Ban dich giong het chuoi goc (kiem tra co phai giu nguyen co chu y)"));
+            } else {
+                List<String> english = TextChecker.findUntranslatedEnglishText(target, code);
+                if (!english.isEmpty())
+                    sink.accept(new Finding(code, source, target, Rule.ENGLISH_TEXT, Severity.ERROR,
+                            "Con tieng Anh: " + String.join(", ", english)));
+            }
+        }
+
+        // Do dai: chi nhan ngan (vua nguong o tieng Anh) moi co khung co dinh
+        if (TextChecker.checkTextLength(source, "en").status == TextChecker.TextLengthStatus.OK) {
+            TextChecker.TextLengthResult length = TextChecker.checkTextLength(target, code);
+            if (length.status == TextChecker.TextLengthStatus.TOO_LONG)
+                sink.accept(new Finding(code, source, target, Rule.TEXT_LENGTH, Severity.ERROR, length.message));
+        }
+        if (source.length() >= MIN_EXPANSION_SOURCE) {
+            int predicted = TextChecker.predictTranslatedLength(source, code);
+            if (target.length() > predicted * EXPANSION_TOLERANCE)
+                sink.accept(new Finding(code, source, target, Rule.EXPANSION, Severity.WARNING,
+                        "Dai " + target.length() + " ky tu, du doan " + predicted));
+        }
+
+        // Gia va ngay deu co chu so: phan lon chuoi giao dien bo qua ngay
+        if (!hasDigit(target))
+            return;
+        if (CurrencyChecker.scanPrice(target, config.decimalSeparator, TOKEN.get())) {
+            CurrencyChecker.CurrencyCheckResult price = CurrencyChecker.validateCurrency(target, config);
+            if (!price.isValid)
+                sink.accept(new Finding(code, source, target, Rule.CURRENCY, Severity.ERROR, price.errorMessage));
+            else if (price.warningMessage != null)
+                sink.accept(new Finding(code, source, target, Rule.CURRENCY, Severity.WARNING,
+                        price.warningMessage));
+        }
+        for (DateTokenizer.DateToken token : DateTokenizer.forLanguage(code).scan(target)) {
+            DateChecker.DateCheckResult date = DateChecker.validateDate(token.text, config);
+            if (!date.isValid)
+                sink.accept(new Finding(code, source, target, Rule.DATE, Severity.ERROR, date.errorMessage));
+        }
+    }
+
+    // ==================== CLI ====================
+
+    /**
+     * Lint moi catalog trong thu muc (ten file = ma ngon ngu), ghi loi ra CSV
+     */
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "catalogs");
+        Path report = Paths.get(args.length > 1 ? args[1] : "report/catalog_lint.csv");
+
+        Map<String, Path> files = TranslationCatalog.locateAll(dir);
+        long start = System.nanoTime();
+        Map<String, TranslationCatalog> catalogs = TranslationCatalog.loadAll(files);
+        System.out.println("[LINT] Da nap " + catalogs.size() + " catalog trong "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        Summary summary;
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+            out.println("language,rule,severity,source,target,message");
+            summary = new CatalogLinter().lint(catalogs, finding -> {
+                synchronized (out) {
+                    out.println(finding.toCsv());
+                }
+            });
+        }
+        System.out.println("[LINT] " + summary);
+        System.out.println("[LINT] Bao cao: " + report);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static boolean hasDigit(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isDigit(text.charAt(i)))
+                return true;
+        }
+        return false;
+    }
+
+    static String csv(String value) {
+        if (value == null)
+            return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Task ForkJoin: chia doi khoang muc cho den khi con BATCH_SIZE
+     */
+    private static final class LintRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final TranslationCatalog.Entries catalog;
+        private final LanguageConfig config;
+        private final int from;
+        private final int to;
+        private final Consumer<Finding> sink;
+        private final Counters counters;
+
+        LintRange(TranslationCatalog.Entries catalog, LanguageConfig config, int from, int to, Consumer<Finding> sink,
+                Counters counters) {
+            this.catalog = catalog;
+            this.config = config;
+            this.from = from;
+            this.to = to;
+            this.sink = sink;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LintRange(catalog, config, from, middle, sink, counters),
+                        new LintRange(catalog, config, middle, to, sink, counters));
+                return;
+            }
+            for (int i = from; i < to; i++)
+                lintEntry(catalog.source(i), catalog.target(i), config, sink);
+            counters.entries.add(to - from);
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder entries = new LongAdder();
+        final LongAdder[] byRule = new LongAdder[Rule.values().length];
+
+        Counters() {
+            for (int i = 0; i < byRule.length; i++)
+                byRule[i] = new LongAdder();
+        }
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot loi cua mot muc catalog
+     */
+    public static class Finding {
+        public final String language;
+        public final String source;
+        public final String target;
+        public final Rule rule;
+        public final Severity severity;
+        public final String message;
+
+        Finding(String language, String source, String target, Rule rule, Severity severity, String message) {
+            this.language = language;
+            this.source = source;
+            this.target = target;
+            this.rule = rule;
+            this.severity = severity;
+            this.message = message;
+        }
+
+        public String toCsv() {
+            return language + "," + rule + "," + severity + "," + csv(source) + "," + csv(target) + ","
+                    + csv(message);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + severity + "] " + language + " " + rule + ": '" + target + "' - " + message;
+        }
+    }
+
+    /**
+     * Tong ket mot lan lint
+     */
+    public static class Summary {
+        public final long entries;
+        public final Map<Rule, Long> byRule = new EnumMap<>(Rule.class);
+        public final List<String> skippedLanguages; // Khong co LanguageConfig
+        public final long millis;
+
+        Summary(Counters counters, List<String> skippedLanguages, long millis) {
+            this.entries = counters.entries.sum();
+            for (Rule rule : Rule.values())
+                byRule.put(rule, counters.byRule[rule.ordinal()].sum());
+            this.skippedLanguages = skippedLanguages;
+            this.millis = millis;
+        }
+
+        public long findings() {
+            long total = 0;
+            for (long count : byRule.values())
+                total += count;
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return entries + " muc, " + findings() + " loi " + byRule + " trong " + millis + " ms"
+                    + (skippedLanguages.isEmpty() ? "" : ", bo qua " + skippedLanguages);
+        }
+    }
+}
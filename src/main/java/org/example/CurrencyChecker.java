@@ -2,7 +2,6 @@ package org.example;
 
 import org.openqa.selenium.*;
 import java.util.*;
-import java.util.regex.*;
 
 /**
  * Kiem tra dinh dang tien te
@@ -18,9 +17,23 @@ public class CurrencyChecker {
     private static final String[] VALID_CURRENCY_SYMBOLS = { "€", "$", "£", "¥", "₩", "₫", "฿", "₹", "zł", "Kč", "kr",
             "лв", "₽", "грн", "₺", "Ft", "lei", "L", "R$", "Rp", "KM", "NT$", "₴", "₪", "﷼", "৳", "د.إ", "ر.س" };
 
-    // Pattern de nhan dien gia tien
-    private static final Pattern PRICE_PATTERN = Pattern.compile(
-            "([€$£¥₩₫฿₹₽₴₪﷼৳₺])?\\s*([\\d,. ]+(?:[.,]\\d{1,2})?)\\s*([€$£¥₩₫฿₹₽₴₪﷼৳₺]|zł|Kč|kr|лв|грн|Ft|lei|L|R\\$|Rp|KM|NT\\$|د\\.إ|ر\\.س)?");
+    // Bo quet gia tien mot luot, dung chung cho moi ham kiem tra
+    private static final PriceScanner SCANNER = new PriceScanner(VALID_CURRENCY_SYMBOLS);
+
+    // Token tai su dung theo thread (khong cap phat moi lan kiem tra)
+    private static final ThreadLocal<PriceScanner.PriceToken> TOKEN = ThreadLocal
+            .withInitial(PriceScanner.PriceToken::new);
+
+    // Mot lan goi JS cho ca trang: [URL, [[ma san pham, text, la gia "la"], ...]]
+    // Gia "la" = khong chua phan tu gia con va khong phai gia goc (regular-price)
+    public static final String PRICE_SCRIPT = "var out = [];"
+            + "document.querySelectorAll(arguments[0]).forEach(function(e) {"
+            + "  var p = e.closest('[data-id-product]');"
+            + "  var leaf = e.querySelector(\"[class*='price']\") === null"
+            + "      && !/regular-price/.test(e.className);"
+            + "  out.push([p ? p.getAttribute('data-id-product') : '', (e.innerText || '').trim(), leaf]);"
+            + "});"
+            + "return [window.location.href, out];";
 
     public CurrencyChecker(WebDriver driver) {
         this.driver = driver;
@@ -39,12 +52,7 @@ public class CurrencyChecker {
         if (priceText == null || priceText.isEmpty())
             return null;
 
-        for (String symbol : VALID_CURRENCY_SYMBOLS) {
-            if (priceText.contains(symbol)) {
-                return symbol;
-            }
-        }
-        return null;
+        return SCANNER.findSymbol(priceText);
     }
 
     /**
@@ -57,10 +65,7 @@ public class CurrencyChecker {
         if (priceText == null || priceText.isEmpty())
             return false;
 
-        String symbol = detectCurrencySymbol(priceText);
-        boolean hasNumber = priceText.matches(".*\\d+.*");
-
-        return symbol != null && hasNumber;
+        return SCANNER.scan(priceText, (char) 0, TOKEN.get());
     }
 
     /**
@@ -74,26 +79,21 @@ public class CurrencyChecker {
         if (priceText == null || priceText.isEmpty())
             return -1;
 
-        // Loai bo ky hieu tien te va khoang trang
-        String cleaned = priceText.replaceAll("[^0-9,. ]", "").trim();
-
-        if (cleaned.isEmpty())
-            return -1;
-
-        try {
-            // Chuan hoa dinh dang
-            if (",".equals(decimalSeparator)) {
-                // Format chau Au: 1.234,56 -> 1234.56
-                cleaned = cleaned.replace(".", "").replace(",", ".").replace(" ", "");
-            } else {
-                // Format My: 1,234.56 -> 1234.56
-                cleaned = cleaned.replace(",", "").replace(" ", "");
-            }
+        PriceScanner.PriceToken token = TOKEN.get();
+        SCANNER.scan(priceText, decimalChar(decimalSeparator), token);
+        return token.value();
+    }
 
-            return Double.parseDouble(cleaned);
-        } catch (NumberFormatException e) {
-            return -1;
-        }
+    /**
+     * Quet chuoi gia tien mot luot (ky hieu, minor units, dau phan cach)
+     *
+     * @param priceText        Chuoi gia tien
+     * @param decimalSeparator Dau thap phan ("." hoac ","), null = tu suy ra
+     * @param token            Token ket qua (tai su dung duoc)
+     * @return true neu co ca ky hieu va so
+     */
+    public static boolean scanPrice(String priceText, String decimalSeparator, PriceScanner.PriceToken token) {
+        return SCANNER.scan(priceText, decimalChar(decimalSeparator), token);
     }
 
     /**
@@ -113,21 +113,28 @@ public class CurrencyChecker {
             return result;
         }
 
+        // Quet mot luot: ky hieu + so
+        PriceScanner.PriceToken token = TOKEN.get();
+        SCANNER.scan(priceText, decimalChar(config.decimalSeparator), token);
+
         // Kiem tra ky hieu tien te
-        result.detectedSymbol = detectCurrencySymbol(priceText);
+        result.detectedSymbol = token.symbol;
+        result.symbolPrefix = token.symbolPrefix;
         if (result.detectedSymbol == null) {
             result.errorMessage = "Khong tim thay ky hieu tien te";
             return result;
         }
 
         // Kiem tra so
-        if (!priceText.matches(".*\\d+.*")) {
+        if (!token.hasNumber()) {
             result.errorMessage = "Khong tim thay gia tri so";
             return result;
         }
 
         // Kiem tra dau phan cach thap phan
-        result.numericValue = extractNumericValue(priceText, config.decimalSeparator);
+        result.minorUnits = token.minorUnits;
+        result.fractionDigits = token.fractionDigits;
+        result.numericValue = token.value();
         if (result.numericValue < 0) {
             result.errorMessage = "Khong the phan tich gia tri so";
             return result;
@@ -159,16 +166,22 @@ public class CurrencyChecker {
         if (numberText == null || numberText.isEmpty())
             return false;
 
-        // Loai bo ky hieu tien te
-        String cleaned = numberText.replaceAll("[^0-9,. ]", "").trim();
+        // My: 1,234.56 / Chau Au: 1.234,56 hoac 1 234,56 (khong kiem tra kich thuoc nhom)
+        return NumberGrammar.lenient(type).validate(numberText);
+    }
 
-        if (type == LanguageConfig.DecimalSeparatorType.DOT) {
-            // My: 1,234.56
-            return cleaned.matches("[\\d,]+(\\.\\d{1,2})?");
-        } else {
-            // Chau Au: 1.234,56 hoac 1 234,56
-            return cleaned.matches("[\\d. ]+([,]\\d{1,2})?");
-        }
+    /**
+     * Kiem tra dinh dang so theo ngu phap so cua ngon ngu (dau thap phan, dau
+     * nhom, kich thuoc nhom, dau am, NBSP / NNBSP)
+     * 
+     * @param numberText Chuoi so (co the chua ky hieu tien te / van ban khac)
+     * @param config     Cau hinh ngon ngu
+     * @return true neu moi so trong chuoi deu dung dinh dang
+     */
+    public static boolean validateNumberFormat(String numberText, LanguageConfig config) {
+        if (numberText == null || numberText.isEmpty())
+            return false;
+        return NumberGrammar.forConfig(config).validate(numberText);
     }
 
     /**
@@ -196,6 +209,10 @@ public class CurrencyChecker {
         return result;
     }
 
+    private static char decimalChar(String decimalSeparator) {
+        return decimalSeparator != null && !decimalSeparator.isEmpty() ? decimalSeparator.charAt(0) : 0;
+    }
+
     // ==================== CLASS KET QUA ====================
 
     /**
@@ -204,7 +221,10 @@ public class CurrencyChecker {
     public static class CurrencyCheckResult {
         public String originalText;
         public String detectedSymbol;
+        public boolean symbolPrefix;
         public double numericValue;
+        public long minorUnits;
+        public int fractionDigits;
         public boolean isValid;
         public String errorMessage;
         public String warningMessage;
@@ -232,11 +252,13 @@ public class CurrencyChecker {
      * Kiem tra dinh dang tien te tren trang
      */
     public void check(LanguageConfig config) {
-        System.out.println("\n[KIEM TRA TIEN TE]");
-        System.out.println("   Tien te mong doi: EUR (Euro) - mac dinh cua PrestaShop demo");
+        L10nLogger.setSection("TIEN TE");
+        L10nLogger.info("\n[KIEM TRA TIEN TE]");
+        L10nLogger.info("   Tien te mong doi: EUR (Euro) - mac dinh cua PrestaShop demo");
 
         try {
             Set<String> checkedPrices = new HashSet<>();
+            NumberGrammar grammar = NumberGrammar.forConfig(config);
             int validCount = 0;
             int errorCount = 0;
 
@@ -244,7 +266,7 @@ public class CurrencyChecker {
             List<String> priceTexts = extractPricesWithRetry();
 
             if (priceTexts.isEmpty()) {
-                System.out.println("   [CANH BAO] Khong tim thay gia tien tren trang nay.");
+                L10nLogger.warn("   [CANH BAO] Khong tim thay gia tien tren trang nay.");
                 return;
             }
 
@@ -257,24 +279,24 @@ public class CurrencyChecker {
                 CurrencyCheckResult result = validateCurrency(priceText, config);
 
                 if (result.isValid) {
-                    String displayPrice = toAsciiSafe(priceText);
-                    System.out
-                            .println("   [OK] Gia: " + displayPrice + " (ky hieu: " + result.detectedSymbol + ")");
+                    L10nLogger.info("   [OK] Gia: " + priceText + " (ky hieu: " + result.detectedSymbol + ")");
                     if (result.warningMessage != null) {
-                        System.out.println("        [CANH BAO] " + result.warningMessage);
+                        L10nLogger.warn("        [CANH BAO] " + result.warningMessage);
+                    }
+                    if (!grammar.validate(priceText)) {
+                        L10nLogger.warn("        [CANH BAO] Dinh dang so khong dung quy uoc cua ngon ngu: " + priceText);
                     }
                     validCount++;
                 } else {
-                    String displayPrice = toAsciiSafe(priceText);
-                    System.out.println("   [LOI] Gia: " + displayPrice + " - " + result.errorMessage);
+                    L10nLogger.warn("   [LOI] Gia: " + priceText + " - " + result.errorMessage);
                     errorCount++;
                 }
             }
 
-            System.out.println("   >> Tong ket: " + validCount + " gia dung, " + errorCount + " gia loi");
+            L10nLogger.info("   >> Tong ket: " + validCount + " gia dung, " + errorCount + " gia loi");
 
         } catch (Exception e) {
-            System.out.println("   [LOI] Loi kiem tra tien te: " + e.getMessage());
+            L10nLogger.error("   [LOI] Loi kiem tra tien te: " + e.getMessage());
         }
     }
 
@@ -305,7 +327,7 @@ public class CurrencyChecker {
                 }
 
             } catch (Exception e) {
-                System.out.println(
+                L10nLogger.warn(
                         "   [RETRY " + attempt + "/" + MAX_RETRY_ATTEMPTS + "] Loi lay gia tien: " + e.getMessage());
                 if (attempt < MAX_RETRY_ATTEMPTS) {
                     try {
@@ -349,21 +371,4 @@ public class CurrencyChecker {
     public List<String> extractPricesFromPage() {
         return extractPricesWithRetry();
     }
-
-    /**
-     * Chuyen ky tu Unicode thanh ASCII an toan cho console
-     */
-    private String toAsciiSafe(String text) {
-        if (text == null)
-            return "";
-        return text
-                .replace("€", "EUR")
-                .replace("£", "GBP")
-                .replace("¥", "JPY")
-                .replace("₩", "KRW")
-                .replace("₫", "VND")
-                .replace("฿", "THB")
-                .replace("₹", "INR")
-                .replace("₽", "RUB");
-    }
 }
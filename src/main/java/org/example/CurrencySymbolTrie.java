@@ -0,0 +1,127 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Trie ky hieu tien te da bien dich (longest-match, co kiem tra ranh gioi tu)
+ *
+ * - Longest-match: "R$" / "NT$" thang "$" khi cung bat dau tai mot vi tri.
+ * - Ranh gioi tu: ky hieu bat dau (ket thuc) bang chu cai chi khop khi ky tu
+ * lien truoc (lien sau) khong phai chu cai. Nho vay "L" khong khop trong
+ * "Lorem", "kr" khong khop trong "kraft", nhung van khop "10 L" hay "99kr".
+ *
+ * Moi vi tri chi duyet toi da do dai ky hieu dai nhat, nen tim kiem la
+ * O(do dai chuoi) bat ke so luong tien te. Trie bat bien sau khi tao.
+ */
+public class CurrencySymbolTrie {
+
+    private final String[] symbols;
+
+    // Node i: canh ra sap xep theo ky tu (edgeChars[i]) -> node con (edgeTargets[i])
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    // Chi so ky hieu ket thuc tai node, -1 neu khong co
+    private final int[] terminal;
+
+    /**
+     * @param symbols Danh sach ky hieu tien te (trung lap bi bo qua)
+     */
+    public CurrencySymbolTrie(String[] symbols) {
+        this.symbols = symbols.clone();
+
+        // Dung trie tam bang TreeMap roi nen thanh mang
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        terminals.add(-1);
+        for (int s = 0; s < this.symbols.length; s++) {
+            String symbol = this.symbols[s];
+            if (symbol == null || symbol.isEmpty())
+                continue;
+            int node = 0;
+            for (int k = 0; k < symbol.length(); k++) {
+                Integer next = edges.get(node).get(symbol.charAt(k));
+                if (next == null) {
+                    next = edges.size();
+                    edges.get(node).put(symbol.charAt(k), next);
+                    edges.add(new TreeMap<>());
+                    terminals.add(-1);
+                }
+                node = next;
+            }
+            if (terminals.get(node) < 0)
+                terminals.set(node, s);
+        }
+
+        int count = edges.size();
+        edgeChars = new char[count][];
+        edgeTargets = new int[count][];
+        terminal = new int[count];
+        for (int node = 0; node < count; node++) {
+            TreeMap<Character, Integer> out = edges.get(node);
+            edgeChars[node] = new char[out.size()];
+            edgeTargets[node] = new int[out.size()];
+            int e = 0;
+            for (Map.Entry<Character, Integer> entry : out.entrySet()) {
+                edgeChars[node][e] = entry.getKey();
+                edgeTargets[node][e] = entry.getValue();
+                e++;
+            }
+            terminal[node] = terminals.get(node);
+        }
+    }
+
+    /**
+     * Ky hieu dai nhat hop le bat dau tai pos
+     *
+     * @return Chi so ky hieu (trong mang truyen vao constructor) hoac -1
+     */
+    public int matchAt(CharSequence text, int pos) {
+        int len = text.length();
+        if (pos > 0 && Character.isLetter(text.charAt(pos - 1)) && Character.isLetter(text.charAt(pos)))
+            return -1;
+
+        int best = -1;
+        int node = 0;
+        for (int i = pos; i < len; i++) {
+            int slot = Arrays.binarySearch(edgeChars[node], text.charAt(i));
+            if (slot < 0)
+                break;
+            node = edgeTargets[node][slot];
+            int candidate = terminal[node];
+            if (candidate >= 0 && endsOnBoundary(text, i))
+                best = candidate;
+        }
+        return best;
+    }
+
+    /**
+     * Tim ky hieu dau tien (trai nhat, dai nhat) tu vi tri from
+     *
+     * @return Chi so ky hieu hoac -1
+     */
+    public int find(CharSequence text, int from) {
+        for (int i = from, len = text.length(); i < len; i++) {
+            // Loai nhanh ky tu khong the bat dau ky hieu
+            if (Arrays.binarySearch(edgeChars[0], text.charAt(i)) < 0)
+                continue;
+            int matched = matchAt(text, i);
+            if (matched >= 0)
+                return matched;
+        }
+        return -1;
+    }
+
+    public String symbol(int index) {
+        return symbols[index];
+    }
+
+    public int length(int index) {
+        return symbols[index].length();
+    }
+
+    private static boolean endsOnBoundary(CharSequence text, int last) {
+        return last + 1 >= text.length() || !Character.isLetter(text.charAt(last))
+                || !Character.isLetter(text.charAt(last + 1));
+    }
+}
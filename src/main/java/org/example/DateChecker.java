@@ -2,6 +2,7 @@ package org.example;
 
 import org.openqa.selenium.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -20,16 +21,8 @@ public class DateChecker {
 
     // ==================== STATIC PATTERNS ====================
 
-    // Cac ten thang tieng Anh
-    private static final String[] ENGLISH_MONTHS_FULL = {
-            "January", "February", "March", "April", "May", "June",
-            "July", "August", "September", "October", "November", "December"
-    };
-
-    private static final String[] ENGLISH_MONTHS_SHORT = {
-            "Jan", "Feb", "Mar", "Apr", "May", "Jun",
-            "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
-    };
+    // Regex datePattern da bien dich (cho validateDate nhan pattern dang chuoi)
+    private static final Map<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
 
     // Pattern kiem tra dinh dang ngay
     private static final Pattern DATE_PATTERN_NUMERIC = Pattern.compile(
@@ -65,32 +58,10 @@ public class DateChecker {
             String second = numericMatcher.group(2);
             String third = numericMatcher.group(3);
 
-            int firstNum = Integer.parseInt(first);
-            int secondNum = Integer.parseInt(second);
-            int thirdNum = Integer.parseInt(third);
-
-            // YYYY-MM-DD (ISO)
-            if (first.length() == 4) {
-                return DateFormat.ISO;
-            }
-
-            // Kiem tra xem co phai nam o cuoi khong
-            if (third.length() == 4) {
-                // MM/DD/YYYY (US) - first <= 12 va second > 12 (ngay chac chan)
-                if (firstNum <= 12 && secondNum > 12) {
-                    return DateFormat.MDY;
-                }
-                // DD/MM/YYYY - first > 12 (ngay chac chan)
-                if (firstNum > 12 && firstNum <= 31) {
-                    return DateFormat.DMY;
-                }
-                // Ambiguous - ca hai deu co the la thang hoac ngay
-                if (firstNum <= 12 && secondNum <= 12) {
-                    return DateFormat.AMBIGUOUS;
-                }
-                // Mac dinh DD/MM/YYYY cho cac truong hop khac
-                return DateFormat.DMY;
-            }
+            DateFormat format = classifyNumeric(first.length(), Integer.parseInt(first), Integer.parseInt(second),
+                    third.length());
+            if (format != null)
+                return format;
         }
 
         // Kiem tra dinh dang co ten thang
@@ -101,6 +72,37 @@ public class DateChecker {
         return null;
     }
 
+    /**
+     * Phan loai ngay dang so theo do dai / gia tri cac thanh phan
+     *
+     * @return DateFormat hoac null neu khong xac dinh (nam 2 chu so o cuoi)
+     */
+    static DateFormat classifyNumeric(int firstLength, int firstNum, int secondNum, int thirdLength) {
+        // YYYY-MM-DD (ISO)
+        if (firstLength == 4) {
+            return DateFormat.ISO;
+        }
+
+        // Kiem tra xem co phai nam o cuoi khong
+        if (thirdLength == 4) {
+            // MM/DD/YYYY (US) - first <= 12 va second > 12 (ngay chac chan)
+            if (firstNum <= 12 && secondNum > 12) {
+                return DateFormat.MDY;
+            }
+            // DD/MM/YYYY - first > 12 (ngay chac chan)
+            if (firstNum > 12 && firstNum <= 31) {
+                return DateFormat.DMY;
+            }
+            // Ambiguous - ca hai deu co the la thang hoac ngay
+            if (firstNum <= 12 && secondNum <= 12) {
+                return DateFormat.AMBIGUOUS;
+            }
+            // Mac dinh DD/MM/YYYY cho cac truong hop khac
+            return DateFormat.DMY;
+        }
+        return null;
+    }
+
     /**
      * Kiem tra xem ngay co chua ten thang tieng Anh khong
      * 
@@ -111,15 +113,9 @@ public class DateChecker {
         if (dateText == null)
             return false;
 
-        for (String month : ENGLISH_MONTHS_FULL) {
-            if (dateText.contains(month))
-                return true;
-        }
-        for (String month : ENGLISH_MONTHS_SHORT) {
-            if (dateText.contains(month))
-                return true;
-        }
-        return false;
+        // Mot luot qua cac tu, tra bang ten thang tieng Anh (java.time); ten thang
+        // tieng Anh luon viet hoa nen "may" / "march" thuong khong tinh
+        return DateTokenizer.forLanguage("en").containsMonthName(dateText, true);
     }
 
     /**
@@ -131,6 +127,25 @@ public class DateChecker {
      * @return DateCheckResult
      */
     public static DateCheckResult validateDate(String dateText, String languageCode, String expectedPattern) {
+        Pattern compiled = expectedPattern != null && !expectedPattern.isEmpty()
+                ? PATTERN_CACHE.computeIfAbsent(expectedPattern, Pattern::compile)
+                : null;
+        return validateDateAgainst(dateText, languageCode, compiled);
+    }
+
+    /**
+     * Xac thuc dinh dang ngay theo cau hinh ngon ngu, dung regex datePattern da
+     * bien dich san trong LanguageConfig registry
+     *
+     * @param dateText Chuoi ngay
+     * @param config   Cau hinh ngon ngu
+     * @return DateCheckResult
+     */
+    public static DateCheckResult validateDate(String dateText, LanguageConfig config) {
+        return validateDateAgainst(dateText, config.code, LanguageConfig.getDatePattern(config));
+    }
+
+    private static DateCheckResult validateDateAgainst(String dateText, String languageCode, Pattern expectedPattern) {
         DateCheckResult result = new DateCheckResult();
         result.originalText = dateText;
         result.isValid = false;
@@ -149,6 +164,17 @@ public class DateChecker {
             return result;
         }
 
+        // Ten thang / thu cua ngon ngu khac
+        if (languageCode != null) {
+            for (DateTokenizer.DateToken token : DateTokenizer.forLanguage(languageCode).scan(dateText)) {
+                if (token.isWrongLanguage()) {
+                    result.errorMessage = "Tim thay ten thang/thu tieng " + token.foreignLanguage + " trong trang "
+                            + languageCode;
+                    return result;
+                }
+            }
+        }
+
         // Kiem tra dinh dang US trong cac nuoc chau Au
         if (result.detectedFormat == DateFormat.MDY && !isUSDateFormat(languageCode)) {
             result.errorMessage = "Dinh dang MM/DD/YYYY (My), nhung " + languageCode + " dung DD/MM/YYYY";
@@ -156,9 +182,9 @@ public class DateChecker {
         }
 
         // Kiem tra voi pattern mong doi
-        if (expectedPattern != null && !expectedPattern.isEmpty()) {
-            if (!dateText.matches(expectedPattern)) {
-                result.warningMessage = "Ngay khong khop voi pattern mong doi: " + expectedPattern;
+        if (expectedPattern != null) {
+            if (!expectedPattern.matcher(dateText).matches()) {
+                result.warningMessage = "Ngay khong khop voi pattern mong doi: " + expectedPattern.pattern();
             }
         }
 
@@ -166,6 +192,45 @@ public class DateChecker {
         return result;
     }
 
+    /**
+     * Xac thuc mot ngay da duoc DateTokenizer tach ra (khong quet lai chuoi)
+     *
+     * @param token        Ngay tu DateTokenizer.scan
+     * @param languageCode Ma ngon ngu cua trang
+     * @return DateCheckResult
+     */
+    public static DateCheckResult validateToken(DateTokenizer.DateToken token, String languageCode) {
+        DateCheckResult result = new DateCheckResult();
+        result.originalText = token.text;
+        result.detectedFormat = token.format;
+        result.isValid = false;
+
+        if (token.isWrongLanguage()) {
+            if ("en".equals(token.foreignLanguage)) {
+                result.hasEnglishMonth = true;
+                result.errorMessage = "Tim thay ten thang tieng Anh trong trang " + languageCode;
+            } else {
+                result.errorMessage = "Tim thay ten thang/thu tieng " + token.foreignLanguage + " trong trang "
+                        + languageCode;
+            }
+            return result;
+        }
+
+        if (token.format == DateFormat.MDY && !isUSDateFormat(languageCode)) {
+            result.errorMessage = "Dinh dang MM/DD/YYYY (My), nhung " + languageCode + " dung DD/MM/YYYY";
+            return result;
+        }
+
+        if (!token.matchesExpected) {
+            Pattern expected = LanguageConfig.getDatePattern(languageCode);
+            result.warningMessage = "Ngay khong khop voi pattern mong doi"
+                    + (expected != null ? ": " + expected.pattern() : "");
+        }
+
+        result.isValid = true;
+        return result;
+    }
+
     /**
      * Kiem tra ngon ngu co dung dinh dang ngay kieu My khong
      */
@@ -267,18 +332,10 @@ public class DateChecker {
         if (text == null)
             return dates;
 
-        // Tim dinh dang so
-        Matcher numericMatcher = DATE_PATTERN_NUMERIC.matcher(text);
-        while (numericMatcher.find()) {
-            dates.add(numericMatcher.group());
+        // Mot luot: ngay dang so + ngay co ten thang (ten thang moi ngon ngu)
+        for (DateTokenizer.DateToken token : DateTokenizer.forLanguage("en").scan(text)) {
+            dates.add(token.text);
         }
-
-        // Tim dinh dang co ten thang
-        Matcher monthMatcher = DATE_PATTERN_MONTH_NAME.matcher(text);
-        while (monthMatcher.find()) {
-            dates.add(monthMatcher.group());
-        }
-
         return dates;
     }
 
@@ -322,16 +379,17 @@ public class DateChecker {
      * Kiem tra dinh dang ngay thang tren trang
      */
     public void check(LanguageConfig config) {
-        System.out.println("\n[KIEM TRA DINH DANG NGAY THANG]");
+        L10nLogger.setSection("NGAY THANG");
+        L10nLogger.info("\n[KIEM TRA DINH DANG NGAY THANG]");
 
         try {
             String bodyText = driver.findElement(By.tagName("body")).getText();
 
-            // Su dung ham static de trich xuat ngay
-            List<String> dates = extractDates(bodyText);
+            // Mot luot qua ca trang: tach ngay + ten thang/thu theo ngon ngu
+            List<DateTokenizer.DateToken> dates = DateTokenizer.forLanguage(config.code).scan(bodyText);
 
             if (dates.isEmpty()) {
-                System.out.println("   [INFO] Khong tim thay ngay thang tren trang nay.");
+                L10nLogger.info("   [INFO] Khong tim thay ngay thang tren trang nay.");
                 return;
             }
 
@@ -339,32 +397,33 @@ public class DateChecker {
             int validCount = 0;
             int errorCount = 0;
 
-            for (String dateStr : dates) {
+            for (DateTokenizer.DateToken token : dates) {
+                String dateStr = token.text;
                 if (checkedDates.contains(dateStr))
                     continue;
                 checkedDates.add(dateStr);
 
                 // Su dung ham static de kiem tra
-                DateCheckResult result = validateDate(dateStr, currentLanguage, config.datePattern);
+                DateCheckResult result = validateToken(token, config.code);
 
                 if (result.isValid) {
-                    System.out.println("   [OK] Ngay: " + dateStr + " (format: " + result.detectedFormat + ")");
+                    L10nLogger.info("   [OK] Ngay: " + dateStr + " (format: " + result.detectedFormat + ")");
                     if (result.warningMessage != null) {
-                        System.out.println("        [CANH BAO] " + result.warningMessage);
+                        L10nLogger.warn("        [CANH BAO] " + result.warningMessage);
                     }
                     validCount++;
                 } else {
-                    System.out.println("   [LOI] Ngay: " + dateStr + " - " + result.errorMessage);
+                    L10nLogger.warn("   [LOI] Ngay: " + dateStr + " - " + result.errorMessage);
                     errors.add(new L10nError("DATE_FORMAT", "Dinh dang ngay sai",
                             result.errorMessage + ": " + dateStr, driver.getCurrentUrl()));
                     errorCount++;
                 }
             }
 
-            System.out.println("   >> Tong ket: " + validCount + " ngay dung, " + errorCount + " ngay loi");
+            L10nLogger.info("   >> Tong ket: " + validCount + " ngay dung, " + errorCount + " ngay loi");
 
         } catch (Exception e) {
-            System.out.println("   [LOI] Loi kiem tra ngay thang: " + e.getMessage());
+            L10nLogger.error("   [LOI] Loi kiem tra ngay thang: " + e.getMessage());
         }
     }
 
@@ -0,0 +1,459 @@
+package org.example;
+
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Bo tach ngay thang mot luot (single-pass) theo ngon ngu
+ *
+ * Moi ngon ngu co bang ten thang / thu trong tuan (FULL, SHORT va dang
+ * STANDALONE) lay tu java.time TextStyle cua locale tuong ung, tao mot lan va
+ * dung chung giua cac thread. Mot bang chung cho tat ca ngon ngu ho tro cho
+ * biet ten thang "ngoai" thuoc ngon ngu nao (tieng Anh duoc uu tien).
+ *
+ * Quet van ban tu trai sang phai, moi vi tri chi nhin truoc mot so ky tu gioi
+ * han, nhan dien:
+ * - Ngay dang so: 15/01/2024, 15.01.2024, 2024-01-15, 2024. 1. 15
+ * - Ngay CJK: 2024年1月15日
+ * - Ngay co ten thang: 15 janvier 2024, 15. Januar 2024, 15 de enero de 2024,
+ * January 15, 2024, lun. 15 janv. 2024
+ *
+ * Moi DateToken cho biet ca loi sai ngon ngu (ten thang / thu khong thuoc ngon
+ * ngu trang) va sai dinh dang (khong khop datePattern da bien dich san).
+ */
+public final class DateTokenizer {
+
+    // Ma cho ten thu trong tuan trong bang ten (thang: 1-12)
+    private static final int WEEKDAY_BASE = 100;
+
+    private static final TextStyle[] STYLES = { TextStyle.FULL, TextStyle.SHORT, TextStyle.FULL_STANDALONE,
+            TextStyle.SHORT_STANDALONE };
+
+    // Tu noi giua ngay / thang / nam (es, pt, ca: "15 de enero de 2024")
+    private static final Set<String> CONNECTORS = new HashSet<>(Arrays.asList("de", "del", "di", "van"));
+
+    // Ten thang / thu dai nhat can tra (tu dai hon bo qua ngay)
+    private static final int MAX_NAME_LENGTH = 24;
+
+    private static final Map<String, DateTokenizer> CACHE = new ConcurrentHashMap<>();
+
+    // Ten (chu thuong) -> ngon ngu dau tien co ten do; tao lan dau khi can
+    private static volatile Map<String, String> foreignNames;
+
+    private final String languageCode;
+    private final Map<String, Integer> nativeNames;
+    private final int maxNameLength;
+
+    private DateTokenizer(String languageCode) {
+        this.languageCode = languageCode;
+        this.nativeNames = buildNames(LanguageConfigGenerator.localeFor(languageCode));
+        int max = 0;
+        for (String name : nativeNames.keySet())
+            max = Math.max(max, name.length());
+        this.maxNameLength = max;
+    }
+
+    /**
+     * Tokenizer cua mot ngon ngu (tao lan dau, sau do lay tu cache)
+     */
+    public static DateTokenizer forLanguage(String languageCode) {
+        String code = languageCode != null ? languageCode : "en";
+        return CACHE.computeIfAbsent(code, DateTokenizer::new);
+    }
+
+    // ==================== QUET ====================
+
+    /**
+     * Quet van ban mot luot va tra ve tat ca ngay tim duoc (theo thu tu xuat hien)
+     */
+    public List<DateToken> scan(CharSequence text) {
+        List<DateToken> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+
+        Pattern expected = LanguageConfig.getDatePattern(languageCode);
+        int len = text.length();
+        int i = 0;
+        while (i < len) {
+            char c = text.charAt(i);
+            boolean tokenStart = i == 0 || !isWordChar(text.charAt(i - 1)) && !isDigit(text.charAt(i - 1));
+            if (tokenStart && (isDigit(c) || isWordChar(c))) {
+                DateToken token = new DateToken();
+                int end = isDigit(c) ? tryFromNumber(text, i, token) : tryFromWord(text, i, token);
+                if (end > 0) {
+                    token.start = i;
+                    token.end = end;
+                    token.text = text.subSequence(i, end).toString();
+                    token.matchesExpected = expected == null || matchesExpected(expected, token);
+                    tokens.add(token);
+                    i = end;
+                    continue;
+                }
+            }
+            // Bo qua ca tu / so de khong thu lai giua chung
+            if (isDigit(c)) {
+                while (i < len && isDigit(text.charAt(i)))
+                    i++;
+            } else if (isWordChar(c)) {
+                while (i < len && isWordChar(text.charAt(i)))
+                    i++;
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Thang (1-12) cua mot ten thang trong ngon ngu nay, 0 neu khong phai
+     */
+    public int monthOf(String word) {
+        Integer code = word != null ? nativeNames.get(normalize(word)) : null;
+        return code != null && code < WEEKDAY_BASE ? code : 0;
+    }
+
+    /**
+     * Van ban co chua ten thang cua ngon ngu nay (nguyen tu, khong phai chuoi con)
+     */
+    public boolean containsMonthName(CharSequence text) {
+        return containsMonthName(text, false);
+    }
+
+    /**
+     * @param capitalized Chi tinh tu viet hoa chu dau (tieng Anh: "May" la thang,
+     *                    "may" la dong tu)
+     */
+    public boolean containsMonthName(CharSequence text, boolean capitalized) {
+        if (text == null)
+            return false;
+        int len = text.length();
+        int i = 0;
+        while (i < len) {
+            if (!isWordChar(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = wordEnd(text, i);
+            if (!capitalized || Character.isUpperCase(text.charAt(i))) {
+                Integer code = lookup(nativeNames, text, i, end, maxNameLength);
+                if (code != null && code < WEEKDAY_BASE)
+                    return true;
+            }
+            i = end;
+        }
+        return false;
+    }
+
+    // ==================== NHAN DIEN ====================
+
+    /**
+     * Ngay bat dau bang so: dang so, CJK, hoac "ngay thang nam"
+     *
+     * @return Vi tri ket thuc hoac -1
+     */
+    private int tryFromNumber(CharSequence text, int start, DateToken token) {
+        int len = text.length();
+        int p1 = digitsEnd(text, start);
+        int n1Len = p1 - start;
+        if (n1Len > 4 || p1 >= len)
+            return -1;
+        char sep = text.charAt(p1);
+
+        // CJK: 2024年1月15日
+        if (sep == '年' && n1Len == 4) {
+            int p2 = digitsEnd(text, p1 + 1);
+            if (p2 - p1 - 1 < 1 || p2 - p1 - 1 > 2 || p2 >= len || text.charAt(p2) != '月')
+                return -1;
+            int p3 = digitsEnd(text, p2 + 1);
+            if (p3 - p2 - 1 < 1 || p3 - p2 - 1 > 2)
+                return -1;
+            token.format = DateChecker.DateFormat.ISO;
+            token.month = parse(text, p1 + 1, p2);
+            return p3 < len && text.charAt(p3) == '日' ? p3 + 1 : p3;
+        }
+
+        // Dang so: cung mot dau phan cach / . -
+        if (sep == '/' || sep == '-' || sep == '.') {
+            int q = skipSpace(text, p1 + 1, sep == '.' ? 1 : 0);
+            if (q < len && isDigit(text.charAt(q))) {
+                int p2 = digitsEnd(text, q);
+                int n2Len = p2 - q;
+                if (n2Len > 2 || p2 >= len || text.charAt(p2) != sep)
+                    return -1;
+                int r = skipSpace(text, p2 + 1, sep == '.' ? 1 : 0);
+                int p3 = digitsEnd(text, r);
+                int n3Len = p3 - r;
+                if (n3Len < 1 || n3Len > 4 || n3Len == 3)
+                    return -1;
+                if (n1Len == 4 ? n3Len > 2 : (n1Len > 2 || n3Len == 1))
+                    return -1;
+                // So phien ban / IP (1.2.3.4) khong phai ngay
+                if (p3 + 1 < len && text.charAt(p3) == sep && isDigit(text.charAt(p3 + 1)))
+                    return -1;
+                token.format = DateChecker.classifyNumeric(n1Len, parse(text, start, p1), parse(text, q, p2), n3Len);
+                token.month = n1Len == 4 || token.format != DateChecker.DateFormat.MDY ? parse(text, q, p2)
+                        : parse(text, start, p1);
+                return p3;
+            }
+            if (sep != '.' || n1Len > 2)
+                return -1;
+            // "15. Januar 2024": roi xuong truong hop co ten thang
+            p1++;
+        }
+
+        // Ngay + ten thang + nam: 15 janvier 2024, 15 de enero de 2024
+        if (n1Len > 2)
+            return -1;
+        int w = skipConnectors(text, skipSpace(text, p1, 2));
+        if (w >= len || !isWordChar(text.charAt(w)))
+            return -1;
+        int wEnd = wordEnd(text, w);
+        if (!resolveName(text, w, wEnd, token, false))
+            return -1;
+        int y = skipConnectors(text, skipSpace(text, skipChar(text, wEnd, '.'), 2));
+        int yEnd = digitsEnd(text, y);
+        if (yEnd - y != 4 && yEnd - y != 2)
+            return -1;
+        token.format = DateChecker.DateFormat.MONTH_NAME;
+        return yEnd;
+    }
+
+    /**
+     * Ngay bat dau bang chu: thu trong tuan hoac ten thang
+     */
+    private int tryFromWord(CharSequence text, int start, DateToken token) {
+        int len = text.length();
+        int wEnd = wordEnd(text, start);
+        if (!resolveName(text, start, wEnd, token, true))
+            return -1;
+
+        if (token.weekday > 0) {
+            // "lun. 15 janv. 2024", "Monday, January 15, 2024"
+            int next = skipSpace(text, skipChar(text, skipChar(text, wEnd, '.'), ','), 2);
+            if (next >= len)
+                return -1;
+            if (isDigit(text.charAt(next))) {
+                int end = tryFromNumber(text, next, token);
+                return end > 0 && token.month > 0 ? end : -1;
+            }
+            if (!isWordChar(text.charAt(next)))
+                return -1;
+            start = next;
+            wEnd = wordEnd(text, next);
+            if (!resolveName(text, next, wEnd, token, false))
+                return -1;
+        }
+
+        // "January 15, 2024", "Jan. 15 2024"
+        int d = skipSpace(text, skipChar(text, wEnd, '.'), 2);
+        int dEnd = digitsEnd(text, d);
+        if (dEnd - d < 1 || dEnd - d > 2)
+            return -1;
+        int y = skipSpace(text, skipChar(text, dEnd, ','), 2);
+        int yEnd = digitsEnd(text, y);
+        if (yEnd - y != 4)
+            return -1;
+        token.format = DateChecker.DateFormat.MONTH_NAME;
+        return yEnd;
+    }
+
+    /**
+     * Tra ten thang / thu: ngon ngu trang truoc, sau do bang chung (ten ngoai)
+     *
+     * @param allowWeekday Cho phep ten thu trong tuan
+     * @return true neu la ten thang (hoac thu, neu cho phep)
+     */
+    private boolean resolveName(CharSequence text, int start, int end, DateToken token, boolean allowWeekday) {
+        Integer code = lookup(nativeNames, text, start, end, maxNameLength);
+        String language = null;
+        if (code == null) {
+            String key = normalizeRange(text, start, end);
+            if (key == null)
+                return false;
+            language = foreignNames().get(key);
+            if (language == null)
+                return false;
+            code = forLanguage(language).nativeNames.get(key);
+            if (code == null)
+                return false;
+        }
+        boolean weekday = code >= WEEKDAY_BASE;
+        if (weekday && !allowWeekday)
+            return false;
+        if (language != null && token.foreignLanguage == null)
+            token.foreignLanguage = language;
+        if (weekday)
+            token.weekday = code - WEEKDAY_BASE;
+        else
+            token.month = code;
+        return true;
+    }
+
+    private static boolean matchesExpected(Pattern expected, DateToken token) {
+        // Ngay co ten thang khong so voi datePattern dang so
+        if (token.format == DateChecker.DateFormat.MONTH_NAME)
+            return true;
+        int end = token.text.endsWith("日") ? token.text.length() - 1 : token.text.length();
+        return expected.matcher(token.text).region(0, end).matches();
+    }
+
+    // ==================== BANG TEN ====================
+
+    /**
+     * Ten thang (1-12) va thu (WEEKDAY_BASE + 1-7) cua mot locale, chu thuong,
+     * bo dau cham cuoi
+     */
+    private static Map<String, Integer> buildNames(Locale locale) {
+        Map<String, Integer> names = new HashMap<>();
+        for (TextStyle style : STYLES) {
+            for (Month month : Month.values()) {
+                addName(names, month.getDisplayName(style, locale), month.getValue());
+            }
+            for (DayOfWeek day : DayOfWeek.values()) {
+                addName(names, day.getDisplayName(style, locale), WEEKDAY_BASE + day.getValue());
+            }
+        }
+        return names;
+    }
+
+    private static void addName(Map<String, Integer> names, String name, int code) {
+        String key = normalize(name);
+        // Bo qua ten dang so (locale khong co du lieu) va ten 1 ky tu
+        if (key.length() < 2 || isDigit(key.charAt(0)))
+            return;
+        names.putIfAbsent(key, code);
+    }
+
+    private static Map<String, String> foreignNames() {
+        Map<String, String> names = foreignNames;
+        if (names == null) {
+            names = new HashMap<>();
+            List<String> codes = new ArrayList<>();
+            codes.add("en");
+            codes.addAll(Arrays.asList(LanguageConfig.getSupportedLanguages()));
+            for (String code : codes) {
+                for (String name : forLanguage(code).nativeNames.keySet()) {
+                    names.putIfAbsent(name, code);
+                }
+            }
+            foreignNames = names;
+        }
+        return names;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static Integer lookup(Map<String, Integer> names, CharSequence text, int start, int end, int maxLength) {
+        if (end - start > maxLength)
+            return null;
+        String key = normalizeRange(text, start, end);
+        return key != null ? names.get(key) : null;
+    }
+
+    private static String normalizeRange(CharSequence text, int start, int end) {
+        if (end - start < 2 || end - start > MAX_NAME_LENGTH)
+            return null;
+        return text.subSequence(start, end).toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalize(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        return key.endsWith(".") ? key.substring(0, key.length() - 1) : key;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Chu cai (ke ca dau ket hop cua chu Devanagari / Thai)
+     */
+    private static boolean isWordChar(char c) {
+        if (Character.isLetter(c))
+            return true;
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static int digitsEnd(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && isDigit(text.charAt(i)))
+            i++;
+        return i;
+    }
+
+    private static int wordEnd(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && isWordChar(text.charAt(i)))
+            i++;
+        return i;
+    }
+
+    private static int skipChar(CharSequence text, int from, char c) {
+        return from < text.length() && text.charAt(from) == c ? from + 1 : from;
+    }
+
+    private static int skipSpace(CharSequence text, int from, int max) {
+        int i = from;
+        while (i < text.length() && i - from < max && Character.isSpaceChar(text.charAt(i)))
+            i++;
+        return i;
+    }
+
+    /**
+     * Bo qua cac tu noi ("de", "del") kem khoang trang phia sau
+     */
+    private static int skipConnectors(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && isWordChar(text.charAt(i))) {
+            int end = wordEnd(text, i);
+            if (end - i > 3 || !CONNECTORS.contains(text.subSequence(i, end).toString().toLowerCase(Locale.ROOT)))
+                break;
+            i = skipSpace(text, end, 2);
+        }
+        return i;
+    }
+
+    private static int parse(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++)
+            value = value * 10 + (text.charAt(i) - '0');
+        return value;
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot ngay tim thay trong van ban
+     */
+    public static class DateToken {
+        public String text;
+        public int start;
+        public int end;
+        public DateChecker.DateFormat format;
+        public int month; // 1-12, 0 neu khong xac dinh
+        public int weekday; // 1-7 (thu Hai = 1), 0 neu khong co
+        // Ngon ngu cua ten thang / thu neu khong thuoc ngon ngu trang, null neu dung
+        public String foreignLanguage;
+        // Khop datePattern cua ngon ngu (ngay co ten thang luon true)
+        public boolean matchesExpected;
+
+        public boolean isWrongLanguage() {
+            return foreignLanguage != null;
+        }
+
+        @Override
+        public String toString() {
+            String msg = text + " (format: " + format + ")";
+            if (foreignLanguage != null)
+                msg += " [ten thang/thu: " + foreignLanguage + "]";
+            if (!matchesExpected)
+                msg += " [sai dinh dang]";
+            return msg;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Ghep node giua ban "en" va ban dich theo duong dan DOM de tim node chua dich
+ *
+ * Dau hieu chac chan nhat cua van ban chua dich: text node giong het node cung
+ * vi tri trong ban tieng Anh. Bang bam duoc dung mot lan tu snapshot "en" cua
+ * mot trang (duong dan -> hash) va dung lai cho moi ngon ngu: moi lan probe la
+ * tuyen tinh theo so node, bo nho tuyen tinh theo kich thuoc trang "en".
+ *
+ * So sanh qua EnglishCorpus.hash (bo dau cau hai dau, gom khoang trang, khong
+ * phan biet hoa thuong); node khong du chu cai (so, gia, ky hieu) bi bo qua.
+ */
+public class DomPathJoin {
+
+    private final Map<String, Integer> rowOf; // Duong dan -> dong trong snapshot "en"
+    private final long[] referenceHashes;
+
+    /**
+     * @param english Snapshot cua trang o ngon ngu "en" (build side)
+     */
+    public DomPathJoin(PageSnapshot english) {
+        List<PageSnapshot.TextNode> nodes = english.getNodes();
+        this.rowOf = new HashMap<>(nodes.size() * 2);
+        this.referenceHashes = new long[nodes.size()];
+        for (int row = 0; row < nodes.size(); row++) {
+            PageSnapshot.TextNode node = nodes.get(row);
+            if (rowOf.putIfAbsent(node.path, row) == null)
+                referenceHashes[row] = EnglishCorpus.hash(node.text);
+        }
+    }
+
+    /**
+     * Cac node cua ban dich giong het node cung duong dan trong ban "en"
+     */
+    public List<PageSnapshot.TextNode> findIdentical(PageSnapshot translated) {
+        List<PageSnapshot.TextNode> identical = new ArrayList<>();
+        for (PageSnapshot.TextNode node : translated.getNodes()) {
+            Integer row = rowOf.get(node.path);
+            if (row == null)
+                continue;
+            long hash = referenceHashes[row];
+            if (hash != 0 && hash == EnglishCorpus.hash(node.text))
+                identical.add(node);
+        }
+        return identical;
+    }
+
+    /**
+     * Nhu findIdentical, gom theo vung trang (header, footer, wrapper...) theo thu
+     * tu xuat hien
+     */
+    public Map<String, List<PageSnapshot.TextNode>> findIdenticalBySection(PageSnapshot translated) {
+        Map<String, List<PageSnapshot.TextNode>> bySection = new LinkedHashMap<>();
+        for (PageSnapshot.TextNode node : findIdentical(translated)) {
+            bySection.computeIfAbsent(node.section, k -> new ArrayList<>()).add(node);
+        }
+        return bySection;
+    }
+
+    /**
+     * Ty le node cua ban dich ghep duoc voi ban "en" theo duong dan (do tin cay
+     * cua phep ghep: thap nghia la bo cuc hai ban khac nhau)
+     */
+    public double coverage(PageSnapshot translated) {
+        if (translated.size() == 0)
+            return 0;
+        int matched = 0;
+        for (PageSnapshot.TextNode node : translated.getNodes()) {
+            if (rowOf.containsKey(node.path))
+                matched++;
+        }
+        return (double) matched / translated.size();
+    }
+
+    public int size() {
+        return rowOf.size();
+    }
+}
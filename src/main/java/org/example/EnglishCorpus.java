@@ -0,0 +1,223 @@
+package org.example;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Corpus tieng Anh tham chieu, thu thap tu lan chay "en"
+ *
+ * ENGLISH_TEXTS / ENGLISH_ONLY_WORDS viet tay nen nhanh loi thoi. Khi chay
+ * "en", moi text node cua trang duoc chuan hoa (bo dau cau hai dau, gom khoang
+ * trang, chu thuong) va bam 64-bit vao mot bang bam dia chi mo (long[]) - khong
+ * giu chuoi. Ngon ngu khac bam text node cua minh va tra bang: O(1) moi node,
+ * khong regex, khong contains, chiu duoc hang chuc nghin chuoi.
+ *
+ * Dinh dang file: magic, version, tag, so phan tu, cac hash.
+ */
+public class EnglishCorpus {
+
+    private static final int MAGIC = 0x4C313045; // "L10E"
+    private static final int VERSION = 1;
+
+    // Doan co it chu cai hon (so, gia, ky hieu, "OK") khong dua vao corpus
+    public static final int MIN_LETTERS = 3;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long[] table = new long[1024]; // 0 = o trong
+    private int size;
+    private String tag = "";
+
+    // ==================== THU THAP / TRA CUU ====================
+
+    /**
+     * Them mot doan van ban
+     *
+     * @return true neu doan hop le va chua co trong corpus
+     */
+    public synchronized boolean add(CharSequence segment) {
+        long hash = hash(segment);
+        if (hash == 0)
+            return false;
+        if ((size + 1) * 2 > table.length)
+            rehash(table.length * 2);
+        return insert(hash);
+    }
+
+    /**
+     * Doan van ban co trong corpus khong
+     */
+    public synchronized boolean contains(CharSequence segment) {
+        long hash = hash(segment);
+        if (hash == 0)
+            return false;
+        int mask = table.length - 1;
+        for (int i = slot(hash, mask);; i = (i + 1) & mask) {
+            if (table[i] == hash)
+                return true;
+            if (table[i] == 0)
+                return false;
+        }
+    }
+
+    /**
+     * Them moi text node cua trang (trang tieng Anh)
+     *
+     * @return So doan moi
+     */
+    public int harvest(PageSnapshot snapshot) {
+        int added = 0;
+        for (PageSnapshot.TextNode node : snapshot.getNodes()) {
+            if (add(node.text))
+                added++;
+        }
+        return added;
+    }
+
+    /**
+     * Cac text node cua trang trung voi mot doan tieng Anh trong corpus
+     */
+    public List<PageSnapshot.TextNode> findMatches(PageSnapshot snapshot) {
+        List<PageSnapshot.TextNode> matches = new ArrayList<>();
+        for (PageSnapshot.TextNode node : snapshot.getNodes()) {
+            if (contains(node.text))
+                matches.add(node);
+        }
+        return matches;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized String getTag() {
+        return tag;
+    }
+
+    // ==================== LUU / DOC ====================
+
+    /**
+     * Ghi corpus ra file
+     *
+     * @param tag Nhan tu do (vd: URL + thoi gian thu thap)
+     */
+    public synchronized void save(String filePath, String tag) throws IOException {
+        this.tag = tag != null ? tag : "";
+        Path path = Paths.get(filePath);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(this.tag);
+            out.writeInt(size);
+            for (long hash : table) {
+                if (hash != 0)
+                    out.writeLong(hash);
+            }
+        }
+    }
+
+    /**
+     * Doc corpus tu file
+     */
+    public static EnglishCorpus load(String filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(Paths.get(filePath))))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Khong phai file corpus tieng Anh: " + filePath);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Phien ban corpus khong ho tro: " + version);
+
+            EnglishCorpus corpus = new EnglishCorpus();
+            corpus.tag = in.readUTF();
+            int count = in.readInt();
+            corpus.rehash(Integer.highestOneBit(Math.max(count, 256) * 4));
+            for (int i = 0; i < count; i++) {
+                long hash = in.readLong();
+                if (hash != 0)
+                    corpus.insert(hash);
+            }
+            return corpus;
+        }
+    }
+
+    // ==================== BAM ====================
+
+    /**
+     * Hash 64-bit (FNV-1a) cua doan da chuan hoa: bo ky tu khong phai chu/so o
+     * hai dau, gom khoang trang, chu thuong. Khong tao chuoi trung gian.
+     *
+     * @return Hash, hoac 0 neu doan co it hon MIN_LETTERS chu cai
+     */
+    public static long hash(CharSequence segment) {
+        if (segment == null)
+            return 0;
+        int start = 0;
+        int end = segment.length();
+        while (start < end && !Character.isLetterOrDigit(segment.charAt(start)))
+            start++;
+        while (end > start && !Character.isLetterOrDigit(segment.charAt(end - 1)))
+            end--;
+
+        long hash = FNV_OFFSET;
+        int letters = 0;
+        boolean space = false;
+        for (int i = start; i < end; i++) {
+            char c = segment.charAt(i);
+            if (Character.isWhitespace(c) || c == '\u00A0' || c == '\u202F') {
+                space = true;
+                continue;
+            }
+            if (space) {
+                hash = (hash ^ ' ') * FNV_PRIME;
+                space = false;
+            }
+            if (Character.isLetter(c))
+                letters++;
+            hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+        }
+        if (letters < MIN_LETTERS)
+            return 0;
+        return hash != 0 ? hash : 1;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private boolean insert(long hash) {
+        int mask = table.length - 1;
+        for (int i = slot(hash, mask);; i = (i + 1) & mask) {
+            if (table[i] == hash)
+                return false;
+            if (table[i] == 0) {
+                table[i] = hash;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        long[] resized = new long[capacity];
+        int mask = capacity - 1;
+        for (long hash : old) {
+            if (hash == 0)
+                continue;
+            int i = slot(hash, mask);
+            while (resized[i] != 0)
+                i = (i + 1) & mask;
+            resized[i] = hash;
+        }
+        table = resized;
+    }
+
+    private static int slot(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
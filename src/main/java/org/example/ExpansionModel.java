@@ -0,0 +1,237 @@
+package org.example;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Mo hinh do gian van ban hoc tu cac lan chay (thay he so doan cua
+ * predictTranslatedLength va nguong x1.3 cua LONG_TEXT_LANGUAGES)
+ *
+ * Moi cap (text "en", ban dich) ghep theo duong dan DOM cho mot ty le do dai.
+ * Ty le duoc dem vao sketch phan vi theo (ngon ngu, thanh phan) va (ngon ngu,
+ * "*"): bucket logarit co dinh (kieu DDSketch, sai so tuong doi ~1%), 256 bucket
+ * int moi sketch nen bo nho co dinh du chay bao nhieu lan, gop va luu file de
+ * dang. Chua du MIN_SAMPLES mau thi dung lai hang so cu.
+ *
+ * Dinh dang file: magic, version, so sketch, moi sketch: khoa + cac bucket khac 0.
+ */
+public class ExpansionModel {
+
+    private static final int MAGIC = 0x4C313058; // "L10X"
+    private static final int VERSION = 1;
+
+    public static final String ALL_COMPONENTS = "*";
+    public static final int MIN_SAMPLES = 30; // It hon: chua tin duoc phan vi
+    public static final int MIN_SOURCE_LENGTH = 4; // Chuoi "en" ngan hon: ty le nhieu
+    public static final double THRESHOLD_QUANTILE = 0.95; // Nguong canh bao tu p95
+
+    private final Map<String, Sketch> sketches = new HashMap<>();
+    // (ngon ngu + duong dan, hash ban dich) da dem trong phien: trang ghe lai
+    // nhieu lan (che do 2, 3, corpus) khong dem lai cung mot node
+    private final Set<Long> observedNodes = new HashSet<>();
+
+    // ==================== HOC ====================
+
+    /**
+     * Ghi nhan mot cap (text "en", ban dich) cua mot thanh phan
+     *
+     * @return true neu cap duoc dem (bo qua chuoi "en" qua ngan va ban chua dich)
+     */
+    public synchronized boolean observe(String language, String component, String english, String translated) {
+        if (english == null || translated == null || translated.isEmpty())
+            return false;
+        String source = english.trim();
+        String target = translated.trim();
+        if (source.length() < MIN_SOURCE_LENGTH || target.isEmpty())
+            return false;
+        long sourceHash = EnglishCorpus.hash(source);
+        if (sourceHash != 0 && sourceHash == EnglishCorpus.hash(target))
+            return false;
+
+        double ratio = (double) target.length() / source.length();
+        sketch(language, component != null ? component : ALL_COMPONENTS).add(ratio);
+        if (component != null && !component.equals(ALL_COMPONENTS))
+            sketch(language, ALL_COMPONENTS).add(ratio);
+        return true;
+    }
+
+    /**
+     * Ghep node cung duong dan DOM giua trang "en" va ban dich; thanh phan = vung
+     * trang (header, footer...). Node da dem voi cung van ban trong phien bi bo
+     * qua.
+     *
+     * @return So cap duoc dem
+     */
+    public int observe(String language, PageSnapshot english, PageSnapshot translated) {
+        Map<String, String> englishText = new HashMap<>(english.size() * 2);
+        for (PageSnapshot.TextNode node : english.getNodes())
+            englishText.putIfAbsent(node.path, node.text);
+        int observed = 0;
+        for (PageSnapshot.TextNode node : translated.getNodes()) {
+            String source = englishText.get(node.path);
+            if (source == null || !firstSeen(language, node))
+                continue;
+            if (observe(language, node.section, source, node.text))
+                observed++;
+        }
+        return observed;
+    }
+
+    /**
+     * Hoc tu catalog dich (thanh phan "*")
+     */
+    public int observe(TranslationCatalog catalog) {
+        int observed = 0;
+        for (int i = 0; i < catalog.size(); i++) {
+            if (observe(catalog.getLanguage(), ALL_COMPONENTS, catalog.source(i), catalog.target(i)))
+                observed++;
+        }
+        return observed;
+    }
+
+    // ==================== DU DOAN ====================
+
+    /**
+     * Phan vi q cua ty le do dai, NaN neu chua du MIN_SAMPLES mau
+     */
+    public synchronized double quantile(String language, String component, double q) {
+        Sketch sketch = sketches.get(key(language, component));
+        if (sketch == null || sketch.total < MIN_SAMPLES)
+            return Double.NaN;
+        return sketch.quantile(q);
+    }
+
+    public synchronized long count(String language, String component) {
+        Sketch sketch = sketches.get(key(language, component));
+        return sketch != null ? sketch.total : 0;
+    }
+
+    /**
+     * He so nhan nguong do dai cua checkTextLength: p95 da do, hoac hang so cu
+     * (1.3 cho LONG_TEXT_LANGUAGES, 1.0 con lai) khi chua du mau
+     */
+    public double thresholdMultiplier(String language, String component) {
+        double p95 = quantile(language, component, THRESHOLD_QUANTILE);
+        if (Double.isNaN(p95) && component != null && !component.equals(ALL_COMPONENTS))
+            p95 = quantile(language, ALL_COMPONENTS, THRESHOLD_QUANTILE);
+        if (!Double.isNaN(p95))
+            return Math.max(1.0, p95);
+        return TextChecker.isLongTextLanguage(language) ? 1.3 : 1.0;
+    }
+
+    /**
+     * He so do dai trung vi (p50) cua ngon ngu, NaN neu chua du mau
+     */
+    public double medianRatio(String language) {
+        return quantile(language, ALL_COMPONENTS, 0.5);
+    }
+
+    public synchronized int size() {
+        return sketches.size();
+    }
+
+    // ==================== LUU / DOC ====================
+
+    public synchronized void save(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sketches.size());
+            for (Map.Entry<String, Sketch> entry : new TreeMap<>(sketches).entrySet()) {
+                out.writeUTF(entry.getKey());
+                int[] counts = entry.getValue().counts;
+                int used = 0;
+                for (int count : counts) {
+                    if (count != 0)
+                        used++;
+                }
+                out.writeShort(used);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] != 0) {
+                        out.writeByte(i);
+                        out.writeInt(counts[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    public static ExpansionModel load(String filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(Paths.get(filePath))))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Khong phai file mo hinh do gian: " + filePath);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Phien ban mo hinh do gian khong ho tro: " + version);
+
+            ExpansionModel model = new ExpansionModel();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Sketch sketch = new Sketch();
+                model.sketches.put(in.readUTF(), sketch);
+                int used = in.readShort();
+                for (int k = 0; k < used; k++) {
+                    int bucket = in.readUnsignedByte();
+                    int n = in.readInt();
+                    sketch.counts[bucket] += n;
+                    sketch.total += n;
+                }
+            }
+            return model;
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private synchronized boolean firstSeen(String language, PageSnapshot.TextNode node) {
+        long key = (long) (language + '|' + node.path).hashCode() << 32 | (node.text.hashCode() & 0xFFFFFFFFL);
+        return observedNodes.add(key);
+    }
+
+    private Sketch sketch(String language, String component) {
+        return sketches.computeIfAbsent(key(language, component), k -> new Sketch());
+    }
+
+    private static String key(String language, String component) {
+        return language + '|' + (component != null ? component : ALL_COMPONENTS);
+    }
+
+    /**
+     * Sketch phan vi bucket logarit: bucket i chua ty le trong [g^(i-128),
+     * g^(i-127)), g = 1.02 (pham vi 0.08 - 12.5, ngoai pham vi bi ep vao bien)
+     */
+    static final class Sketch {
+        static final double GAMMA = 1.02;
+        static final double LOG_GAMMA = Math.log(GAMMA);
+        static final int OFFSET = 128;
+
+        final int[] counts = new int[256];
+        long total;
+
+        void add(double ratio) {
+            if (!(ratio > 0))
+                return;
+            int bucket = (int) Math.floor(Math.log(ratio) / LOG_GAMMA) + OFFSET;
+            counts[Math.max(0, Math.min(counts.length - 1, bucket))]++;
+            total++;
+        }
+
+        double quantile(double q) {
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank)
+                    return Math.pow(GAMMA, i - OFFSET + 0.5); // Giua bucket
+            }
+            return Math.pow(GAMMA, counts.length - OFFSET);
+        }
+    }
+}
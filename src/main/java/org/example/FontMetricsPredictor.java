@@ -0,0 +1,367 @@
+package org.example;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Du doan tran chu theo do rong pixel, khong can trinh duyet
+ *
+ * checkTextLength dem ky tu (50/80) va predictTranslatedLength nhan he so co
+ * dinh; ca hai bo qua viec "WWW" rong gap ba "iii". Lop nay do chuoi bang
+ * font that cua shop (file TTF/OTF) qua java.awt.font va so voi ngan sach do
+ * rong cua tung thanh phan (nut, menu, tieu de...).
+ *
+ * Do rong ky tu (advance) duoc cache theo trang 256 ky tu trong mang float[],
+ * moi trang do mot lan bang GlyphVector; sau do do mot chuoi chi la cong mang.
+ * Khong tinh kerning / ghep chu (sai so nho so voi trinh duyet).
+ */
+public class FontMetricsPredictor {
+
+    // Giong trinh duyet: khu rang cua, toa do le
+    private static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+    private final Font font;
+    private final AtomicReferenceArray<float[]> pages = new AtomicReferenceArray<>(256); // BMP
+    private final Map<Integer, Float> supplementary = new ConcurrentHashMap<>();
+    private final float spaceWidth;
+
+    /**
+     * @param font Font da co kich thuoc (deriveFont(px))
+     */
+    public FontMetricsPredictor(Font font) {
+        this.font = font;
+        this.spaceWidth = advance(' ');
+    }
+
+    /**
+     * Nap font web cua shop tu file (TrueType / OpenType; WOFF/WOFF2 can giai nen
+     * truoc)
+     *
+     * @param sizePx Co chu (px) cua thanh phan can kiem tra
+     */
+    public static FontMetricsPredictor load(Path fontFile, float sizePx) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(fontFile))) {
+            return new FontMetricsPredictor(Font.createFont(Font.TRUETYPE_FONT, in).deriveFont(sizePx));
+        } catch (FontFormatException e) {
+            throw new IOException("Khong doc duoc font " + fontFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ==================== DO ====================
+
+    /**
+     * Do rong (px) cua chuoi tren mot dong
+     */
+    public float width(CharSequence text) {
+        if (text == null)
+            return 0;
+        float width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                width += advance(Character.toCodePoint(c, text.charAt(++i)));
+            } else {
+                width += advance(c);
+            }
+        }
+        return width;
+    }
+
+    /**
+     * So dong khi xuong dong tai khoang trang trong khung rong maxWidth (tu dai hon
+     * khung chiem tron mot dong va tran ngang, nhu CSS mac dinh). Chu Han, Kana va
+     * Thai khong dung khoang trang: xuong dong duoc giua hai ky tu bat ky.
+     */
+    public int lines(CharSequence text, float maxWidth) {
+        return (int) wrap(text, maxWidth)[0];
+    }
+
+    /**
+     * Do rong (px) cua doan dai nhat khong xuong dong duoc (tu, hoac mot ky tu voi
+     * chu viet khong dung khoang trang)
+     */
+    public float widestWord(CharSequence text) {
+        return wrap(text, Float.MAX_VALUE)[1];
+    }
+
+    /**
+     * Ty le do rong ban dich / chuoi goc (thay cho he so co dinh cua
+     * predictTranslatedLength)
+     */
+    public double expansion(CharSequence source, CharSequence target) {
+        float sourceWidth = width(source);
+        return sourceWidth == 0 ? 0 : width(target) / sourceWidth;
+    }
+
+    // ==================== SO VOI NGAN SACH ====================
+
+    /**
+     * Do chuoi trong ngan sach cua thanh phan
+     */
+    public Prediction predict(String text, Budget budget) {
+        return predict(null, text, budget);
+    }
+
+    private Prediction predict(String source, String text, Budget budget) {
+        float width = width(text);
+        if (budget.maxLines == 1)
+            return new Prediction(source, text, budget, width, 1, width);
+        float[] wrapped = wrap(text, budget.maxWidth);
+        return new Prediction(source, text, budget, width, (int) wrapped[0], wrapped[1]);
+    }
+
+    /**
+     * Cac ban dich cua catalog tran khung. Chuoi goc duoc gan thanh phan qua
+     * componentOf (TranslationCatalog.loadComponentMap), ngan sach lay theo thanh
+     * phan; chuoi chua gan hoac thanh phan khong co ngan sach dung fallback (null =
+     * bo qua). Muc ma chuoi goc tieng Anh da tran thi ngan sach khong ap dung va
+     * bi bo qua.
+     *
+     * @param budgets Thanh phan -> ngan sach (loadBudgets)
+     */
+    public List<Prediction> findOverflows(TranslationCatalog catalog, Map<String, String> componentOf,
+            Map<String, Budget> budgets, Budget fallback) {
+        List<Prediction> overflows = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            String source = catalog.source(i);
+            String component = componentOf.get(source);
+            Budget budget = component != null ? budgets.getOrDefault(component, fallback) : fallback;
+            if (budget == null || predict(source, budget).overflows())
+                continue;
+            Prediction prediction = predict(source, catalog.target(i), budget);
+            if (prediction.overflows())
+                overflows.add(prediction);
+        }
+        return overflows;
+    }
+
+    public Font getFont() {
+        return font;
+    }
+
+    /**
+     * Doc ngan sach tu file properties: thanh_phan = rong_px[,so_dong] (khoa la ten
+     * thanh phan, cung ten voi cot component cua ban do chuoi goc)
+     */
+    public static Map<String, Budget> loadBudgets(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file)) {
+            properties.load(in);
+        }
+        Map<String, Budget> budgets = new LinkedHashMap<>();
+        for (String component : new TreeSet<>(properties.stringPropertyNames())) {
+            String[] parts = properties.getProperty(component).split(",");
+            try {
+                float width = Float.parseFloat(parts[0].trim());
+                int lines = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                budgets.put(component, new Budget(component, width, lines));
+            } catch (NumberFormatException e) {
+                throw new IOException("Ngan sach khong hop le: " + component + "=" + properties.getProperty(component));
+            }
+        }
+        return budgets;
+    }
+
+    // ==================== DONG LENH ====================
+
+    /**
+     * Du doan tran chu cho moi catalog trong thu muc, khong can trinh duyet
+     *
+     * Tham so: file font, co chu (px), ngan sach (properties, muc "default" la
+     * ngan sach cho chuoi chua gan), ban do chuoi goc -> thanh phan (CSV, co the
+     * khong co), thu muc catalog, file bao cao CSV
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Cach dung: FontMetricsPredictor <font.ttf> <co chu px> <budgets.properties>"
+                    + " [components.csv] [thu muc catalog] [bao cao.csv]");
+            return;
+        }
+        FontMetricsPredictor predictor = load(Paths.get(args[0]), Float.parseFloat(args[1]));
+        Map<String, Budget> budgets = loadBudgets(Paths.get(args[2]));
+        Path componentFile = Paths.get(args.length > 3 ? args[3] : "components.csv");
+        Map<String, String> componentOf = Files.exists(componentFile)
+                ? TranslationCatalog.loadComponentMap(componentFile)
+                : Collections.emptyMap();
+        Path dir = Paths.get(args.length > 4 ? args[4] : "catalogs");
+        Path report = Paths.get(args.length > 5 ? args[5] : "report/font_overflow.csv");
+        Budget fallback = budgets.get("default");
+
+        Map<String, TranslationCatalog> catalogs = TranslationCatalog.loadAll(TranslationCatalog.locateAll(dir));
+        System.out.println("[FONT] " + catalogs.size() + " catalog, " + componentOf.size()
+                + " chuoi goc da gan thanh phan, ngan sach: " + budgets.values());
+
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        int total = 0;
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+            out.println("language,component,source,target,width,max_width,lines,max_lines");
+            for (Map.Entry<String, TranslationCatalog> entry : catalogs.entrySet()) {
+                List<Prediction> overflows = predictor.findOverflows(entry.getValue(), componentOf, budgets, fallback);
+                for (Prediction prediction : overflows) {
+                    out.println(String.join(",", entry.getKey(), CatalogLinter.csv(prediction.budget.component),
+                            CatalogLinter.csv(prediction.source), CatalogLinter.csv(prediction.text),
+                            String.format(Locale.ROOT, "%.0f", prediction.width),
+                            String.format(Locale.ROOT, "%.0f", prediction.budget.maxWidth),
+                            String.valueOf(prediction.lines), String.valueOf(prediction.budget.maxLines)));
+                }
+                System.out.println("[FONT] " + entry.getKey() + ": " + overflows.size() + " ban dich tran khung");
+                total += overflows.size();
+            }
+        }
+        System.out.println("[FONT] Tong " + total + " ban dich tran khung. Bao cao: " + report);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Xuong dong tham lam: {so dong, do rong doan khong ngat dai nhat}
+     */
+    private float[] wrap(CharSequence text, float maxWidth) {
+        if (text == null || text.length() == 0)
+            return new float[] { 0, 0 };
+        int lines = 1;
+        float line = 0;
+        float word = 0;
+        float widest = 0;
+        boolean spaced = false; // Co khoang trang truoc doan sap dat
+        for (int i = 0; i <= text.length();) {
+            int cp = i < text.length() ? Character.codePointAt(text, i) : ' ';
+            i += i < text.length() ? Character.charCount(cp) : 1;
+            boolean space = Character.isWhitespace(cp); // NBSP khong phai cho xuong dong
+            if (!space && !breaksAnywhere(cp)) {
+                word += advance(cp);
+                continue;
+            }
+            // Ket thuc tu dang doc; ky tu Han / Kana / Thai la mot doan rieng
+            for (int k = 0; k < 2; k++) {
+                float unit = k == 0 ? word : space ? 0 : advance(cp);
+                if (unit <= 0)
+                    continue;
+                float gap = line > 0 && spaced ? spaceWidth : 0;
+                if (line > 0 && line + gap + unit > maxWidth) {
+                    lines++;
+                    line = unit;
+                } else {
+                    line += gap + unit;
+                }
+                widest = Math.max(widest, unit);
+                spaced = false;
+            }
+            word = 0;
+            if (space)
+                spaced = true;
+        }
+        return new float[] { lines, widest };
+    }
+
+    private static boolean breaksAnywhere(int codePoint) {
+        ScriptRunAnalyzer.Script script = ScriptRunAnalyzer.scriptOf(codePoint);
+        return script == ScriptRunAnalyzer.Script.HAN || script == ScriptRunAnalyzer.Script.KANA
+                || script == ScriptRunAnalyzer.Script.THAI;
+    }
+
+    private float advance(char c) {
+        float[] page = pages.get(c >>> 8);
+        if (page == null)
+            page = loadPage(c >>> 8);
+        return page[c & 0xFF];
+    }
+
+    private float advance(int codePoint) {
+        if (codePoint < 0x10000)
+            return advance((char) codePoint);
+        return supplementary.computeIfAbsent(codePoint,
+                cp -> (float) font.createGlyphVector(FRC, new String(Character.toChars(cp))).getLogicalBounds()
+                        .getWidth());
+    }
+
+    /**
+     * Do ca trang 256 ky tu bang mot GlyphVector (ky tu -> glyph 1:1, khong shaping)
+     */
+    private float[] loadPage(int index) {
+        char[] chars = new char[256];
+        for (int i = 0; i < chars.length; i++) {
+            char c = (char) (index << 8 | i);
+            chars[i] = Character.isSurrogate(c) ? ' ' : c;
+        }
+        GlyphVector glyphs = font.createGlyphVector(FRC, chars);
+        float[] page = new float[256];
+        for (int i = 0; i < page.length; i++)
+            page[i] = Character.isISOControl(chars[i]) ? 0 : glyphs.getGlyphMetrics(i).getAdvance();
+        pages.compareAndSet(index, null, page);
+        return pages.get(index);
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Ngan sach do rong cua mot thanh phan giao dien
+     */
+    public static class Budget {
+        public final String component;
+        public final float maxWidth; // px
+        public final int maxLines;
+
+        public Budget(String component, float maxWidth, int maxLines) {
+            this.component = component;
+            this.maxWidth = maxWidth;
+            this.maxLines = Math.max(1, maxLines);
+        }
+
+        @Override
+        public String toString() {
+            return component + " (" + maxWidth + "px x " + maxLines + " dong)";
+        }
+    }
+
+    /**
+     * Do rong du doan cua mot chuoi trong ngan sach
+     */
+    public static class Prediction {
+        public final String source; // Chuoi goc cua ban dich (null neu do chuoi le)
+        public final String text;
+        public final Budget budget;
+        public final float width; // Tren mot dong
+        public final int lines; // Sau khi xuong dong (1 neu ngan sach mot dong)
+        public final float widestWord; // Doan khong ngat dai nhat (tran ngang du du dong)
+
+        Prediction(String source, String text, Budget budget, float width, int lines, float widestWord) {
+            this.source = source;
+            this.text = text;
+            this.budget = budget;
+            this.width = width;
+            this.lines = lines;
+            this.widestWord = widestWord;
+        }
+
+        public boolean overflows() {
+            if (budget.maxLines > 1)
+                return lines > budget.maxLines || widestWord > budget.maxWidth;
+            return width > budget.maxWidth;
+        }
+
+        /**
+         * Do rong / ngan sach (nhieu dong: so voi tong do rong cac dong)
+         */
+        public double ratio() {
+            return width / (budget.maxWidth * budget.maxLines);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: '%s' %.0fpx / %.0fpx%s", budget.component, text, width, budget.maxWidth,
+                    budget.maxLines > 1 ? " (" + lines + "/" + budget.maxLines + " dong)" : "");
+        }
+    }
+}
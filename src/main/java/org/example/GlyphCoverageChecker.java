@@ -0,0 +1,250 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.*;
+
+/**
+ * Phat hien ky tu thieu glyph trong font web (o vuong "tofu") cho nhom chu viet
+ * CJK, THAI, INDIC, ARABIC
+ *
+ * Font web thieu (file 404, subset unicode-range khong du) van hien chu nhu
+ * thuong o cac check van ban; chi khi nhin moi thay o vuong hoac font he thong
+ * lac loai. Lop nay gom cac code point khac nhau theo font-family tu
+ * PageSnapshot, roi do tat ca trong mot lan goi JS: doi document.fonts.load,
+ * do tung ky tu bang canvas voi "font trang, monospace" va "font trang, serif";
+ * neu ca hai deu trung khit (do rong + khung glyph) voi chinh monospace / serif
+ * thi khong font nao duoc khai bao co glyph do - trinh duyet da dung font du
+ * phong.
+ *
+ * Code point da chung minh co glyph duoc nho theo font (BitSet) qua cac trang,
+ * nen tu trang thu hai tro di hau nhu khong con gi phai do. Checker khong giu
+ * driver: moi lan goi nhan executor cua phien hien tai, nen cache dung lai duoc
+ * qua nhieu phien trinh duyet (moi ngon ngu mot phien).
+ */
+public class GlyphCoverageChecker {
+
+    public static final int FONT_SIZE = 32; // px, du lon de khung glyph khac nhau
+
+    // Moi phan tu cua arguments[0]: [font-family, chuoi cac ky tu can do].
+    // Tra ve moi font: null (chi co font chung nhu sans-serif) hoac cac ky tu
+    // roi vao font du phong.
+    private static final String MEASURE_SCRIPT = "var specs = arguments[0], done = arguments[arguments.length - 1];"
+            + "var size = '" + FONT_SIZE + "px ';"
+            + "var generic = /^(serif|sans-serif|monospace|cursive|fantasy|system-ui|math|emoji|fangsong"
+            + "|ui-[a-z-]+|-apple-system|BlinkMacSystemFont)$/i;"
+            + "function named(family) {"
+            + "  return family.split(',').map(function(f) { return f.trim(); }).filter(function(f) {"
+            + "    return f && !generic.test(f.replace(/^[\"']|[\"']$/g, '')); }).join(', ');"
+            + "}"
+            + "var ctx = document.createElement('canvas').getContext('2d');"
+            + "function measure(font, chars) {"
+            + "  ctx.font = size + font; var r = [];"
+            + "  for (var k = 0; k < chars.length; k++) {"
+            + "    var m = ctx.measureText(chars[k]);"
+            + "    r.push([m.width, m.actualBoundingBoxLeft, m.actualBoundingBoxRight,"
+            + "      m.actualBoundingBoxAscent, m.actualBoundingBoxDescent].join());"
+            + "  }"
+            + "  return r;"
+            + "}"
+            + "var loads = specs.map(function(s) {"
+            + "  var f = named(s[0]);"
+            + "  return f && document.fonts ? document.fonts.load(size + f, s[1]).catch(function() {}) : null;"
+            + "});"
+            + "Promise.all(loads).then(function() {"
+            + "  var out = [], fallbacks = ['monospace', 'serif'];"
+            + "  for (var i = 0; i < specs.length; i++) {"
+            + "    var f = named(specs[i][0]);"
+            + "    if (!f) { out.push(null); continue; }"
+            + "    var candidates = Array.from(specs[i][1]);"
+            + "    for (var g = 0; g < fallbacks.length && candidates.length; g++) {"
+            + "      var own = measure(f + ', ' + fallbacks[g], candidates), plain = measure(fallbacks[g], candidates);"
+            + "      candidates = candidates.filter(function(c, k) { return own[k] === plain[k]; });"
+            + "    }"
+            + "    out.push(candidates);"
+            + "  }"
+            + "  done(out);"
+            + "});";
+
+    private final Map<String, BitSet> covered = new HashMap<>(); // font-family -> code point da co glyph
+
+    /**
+     * Nhom chu viet can font rieng (font Latin cua theme thuong khong co glyph)
+     */
+    public static boolean appliesTo(LanguageConfig config) {
+        return config != null && !scriptsOf(config.scriptGroup).isEmpty();
+    }
+
+    /**
+     * Cac chu viet (theo ScriptRunAnalyzer) can kiem tra cho mot nhom
+     */
+    public static EnumSet<ScriptRunAnalyzer.Script> scriptsOf(LanguageConfig.ScriptGroup group) {
+        if (group == null)
+            return EnumSet.noneOf(ScriptRunAnalyzer.Script.class);
+        switch (group) {
+            case CJK:
+                return EnumSet.of(ScriptRunAnalyzer.Script.HAN, ScriptRunAnalyzer.Script.KANA,
+                        ScriptRunAnalyzer.Script.HANGUL);
+            case THAI:
+                return EnumSet.of(ScriptRunAnalyzer.Script.THAI);
+            case INDIC:
+                return EnumSet.of(ScriptRunAnalyzer.Script.DEVANAGARI, ScriptRunAnalyzer.Script.BENGALI);
+            case ARABIC:
+                return EnumSet.of(ScriptRunAnalyzer.Script.ARABIC);
+            default:
+                return EnumSet.noneOf(ScriptRunAnalyzer.Script.class);
+        }
+    }
+
+    // ==================== KIEM TRA ====================
+
+    /**
+     * Kiem tra glyph cua moi code point thuoc nhom chu viet cua ngon ngu tren trang
+     * (toi da mot lan goi JS, khong goi neu moi code point da co trong cache)
+     *
+     * @param js Executor cua phien trinh duyet dang mo trang
+     */
+    public Result check(JavascriptExecutor js, PageSnapshot snapshot, LanguageConfig config) {
+        Map<String, Map<Integer, PageSnapshot.TextNode>> byFont = collect(snapshot, scriptsOf(config.scriptGroup));
+        Result result = new Result();
+
+        List<String> fonts = new ArrayList<>();
+        List<List<String>> specs = new ArrayList<>();
+        for (Map.Entry<String, Map<Integer, PageSnapshot.TextNode>> entry : byFont.entrySet()) {
+            StringBuilder pending = new StringBuilder();
+            for (int codePoint : entry.getValue().keySet()) {
+                result.codePoints++;
+                if (isCovered(entry.getKey(), codePoint))
+                    result.cached++;
+                else
+                    pending.appendCodePoint(codePoint);
+            }
+            if (pending.length() > 0) {
+                fonts.add(entry.getKey());
+                specs.add(Arrays.asList(entry.getKey(), pending.toString()));
+            }
+        }
+        if (specs.isEmpty())
+            return result;
+
+        Object raw = js.executeAsyncScript(MEASURE_SCRIPT, specs);
+        List<?> missingByFont = raw instanceof List ? (List<?>) raw : Collections.emptyList();
+        for (int i = 0; i < fonts.size(); i++) {
+            String font = fonts.get(i);
+            Object missing = i < missingByFont.size() ? missingByFont.get(i) : null;
+            if (!(missing instanceof List)) {
+                result.genericFonts.add(font);
+                continue;
+            }
+            Set<Integer> fallback = new HashSet<>();
+            for (Object chars : (List<?>) missing)
+                fallback.add(String.valueOf(chars).codePointAt(0));
+
+            String pending = specs.get(i).get(1);
+            for (int k = 0; k < pending.length(); k += Character.charCount(pending.codePointAt(k))) {
+                int codePoint = pending.codePointAt(k);
+                result.measured++;
+                if (fallback.contains(codePoint))
+                    result.missing.add(new Missing(font, codePoint, byFont.get(font).get(codePoint)));
+                else
+                    markCovered(font, codePoint);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Code point khac nhau theo font-family (kem node dau tien chua no), chi giu
+     * code point thuoc cac chu viet can kiem tra
+     */
+    public static Map<String, Map<Integer, PageSnapshot.TextNode>> collect(PageSnapshot snapshot,
+            Set<ScriptRunAnalyzer.Script> scripts) {
+        Map<String, Map<Integer, PageSnapshot.TextNode>> byFont = new LinkedHashMap<>();
+        if (scripts.isEmpty())
+            return byFont;
+        for (PageSnapshot.TextNode node : snapshot.getNodes()) {
+            if (node.font == null || node.font.isEmpty())
+                continue;
+            Map<Integer, PageSnapshot.TextNode> codePoints = null;
+            String text = node.text;
+            for (int i = 0; i < text.length();) {
+                int codePoint = text.codePointAt(i);
+                i += Character.charCount(codePoint);
+                if (!scripts.contains(ScriptRunAnalyzer.scriptOf(codePoint)))
+                    continue;
+                if (codePoints == null)
+                    codePoints = byFont.computeIfAbsent(node.font, f -> new LinkedHashMap<>());
+                codePoints.putIfAbsent(codePoint, node);
+            }
+        }
+        return byFont;
+    }
+
+    /**
+     * So code point da chung minh co glyph trong font
+     */
+    public synchronized int coveredCount(String font) {
+        BitSet bits = covered.get(font);
+        return bits != null ? bits.cardinality() : 0;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private synchronized boolean isCovered(String font, int codePoint) {
+        BitSet bits = covered.get(font);
+        return bits != null && bits.get(codePoint);
+    }
+
+    private synchronized void markCovered(String font, int codePoint) {
+        covered.computeIfAbsent(font, f -> new BitSet()).set(codePoint);
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot code point khong co glyph trong cac font duoc khai bao
+     */
+    public static class Missing {
+        public final String font;
+        public final int codePoint;
+        public final PageSnapshot.TextNode node; // Node dau tien chua ky tu
+
+        Missing(String font, int codePoint, PageSnapshot.TextNode node) {
+            this.font = font;
+            this.codePoint = codePoint;
+            this.node = node;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("U+%04X trong \"%s\" (%s)", codePoint, node != null ? node.text : "", font);
+        }
+    }
+
+    /**
+     * Ket qua kiem tra mot trang
+     */
+    public static class Result {
+        public int codePoints; // Code point khac nhau (theo font) tren trang
+        public int cached; // Da biet co glyph tu trang truoc
+        public int measured; // Do bang canvas o trang nay
+        public final List<Missing> missing = new ArrayList<>();
+        public final List<String> genericFonts = new ArrayList<>(); // Chi co font chung: khong kiem tra duoc
+
+        /**
+         * Font -> so code point roi vao font du phong
+         */
+        public Map<String, Integer> missingByFont() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Missing item : missing)
+                counts.merge(item.font, 1, Integer::sum);
+            return counts;
+        }
+
+        @Override
+        public String toString() {
+            return codePoints + " code point (" + cached + " tu cache, " + measured + " do moi), "
+                    + missing.size() + " thieu glyph";
+        }
+    }
+}
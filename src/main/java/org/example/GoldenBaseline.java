@@ -0,0 +1,296 @@
+package org.example;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Baseline "vang" cua van ban tung section (ngon ngu, trang, section)
+ *
+ * Che do bless luu van ban da duoc xac nhan dung; cac lan chay sau chi so sanh
+ * hash 64-bit cua section. Chi section co hash khac moi giai ma danh sach dong
+ * da luu va tinh diff (dong them / dong mat) - phan lon lan chay hang dem chi la
+ * so sanh hash. open() chi doc header va bang chi muc; ban ghi duoc doc tai
+ * offset cua no (FileChannel) khi can diff.
+ *
+ * Dinh dang file (giong LanguageConfigSnapshot): header (magic, version, tag) +
+ * bang chi muc (khoa, hash, offset, length) + cac ban ghi (so dong + tung dong).
+ */
+public class GoldenBaseline {
+
+    private static final int MAGIC = 0x4C313047; // "L10G"
+    private static final int VERSION = 1;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public enum Status {
+        UNCHANGED,
+        CHANGED,
+        MISSING // Chua co trong baseline
+    }
+
+    // Da doc tu file: khoa -> {hash, offset, length} cua ban ghi trong file
+    private Path file;
+    private final Map<String, long[]> index;
+    private String tag;
+
+    // Moi bless trong lan chay nay (ghi de ban ghi cu khi save)
+    private final Map<String, List<String>> blessed = new LinkedHashMap<>();
+
+    public GoldenBaseline() {
+        this(null, new LinkedHashMap<>(), "");
+    }
+
+    private GoldenBaseline(Path file, Map<String, long[]> index, String tag) {
+        this.file = file;
+        this.index = index;
+        this.tag = tag;
+    }
+
+    // ==================== DOC / GHI ====================
+
+    /**
+     * Mo file baseline: chi doc header va bang chi muc
+     */
+    public static GoldenBaseline open(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Khong phai file baseline: " + filePath);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Phien ban baseline khong ho tro: " + version);
+
+            String tag = in.readUTF();
+            int count = in.readInt();
+            Map<String, long[]> index = new LinkedHashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                long hash = in.readLong();
+                int offset = in.readInt();
+                int length = in.readInt();
+                index.put(key, new long[] { hash, offset, length });
+            }
+            return new GoldenBaseline(path, index, tag);
+        }
+    }
+
+    /**
+     * Ghi baseline: ban ghi cu + ban ghi vua bless (bless ghi de). Sau khi ghi,
+     * compare dung ngay baseline moi.
+     */
+    public synchronized void save(String filePath, String tag) throws IOException {
+        Map<String, List<String>> all = new LinkedHashMap<>();
+        if (file != null && !index.isEmpty()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (String key : index.keySet()) {
+                    if (!blessed.containsKey(key))
+                        all.put(key, decode(channel, key));
+                }
+            }
+        }
+        all.putAll(blessed);
+
+        List<byte[]> records = new ArrayList<>(all.size());
+        List<Long> hashes = new ArrayList<>(all.size());
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(indexBytes);
+        for (Map.Entry<String, List<String>> entry : all.entrySet()) {
+            ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(recordBytes);
+            record.writeInt(entry.getValue().size());
+            for (String segment : entry.getValue())
+                record.writeUTF(segment);
+            records.add(recordBytes.toByteArray());
+            hashes.add(hash(entry.getValue()));
+
+            // Tinh kich thuoc bang chi muc de biet offset cua ban ghi dau tien
+            indexOut.writeUTF(entry.getKey());
+            indexOut.writeLong(0); // hash
+            indexOut.writeLong(0); // offset + length
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeUTF(tag != null ? tag : "");
+        header.writeInt(all.size());
+        int offset = headerBytes.size() + indexBytes.size();
+        Map<String, long[]> written = new LinkedHashMap<>(all.size() * 2);
+        int i = 0;
+        for (Map.Entry<String, List<String>> entry : all.entrySet()) {
+            header.writeUTF(entry.getKey());
+            header.writeLong(hashes.get(i));
+            header.writeInt(offset);
+            header.writeInt(records.get(i).length);
+            written.put(entry.getKey(), new long[] { hashes.get(i), offset, records.get(i).length });
+            offset += records.get(i).length;
+            i++;
+        }
+
+        Path path = Paths.get(filePath);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            headerBytes.writeTo(out);
+            for (byte[] record : records)
+                out.write(record);
+        }
+        this.file = path;
+        this.tag = tag;
+        index.clear();
+        index.putAll(written);
+        blessed.clear();
+    }
+
+    // ==================== BLESS / SO SANH ====================
+
+    /**
+     * Ghi nhan van ban cua section la dung (luu khi save)
+     */
+    public synchronized void bless(String language, String page, String section, String text) {
+        blessed.put(key(language, page, section), segments(text));
+    }
+
+    /**
+     * So sanh van ban hien tai cua section voi baseline
+     */
+    public synchronized Result compare(String language, String page, String section, String text) {
+        String key = key(language, page, section);
+        List<String> current = segments(text);
+        long currentHash = hash(current);
+
+        long[] entry = index.get(key);
+        if (entry == null)
+            return new Result(Status.MISSING, Collections.emptyList(), Collections.emptyList());
+        if (entry[0] == currentHash)
+            return new Result(Status.UNCHANGED, Collections.emptyList(), Collections.emptyList());
+
+        // Hash khac: moi doc ban ghi va diff theo dong (dem so lan xuat hien)
+        List<String> expected;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            expected = decode(channel, key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Khong doc duoc baseline: " + file, e);
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        for (String segment : expected)
+            counts.merge(segment, 1, Integer::sum);
+        List<String> added = new ArrayList<>();
+        for (String segment : current) {
+            Integer count = counts.get(segment);
+            if (count == null || count == 0)
+                added.add(segment);
+            else
+                counts.put(segment, count - 1);
+        }
+        List<String> removed = new ArrayList<>();
+        for (String segment : expected) {
+            Integer count = counts.get(segment);
+            if (count != null && count > 0) {
+                removed.add(segment);
+                counts.put(segment, count - 1);
+            }
+        }
+        return new Result(Status.CHANGED, added, removed);
+    }
+
+    public synchronized boolean contains(String language, String page, String section) {
+        return index.containsKey(key(language, page, section));
+    }
+
+    public synchronized int size() {
+        Set<String> keys = new HashSet<>(index.keySet());
+        keys.addAll(blessed.keySet());
+        return keys.size();
+    }
+
+    public synchronized String getTag() {
+        return tag;
+    }
+
+    // ==================== STATIC UTILITY METHODS ====================
+
+    /**
+     * Tach van ban section thanh cac dong da chuan hoa (bo dong trong)
+     */
+    public static List<String> segments(String text) {
+        List<String> segments = new ArrayList<>();
+        if (text == null)
+            return segments;
+        for (String line : text.split("\n")) {
+            String segment = line.replace('\u00A0', ' ').trim().replaceAll("\\s+", " ");
+            if (!segment.isEmpty())
+                segments.add(segment);
+        }
+        return segments;
+    }
+
+    /**
+     * Hash 64-bit (FNV-1a) cua danh sach dong
+     */
+    public static long hash(List<String> segments) {
+        long hash = FNV_OFFSET;
+        for (String segment : segments) {
+            for (int i = 0; i < segment.length(); i++)
+                hash = (hash ^ segment.charAt(i)) * FNV_PRIME;
+            hash = (hash ^ '\n') * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static String key(String language, String page, String section) {
+        return language + '|' + page + '|' + section;
+    }
+
+    /**
+     * Doc mot ban ghi tai offset cua no
+     */
+    private List<String> decode(FileChannel channel, String key) throws IOException {
+        long[] entry = index.get(key);
+        ByteBuffer buffer = ByteBuffer.allocate((int) entry[2]);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry[1] + buffer.position()) < 0)
+                throw new EOFException("Ban ghi baseline bi cat: " + key);
+        }
+        List<String> segments = new ArrayList<>();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+            int count = in.readInt();
+            for (int i = 0; i < count; i++)
+                segments.add(in.readUTF());
+        } catch (IOException e) {
+            throw new IOException("Ban ghi baseline hong: " + key, e);
+        }
+        return segments;
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Ket qua so sanh mot section
+     */
+    public static class Result {
+        public final Status status;
+        public final List<String> added; // Co trong trang, khong co trong baseline
+        public final List<String> removed; // Co trong baseline, mat khoi trang
+
+        Result(Status status, List<String> added, List<String> removed) {
+            this.status = status;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        @Override
+        public String toString() {
+            return status + (status == Status.CHANGED ? " +" + added + " -" + removed : "");
+        }
+    }
+}
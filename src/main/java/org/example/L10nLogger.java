@@ -0,0 +1,366 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger bat dong bo cho kiem tra L10n
+ *
+ * Cac checker chi day su kien vao hang doi khong khoa (lock-free), mot thread
+ * ghi duy nhat lay su kien ra va ghi ra console + file. Nho vay cac worker
+ * song song khong tranh nhau khoa cua System.out / PrintWriter, va toAscii chi
+ * chay tren thread ghi.
+ *
+ * Console va file deu duoc sinh ra tu cung mot su kien (Event) co cac truong
+ * cau truc: language, page, section.
+ */
+public final class L10nLogger {
+
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR
+    }
+
+    // Dich cua su kien (bitmask)
+    public static final int TO_CONSOLE = 1;
+    public static final int TO_FILE = 2;
+    public static final int TO_ALL = TO_CONSOLE | TO_FILE;
+
+    // Thoi gian toi da thread ghi ngu khi hang doi rong
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final ConcurrentLinkedQueue<Event> QUEUE = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+    private static volatile Level consoleLevel = Level.INFO;
+    private static volatile boolean quiet = Boolean.getBoolean("l10n.quiet");
+    private static volatile boolean asciiConsole = true;
+    private static volatile PrintWriter fileWriter;
+    private static volatile boolean writerParked;
+
+    private static final Thread WRITER;
+
+    static {
+        WRITER = new Thread(L10nLogger::drainLoop, "l10n-logger");
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(L10nLogger::flush, "l10n-logger-shutdown"));
+    }
+
+    private L10nLogger() {
+    }
+
+    // ==================== CAU HINH ====================
+
+    /**
+     * Che do im lang cho batch run: console chi in WARN va ERROR (kem ngu canh),
+     * file van ghi day du
+     */
+    public static void setQuiet(boolean value) {
+        quiet = value;
+    }
+
+    public static boolean isQuiet() {
+        return quiet;
+    }
+
+    /**
+     * Muc log toi thieu cho console (file luon ghi tu DEBUG tro len)
+     */
+    public static void setConsoleLevel(Level level) {
+        consoleLevel = level;
+    }
+
+    /**
+     * Chuyen ky tu Unicode thanh ASCII khi in ra console (mac dinh: bat)
+     */
+    public static void setAsciiConsole(boolean value) {
+        asciiConsole = value;
+    }
+
+    /**
+     * Mo file log (UTF-8). File cu (neu co) se duoc dong sau khi ghi het su kien
+     * dang cho.
+     */
+    public static void openFile(String filePath) throws IOException {
+        PrintWriter writer = new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8)));
+        flush();
+        PrintWriter old = fileWriter;
+        fileWriter = writer;
+        if (old != null)
+            old.close();
+    }
+
+    /**
+     * Ghi het su kien dang cho va dong file log
+     */
+    public static void closeFile() {
+        flush();
+        PrintWriter old = fileWriter;
+        fileWriter = null;
+        if (old != null)
+            old.close();
+    }
+
+    // ==================== NGU CANH CAU TRUC ====================
+
+    /**
+     * Dat ngu canh (language, page, section) cho thread hien tai.
+     * Truong null giu nguyen gia tri cu.
+     */
+    public static void setContext(String language, String page, String section) {
+        Context ctx = CONTEXT.get();
+        if (language != null)
+            ctx.language = language;
+        if (page != null)
+            ctx.page = page;
+        if (section != null)
+            ctx.section = section;
+    }
+
+    public static void setLanguage(String language) {
+        CONTEXT.get().language = language;
+    }
+
+    public static void setPage(String page) {
+        Context ctx = CONTEXT.get();
+        ctx.page = page;
+        ctx.section = null;
+    }
+
+    public static void setSection(String section) {
+        CONTEXT.get().section = section;
+    }
+
+    public static void clearContext() {
+        CONTEXT.remove();
+    }
+
+    // ==================== GHI SU KIEN ====================
+
+    public static void debug(String message) {
+        emit(Level.DEBUG, TO_ALL, message);
+    }
+
+    public static void info(String message) {
+        emit(Level.INFO, TO_ALL, message);
+    }
+
+    public static void warn(String message) {
+        emit(Level.WARN, TO_ALL, message);
+    }
+
+    public static void error(String message) {
+        emit(Level.ERROR, TO_ALL, message);
+    }
+
+    /**
+     * Chi ghi vao file bao cao (khong in ra console)
+     */
+    public static void report(String message) {
+        emit(Level.INFO, TO_FILE, message);
+    }
+
+    /**
+     * Chi in ra console (khong ghi vao file bao cao)
+     */
+    public static void console(Level level, String message) {
+        emit(level, TO_CONSOLE, message);
+    }
+
+    /**
+     * Day mot su kien vao hang doi. Khong khoa, khong dinh dang chuoi tren thread
+     * goi.
+     */
+    public static void emit(Level level, int targets, String message) {
+        if ((targets & TO_FILE) == 0 && !acceptsConsole(level))
+            return;
+        Context ctx = CONTEXT.get();
+        QUEUE.offer(new Event(System.currentTimeMillis(), level, targets, ctx.language, ctx.page, ctx.section,
+                message, null));
+        if (writerParked)
+            LockSupport.unpark(WRITER);
+    }
+
+    /**
+     * Cho den khi moi su kien da gui truoc do duoc ghi xong.
+     * Goi truoc khi in prompt tuong tac hoac bao cao tong ket bang System.out.
+     */
+    public static void flush() {
+        if (Thread.currentThread() == WRITER)
+            return;
+        CountDownLatch latch = new CountDownLatch(1);
+        QUEUE.offer(new Event(0, Level.DEBUG, 0, null, null, null, null, latch));
+        LockSupport.unpark(WRITER);
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== THREAD GHI ====================
+
+    private static boolean acceptsConsole(Level level) {
+        if (quiet)
+            return level.ordinal() >= Level.WARN.ordinal();
+        return level.ordinal() >= consoleLevel.ordinal();
+    }
+
+    private static void drainLoop() {
+        while (true) {
+            PrintStream console = System.out; // Doc lai moi vong: theo System.setOut
+            Event event = QUEUE.poll();
+            if (event == null) {
+                console.flush();
+                PrintWriter file = fileWriter;
+                if (file != null)
+                    file.flush();
+                writerParked = true;
+                // Kiem tra lai sau khi bat co de khong bo lo unpark
+                if (QUEUE.isEmpty())
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                writerParked = false;
+                continue;
+            }
+            if (event.flushLatch != null) {
+                console.flush();
+                PrintWriter file = fileWriter;
+                if (file != null)
+                    file.flush();
+                event.flushLatch.countDown();
+                continue;
+            }
+            try {
+                write(console, event);
+            } catch (RuntimeException ignored) {
+                // Logger khong duoc lam chet thread ghi
+            }
+        }
+    }
+
+    private static void write(PrintStream console, Event event) {
+        if ((event.targets & TO_CONSOLE) != 0 && acceptsConsole(event.level)) {
+            String line = quiet ? event.formatWithContext() : event.message;
+            console.println(asciiConsole ? toAscii(line) : line);
+        }
+        PrintWriter file = fileWriter;
+        if ((event.targets & TO_FILE) != 0 && file != null) {
+            file.println(event.message);
+        }
+    }
+
+    // ==================== TIEN ICH ====================
+
+    /**
+     * Chuyen ky tu Unicode thanh ASCII an toan cho console.
+     * Ky hieu tien te pho bien duoc doi thanh ma ISO, ky tu khac thanh '?'.
+     * Chuoi toan ASCII duoc tra ve nguyen ven (khong cap phat).
+     */
+    public static String toAscii(String text) {
+        if (text == null)
+            return "";
+        int len = text.length();
+        int i = 0;
+        while (i < len && text.charAt(i) < 0x80)
+            i++;
+        if (i == len)
+            return text;
+
+        StringBuilder sb = new StringBuilder(len + 8);
+        sb.append(text, 0, i);
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                sb.append(c);
+                continue;
+            }
+            switch (c) {
+                case '€':
+                    sb.append("EUR");
+                    break;
+                case '£':
+                    sb.append("GBP");
+                    break;
+                case '¥':
+                    sb.append("JPY");
+                    break;
+                case '₩':
+                    sb.append("KRW");
+                    break;
+                case '₫':
+                    sb.append("VND");
+                    break;
+                case '฿':
+                    sb.append("THB");
+                    break;
+                case '₹':
+                    sb.append("INR");
+                    break;
+                case '₽':
+                    sb.append("RUB");
+                    break;
+                default:
+                    // Cap surrogate chi thanh mot dau '?'
+                    if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1)))
+                        i++;
+                    sb.append('?');
+            }
+        }
+        return sb.toString();
+    }
+
+    // ==================== CLASS SU KIEN ====================
+
+    private static final class Context {
+        String language;
+        String page;
+        String section;
+    }
+
+    /**
+     * Mot su kien log co cau truc
+     */
+    public static final class Event {
+        public final long timestamp;
+        public final Level level;
+        public final String language;
+        public final String page;
+        public final String section;
+        public final String message;
+        final int targets;
+        final CountDownLatch flushLatch;
+
+        Event(long timestamp, Level level, int targets, String language, String page, String section,
+                String message, CountDownLatch flushLatch) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.targets = targets;
+            this.language = language;
+            this.page = page;
+            this.section = section;
+            this.message = message;
+            this.flushLatch = flushLatch;
+        }
+
+        /**
+         * Dinh dang kem ngu canh, vd: "[WARN] [fr|Homepage|HEADER] ..."
+         */
+        public String formatWithContext() {
+            StringBuilder sb = new StringBuilder();
+            sb.append('[').append(level).append("] [")
+                    .append(language != null ? language : "-").append('|')
+                    .append(page != null ? page : "-").append('|')
+                    .append(section != null ? section : "-").append("] ")
+                    .append(message != null ? message.trim() : "");
+            return sb.toString();
+        }
+    }
+}
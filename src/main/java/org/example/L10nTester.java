@@ -14,6 +14,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * L10n Tester - Kiem tra Localization cho PrestaShop
@@ -28,11 +29,61 @@ public class L10nTester {
     private JavascriptExecutor js;
     private List<TextCheckResult> textResults;
     private List<TestResult> testResults;
-    private PrintWriter logWriter;
     private String reportDir;
     private String currentLanguage;
     private Scanner scanner;
 
+    // Gia theo (san pham, ngon ngu, trang) - giu qua nhieu lan chay de so sanh
+    // giua cac ngon ngu
+    private final PriceIndex priceIndex = new PriceIndex();
+
+    // Corpus tieng Anh tham chieu (thu thap khi chay "en", luu giua cac lan chay)
+    private static final String ENGLISH_CORPUS_FILE = System.getProperty("l10n.english.corpus",
+            "report/english_corpus.bin");
+    private EnglishCorpus englishCorpus;
+
+    // Snapshot "en" cua tung loai trang (giu qua nhieu lan chay) de ghep theo
+    // duong dan DOM voi ban dich
+    private final Map<String, DomPathJoin> englishPages = new HashMap<>();
+    private final Map<String, PageSnapshot> englishSnapshots = new HashMap<>();
+    // Chong lan / bi cat da co o ban "en" (thiet ke, khong phai loi dich): khoa
+    // chong lan va duong dan node bi cat
+    private final Map<String, Set<String>> englishLayoutIssues = new HashMap<>();
+
+    // Baseline vang (hash van ban tung section); bless = che do 4
+    private static final String BASELINE_FILE = System.getProperty("l10n.baseline", "report/golden_baseline.bin");
+    private GoldenBaseline baseline;
+    private boolean blessing;
+
+    // Catalog dich cua shop: <thu muc>/<ma ngon ngu>.bin|.xlf|.xliff|.csv (nap khi can)
+    private static final String CATALOG_DIR = System.getProperty("l10n.catalog.dir", "catalogs");
+    private final Map<String, Optional<TranslationCatalog>> catalogs = new HashMap<>();
+    // Chuoi goc -> thanh phan giao dien (CSV source,component) cho gallery
+    private static final String COMPONENT_MAP_FILE = System.getProperty("l10n.component.map", "components.csv");
+
+    // Ty le do dai en -> ban dich hoc tu cac lan chay, dung cho nguong checkTextLength
+    private static final String EXPANSION_MODEL_FILE = System.getProperty("l10n.expansion.model",
+            "report/expansion_model.bin");
+    private ExpansionModel expansionModel;
+
+    // Code point da co glyph theo font, giu qua cac trang va ngon ngu (moi ngon
+    // ngu mot phien Chrome nen executor duoc truyen vao moi lan kiem tra)
+    private final GlyphCoverageChecker glyphChecker = new GlyphCoverageChecker();
+
+    // Breakpoint quet tran chu tren trang da tai (rong = tat); chi quet "en" (lam
+    // moc) va ngon ngu van ban dai
+    private static final List<ViewportSweep.Viewport> VIEWPORTS = ViewportSweep
+            .parse(System.getProperty("l10n.viewports", "375x812,768x1024,1024x768"));
+    // Thuong hieu / ten rieng giu nguyen o moi ngon ngu (-Dl10n.allowlist=a,b,c),
+    // cung email / URL: khong bao la chua dich
+    private static final ScriptRunAnalyzer INVARIANTS = new ScriptRunAnalyzer(
+            ScriptRunAnalyzer.DEFAULT_MIN_RUN_LENGTH, splitList(System.getProperty("l10n.allowlist", "")));
+    private static final Pattern INVARIANT_TEXT = Pattern.compile(
+            "[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+|(https?://|www\\.)\\S+");
+
+    // Tran chu / chong lan / bi cat da co o ban "en" theo (trang, breakpoint)
+    private final Map<String, Set<String>> englishViewportIssues = new HashMap<>();
+
     // Danh sach cac tu/cum tu tieng Anh can kiem tra
     private static final String[] ENGLISH_TEXTS = {
             // Navigation & Menu
@@ -80,6 +131,7 @@ public class L10nTester {
                 }
 
                 setup();
+                TextChecker.useExpansionModel(expansionModel());
                 openWebsiteAndSwitchLanguage(langCode);
 
                 int testMode = askForTestMode();
@@ -88,7 +140,31 @@ public class L10nTester {
                     testCurrentPageDetailed();
                 } else if (testMode == 2) {
                     testAllPagesDetailed();
+                } else if (testMode == 3) {
+                    if (!langCode.equals("en")) {
+                        harvestEnglishCorpus();
+                        openWebsiteAndSwitchLanguage(langCode);
+                    }
+                    testAllPagesDetailed();
+                } else if (testMode == 4) {
+                    blessing = true;
+                    try {
+                        testAllPagesDetailed();
+                        saveBaseline();
+                    } finally {
+                        blessing = false;
+                    }
+                } else if (testMode == 5) {
+                    runOverflowGallery();
+                } else if (testMode == 6) {
+                    runPseudoLocalization();
                 }
+                if (langCode.equals("en") && englishCorpus != null) {
+                    saveEnglishCorpus();
+                } else if (!langCode.equals("en")) {
+                    saveExpansionModel();
+                }
+                checkPriceConsistency();
 
                 showDetailedResults();
 
@@ -139,6 +215,7 @@ public class L10nTester {
     }
 
     private String askForLanguageCode() {
+        L10nLogger.flush();
         System.out.println();
         System.out.println("+-------------------------------------------------------------+");
         System.out.println("| NHAP MA NGON NGU CAN KIEM TRA (vd: en, vi, ja, ko, fr...)   |");
@@ -158,17 +235,23 @@ public class L10nTester {
         }
 
         currentLanguage = input;
+        L10nLogger.setLanguage(input);
         return input;
     }
 
     private int askForTestMode() {
+        L10nLogger.flush();
         System.out.println();
         System.out.println("+-------------------------------------------------------------+");
         System.out.println("| CHON CHE DO KIEM TRA                                        |");
         System.out.println("| 1. Kiem tra TRANG HIEN TAI                                  |");
         System.out.println("| 2. Kiem tra TU DONG TOAN BO (Homepage + Product + Cart)     |");
+        System.out.println("| 3. Thu thap corpus EN truoc, roi kiem tra TOAN BO           |");
+        System.out.println("| 4. BLESS: luu van ban TOAN BO lam baseline vang             |");
+        System.out.println("| 5. GALLERY: do tran chu cho ca catalog dich                 |");
+        System.out.println("| 6. PSEUDO: gia lap moi ngon ngu tren trang hien tai (en)    |");
         System.out.println("+-------------------------------------------------------------+");
-        System.out.print(">> Lua chon (1 hoac 2): ");
+        System.out.print(">> Lua chon (1-6): ");
 
         String input = scanner.nextLine().trim();
 
@@ -176,12 +259,21 @@ public class L10nTester {
             return 1;
         if (input.equals("2"))
             return 2;
-
-        System.out.println("[LOI] Vui long nhap 1 hoac 2!");
+        if (input.equals("3"))
+            return 3;
+        if (input.equals("4"))
+            return 4;
+        if (input.equals("5"))
+            return 5;
+        if (input.equals("6"))
+            return 6;
+
+        System.out.println("[LOI] Vui long nhap so tu 1 den 6!");
         return askForTestMode();
     }
 
     private boolean askContinue() {
+        L10nLogger.flush();
         System.out.println();
         System.out.println("+-------------------------------------------------------------+");
         System.out.println("| TIEP TUC KIEM TRA NGON NGU KHAC?                            |");
@@ -198,8 +290,7 @@ public class L10nTester {
         Files.createDirectories(Paths.get(reportDir));
 
         String logFile = reportDir + "/l10n_report.txt";
-        logWriter = new PrintWriter(new OutputStreamWriter(new FileOutputStream(logFile), StandardCharsets.UTF_8),
-                true);
+        L10nLogger.openFile(logFile);
 
         textResults = new ArrayList<>();
         testResults = new ArrayList<>();
@@ -275,6 +366,7 @@ public class L10nTester {
         System.out.println("KIEM TRA CHI TIET TRANG HIEN TAI");
         System.out.println("=".repeat(60));
 
+        L10nLogger.setPage("Homepage");
         log("\n------------------------------------------------------------");
         log("KIEM TRA TRANG: Homepage");
         log("------------------------------------------------------------");
@@ -290,8 +382,11 @@ public class L10nTester {
         // Kiem tra tien te
         checkCurrency(config, "Homepage");
 
+        // Nhan dien ngon ngu tung text node
+        checkPageText(config, "Homepage");
+
         // Scroll va kiem tra van ban chi tiet
-        System.out.println("\n[KIEM TRA VAN BAN CHI TIET]");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n[KIEM TRA VAN BAN CHI TIET]");
         log("\n[VAN BAN CHI TIET]");
 
         scrollToTop();
@@ -318,7 +413,8 @@ public class L10nTester {
         LanguageConfig config = LanguageConfig.get(currentLanguage);
 
         // === HOMEPAGE ===
-        System.out.println("\n>>> TRANG 1: HOMEPAGE");
+        L10nLogger.setPage("Homepage");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n>>> TRANG 1: HOMEPAGE");
         log("\n------------------------------------------------------------");
         log("KIEM TRA TRANG: Homepage");
         log("------------------------------------------------------------");
@@ -326,6 +422,7 @@ public class L10nTester {
         checkLanguageSettings(config, "Homepage");
         checkPageTitle(config, "Homepage");
         checkCurrency(config, "Homepage");
+        checkPageText(config, "Homepage");
 
         scrollToTop();
         checkSectionText("HEADER", "#header, .header", config, "Homepage");
@@ -338,7 +435,8 @@ public class L10nTester {
         checkSectionText("FOOTER", "#footer, .footer", config, "Homepage");
 
         // === PRODUCT PAGE ===
-        System.out.println("\n>>> TRANG 2: PRODUCT DETAIL");
+        L10nLogger.setPage("Product");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n>>> TRANG 2: PRODUCT DETAIL");
         log("\n------------------------------------------------------------");
         log("KIEM TRA TRANG: Product Detail");
         log("------------------------------------------------------------");
@@ -350,6 +448,7 @@ public class L10nTester {
             checkLanguageSettings(config, "Product");
             checkPageTitle(config, "Product");
             checkCurrency(config, "Product");
+            checkPageText(config, "Product");
 
             checkSectionText("BREADCRUMB", ".breadcrumb", config, "Product");
             checkSectionText("PRODUCT INFO", ".product-information, .product-details", config, "Product");
@@ -361,7 +460,8 @@ public class L10nTester {
         }
 
         // === CATEGORY PAGE ===
-        System.out.println("\n>>> TRANG 3: CATEGORY PAGE");
+        L10nLogger.setPage("Category");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n>>> TRANG 3: CATEGORY PAGE");
         log("\n------------------------------------------------------------");
         log("KIEM TRA TRANG: Category");
         log("------------------------------------------------------------");
@@ -371,6 +471,7 @@ public class L10nTester {
 
             checkLanguageSettings(config, "Category");
             checkPageTitle(config, "Category");
+            checkPageText(config, "Category");
 
             checkSectionText("CATEGORY HEADER", ".category-header, #category-description", config, "Category");
             checkSectionText("FILTERS", ".facets, #search_filters", config, "Category");
@@ -379,7 +480,8 @@ public class L10nTester {
         }
 
         // === CART ===
-        System.out.println("\n>>> TRANG 4: CART");
+        L10nLogger.setPage("Cart");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n>>> TRANG 4: CART");
         log("\n------------------------------------------------------------");
         log("KIEM TRA TRANG: Cart");
         log("------------------------------------------------------------");
@@ -390,6 +492,7 @@ public class L10nTester {
             checkLanguageSettings(config, "Cart");
             checkPageTitle(config, "Cart");
             checkCurrency(config, "Cart");
+            checkPageText(config, "Cart");
 
             checkSectionText("CART CONTENT", ".cart-container, #cart", config, "Cart");
             checkSectionText("CART SUMMARY", ".cart-summary", config, "Cart");
@@ -400,14 +503,14 @@ public class L10nTester {
      * Kiem tra van ban trong mot section cu the
      */
     private void checkSectionText(String sectionName, String cssSelector, LanguageConfig config, String pageName) {
-        System.out.println("\n  [" + sectionName + "]");
-        log("\n  [" + sectionName + "]");
+        L10nLogger.setSection(sectionName);
+        L10nLogger.info("\n  [" + sectionName + "]");
 
         try {
             List<WebElement> elements = driver.findElements(By.cssSelector(cssSelector));
 
             if (elements.isEmpty()) {
-                System.out.println("    (Khong tim thay section nay)");
+                L10nLogger.console(L10nLogger.Level.INFO, "    (Khong tim thay section nay)");
                 return;
             }
 
@@ -421,9 +524,12 @@ public class L10nTester {
 
             String text = sectionText.toString();
 
+            // Baseline vang: bless hoac so sanh hash cua section
+            checkBaseline(sectionName, pageName, text);
+
             // Neu la tieng Anh thi khong can kiem tra
             if (currentLanguage.equals("en")) {
-                System.out.println("    (Ngon ngu EN - khong can kiem tra dich)");
+                L10nLogger.console(L10nLogger.Level.INFO, "    (Ngon ngu EN - khong can kiem tra dich)");
                 return;
             }
 
@@ -431,22 +537,16 @@ public class L10nTester {
             List<String> foundEnglish = new ArrayList<>();
             List<String> notFound = new ArrayList<>();
 
-            for (String engText : ENGLISH_TEXTS) {
-                if (text.contains(engText)) {
-                    foundEnglish.add(engText);
-                }
-            }
+            // Khop tron tu: "New" khong khop "Newsletter", "Art" khong khop "Article"
+            foundEnglish.addAll(PhraseMatcher.findPhrases(text, ENGLISH_TEXTS, currentLanguage));
 
             if (foundEnglish.isEmpty()) {
-                System.out.println("    [PASS] Khong tim thay text tieng Anh chua dich");
-                log("    PASS - Khong co text tieng Anh");
+                L10nLogger.info("    [PASS] Khong tim thay text tieng Anh chua dich");
             } else {
-                System.out.println("    [FAIL] Tim thay " + foundEnglish.size() + " text tieng Anh CHUA DICH:");
-                log("    FAIL - Tim thay " + foundEnglish.size() + " text chua dich:");
+                L10nLogger.warn("    [FAIL] Tim thay " + foundEnglish.size() + " text tieng Anh CHUA DICH:");
 
                 for (String eng : foundEnglish) {
-                    System.out.println("      - \"" + eng + "\"");
-                    log("      - \"" + eng + "\"");
+                    L10nLogger.warn("      - \"" + eng + "\"");
 
                     textResults.add(new TextCheckResult(
                             pageName,
@@ -464,15 +564,721 @@ public class L10nTester {
             }
 
         } catch (Exception e) {
-            System.out.println("    [LOI] " + e.getMessage());
+            L10nLogger.error("    [LOI] " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bless: ghi van ban section vao baseline. Nguoc lai: so sanh hash voi
+     * baseline, chi diff khi hash khac.
+     */
+    private void checkBaseline(String sectionName, String pageName, String text) {
+        if (blessing) {
+            baseline().bless(currentLanguage, pageName, sectionName, text);
+            L10nLogger.console(L10nLogger.Level.INFO, "    [BASELINE] Da bless");
+            return;
+        }
+        GoldenBaseline.Result result = baseline().compare(currentLanguage, pageName, sectionName, text);
+        if (result.status == GoldenBaseline.Status.MISSING)
+            return;
+        if (result.status == GoldenBaseline.Status.UNCHANGED) {
+            L10nLogger.info("    [BASELINE] Khong doi so voi baseline");
+            return;
+        }
+
+        L10nLogger.warn("    [BASELINE] THAY DOI so voi baseline: +" + result.added.size() + " / -"
+                + result.removed.size() + " dong");
+        for (String line : result.removed)
+            L10nLogger.warn("      - \"" + shorten(line) + "\"");
+        for (String line : result.added)
+            L10nLogger.warn("      + \"" + shorten(line) + "\"");
+        testResults.add(new TestResult("BASELINE_" + sectionName, pageName,
+                "Section " + sectionName + " so voi baseline",
+                "Giong baseline (" + baseline().getTag() + ")",
+                "+" + result.added.size() + " / -" + result.removed.size() + " dong",
+                false));
+    }
+
+    private GoldenBaseline baseline() {
+        if (baseline == null) {
+            baseline = new GoldenBaseline();
+            if (Files.exists(Paths.get(BASELINE_FILE))) {
+                try {
+                    baseline = GoldenBaseline.open(BASELINE_FILE);
+                    L10nLogger.info("[BASELINE] Da doc " + baseline.size() + " section (" + baseline.getTag() + ")");
+                } catch (IOException e) {
+                    L10nLogger.error("[LOI] Khong doc duoc baseline: " + e.getMessage());
+                }
+            }
+        }
+        return baseline;
+    }
+
+    private void saveBaseline() {
+        try {
+            baseline().save(BASELINE_FILE, PRESTASHOP_URL + " " + LocalDateTime.now()
+                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            L10nLogger.info("[BASELINE] Da luu " + baseline().size() + " section: " + BASELINE_FILE);
+        } catch (IOException e) {
+            L10nLogger.error("[LOI] Khong luu duoc baseline: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Van ban cua trang theo text node (mot lan goi JS): trang "en" duoc thu thap
+     * vao corpus tieng Anh; ngon ngu khac duoc nhan dien ngon ngu tung node va
+     * tra corpus.
+     */
+    private void checkPageText(LanguageConfig config, String pageName) {
+        PageSnapshot snapshot;
+        try {
+            snapshot = PageSnapshot.capture(js);
+        } catch (Exception e) {
+            L10nLogger.error("    [LOI] Khong chup duoc van ban trang: " + e.getMessage());
+            return;
+        }
+        if (currentLanguage.equals("en")) {
+            safely("Corpus tieng Anh", () -> {
+                int added = englishCorpus().harvest(snapshot);
+                englishPages.put(pageName, new DomPathJoin(snapshot));
+                englishSnapshots.put(pageName, snapshot);
+                LayoutAnalyzer.Result layout = new LayoutAnalyzer().analyze(snapshot);
+                Set<String> known = new HashSet<>();
+                for (LayoutAnalyzer.Overlap overlap : layout.overlaps)
+                    known.add(overlap.key());
+                for (LayoutAnalyzer.Clipped clipped : layout.clipped)
+                    known.add(clipped.node.path);
+                englishLayoutIssues.put(pageName, known);
+                L10nLogger.info("    [CORPUS] +" + added + " doan tieng Anh (tong " + englishCorpus().size() + ")");
+            });
+            safely("Viewport", () -> sweepViewports(config, pageName));
+            return;
+        }
+        // Moi node chua dich chi bao mot lan qua cac check van ban (duong dan DOM)
+        Set<String> reported = new HashSet<>();
+        TranslationCatalog catalog = catalog(config.code);
+        safely("Ngon ngu node", () -> checkNodeLanguages(config, pageName, snapshot, catalog, reported));
+        safely("Bo cuc", () -> checkLayout(pageName, snapshot));
+        if (config.isRTL && englishSnapshots.containsKey(pageName))
+            safely("Lat RTL", () -> checkRtlMirror(pageName, englishSnapshots.get(pageName), snapshot));
+        if (GlyphCoverageChecker.appliesTo(config))
+            safely("Glyph", () -> checkGlyphs(config, pageName, snapshot));
+
+        // Co ban "en" cua trang nay: ghep theo vi tri (chinh xac hon tra corpus)
+        DomPathJoin englishPage = englishPages.get(pageName);
+        if (englishPage != null) {
+            safely("Giong ban en",
+                    () -> checkIdenticalToEnglish(config, pageName, snapshot, englishPage, catalog, reported));
+            safely("Do gian", () -> {
+                int pairs = expansionModel().observe(config.code, englishSnapshots.get(pageName), snapshot);
+                L10nLogger.info("    [DO GIAN] +" + pairs + " cap en/" + config.code);
+            });
+        } else {
+            safely("Corpus tieng Anh", () -> checkEnglishCorpus(config, pageName, snapshot, catalog, reported));
+        }
+
+        if (catalog != null)
+            safely("Catalog", () -> checkCatalog(config, pageName, snapshot, catalog, reported));
+
+        if (TextChecker.isLongTextLanguage(config.code))
+            safely("Viewport", () -> sweepViewports(config, pageName));
+    }
+
+    /**
+     * Chay mot check con cua checkPageText: loi chi ghi log, cac check sau van chay
+     */
+    private void safely(String name, Runnable check) {
+        try {
+            check.run();
+        } catch (Exception e) {
+            L10nLogger.error("    [LOI] " + name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Node chua dich can bao: chua bi check van ban truoc bao (ghi nhan luon) va
+     * khong phai chuoi giu nguyen hop le o moi ngon ngu (email, URL, allowlist,
+     * muc catalog co ban dich trung chuoi goc)
+     */
+    private boolean claimUntranslated(PageSnapshot.TextNode node, TranslationCatalog catalog, Set<String> reported) {
+        if (reported.contains(node.path) || isLocaleInvariant(node.text, catalog))
+            return false;
+        reported.add(node.path);
+        return true;
+    }
+
+    private static boolean isLocaleInvariant(String text, TranslationCatalog catalog) {
+        if (INVARIANT_TEXT.matcher(text.trim()).matches() || INVARIANTS.isAllowlisted(text))
+            return true;
+        if (catalog == null)
+            return false;
+        String expected = catalog.translate(text);
+        return expected != null && expected.equals(TranslationCatalog.normalize(text));
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty())
+                items.add(item.trim());
+        }
+        return items;
+    }
+
+    /**
+     * Text box chong lan (tru chong lan da co o ban "en") va bi to tien cat mot phan
+     */
+    private void checkLayout(String pageName, PageSnapshot snapshot) {
+        L10nLogger.setSection("BO CUC");
+        LayoutAnalyzer.Result result = new LayoutAnalyzer().analyze(snapshot);
+        Set<String> known = englishLayoutIssues.getOrDefault(pageName, Collections.emptySet());
+
+        int overlaps = 0;
+        for (LayoutAnalyzer.Overlap overlap : result.overlaps) {
+            if (known.contains(overlap.key()))
+                continue;
+            overlaps++;
+            L10nLogger.warn("    [FAIL] Chong lan: " + overlap);
+            testResults.add(new TestResult("LAYOUT_OVERLAP", pageName,
+                    "Node " + overlap.first.path,
+                    "Khong de len node khac",
+                    "De len '" + shorten(overlap.second.text) + "' (" + overlap.second.path + ")",
+                    false));
+        }
+        int clips = 0;
+        for (LayoutAnalyzer.Clipped clipped : result.clipped) {
+            if (known.contains(clipped.node.path))
+                continue;
+            clips++;
+            L10nLogger.warn("    [FAIL] Bi cat: " + clipped);
+            testResults.add(new TestResult("LAYOUT_CLIPPED", pageName,
+                    "Node " + clipped.node.path,
+                    "Hien thi day du",
+                    String.format("Chi thay %.0f%%: \"%s\"", clipped.visibleFraction * 100,
+                            shorten(clipped.node.text)),
+                    false));
+        }
+        if (overlaps == 0 && clips == 0)
+            L10nLogger.info("    [PASS] " + result.boxes + " text box khong chong lan / bi cat");
+    }
+
+    /**
+     * Do lai tran chu / chong lan / bi cat o cac breakpoint tablet, mobile (CDP, khong
+     * tai lai trang). Ban "en" chi ghi lai loi co san cua thiet ke.
+     */
+    private void sweepViewports(LanguageConfig config, String pageName) {
+        ViewportSweep sweep = new ViewportSweep(driver);
+        if (VIEWPORTS.isEmpty() || !sweep.isSupported())
+            return;
+        L10nLogger.setSection("VIEWPORT");
+        boolean english = config.code.equals("en");
+
+        for (ViewportSweep.Measurement measurement : sweep.sweep(VIEWPORTS, TextChecker.CRITICAL_SELECTORS)) {
+            String key = pageName + "@" + measurement.viewport.width + "x" + measurement.viewport.height;
+            String page = pageName + " @" + measurement.viewport;
+            if (english) {
+                Set<String> known = new HashSet<>();
+                for (LayoutAnalyzer.Overlap overlap : measurement.layout.overlaps)
+                    known.add(overlap.key());
+                for (LayoutAnalyzer.Clipped clipped : measurement.layout.clipped)
+                    known.add(clipped.node.path);
+                for (TextChecker.TextOverflowResult result : measurement.overflows)
+                    known.add(result.key());
+                englishViewportIssues.put(key, known);
+                L10nLogger.info("    [MOC] " + measurement);
+                continue;
+            }
+
+            Set<String> known = englishViewportIssues.getOrDefault(key, Collections.emptySet());
+            int failures = 0;
+            for (TextChecker.TextOverflowResult result : measurement.overflows) {
+                if (known.contains(result.key()))
+                    continue;
+                failures++;
+                L10nLogger.warn("    [FAIL] " + measurement.viewport + " " + result);
+                testResults.add(new TestResult("VIEWPORT_OVERFLOW", page,
+                        "Element " + result.elementSelector,
+                        "Khong tran (scrollWidth <= offsetWidth)",
+                        String.format("offsetWidth=%d, scrollWidth=%d: \"%s\"", result.offsetWidth,
+                                result.scrollWidth, shorten(result.text)),
+                        false));
+            }
+            for (LayoutAnalyzer.Overlap overlap : measurement.layout.overlaps) {
+                if (known.contains(overlap.key()))
+                    continue;
+                failures++;
+                L10nLogger.warn("    [FAIL] " + measurement.viewport + " chong lan: " + overlap);
+                testResults.add(new TestResult("VIEWPORT_OVERLAP", page,
+                        "Node " + overlap.first.path,
+                        "Khong de len node khac",
+                        "De len '" + shorten(overlap.second.text) + "' (" + overlap.second.path + ")",
+                        false));
+            }
+            for (LayoutAnalyzer.Clipped clipped : measurement.layout.clipped) {
+                if (known.contains(clipped.node.path))
+                    continue;
+                failures++;
+                L10nLogger.warn("    [FAIL] " + measurement.viewport + " bi cat: " + clipped);
+                testResults.add(new TestResult("VIEWPORT_CLIPPED", page,
+                        "Node " + clipped.node.path,
+                        "Hien thi day du",
+                        String.format("Chi thay %.0f%%: \"%s\"", clipped.visibleFraction * 100,
+                                shorten(clipped.node.text)),
+                        false));
+            }
+            if (failures == 0)
+                L10nLogger.info("    [PASS] " + measurement);
+        }
+    }
+
+    /**
+     * Bo cuc RTL: vi tri ngang cua text box phai la anh guong cua ban "en"
+     */
+    private void checkRtlMirror(String pageName, PageSnapshot english, PageSnapshot snapshot) {
+        L10nLogger.setSection("LAT RTL");
+        Object width = js.executeScript("return document.documentElement.clientWidth;");
+        RtlMirrorVerifier.Result result = new RtlMirrorVerifier().verify(english, snapshot,
+                width instanceof Number ? ((Number) width).floatValue() : 0);
+
+        List<RtlMirrorVerifier.Component> unflipped = result.unflippedComponents();
+        for (RtlMirrorVerifier.Component component : unflipped) {
+            L10nLogger.warn("    [FAIL] Chua lat: " + component);
+            testResults.add(new TestResult("RTL_MIRROR", pageName,
+                    "Thanh phan " + component.name,
+                    "Vi tri ngang doi chieu so voi ban en",
+                    component.notFlipped + "/" + component.checked + " text box giu nguyen vi tri LTR",
+                    false));
+        }
+        for (RtlMirrorVerifier.Mismatch mismatch : result.notFlipped)
+            L10nLogger.warn("      " + mismatch.node.path + ": " + mismatch);
+        if (unflipped.isEmpty()) {
+            L10nLogger.info("    [PASS] " + result);
+            testResults.add(new TestResult("RTL_MIRROR", pageName,
+                    "Lat bo cuc RTL",
+                    "Vi tri ngang doi chieu so voi ban en",
+                    result.toString(),
+                    true));
+        }
+    }
+
+    /**
+     * Ky tu cua nhom chu viet khong co glyph trong font web cua trang (tofu)
+     */
+    private void checkGlyphs(LanguageConfig config, String pageName, PageSnapshot snapshot) {
+        L10nLogger.setSection("GLYPH");
+        GlyphCoverageChecker.Result result = glyphChecker.check(js, snapshot, config);
+
+        if (result.missing.isEmpty()) {
+            L10nLogger.info("    [PASS] " + result);
+            return;
+        }
+        L10nLogger.warn("    [FAIL] " + result);
+        for (Map.Entry<String, Integer> entry : result.missingByFont().entrySet()) {
+            StringBuilder samples = new StringBuilder();
+            int shown = 0;
+            for (GlyphCoverageChecker.Missing missing : result.missing) {
+                if (!missing.font.equals(entry.getKey()))
+                    continue;
+                L10nLogger.warn("      - " + missing);
+                if (shown++ < 5)
+                    samples.append(String.format("U+%04X ", missing.codePoint));
+            }
+            testResults.add(new TestResult("GLYPH_FALLBACK", pageName,
+                    "Font " + entry.getKey(),
+                    "Co glyph cho chu " + config.scriptGroup,
+                    entry.getValue() + " ky tu dung font du phong: " + samples.toString().trim(),
+                    false));
+        }
+    }
+
+    /**
+     * Nhan dien ngon ngu tung text node (trigram).
+     * Node nhan ra la tieng Anh = chua dich (FAIL); ngon ngu khac chi canh bao.
+     */
+    private void checkNodeLanguages(LanguageConfig config, String pageName, PageSnapshot snapshot,
+            TranslationCatalog catalog, Set<String> reported) {
+        L10nLogger.setSection("NGON NGU NODE");
+        List<LanguageIdentifier.Mismatch> mismatches = LanguageIdentifier.getDefault()
+                .findMismatches(snapshot, config.code);
+
+        if (mismatches.isEmpty()) {
+            L10nLogger.info("    [PASS] " + snapshot.size() + " text node deu la "
+                    + toAscii(config.languageName));
+            return;
+        }
+
+        for (LanguageIdentifier.Mismatch mismatch : mismatches) {
+            boolean english = "en".equals(mismatch.result.detected);
+            String text = shorten(mismatch.node.text);
+            if (!english) {
+                L10nLogger.warn("    [WARN] Node '" + mismatch.node.path + "' giong ngon ngu "
+                        + mismatch.result.detected + ": \"" + text + "\"");
+                continue;
+            }
+            if (!claimUntranslated(mismatch.node, catalog, reported))
+                continue;
+            L10nLogger.warn("    [FAIL] Node tieng Anh CHUA DICH: \"" + text + "\"");
+            testResults.add(new TestResult("TEXT_LANGUAGE", pageName,
+                    "Node " + mismatch.node.path,
+                    "Phai dich sang " + toAscii(config.languageName),
+                    "Van la tieng Anh: \"" + text + "\"",
+                    false));
+        }
+    }
+
+    /**
+     * Node giong het node cung duong dan DOM trong ban "en", gom theo vung trang
+     */
+    private void checkIdenticalToEnglish(LanguageConfig config, String pageName, PageSnapshot snapshot,
+            DomPathJoin englishPage, TranslationCatalog catalog, Set<String> reported) {
+        L10nLogger.setSection("GIONG BAN EN");
+        Map<String, List<PageSnapshot.TextNode>> bySection = englishPage.findIdenticalBySection(snapshot);
+        L10nLogger.info(String.format("    Ghep duoc %.0f%% node voi ban tieng Anh",
+                englishPage.coverage(snapshot) * 100));
+
+        int failures = 0;
+        for (Map.Entry<String, List<PageSnapshot.TextNode>> entry : bySection.entrySet()) {
+            List<PageSnapshot.TextNode> nodes = new ArrayList<>();
+            for (PageSnapshot.TextNode node : entry.getValue()) {
+                if (claimUntranslated(node, catalog, reported))
+                    nodes.add(node);
+            }
+            if (nodes.isEmpty())
+                continue;
+            failures += nodes.size();
+            String section = entry.getKey().toUpperCase();
+            L10nLogger.warn("    [FAIL] " + section + ": " + nodes.size() + " node giong het ban tieng Anh");
+            for (PageSnapshot.TextNode node : nodes) {
+                String text = shorten(node.text);
+                L10nLogger.warn("      - \"" + text + "\" (" + node.path + ")");
+                testResults.add(new TestResult("TEXT_IDENTICAL_" + section, pageName,
+                        "Node " + node.path,
+                        "Phai dich sang " + toAscii(config.languageName),
+                        "Giong het ban tieng Anh: \"" + text + "\"",
+                        false));
+            }
         }
+        if (failures == 0)
+            L10nLogger.info("    [PASS] Khong co node nao giong het ban tieng Anh");
+    }
+
+    /**
+     * Doi chieu trang voi catalog dich: node van la chuoi goc (FAIL) va ban dich
+     * mong doi cua cac chuoi tren trang "en" co xuat hien khong
+     */
+    private void checkCatalog(LanguageConfig config, String pageName, PageSnapshot snapshot,
+            TranslationCatalog catalog, Set<String> reported) {
+        L10nLogger.setSection("CATALOG");
+
+        List<TranslationCatalog.Untranslated> untranslated = catalog.findUntranslated(snapshot);
+        for (TranslationCatalog.Untranslated node : untranslated) {
+            if (!claimUntranslated(node.node, catalog, reported))
+                continue;
+            String text = shorten(node.node.text);
+            L10nLogger.warn("    [FAIL] \"" + text + "\" -> catalog: \"" + shorten(node.expected) + "\"");
+            testResults.add(new TestResult("TEXT_CATALOG", pageName,
+                    "Node " + node.node.path,
+                    node.expected,
+                    "Van la chuoi goc: \"" + text + "\"",
+                    false));
+        }
+
+        PageSnapshot english = englishSnapshots.get(pageName);
+        if (english == null) {
+            if (untranslated.isEmpty())
+                L10nLogger.info("    [PASS] Khong co chuoi goc nao cua catalog (" + catalog.size() + " muc)");
+            return;
+        }
+        TranslationCatalog.PageCheck check = catalog.verify(english, snapshot);
+        L10nLogger.info(String.format("    %d/%d ban dich mong doi co tren trang (%.0f%%)",
+                check.found.size(), check.expectedCount(), check.coverage() * 100));
+        for (Map.Entry<String, String> missing : check.missing.entrySet()) {
+            L10nLogger.warn("      - \"" + shorten(missing.getKey()) + "\" -> \"" + shorten(missing.getValue())
+                    + "\" khong co tren trang");
+        }
+        testResults.add(new TestResult("CATALOG_COVERAGE", pageName,
+                "Ban dich mong doi tu catalog",
+                check.expectedCount() + " chuoi",
+                check.found.size() + "/" + check.expectedCount() + " co tren trang",
+                check.missing.isEmpty()));
+    }
+
+    /**
+     * Catalog dich cua ngon ngu (null neu khong co file trong CATALOG_DIR); ban
+     * XLIFF / CSV duoc luu them ban .bin de lan sau map thang vao bo nho, va doc
+     * lai khi file nguon moi hon ban .bin
+     */
+    private TranslationCatalog catalog(String code) {
+        return catalogs.computeIfAbsent(code, c -> {
+            Path file = null;
+            try {
+                file = TranslationCatalog.locate(Paths.get(CATALOG_DIR), c);
+                if (file == null)
+                    return Optional.empty();
+                TranslationCatalog catalog = TranslationCatalog.load(file, c);
+                L10nLogger.info("[CATALOG] Da doc " + catalog.size() + " muc: " + file);
+                if (!TranslationCatalog.isCache(file))
+                    catalog.save(Paths.get(CATALOG_DIR, c + TranslationCatalog.CACHE_EXTENSION));
+                return Optional.of(catalog);
+            } catch (IOException e) {
+                L10nLogger.error("[LOI] Khong doc duoc catalog " + (file != null ? file : c) + ": "
+                        + e.getMessage());
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Tra tung text node trong corpus tieng Anh thu thap tu lan chay "en"
+     */
+    private void checkEnglishCorpus(LanguageConfig config, String pageName, PageSnapshot snapshot,
+            TranslationCatalog catalog, Set<String> reported) {
+        EnglishCorpus corpus = englishCorpus();
+        if (corpus.size() == 0)
+            return;
+        L10nLogger.setSection("CORPUS EN");
+
+        List<PageSnapshot.TextNode> matches = new ArrayList<>();
+        for (PageSnapshot.TextNode node : corpus.findMatches(snapshot)) {
+            if (claimUntranslated(node, catalog, reported))
+                matches.add(node);
+        }
+        if (matches.isEmpty()) {
+            L10nLogger.info("    [PASS] Khong co node nao trung corpus tieng Anh (" + corpus.size() + " doan)");
+            return;
+        }
+
+        L10nLogger.warn("    [FAIL] " + matches.size() + " node trung van ban trang tieng Anh:");
+        for (PageSnapshot.TextNode node : matches) {
+            String text = shorten(node.text);
+            L10nLogger.warn("      - \"" + text + "\" (" + node.path + ")");
+            testResults.add(new TestResult("TEXT_CORPUS", pageName,
+                    "Node " + node.path,
+                    "Phai dich sang " + toAscii(config.languageName),
+                    "Giong trang tieng Anh: \"" + text + "\"",
+                    false));
+        }
+    }
+
+    /**
+     * Corpus tieng Anh cua lan chay: doc tu file neu da co, nguoc lai tao moi
+     */
+    private EnglishCorpus englishCorpus() {
+        if (englishCorpus == null) {
+            englishCorpus = new EnglishCorpus();
+            if (Files.exists(Paths.get(ENGLISH_CORPUS_FILE))) {
+                try {
+                    englishCorpus = EnglishCorpus.load(ENGLISH_CORPUS_FILE);
+                    L10nLogger.info("[CORPUS] Da doc " + englishCorpus.size() + " doan tieng Anh ("
+                            + englishCorpus.getTag() + ")");
+                } catch (IOException e) {
+                    L10nLogger.error("[LOI] Khong doc duoc corpus tieng Anh: " + e.getMessage());
+                }
+            }
+        }
+        return englishCorpus;
+    }
+
+    /**
+     * Mo hinh do gian: doc tu file neu da co, nguoc lai tao moi
+     */
+    private ExpansionModel expansionModel() {
+        if (expansionModel == null) {
+            expansionModel = new ExpansionModel();
+            if (Files.exists(Paths.get(EXPANSION_MODEL_FILE))) {
+                try {
+                    expansionModel = ExpansionModel.load(EXPANSION_MODEL_FILE);
+                    L10nLogger.info("[DO GIAN] Da doc " + expansionModel.size() + " sketch");
+                } catch (IOException e) {
+                    L10nLogger.error("[LOI] Khong doc duoc mo hinh do gian: " + e.getMessage());
+                }
+            }
+        }
+        return expansionModel;
+    }
+
+    private void saveExpansionModel() {
+        if (expansionModel == null || expansionModel.size() == 0)
+            return;
+        try {
+            expansionModel.save(EXPANSION_MODEL_FILE);
+            L10nLogger.info("[DO GIAN] Da luu " + expansionModel.size() + " sketch: " + EXPANSION_MODEL_FILE);
+        } catch (IOException e) {
+            L10nLogger.error("[LOI] Khong luu duoc mo hinh do gian: " + e.getMessage());
+        }
+    }
+
+    private void saveEnglishCorpus() {
+        try {
+            englishCorpus().save(ENGLISH_CORPUS_FILE, PRESTASHOP_URL + " " + LocalDateTime.now()
+                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            L10nLogger.info("[CORPUS] Da luu " + englishCorpus().size() + " doan tieng Anh: " + ENGLISH_CORPUS_FILE);
+        } catch (IOException e) {
+            L10nLogger.error("[LOI] Khong luu duoc corpus tieng Anh: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pseudo-localization: viet lai Homepage va trang san pham cho tung nhom ngon
+     * ngu (cung he so do dai / huong chu), kiem tra tran chu va RTL, tra lai van ban
+     */
+    private void runPseudoLocalization() {
+        L10nLogger.setSection("PSEUDO");
+        // Gia lap viet lai van ban goc: trang dich (ja, ar...) khong con chu Latin
+        // de gian, trang de da dai san se bi gian them lan nua
+        if (!currentLanguage.equals("en")) {
+            L10nLogger.info("    [PSEUDO] Chuyen trang sang \"en\" truoc khi gia lap (dang o " + currentLanguage + ")");
+            if (!switchLanguage("en")) {
+                L10nLogger.error("    [PSEUDO] Khong chuyen duoc sang \"en\", bo qua pseudo-localization");
+                return;
+            }
+            waitForLanguageSwitch("en");
+        }
+        Map<String, List<String>> profiles = PseudoLocalizer.profiles(
+                Arrays.asList(LanguageConfig.getSupportedLanguages()));
+        L10nLogger.info("    [PSEUDO] " + profiles.size() + " nhom ngon ngu: " + profiles.values());
+
+        PseudoLocalizer pseudo = new PseudoLocalizer(driver);
+        checkPseudoPage(pseudo, profiles, "Homepage");
+        if (navigateToProductPage())
+            checkPseudoPage(pseudo, profiles, "Product");
+    }
+
+    private void checkPseudoPage(PseudoLocalizer pseudo, Map<String, List<String>> profiles, String pageName) {
+        L10nLogger.setPage(pageName);
+        for (Map.Entry<String, List<String>> profile : profiles.entrySet()) {
+            String languages = String.join(",", profile.getValue());
+            try {
+                int nodes = pseudo.apply(profile.getKey());
+                List<TextChecker.TextOverflowResult> overflows = new ArrayList<>();
+                for (TextChecker.TextOverflowResult result : pseudo.checkOverflow()) {
+                    if (result.isOverflowing)
+                        overflows.add(result);
+                }
+                L10nLogger.info("    [PSEUDO] " + pageName + " [" + languages + "]: " + nodes + " text node, "
+                        + overflows.size() + " element tran");
+                for (TextChecker.TextOverflowResult result : overflows) {
+                    L10nLogger.warn("      [OVERFLOW] " + result);
+                    testResults.add(new TestResult("PSEUDO_OVERFLOW", pageName,
+                            result.elementSelector + " (" + languages + ")",
+                            "Vua " + result.offsetWidth + "px",
+                            "scrollWidth=" + result.scrollWidth + "px: \"" + shorten(result.text) + "\"",
+                            false));
+                }
+
+                LanguageConfig config = LanguageConfig.get(profile.getKey());
+                if (config != null && config.isRTL) {
+                    for (String[] issue : pseudo.checkRtl()) {
+                        L10nLogger.warn("      [RTL] " + issue[0] + ": " + issue[1]);
+                        testResults.add(new TestResult("PSEUDO_RTL", pageName,
+                                issue[0] + " (" + languages + ")", "Bo cuc phai sang trai", issue[1], false));
+                    }
+                }
+            } catch (Exception e) {
+                L10nLogger.error("    [LOI] " + e.getMessage());
+            } finally {
+                pseudo.restore();
+            }
+        }
+    }
+
+    /**
+     * Gallery: do ban dich cua catalog trong markup nut / menu / tieu de that cua
+     * trang san pham (mot lan goi JS moi lo), thay vi tai tung trang; moi chuoi chi
+     * do trong thanh phan cua no (COMPONENT_MAP_FILE hoac chuoi goc vua khung)
+     */
+    private void runOverflowGallery() {
+        L10nLogger.setSection("GALLERY");
+        L10nLogger.setPage("Gallery");
+        TranslationCatalog catalog = catalog(currentLanguage);
+        if (catalog == null) {
+            L10nLogger.warn("    [GALLERY] Khong co catalog cho " + currentLanguage + " trong " + CATALOG_DIR);
+            return;
+        }
+
+        if (!navigateToProductPage()) {
+            L10nLogger.warn("    [GALLERY] Khong mo duoc trang san pham de lay markup thanh phan");
+            return;
+        }
+        Map<String, String> componentOf = Collections.emptyMap();
+        Path componentFile = Paths.get(COMPONENT_MAP_FILE);
+        if (Files.exists(componentFile)) {
+            try {
+                componentOf = TranslationCatalog.loadComponentMap(componentFile);
+            } catch (IOException e) {
+                L10nLogger.warn("    [GALLERY] Khong doc duoc " + componentFile + ": " + e.getMessage());
+            }
+        }
+        L10nLogger.info("    [GALLERY] " + componentOf.size() + " chuoi goc da gan thanh phan ("
+                + COMPONENT_MAP_FILE + "), con lai do theo chuoi goc tieng Anh");
+
+        OverflowGallery gallery = new OverflowGallery(driver);
+        Map<String, Integer> widths = gallery.install(OverflowGallery.DEFAULT_COMPONENTS);
+        L10nLogger.info("    [GALLERY] Thanh phan: " + widths);
+
+        long start = System.currentTimeMillis();
+        int[] measured = { 0 };
+        int overflowing = gallery.measureCatalog(catalog, componentOf, result -> {
+            measured[0]++;
+            if (!result.isOverflowing)
+                return;
+            L10nLogger.warn("    [OVERFLOW] " + result);
+            testResults.add(new TestResult("OVERFLOW_" + result.elementSelector.toUpperCase(), "Gallery",
+                    "Text '" + shorten(result.text) + "' trong " + result.elementSelector,
+                    "Vua " + result.offsetWidth + "px",
+                    "scrollWidth=" + result.scrollWidth + "px",
+                    false));
+        });
+        L10nLogger.info("    [GALLERY] " + overflowing + "/" + measured[0] + " chuoi bi tran ("
+                + (System.currentTimeMillis() - start) + " ms)");
+    }
+
+    /**
+     * Thu thap corpus: chuyen sang "en" va di qua cac trang chinh truoc khi kiem
+     * tra ngon ngu dich
+     */
+    private void harvestEnglishCorpus() {
+        String targetLanguage = currentLanguage;
+        currentLanguage = "en";
+        L10nLogger.setLanguage("en");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n>>> THU THAP CORPUS TIENG ANH");
+        LanguageConfig config = LanguageConfig.get("en");
+
+        try {
+            switchLanguage("en");
+            waitForLanguageSwitch("en");
+
+            L10nLogger.setPage("Homepage");
+            checkPageText(config, "Homepage");
+            if (navigateToProductPage()) {
+                L10nLogger.setPage("Product");
+                checkPageText(config, "Product");
+            }
+            if (navigateToCategoryPage()) {
+                L10nLogger.setPage("Category");
+                checkPageText(config, "Category");
+            }
+            if (navigateToCart()) {
+                L10nLogger.setPage("Cart");
+                checkPageText(config, "Cart");
+            }
+            saveEnglishCorpus();
+        } finally {
+            currentLanguage = targetLanguage;
+            L10nLogger.setLanguage(targetLanguage);
+        }
+    }
+
+    private static String shorten(String text) {
+        return text.length() > 80 ? text.substring(0, 80) + "..." : text;
     }
 
     /**
      * Kiem tra URL va HTML lang
      */
     private void checkLanguageSettings(LanguageConfig config, String pageName) {
-        System.out.println("\n[KIEM TRA CAI DAT NGON NGU] " + pageName);
+        L10nLogger.setSection("CAI DAT NGON NGU");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n[KIEM TRA CAI DAT NGON NGU] " + pageName);
         log("\n[CAI DAT NGON NGU - " + pageName + "]");
 
         String expectedLang = currentLanguage;
@@ -481,10 +1287,11 @@ public class L10nTester {
         String actualLang = detectCurrentLanguage();
         boolean urlPassed = actualLang != null && actualLang.equals(expectedLang);
 
-        System.out.println("  URL Language:");
-        System.out.println("    Mong doi: " + expectedLang);
-        System.out.println("    Thuc te : " + (actualLang != null ? actualLang : "N/A"));
-        System.out.println("    Ket qua : " + (urlPassed ? "PASS" : "FAIL"));
+        L10nLogger.Level urlLevel = urlPassed ? L10nLogger.Level.INFO : L10nLogger.Level.WARN;
+        L10nLogger.console(urlLevel, "  URL Language:");
+        L10nLogger.console(urlLevel, "    Mong doi: " + expectedLang);
+        L10nLogger.console(urlLevel, "    Thuc te : " + (actualLang != null ? actualLang : "N/A"));
+        L10nLogger.console(urlLevel, "    Ket qua : " + (urlPassed ? "PASS" : "FAIL"));
 
         log("  URL: Mong doi=" + expectedLang + ", Thuc te=" + actualLang + " -> " + (urlPassed ? "PASS" : "FAIL"));
 
@@ -502,10 +1309,11 @@ public class L10nTester {
             if (htmlLang != null && !htmlLang.isEmpty()) {
                 boolean htmlPassed = htmlLang.toLowerCase().startsWith(expectedLang.toLowerCase());
 
-                System.out.println("  HTML lang:");
-                System.out.println("    Mong doi: " + expectedLang);
-                System.out.println("    Thuc te : " + htmlLang);
-                System.out.println("    Ket qua : " + (htmlPassed ? "PASS" : "FAIL"));
+                L10nLogger.Level htmlLevel = htmlPassed ? L10nLogger.Level.INFO : L10nLogger.Level.WARN;
+                L10nLogger.console(htmlLevel, "  HTML lang:");
+                L10nLogger.console(htmlLevel, "    Mong doi: " + expectedLang);
+                L10nLogger.console(htmlLevel, "    Thuc te : " + htmlLang);
+                L10nLogger.console(htmlLevel, "    Ket qua : " + (htmlPassed ? "PASS" : "FAIL"));
 
                 log("  HTML lang: Mong doi=" + expectedLang + ", Thuc te=" + htmlLang + " -> "
                         + (htmlPassed ? "PASS" : "FAIL"));
@@ -524,7 +1332,8 @@ public class L10nTester {
      * Kiem tra Page Title
      */
     private void checkPageTitle(LanguageConfig config, String pageName) {
-        System.out.println("\n[KIEM TRA PAGE TITLE] " + pageName);
+        L10nLogger.setSection("PAGE TITLE");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n[KIEM TRA PAGE TITLE] " + pageName);
         log("\n[PAGE TITLE - " + pageName + "]");
 
         try {
@@ -538,7 +1347,7 @@ public class L10nTester {
             if (!currentLanguage.equals("en") && pageTitle != null) {
                 String[] englishTitles = { "Home", "Product", "Cart", "Shopping Cart", "My Store", "Category" };
                 for (String eng : englishTitles) {
-                    if (pageTitle.toLowerCase().contains(eng.toLowerCase())) {
+                    if (PhraseMatcher.contains(pageTitle.toLowerCase(), eng.toLowerCase(), currentLanguage)) {
                         hasEnglishTitle = true;
                         break;
                     }
@@ -547,8 +1356,9 @@ public class L10nTester {
 
             boolean passed = !hasEnglishTitle;
 
-            System.out.println("  Title: " + displayTitle);
-            System.out.println("  Ket qua: " + (passed ? "PASS" : "FAIL - Title chua dich"));
+            L10nLogger.Level titleLevel = passed ? L10nLogger.Level.INFO : L10nLogger.Level.WARN;
+            L10nLogger.console(titleLevel, "  Title: " + pageTitle);
+            L10nLogger.console(titleLevel, "  Ket qua: " + (passed ? "PASS" : "FAIL - Title chua dich"));
 
             log("  Title: " + pageTitle + " -> " + (passed ? "PASS" : "FAIL"));
 
@@ -559,7 +1369,7 @@ public class L10nTester {
                     passed));
 
         } catch (Exception e) {
-            System.out.println("  [LOI] " + e.getMessage());
+            L10nLogger.error("  [LOI] " + e.getMessage());
         }
     }
 
@@ -567,26 +1377,35 @@ public class L10nTester {
      * Kiem tra tien te
      */
     private void checkCurrency(LanguageConfig config, String pageName) {
-        System.out.println("\n[KIEM TRA TIEN TE] " + pageName);
+        L10nLogger.setSection("TIEN TE");
+        L10nLogger.console(L10nLogger.Level.INFO, "\n[KIEM TRA TIEN TE] " + pageName);
         log("\n[TIEN TE - " + pageName + "]");
 
         try {
-            List<WebElement> priceElements = driver.findElements(By.cssSelector(
-                    ".price, .product-price, .current-price, [class*='price']"));
+            List<?> page = (List<?>) js.executeScript(CurrencyChecker.PRICE_SCRIPT,
+                    ".price, .product-price, .current-price, [class*='price']");
+            List<?> priceElements = (List<?>) page.get(1);
 
             if (priceElements.isEmpty()) {
-                System.out.println("  (Khong tim thay gia tien)");
+                L10nLogger.console(L10nLogger.Level.INFO, "  (Khong tim thay gia tien)");
                 return;
             }
 
+            // Trang san pham: gia khong nam trong [data-id-product] thi lay ma tu URL
+            String urlProductId = "Product".equals(pageName) ? PriceIndex.productIdFromUrl((String) page.get(0))
+                    : null;
+
             Set<String> checkedPrices = new HashSet<>();
             String expectedCurrency = config.primaryCurrency;
             int passCount = 0;
             int failCount = 0;
 
-            for (WebElement element : priceElements) {
+            for (Object item : priceElements) {
                 try {
-                    String priceText = element.getText().trim();
+                    List<?> row = (List<?>) item;
+                    String priceText = String.valueOf(row.get(1));
+                    if (Boolean.TRUE.equals(row.get(2)))
+                        indexPrice((String) row.get(0), urlProductId, priceText, config, pageName);
                     if (priceText.isEmpty() || checkedPrices.contains(priceText) || priceText.length() > 50)
                         continue;
                     checkedPrices.add(priceText);
@@ -594,36 +1413,64 @@ public class L10nTester {
                     boolean hasExpectedCurrency = priceText.contains(expectedCurrency);
                     String actualCurrency = detectCurrency(priceText);
                     boolean passed = hasExpectedCurrency;
-                    String displayPrice = toAscii(priceText);
 
                     if (passed) {
                         passCount++;
                     } else {
                         failCount++;
-                        System.out.println("  [FAIL] " + displayPrice + " - Mong doi: " + expectedCurrency
+                        L10nLogger.warn("  [FAIL] " + priceText + " - Mong doi: " + expectedCurrency
                                 + ", Thuc te: " + actualCurrency);
-                        log("  FAIL: " + priceText + " - Mong doi: " + expectedCurrency + ", Thuc te: "
-                                + actualCurrency);
                     }
 
                     testResults.add(new TestResult("CURRENCY", pageName,
-                            "Tien te: " + displayPrice,
+                            "Tien te: " + priceText,
                             expectedCurrency,
                             actualCurrency,
                             passed));
 
-                } catch (StaleElementReferenceException ignored) {
+                } catch (ClassCastException | IndexOutOfBoundsException ignored) {
+                    // Dong ket qua JS khong dung dinh dang
                 }
             }
 
-            System.out.println("  Tong ket: " + passCount + " PASS, " + failCount + " FAIL");
-            log("  Tong ket: " + passCount + " PASS, " + failCount + " FAIL");
+            L10nLogger.info("  Tong ket: " + passCount + " PASS, " + failCount + " FAIL");
 
         } catch (Exception e) {
-            System.out.println("  [LOI] " + e.getMessage());
+            L10nLogger.error("  [LOI] " + e.getMessage());
         }
     }
 
+    /**
+     * Ghi gia vao priceIndex (chi luu so nguyen + ky hieu, khong luu text)
+     */
+    private void indexPrice(String productId, String urlProductId, String priceText, LanguageConfig config,
+            String pageName) {
+        String id = productId != null && !productId.isEmpty() ? productId : urlProductId;
+        if (id == null || priceText.isEmpty() || priceText.length() > 50)
+            return;
+        priceIndex.record(id, currentLanguage, pageName, CurrencyChecker.validateCurrency(priceText, config));
+    }
+
+    /**
+     * Hash-join chi muc gia: cung san pham phai cung gia giua cac trang va cac
+     * ngon ngu (chi bao bat nhat quan cua ngon ngu dang chay, cac lan chay truoc
+     * da bao phan cua chung)
+     */
+    private void checkPriceConsistency() {
+        L10nLogger.setSection("NHAT QUAN GIA");
+        List<PriceIndex.Inconsistency> inconsistencies = priceIndex.findInconsistencies(currentLanguage);
+        for (PriceIndex.Inconsistency inc : inconsistencies) {
+            L10nLogger.warn("  [FAIL] " + inc);
+            testResults.add(new TestResult("PRICE_CONSISTENCY", inc.actualPage,
+                    "San pham " + inc.productId + " (" + inc.kind + ")",
+                    inc.expectedPrice + " (" + inc.expectedLanguage + "/" + inc.expectedPage + ")",
+                    inc.actualPrice + " (" + inc.actualLanguage + "/" + inc.actualPage + ")",
+                    false));
+        }
+        L10nLogger.info("  Nhat quan gia: " + priceIndex.size() + " gia, " + inconsistencies.size()
+                + " bat nhat quan");
+    }
+
     private String detectCurrency(String priceText) {
         if (priceText.contains("€"))
             return "EUR (€)";
@@ -645,6 +1492,7 @@ public class L10nTester {
     // ==================== KET QUA CHI TIET ====================
 
     private void showDetailedResults() {
+        L10nLogger.flush();
         System.out.println("\n\n");
         System.out.println("╔════════════════════════════════════════════════════════════╗");
         System.out.println("║              BAO CAO KET QUA KIEM TRA L10N                 ║");
@@ -752,10 +1600,10 @@ public class L10nTester {
 
             int i = 1;
             for (TestResult result : failedTests) {
-                System.out.println(String.format("\n%d. [%s] %s", i, result.type, result.testName));
+                System.out.println(String.format("\n%d. [%s] %s", i, result.type, toAscii(result.testName)));
                 System.out.println("   Trang    : " + result.page);
-                System.out.println("   Mong doi : " + result.expected);
-                System.out.println("   Thuc te  : " + result.actual);
+                System.out.println("   Mong doi : " + toAscii(result.expected));
+                System.out.println("   Thuc te  : " + toAscii(result.actual));
 
                 log(String.format("\n%d. [%s] %s", i, result.type, result.testName));
                 log("   Trang: " + result.page);
@@ -1059,18 +1907,14 @@ public class L10nTester {
     }
 
     private String toAscii(String text) {
-        if (text == null)
-            return "";
-        return text
-                .replace("€", "EUR").replace("£", "GBP").replace("¥", "JPY")
-                .replace("₩", "KRW").replace("₫", "VND").replace("฿", "THB")
-                .replace("₹", "INR").replace("₽", "RUB")
-                .replaceAll("[^\\x00-\\x7F]", "?");
+        return L10nLogger.toAscii(text);
     }
 
+    /**
+     * Ghi vao file bao cao (qua logger bat dong bo)
+     */
     private void log(String message) {
-        if (logWriter != null)
-            logWriter.println(message);
+        L10nLogger.report(message);
     }
 
     private void sleep(long ms) {
@@ -1152,10 +1996,7 @@ public class L10nTester {
     }
 
     private void cleanup() {
-        if (logWriter != null) {
-            logWriter.close();
-            logWriter = null;
-        }
+        L10nLogger.closeFile();
         if (driver != null) {
             driver.quit();
             driver = null;
@@ -2,7 +2,13 @@ package org.example;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -223,32 +229,45 @@ public class LanguageConfig {
                 return TestGroup.LATIN_COMMA;
         }
 
+        /**
+         * Bo sung cac truong Decision Table con thieu (vd: cau hinh nap tu JSON chi co
+         * cac truong co ban)
+         */
+        private void fillDerivedFields() {
+                if (decimalSeparatorType == null)
+                        decimalSeparatorType = ".".equals(decimalSeparator) ? DecimalSeparatorType.DOT
+                                        : DecimalSeparatorType.COMMA;
+                if (groupingSeparatorType == null)
+                        groupingSeparatorType = determineGroupingSeparatorType(thousandSeparator);
+                if (code == null)
+                        return;
+                if (scriptGroup == null)
+                        scriptGroup = determineScriptGroup(code);
+                if (testGroup == null)
+                        testGroup = determineTestGroup(code);
+        }
+
         // ==================== DECISION TABLE GETTERS ====================
 
         /**
          * Lay tat ca ngon ngu theo Test Group (Equivalence Partitioning)
          */
         public static List<LanguageConfig> getByTestGroup(TestGroup group) {
-                List<LanguageConfig> result = new ArrayList<>();
-                for (LanguageConfig config : CONFIGS.values()) {
-                        if (config.testGroup == group) {
-                                result.add(config);
-                        }
-                }
-                return result;
+                return registry().byTestGroup.get(group);
         }
 
         /**
          * Lay ngon ngu dai dien cho moi Test Group
          */
         public static Map<TestGroup, LanguageConfig> getRepresentativeLanguages() {
+                Registry registry = registry();
                 Map<TestGroup, LanguageConfig> representatives = new HashMap<>();
-                representatives.put(TestGroup.LATIN_DOT, CONFIGS.get("en"));
-                representatives.put(TestGroup.LATIN_COMMA, CONFIGS.get("fr"));
-                representatives.put(TestGroup.DOUBLE_BYTE, CONFIGS.get("ja"));
-                representatives.put(TestGroup.RTL, CONFIGS.get("ar"));
-                representatives.put(TestGroup.CYRILLIC, CONFIGS.get("ru"));
-                representatives.put(TestGroup.INDIC, CONFIGS.get("hi"));
+                representatives.put(TestGroup.LATIN_DOT, registry.byCode.get("en"));
+                representatives.put(TestGroup.LATIN_COMMA, registry.byCode.get("fr"));
+                representatives.put(TestGroup.DOUBLE_BYTE, registry.byCode.get("ja"));
+                representatives.put(TestGroup.RTL, registry.byCode.get("ar"));
+                representatives.put(TestGroup.CYRILLIC, registry.byCode.get("ru"));
+                representatives.put(TestGroup.INDIC, registry.byCode.get("hi"));
                 return representatives;
         }
 
@@ -256,30 +275,49 @@ public class LanguageConfig {
          * Lay danh sach ngon ngu theo Script Group
          */
         public static List<LanguageConfig> getByScriptGroup(ScriptGroup group) {
-                List<LanguageConfig> result = new ArrayList<>();
-                for (LanguageConfig config : CONFIGS.values()) {
-                        if (config.scriptGroup == group) {
-                                result.add(config);
-                        }
-                }
-                return result;
+                return registry().byScriptGroup.get(group);
         }
 
         /**
          * Lay tat ca ngon ngu RTL
          */
         public static List<LanguageConfig> getRTLLanguages() {
-                List<LanguageConfig> result = new ArrayList<>();
-                for (LanguageConfig config : CONFIGS.values()) {
-                        if (config.isRTL) {
-                                result.add(config);
-                        }
+                return registry().rtl;
+        }
+
+        /**
+         * Lay regex datePattern da bien dich san cua ngon ngu
+         *
+         * @return Pattern hoac null neu ngon ngu khong co / pattern khong hop le
+         */
+        public static Pattern getDatePattern(String code) {
+                // Registry chua tao va co snapshot: chi giai ma ban ghi cua ngon ngu nay
+                LanguageConfigSnapshot snapshot = lazySnapshot();
+                if (snapshot != null) {
+                        LanguageConfig config = snapshot.get(code);
+                        return config != null ? compileDatePattern(config) : null;
                 }
-                return result;
+                return registry().datePatterns.get(code);
+        }
+
+        /**
+         * Lay regex datePattern cua mot cau hinh da giai ma: ban bien dich san cua
+         * registry neu registry da tao va chua dung cau hinh nay, nguoc lai bien
+         * dich tu chinh cau hinh (khong dung registry, khong giai ma ca snapshot)
+         *
+         * @return Pattern hoac null neu cau hinh khong co / pattern khong hop le
+         */
+        public static Pattern getDatePattern(LanguageConfig config) {
+                Registry current = REGISTRY.get();
+                if (current != null && current.byCode.get(config.code) == config)
+                        return current.datePatterns.get(config.code);
+                return compileDatePattern(config);
         }
 
         /**
          * Nap cau hinh tu file JSON (Decision Table)
+         * Tao snapshot moi (cau hinh hien tai + cau hinh trong file) roi thay the
+         * nguyen tu, khong sua snapshot dang duoc cac thread khac doc.
          */
         public static void loadFromJson(String filePath) throws IOException {
                 try (Reader reader = new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8)) {
@@ -288,325 +326,598 @@ public class LanguageConfig {
                                         new TypeToken<Map<String, LanguageConfig>>() {
                                         }.getType());
                         if (loaded != null) {
-                                CONFIGS.putAll(loaded);
+                                mergeAndSwap(loaded);
                         }
                 }
         }
 
         /**
-         * Xuat cau hinh ra file JSON
+         * Xuat cau hinh ra file JSON (authoring)
          */
         public static void exportToJson(String filePath) throws IOException {
                 try (Writer writer = new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8)) {
                         Gson gson = new Gson();
-                        gson.toJson(CONFIGS, writer);
+                        gson.toJson(registry().byCode, writer);
+                }
+        }
+
+        /**
+         * Xuat cau hinh hien tai ra snapshot nhi phan (xem LanguageConfigSnapshot)
+         */
+        public static void exportSnapshot(String filePath) throws IOException {
+                LanguageConfigSnapshot.write(filePath, registry().byCode, "");
+        }
+
+        /**
+         * Dung snapshot nhi phan lam nguon cau hinh. Ban ghi cua mot ngon ngu chi
+         * duoc giai ma khi get(code) hoi lan dau; registry day du (chi muc theo
+         * nhom) chi duoc dung khi can.
+         */
+        public static void useSnapshot(String filePath) throws IOException {
+                LanguageConfigSnapshot snapshot = LanguageConfigSnapshot.open(filePath);
+                SNAPSHOT = snapshot;
+                REGISTRY.set(null);
+        }
+
+        /**
+         * Bo sung cau hinh sinh tu du lieu locale cua JDK (CLDR) cho cac ngon ngu hien
+         * co va cac ma ngon ngu them vao. Entry viet tay (static block / JSON) ghi de
+         * gia tri sinh ra theo tung truong.
+         *
+         * @param cacheFile  File cache ket qua sinh (tranh tra cuu locale moi lan chay)
+         * @param extraCodes Ma ngon ngu moi chi can sinh tu CLDR (vd: "th")
+         */
+        public static void loadGenerated(String cacheFile, String... extraCodes) throws IOException {
+                Set<String> codes = new LinkedHashSet<>(registry().byCode.keySet());
+                codes.addAll(Arrays.asList(extraCodes));
+                Map<String, LanguageConfig> generated = LanguageConfigGenerator.loadOrGenerate(cacheFile, codes);
+
+                REGISTRY.updateAndGet(current -> new Registry(mergeGenerated(current.byCode, generated)));
+        }
+
+        /**
+         * Gop cau hinh sinh tu CLDR vao cau hinh hien co (entry hien co ghi de tung
+         * truong)
+         */
+        private static Map<String, LanguageConfig> mergeGenerated(Map<String, LanguageConfig> configs,
+                        Map<String, LanguageConfig> generated) {
+                Map<String, LanguageConfig> merged = new LinkedHashMap<>(configs);
+                for (Map.Entry<String, LanguageConfig> entry : generated.entrySet()) {
+                        merged.put(entry.getKey(), LanguageConfigGenerator.merge(entry.getValue(),
+                                        configs.get(entry.getKey())));
+                }
+                return merged;
+        }
+
+        /**
+         * Theo doi file JSON va tu dong nap lai khi file thay doi (cho daemon chay
+         * lau). Tra ve handle de dung theo doi.
+         */
+        public static Closeable watchJson(String filePath) throws IOException {
+                Path file = Paths.get(filePath).toAbsolutePath();
+                Path dir = file.getParent();
+                WatchService watcher = dir.getFileSystem().newWatchService();
+                dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+                Thread thread = new Thread(() -> watchLoop(watcher, dir, file), "l10n-config-watcher");
+                thread.setDaemon(true);
+                thread.start();
+                return watcher;
+        }
+
+        private static void watchLoop(WatchService watcher, Path dir, Path file) {
+                try {
+                        while (true) {
+                                WatchKey key = watcher.take();
+                                boolean changed = false;
+                                for (WatchEvent<?> event : key.pollEvents()) {
+                                        Object context = event.context();
+                                        if (context instanceof Path && dir.resolve((Path) context).equals(file)) {
+                                                changed = true;
+                                        }
+                                }
+                                key.reset();
+                                if (!changed)
+                                        continue;
+
+                                // Gom cac su kien ghi lien tiep cua trinh soan thao
+                                WatchKey more;
+                                while ((more = watcher.poll(200, TimeUnit.MILLISECONDS)) != null) {
+                                        more.pollEvents();
+                                        more.reset();
+                                }
+                                try {
+                                        loadFromJson(file.toString());
+                                        L10nLogger.info("[CONFIG] Da nap lai cau hinh tu " + file.getFileName());
+                                } catch (Exception e) {
+                                        L10nLogger.warn("[CONFIG] Khong the nap lai " + file.getFileName() + ": "
+                                                        + e.getMessage());
+                                }
+                        }
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                        // Dung theo doi
+                }
+        }
+
+        private static void mergeAndSwap(Map<String, LanguageConfig> loaded) {
+                for (Map.Entry<String, LanguageConfig> entry : loaded.entrySet()) {
+                        LanguageConfig config = entry.getValue();
+                        if (config == null)
+                                continue;
+                        if (config.code == null)
+                                config.code = entry.getKey();
+                        config.fillDerivedFields();
+                }
+                loaded.values().removeIf(Objects::isNull);
+
+                // Compare-and-set: neu co lan nap khac chen vao thi gop lai tu snapshot moi
+                registry();
+                REGISTRY.updateAndGet(current -> {
+                        Map<String, LanguageConfig> merged = new LinkedHashMap<>(current.byCode);
+                        merged.putAll(loaded);
+                        return new Registry(merged);
+                });
+        }
+
+        // ==================== REGISTRY (SNAPSHOT BAT BIEN) ====================
+
+        /**
+         * Snapshot bat bien cua tat ca cau hinh kem chi muc tinh san.
+         * Nguoi doc chi can doc AtomicReference, khong can khoa.
+         */
+        private static final class Registry {
+                final Map<String, LanguageConfig> byCode;
+                final Map<TestGroup, List<LanguageConfig>> byTestGroup;
+                final Map<ScriptGroup, List<LanguageConfig>> byScriptGroup;
+                final List<LanguageConfig> rtl;
+                final Map<String, Pattern> datePatterns;
+
+                Registry(Map<String, LanguageConfig> configs) {
+                        Map<TestGroup, List<LanguageConfig>> testGroups = new EnumMap<>(TestGroup.class);
+                        for (TestGroup group : TestGroup.values())
+                                testGroups.put(group, new ArrayList<>());
+                        Map<ScriptGroup, List<LanguageConfig>> scriptGroups = new EnumMap<>(ScriptGroup.class);
+                        for (ScriptGroup group : ScriptGroup.values())
+                                scriptGroups.put(group, new ArrayList<>());
+                        List<LanguageConfig> rtlList = new ArrayList<>();
+                        Map<String, Pattern> patterns = new HashMap<>();
+
+                        for (LanguageConfig config : configs.values()) {
+                                if (config.testGroup != null)
+                                        testGroups.get(config.testGroup).add(config);
+                                if (config.scriptGroup != null)
+                                        scriptGroups.get(config.scriptGroup).add(config);
+                                if (config.isRTL)
+                                        rtlList.add(config);
+                                if (config.datePattern != null && !config.datePattern.isEmpty()) {
+                                        try {
+                                                patterns.put(config.code, Pattern.compile(config.datePattern));
+                                        } catch (PatternSyntaxException e) {
+                                                L10nLogger.warn("[CONFIG] datePattern khong hop le cho " + config.code
+                                                                + ": " + config.datePattern);
+                                        }
+                                }
+                        }
+
+                        testGroups.replaceAll((group, list) -> Collections.unmodifiableList(list));
+                        scriptGroups.replaceAll((group, list) -> Collections.unmodifiableList(list));
+
+                        this.byCode = Collections.unmodifiableMap(new LinkedHashMap<>(configs));
+                        this.byTestGroup = Collections.unmodifiableMap(testGroups);
+                        this.byScriptGroup = Collections.unmodifiableMap(scriptGroups);
+                        this.rtl = Collections.unmodifiableList(rtlList);
+                        this.datePatterns = Collections.unmodifiableMap(patterns);
                 }
         }
 
         // ==================== ALL PRESTASHOP LANGUAGES ====================
-        private static final Map<String, LanguageConfig> CONFIGS = new HashMap<>();
+        private static final AtomicReference<Registry> REGISTRY = new AtomicReference<>();
+
+        // datePattern da bien dich ngoai registry, theo chuoi regex
+        private static final Map<String, Pattern> DATE_PATTERNS = new ConcurrentHashMap<>();
+
+        // Snapshot nhi phan (neu co): -Dl10n.config.snapshot=<file> hoac useSnapshot()
+        private static volatile LanguageConfigSnapshot SNAPSHOT = openDefaultSnapshot();
+
+        // Cau hinh sinh tu CLDR gop vao khi tao registry (neu co):
+        // -Dl10n.config.generated=<file cache> [-Dl10n.config.generated.codes=th,ms]
+        private static final String GENERATED_CACHE = System.getProperty("l10n.config.generated");
+        private static final String GENERATED_CODES = System.getProperty("l10n.config.generated.codes", "");
+
+        private static LanguageConfigSnapshot openDefaultSnapshot() {
+                String path = System.getProperty("l10n.config.snapshot");
+                if (path == null || !new File(path).isFile())
+                        return null;
+                try {
+                        return LanguageConfigSnapshot.open(path);
+                } catch (IOException e) {
+                        L10nLogger.warn("[CONFIG] Khong the mo snapshot " + path + ": " + e.getMessage());
+                        return null;
+                }
+        }
+
+        private static Map<String, LanguageConfig> withDefaultGenerated(Map<String, LanguageConfig> configs) {
+                if (GENERATED_CACHE == null)
+                        return configs;
+                Set<String> codes = new LinkedHashSet<>(configs.keySet());
+                for (String code : GENERATED_CODES.split(",")) {
+                        if (!code.trim().isEmpty())
+                                codes.add(code.trim());
+                }
+                try {
+                        return mergeGenerated(configs, LanguageConfigGenerator.loadOrGenerate(GENERATED_CACHE, codes));
+                } catch (IOException e) {
+                        L10nLogger.warn("[CONFIG] Khong the sinh cau hinh CLDR " + GENERATED_CACHE + ": "
+                                        + e.getMessage());
+                        return configs;
+                }
+        }
+
+        /**
+         * Snapshot de giai ma tung ban ghi khi registry chua tao (null neu registry da
+         * tao, khong co snapshot hoac registry con phai gop cau hinh CLDR)
+         */
+        private static LanguageConfigSnapshot lazySnapshot() {
+                return REGISTRY.get() == null && GENERATED_CACHE == null ? SNAPSHOT : null;
+        }
+
+        private static Pattern compileDatePattern(LanguageConfig config) {
+                if (config.datePattern == null || config.datePattern.isEmpty())
+                        return null;
+                try {
+                        return DATE_PATTERNS.computeIfAbsent(config.datePattern, Pattern::compile);
+                } catch (PatternSyntaxException e) {
+                        return null;
+                }
+        }
+
+        /**
+         * Registry day du, tao lan dau khi can (tu snapshot neu co, neu khong thi tu
+         * bang viet tay ben duoi; gop cau hinh CLDR neu co -Dl10n.config.generated)
+         */
+        private static Registry registry() {
+                Registry current = REGISTRY.get();
+                if (current == null) {
+                        LanguageConfigSnapshot snapshot = SNAPSHOT;
+                        Map<String, LanguageConfig> configs = snapshot != null ? snapshot.decodeAll() : builtinConfigs();
+                        current = new Registry(withDefaultGenerated(configs));
+                        if (!REGISTRY.compareAndSet(null, current))
+                                current = REGISTRY.get();
+                }
+                return current;
+        }
+
+        /**
+         * Chup registry va snapshot hien tai; goi Runnable tra ve de tra lai (test nap
+         * cau hinh tam khong lan sang test khac)
+         */
+        static Runnable checkpoint() {
+                Registry saved = REGISTRY.get();
+                LanguageConfigSnapshot snapshot = SNAPSHOT;
+                return () -> {
+                        SNAPSHOT = snapshot;
+                        REGISTRY.set(saved);
+                };
+        }
+
+        /**
+         * Bang cau hinh viet tay - chi chay khi khong co snapshot nhi phan
+         */
+        private static Map<String, LanguageConfig> builtinConfigs() {
+                Map<String, LanguageConfig> configs = new LinkedHashMap<>();
 
-        static {
                 // Korean - 한국어
-                CONFIGS.put("ko", new LanguageConfig("ko", "한국어", "₩", "원", "€",
-                                "\\d{4}[/.-]\\d{1,2}[/.-]\\d{1,2}", ",", ".",
+                configs.put("ko", new LanguageConfig("ko", "한국어", "₩", "원", "€",
+                                "\\d{4}[/.-]\\d{1,2}[/.-]\\d{1,2}", ".", ",",
                                 new String[] { "장바구니에 담기", "홈", "의류", "액세서리", "검색", "로그인", "장바구니" }));
 
                 // Bosnian - Bosanski
-                CONFIGS.put("bs", new LanguageConfig("bs", "Bosanski", "KM", "BAM", "€",
+                configs.put("bs", new LanguageConfig("bs", "Bosanski", "KM", "BAM", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "Dodaj u korpu", "Početna", "Odjeća", "Dodaci", "Pretraga", "Prijava",
                                                 "Korpa" }));
 
                 // Catalan - Català
-                CONFIGS.put("ca", new LanguageConfig("ca", "Català", "€", "€", "€",
+                configs.put("ca", new LanguageConfig("ca", "Català", "€", "€", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Afegir al carret", "Inici", "Roba", "Accessoris", "Cercar",
                                                 "Iniciar sessió",
                                                 "Carret" }));
 
                 // Danish - Dansk
-                CONFIGS.put("da", new LanguageConfig("da", "Dansk", "kr", "DKK", "€",
+                configs.put("da", new LanguageConfig("da", "Dansk", "kr", "DKK", "€",
                                 "\\d{1,2}-\\d{1,2}-\\d{2,4}", ",", ".",
                                 new String[] { "Læg i kurv", "Hjem", "Tøj", "Tilbehør", "Søg", "Log ind", "Kurv" }));
 
                 // German - Deutsch
-                CONFIGS.put("de", new LanguageConfig("de", "Deutsch", "€", "€", "€",
+                configs.put("de", new LanguageConfig("de", "Deutsch", "€", "€", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "In den Warenkorb", "Startseite", "Kleidung", "Zubehör", "Suchen",
                                                 "Anmelden",
                                                 "Warenkorb" }));
 
                 // English
-                CONFIGS.put("en", new LanguageConfig("en", "English", "$", "£", null,
+                configs.put("en", new LanguageConfig("en", "English", "$", "£", null,
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ".", ",",
                                 new String[] { "Add to cart", "Home", "Clothes", "Accessories", "Search", "Sign in",
                                                 "Cart" }));
 
                 // Spanish - Español
-                CONFIGS.put("es", new LanguageConfig("es", "Español", "€", "€", "€",
+                configs.put("es", new LanguageConfig("es", "Español", "€", "€", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Añadir al carrito", "Inicio", "Ropa", "Accesorios", "Buscar",
                                                 "Iniciar sesión",
                                                 "Carrito" }));
 
                 // Spanish Mexico - Español MX
-                CONFIGS.put("mx", new LanguageConfig("mx", "Español MX", "$", "MXN", "€",
+                configs.put("mx", new LanguageConfig("mx", "Español MX", "$", "MXN", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ".", ",",
                                 new String[] { "Añadir al carrito", "Inicio", "Ropa", "Accesorios", "Buscar",
                                                 "Iniciar sesión",
                                                 "Carrito" }));
 
                 // Estonian - Eesti keel
-                CONFIGS.put("et", new LanguageConfig("et", "Eesti keel", "€", "€", "€",
+                configs.put("et", new LanguageConfig("et", "Eesti keel", "€", "€", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Lisa korvi", "Avaleht", "Riided", "Aksessuaarid", "Otsi", "Logi sisse",
                                                 "Korv" }));
 
                 // French - Français
-                CONFIGS.put("fr", new LanguageConfig("fr", "Français", "€", "€", "€",
+                configs.put("fr", new LanguageConfig("fr", "Français", "€", "€", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", " ",
                                 new String[] { "Ajouter au panier", "Accueil", "Vêtements", "Accessoires", "Rechercher",
                                                 "Connexion",
                                                 "Panier" }));
 
                 // French Canada - Français CA
-                CONFIGS.put("qc", new LanguageConfig("qc", "Français CA", "$", "CAD", "€",
+                configs.put("qc", new LanguageConfig("qc", "Français CA", "$", "CAD", "€",
                                 "\\d{4}-\\d{1,2}-\\d{1,2}", ",", " ",
                                 new String[] { "Ajouter au panier", "Accueil", "Vêtements", "Accessoires", "Rechercher",
                                                 "Connexion",
                                                 "Panier" }));
 
                 // Galician - Galego
-                CONFIGS.put("gl", new LanguageConfig("gl", "Galego", "€", "€", "€",
+                configs.put("gl", new LanguageConfig("gl", "Galego", "€", "€", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Engadir ao carro", "Inicio", "Roupa", "Accesorios", "Buscar",
                                                 "Iniciar sesión",
                                                 "Carro" }));
 
                 // Croatian - Hrvatski
-                CONFIGS.put("hr", new LanguageConfig("hr", "Hrvatski", "€", "kn", "€",
+                configs.put("hr", new LanguageConfig("hr", "Hrvatski", "€", "kn", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "Dodaj u košaricu", "Početna", "Odjeća", "Dodaci", "Traži", "Prijava",
                                                 "Košarica" }));
 
                 // Indonesian - Indonesia
-                CONFIGS.put("id", new LanguageConfig("id", "Indonesia", "Rp", "IDR", "€",
+                configs.put("id", new LanguageConfig("id", "Indonesia", "Rp", "IDR", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Tambah ke keranjang", "Beranda", "Pakaian", "Aksesoris", "Cari",
                                                 "Masuk",
                                                 "Keranjang" }));
 
                 // Italian - Italiano
-                CONFIGS.put("it", new LanguageConfig("it", "Italiano", "€", "€", "€",
+                configs.put("it", new LanguageConfig("it", "Italiano", "€", "€", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Aggiungi al carrello", "Home", "Abbigliamento", "Accessori", "Cerca",
                                                 "Accedi",
                                                 "Carrello" }));
 
                 // Latvian - Latviešu
-                CONFIGS.put("lv", new LanguageConfig("lv", "Latviešu", "€", "€", "€",
+                configs.put("lv", new LanguageConfig("lv", "Latviešu", "€", "€", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Pievienot grozam", "Sākums", "Apģērbs", "Aksesuāri", "Meklēt",
                                                 "Pieslēgties",
                                                 "Grozs" }));
 
                 // Hungarian - Magyar
-                CONFIGS.put("hu", new LanguageConfig("hu", "Magyar", "Ft", "HUF", "€",
+                configs.put("hu", new LanguageConfig("hu", "Magyar", "Ft", "HUF", "€",
                                 "\\d{4}\\.\\d{1,2}\\.\\d{1,2}", ",", " ",
                                 new String[] { "Kosárba", "Főoldal", "Ruházat", "Kiegészítők", "Keresés",
                                                 "Bejelentkezés", "Kosár" }));
 
                 // Dutch - Nederlands
-                CONFIGS.put("nl", new LanguageConfig("nl", "Nederlands", "€", "€", "€",
+                configs.put("nl", new LanguageConfig("nl", "Nederlands", "€", "€", "€",
                                 "\\d{1,2}-\\d{1,2}-\\d{2,4}", ",", ".",
                                 new String[] { "In winkelwagen", "Home", "Kleding", "Accessoires", "Zoeken", "Inloggen",
                                                 "Winkelwagen" }));
 
                 // Norwegian - Norsk
-                CONFIGS.put("no", new LanguageConfig("no", "Norsk", "kr", "NOK", "€",
+                configs.put("no", new LanguageConfig("no", "Norsk", "kr", "NOK", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Legg i handlekurv", "Hjem", "Klær", "Tilbehør", "Søk", "Logg inn",
                                                 "Handlekurv" }));
 
                 // Polish - Polski
-                CONFIGS.put("pl", new LanguageConfig("pl", "Polski", "zł", "PLN", "€",
+                configs.put("pl", new LanguageConfig("pl", "Polski", "zł", "PLN", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Dodaj do koszyka", "Strona główna", "Ubrania", "Akcesoria", "Szukaj",
                                                 "Zaloguj się",
                                                 "Koszyk" }));
 
                 // Portuguese - Português
-                CONFIGS.put("pt", new LanguageConfig("pt", "Português", "€", "€", "€",
+                configs.put("pt", new LanguageConfig("pt", "Português", "€", "€", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Adicionar ao carrinho", "Início", "Roupas", "Acessórios", "Pesquisar",
                                                 "Entrar",
                                                 "Carrinho" }));
 
                 // Portuguese Brazil - Português BR
-                CONFIGS.put("br", new LanguageConfig("br", "Português BR", "R$", "BRL", "€",
+                configs.put("br", new LanguageConfig("br", "Português BR", "R$", "BRL", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Adicionar ao carrinho", "Início", "Roupas", "Acessórios", "Pesquisar",
                                                 "Entrar",
                                                 "Carrinho" }));
 
                 // Romanian - Română
-                CONFIGS.put("ro", new LanguageConfig("ro", "Română", "lei", "RON", "€",
+                configs.put("ro", new LanguageConfig("ro", "Română", "lei", "RON", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "Adaugă în coș", "Acasă", "Îmbrăcăminte", "Accesorii", "Căutare",
                                                 "Autentificare",
                                                 "Coș" }));
 
                 // Albanian - Shqip
-                CONFIGS.put("sq", new LanguageConfig("sq", "Shqip", "L", "ALL", "€",
+                configs.put("sq", new LanguageConfig("sq", "Shqip", "L", "ALL", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Shto në shportë", "Ballina", "Veshje", "Aksesorë", "Kërko", "Hyr",
                                                 "Shporta" }));
 
                 // Slovak - Slovenčina
-                CONFIGS.put("sk", new LanguageConfig("sk", "Slovenčina", "€", "€", "€",
+                configs.put("sk", new LanguageConfig("sk", "Slovenčina", "€", "€", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Pridať do košíka", "Domov", "Oblečenie", "Doplnky", "Hľadať",
                                                 "Prihlásiť sa",
                                                 "Košík" }));
 
                 // Serbian - Srpski
-                CONFIGS.put("sr", new LanguageConfig("sr", "Srpski", "RSD", "дин", "€",
+                configs.put("sr", new LanguageConfig("sr", "Srpski", "RSD", "дин", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "Dodaj u korpu", "Početna", "Odeća", "Dodaci", "Pretraga", "Prijava",
                                                 "Korpa" }));
 
                 // Finnish - Suomi
-                CONFIGS.put("fi", new LanguageConfig("fi", "Suomi", "€", "€", "€",
+                configs.put("fi", new LanguageConfig("fi", "Suomi", "€", "€", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Lisää ostoskoriin", "Etusivu", "Vaatteet", "Asusteet", "Haku",
                                                 "Kirjaudu",
                                                 "Ostoskori" }));
 
                 // Swedish - Svenska
-                CONFIGS.put("sv", new LanguageConfig("sv", "Svenska", "kr", "SEK", "€",
+                configs.put("sv", new LanguageConfig("sv", "Svenska", "kr", "SEK", "€",
                                 "\\d{4}-\\d{1,2}-\\d{1,2}", ",", " ",
                                 new String[] { "Lägg i kundvagn", "Hem", "Kläder", "Tillbehör", "Sök", "Logga in",
                                                 "Kundvagn" }));
 
                 // Turkish - Türkçe
-                CONFIGS.put("tr", new LanguageConfig("tr", "Türkçe", "₺", "TL", "€",
+                configs.put("tr", new LanguageConfig("tr", "Türkçe", "₺", "TL", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "Sepete ekle", "Ana Sayfa", "Giyim", "Aksesuar", "Ara", "Giriş yap",
                                                 "Sepet" }));
 
                 // Lithuanian - Lietuvių
-                CONFIGS.put("lt", new LanguageConfig("lt", "Lietuvių", "€", "€", "€",
+                configs.put("lt", new LanguageConfig("lt", "Lietuvių", "€", "€", "€",
                                 "\\d{4}-\\d{1,2}-\\d{1,2}", ",", " ",
                                 new String[] { "Į krepšelį", "Pradžia", "Drabužiai", "Aksesuarai", "Ieškoti",
                                                 "Prisijungti",
                                                 "Krepšelis" }));
 
                 // Slovenian - Slovenščina
-                CONFIGS.put("sl", new LanguageConfig("sl", "Slovenščina", "€", "€", "€",
+                configs.put("sl", new LanguageConfig("sl", "Slovenščina", "€", "€", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "Dodaj v košarico", "Domov", "Oblačila", "Dodatki", "Išči", "Prijava",
                                                 "Košarica" }));
 
                 // Vietnamese - Tiếng Việt
-                CONFIGS.put("vi", new LanguageConfig("vi", "Tiếng Việt", "₫", "đ", "VND",
+                configs.put("vi", new LanguageConfig("vi", "Tiếng Việt", "₫", "đ", "VND",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Thêm vào giỏ", "Trang chủ", "Quần áo", "Phụ kiện", "Tìm kiếm",
                                                 "Đăng nhập",
                                                 "Giỏ hàng" }));
 
                 // Czech - Čeština
-                CONFIGS.put("cs", new LanguageConfig("cs", "Čeština", "Kč", "CZK", "€",
+                configs.put("cs", new LanguageConfig("cs", "Čeština", "Kč", "CZK", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Přidat do košíku", "Domů", "Oblečení", "Doplňky", "Hledat",
                                                 "Přihlásit se", "Košík" }));
 
                 // Greek - Ελληνικά
-                CONFIGS.put("el", new LanguageConfig("el", "Ελληνικά", "€", "€", "€",
+                configs.put("el", new LanguageConfig("el", "Ελληνικά", "€", "€", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ",", ".",
                                 new String[] { "Προσθήκη στο καλάθι", "Αρχική", "Ρούχα", "Αξεσουάρ", "Αναζήτηση",
                                                 "Σύνδεση",
                                                 "Καλάθι" }));
 
                 // Ukrainian - Українська
-                CONFIGS.put("uk", new LanguageConfig("uk", "Українська", "₴", "грн", "€",
+                configs.put("uk", new LanguageConfig("uk", "Українська", "₴", "грн", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Додати до кошика", "Головна", "Одяг", "Аксесуари", "Пошук", "Увійти",
                                                 "Кошик" }));
 
                 // Russian - Русский
-                CONFIGS.put("ru", new LanguageConfig("ru", "Русский", "₽", "руб", "€",
+                configs.put("ru", new LanguageConfig("ru", "Русский", "₽", "руб", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "В корзину", "Главная", "Одежда", "Аксессуары", "Поиск", "Войти",
                                                 "Корзина" }));
 
                 // Bulgarian - Български
-                CONFIGS.put("bg", new LanguageConfig("bg", "Български", "лв", "BGN", "€",
+                configs.put("bg", new LanguageConfig("bg", "Български", "лв", "BGN", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", " ",
                                 new String[] { "Добави в кошницата", "Начало", "Дрехи", "Аксесоари", "Търсене", "Вход",
                                                 "Кошница" }));
 
                 // Macedonian - Македонски
-                CONFIGS.put("mk", new LanguageConfig("mk", "Македонски", "ден", "MKD", "€",
+                configs.put("mk", new LanguageConfig("mk", "Македонски", "ден", "MKD", "€",
                                 "\\d{1,2}\\.\\d{1,2}\\.\\d{2,4}", ",", ".",
                                 new String[] { "Додај во кошничка", "Почетна", "Облека", "Додатоци", "Барај", "Најава",
                                                 "Кошничка" }));
 
                 // Hebrew - עברית
-                CONFIGS.put("he", new LanguageConfig("he", "עברית", "₪", "ש״ח", "€",
+                configs.put("he", new LanguageConfig("he", "עברית", "₪", "ש״ח", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ".", ",",
                                 new String[] { "הוסף לסל", "דף הבית", "בגדים", "אביזרים", "חיפוש", "התחברות",
                                                 "סל קניות" }));
 
                 // Persian - فارسی
-                CONFIGS.put("fa", new LanguageConfig("fa", "فارسی", "﷼", "ریال", "€",
+                configs.put("fa", new LanguageConfig("fa", "فارسی", "﷼", "ریال", "€",
                                 "\\d{4}/\\d{1,2}/\\d{1,2}", ".", ",",
                                 new String[] { "افزودن به سبد", "خانه", "لباس", "لوازم جانبی", "جستجو", "ورود",
                                                 "سبد خرید" }));
 
                 // Hindi - हिन्दी
-                CONFIGS.put("hi", new LanguageConfig("hi", "हिन्दी", "₹", "रु", "€",
+                configs.put("hi", new LanguageConfig("hi", "हिन्दी", "₹", "रु", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ".", ",",
                                 new String[] { "कार्ट में जोड़ें", "होम", "कपड़े", "सहायक उपकरण", "खोजें", "लॉग इन",
                                                 "कार्ट" }));
 
                 // Bengali - বাংলা
-                CONFIGS.put("bn", new LanguageConfig("bn", "বাংলা", "৳", "টাকা", "€",
+                configs.put("bn", new LanguageConfig("bn", "বাংলা", "৳", "টাকা", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ".", ",",
                                 new String[] { "কার্টে যোগ করুন", "হোম", "পোশাক", "আনুষাঙ্গিক", "অনুসন্ধান", "লগইন",
                                                 "কার্ট" }));
 
                 // Arabic - العربية
-                CONFIGS.put("ar", new LanguageConfig("ar", "العربية", "د.إ", "ر.س", "€",
+                configs.put("ar", new LanguageConfig("ar", "العربية", "د.إ", "ر.س", "€",
                                 "\\d{1,2}/\\d{1,2}/\\d{2,4}", ".", ",",
                                 new String[] { "أضف إلى السلة", "الرئيسية", "ملابس", "إكسسوارات", "بحث", "تسجيل الدخول",
                                                 "السلة" }));
 
                 // Japanese - 日本語
-                CONFIGS.put("ja", new LanguageConfig("ja", "日本語", "¥", "円", "€",
+                configs.put("ja", new LanguageConfig("ja", "日本語", "¥", "円", "€",
                                 "\\d{4}[/年]\\d{1,2}[/月]\\d{1,2}", ".", ",",
                                 new String[] { "カートに入れる", "ホーム", "服", "アクセサリー", "検索", "ログイン", "カート" }));
 
                 // Chinese Simplified - 简体中文
-                CONFIGS.put("zh", new LanguageConfig("zh", "简体中文", "¥", "元", "€",
+                configs.put("zh", new LanguageConfig("zh", "简体中文", "¥", "元", "€",
                                 "\\d{4}[/年-]\\d{1,2}[/月-]\\d{1,2}", ".", ",",
                                 new String[] { "加入购物车", "首页", "服装", "配饰", "搜索", "登录", "购物车" }));
 
                 // Chinese Traditional - 繁體中文
-                CONFIGS.put("tw", new LanguageConfig("tw", "繁體中文", "NT$", "$", "€",
+                configs.put("tw", new LanguageConfig("tw", "繁體中文", "NT$", "$", "€",
                                 "\\d{4}[/年-]\\d{1,2}[/月-]\\d{1,2}", ".", ",",
                                 new String[] { "加入購物車", "首頁", "服飾", "配件", "搜尋", "登入", "購物車" }));
+
+                return configs;
         }
 
         public static LanguageConfig get(String code) {
-                return CONFIGS.get(code);
+                // Registry chua tao va co snapshot: chi giai ma dung ban ghi can dung
+                LanguageConfigSnapshot snapshot = lazySnapshot();
+                if (snapshot != null)
+                        return snapshot.get(code);
+                return registry().byCode.get(code);
         }
 
         public static boolean isSupported(String code) {
-                return CONFIGS.containsKey(code);
+                LanguageConfigSnapshot snapshot = lazySnapshot();
+                if (snapshot != null)
+                        return snapshot.contains(code);
+                return registry().byCode.containsKey(code);
         }
 
         public static String[] getSupportedLanguages() {
-                return CONFIGS.keySet().toArray(new String[0]);
+                LanguageConfigSnapshot snapshot = lazySnapshot();
+                if (snapshot != null)
+                        return snapshot.codes();
+                return registry().byCode.keySet().toArray(new String[0]);
         }
 }
@@ -0,0 +1,379 @@
+package org.example;
+
+import java.io.*;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.util.*;
+
+/**
+ * Sinh LanguageConfig tu du lieu locale cua JDK (CLDR)
+ *
+ * Dau phan cach thap phan / hang nghin lay tu DecimalFormatSymbols, datePattern
+ * lay tu DateTimeFormatterBuilder (FormatStyle.SHORT), tien te lay tu
+ * java.util.Currency. Cac entry viet tay (static block cua LanguageConfig hoac
+ * JSON) duoc phep ghi de tung truong.
+ *
+ * Ket qua duoc cache ra file de lan khoi dong sau khong phai tra cuu locale cho
+ * tung ngon ngu.
+ */
+public class LanguageConfigGenerator {
+
+    // Ma ngon ngu PrestaShop -> BCP 47 language tag (can co quoc gia de lay tien te)
+    private static final Map<String, String> LOCALE_TAGS = new HashMap<>();
+    static {
+        LOCALE_TAGS.put("ar", "ar-AE");
+        LOCALE_TAGS.put("bg", "bg-BG");
+        LOCALE_TAGS.put("bn", "bn-BD");
+        LOCALE_TAGS.put("br", "pt-BR");
+        LOCALE_TAGS.put("bs", "bs-BA");
+        LOCALE_TAGS.put("ca", "ca-ES");
+        LOCALE_TAGS.put("cs", "cs-CZ");
+        LOCALE_TAGS.put("da", "da-DK");
+        LOCALE_TAGS.put("de", "de-DE");
+        LOCALE_TAGS.put("el", "el-GR");
+        LOCALE_TAGS.put("en", "en-US");
+        LOCALE_TAGS.put("es", "es-ES");
+        LOCALE_TAGS.put("et", "et-EE");
+        LOCALE_TAGS.put("fa", "fa-IR");
+        LOCALE_TAGS.put("fi", "fi-FI");
+        LOCALE_TAGS.put("fr", "fr-FR");
+        LOCALE_TAGS.put("gl", "gl-ES");
+        LOCALE_TAGS.put("he", "he-IL");
+        LOCALE_TAGS.put("hi", "hi-IN");
+        LOCALE_TAGS.put("hr", "hr-HR");
+        LOCALE_TAGS.put("hu", "hu-HU");
+        LOCALE_TAGS.put("id", "id-ID");
+        LOCALE_TAGS.put("it", "it-IT");
+        LOCALE_TAGS.put("ja", "ja-JP");
+        LOCALE_TAGS.put("ko", "ko-KR");
+        LOCALE_TAGS.put("lt", "lt-LT");
+        LOCALE_TAGS.put("lv", "lv-LV");
+        LOCALE_TAGS.put("mk", "mk-MK");
+        LOCALE_TAGS.put("mx", "es-MX");
+        LOCALE_TAGS.put("nl", "nl-NL");
+        LOCALE_TAGS.put("no", "nb-NO");
+        LOCALE_TAGS.put("pl", "pl-PL");
+        LOCALE_TAGS.put("pt", "pt-PT");
+        LOCALE_TAGS.put("qc", "fr-CA");
+        LOCALE_TAGS.put("ro", "ro-RO");
+        LOCALE_TAGS.put("ru", "ru-RU");
+        LOCALE_TAGS.put("sk", "sk-SK");
+        LOCALE_TAGS.put("sl", "sl-SI");
+        LOCALE_TAGS.put("sq", "sq-AL");
+        LOCALE_TAGS.put("sr", "sr-Latn-RS"); // Shop dung chu Latin (Srpski)
+        LOCALE_TAGS.put("sv", "sv-SE");
+        LOCALE_TAGS.put("th", "th-TH");
+        LOCALE_TAGS.put("tr", "tr-TR");
+        LOCALE_TAGS.put("tw", "zh-TW");
+        LOCALE_TAGS.put("uk", "uk-UA");
+        LOCALE_TAGS.put("vi", "vi-VN");
+        LOCALE_TAGS.put("zh", "zh-CN");
+    }
+
+    // Dau dinh huong (bidi) CLDR chen vao pattern cua ar/fa/he - cho phep co hoac khong
+    private static final String BIDI_MARKS = "\u200E\u200F\u061C";
+
+    // ==================== STATIC UTILITY METHODS ====================
+
+    /**
+     * Chuyen ma ngon ngu PrestaShop sang Locale cua JDK
+     *
+     * @param code Ma ngon ngu (vd: "tw", "mx", "fr")
+     * @return Locale tuong ung (ma chua biet thi dung nguyen ma lam language tag)
+     */
+    public static Locale localeFor(String code) {
+        if (code == null)
+            return Locale.ROOT;
+        String tag = LOCALE_TAGS.get(code);
+        return Locale.forLanguageTag(tag != null ? tag : code);
+    }
+
+    /**
+     * Sinh cau hinh cho mot ngon ngu tu du lieu locale cua JDK
+     *
+     * @param code Ma ngon ngu
+     * @return LanguageConfig sinh tu CLDR (chua co expectedKeywords)
+     */
+    public static LanguageConfig generate(String code) {
+        Locale locale = localeFor(code);
+
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        String decimal = String.valueOf(symbols.getDecimalSeparator());
+        String thousand = usesGrouping(locale) ? normalizeSpace(symbols.getGroupingSeparator()) : "";
+
+        String datePattern = toDateRegex(
+                DateTimeFormatterBuilder.getLocalizedDateTimePattern(FormatStyle.SHORT, null,
+                        IsoChronology.INSTANCE, locale),
+                symbols.getZeroDigit());
+
+        String symbol = null;
+        String isoCode = null;
+        if (!locale.getCountry().isEmpty()) {
+            try {
+                Currency currency = Currency.getInstance(locale);
+                symbol = stripBidiMarks(currency.getSymbol(locale));
+                isoCode = currency.getCurrencyCode();
+            } catch (IllegalArgumentException e) {
+                // Quoc gia khong co tien te ISO
+            }
+        }
+
+        return new LanguageConfig(code, displayName(locale), symbol, isoCode, null,
+                datePattern, decimal, thousand, new String[0]);
+    }
+
+    /**
+     * Ghep cau hinh viet tay len cau hinh sinh tu CLDR.
+     * Truong nao override khac null (mang khac rong) thi dung override.
+     *
+     * @param generated Cau hinh sinh tu CLDR
+     * @param override  Cau hinh viet tay (co the chi co mot so truong)
+     * @return Cau hinh moi, cac truong Decision Table duoc tinh lai
+     */
+    public static LanguageConfig merge(LanguageConfig generated, LanguageConfig override) {
+        if (override == null)
+            return generated;
+        if (generated == null)
+            return override;
+
+        String decimal = pick(override.decimalSeparator, generated.decimalSeparator);
+        LanguageConfig merged = new LanguageConfig(generated.code,
+                pick(override.languageName, generated.languageName),
+                pick(override.primaryCurrency, generated.primaryCurrency),
+                pick(override.secondaryCurrency, generated.secondaryCurrency),
+                pick(override.defaultCurrency, generated.defaultCurrency),
+                pick(override.datePattern, generated.datePattern),
+                decimal,
+                pick(override.thousandSeparator, generated.thousandSeparator),
+                override.expectedKeywords != null && override.expectedKeywords.length > 0
+                        ? override.expectedKeywords
+                        : generated.expectedKeywords);
+
+        // Cac truong Decision Table viet tay (vd: tu JSON) duoc uu tien
+        merged.isRTL = merged.isRTL || override.isRTL;
+        if (override.scriptGroup != null)
+            merged.scriptGroup = override.scriptGroup;
+        if (override.testGroup != null)
+            merged.testGroup = override.testGroup;
+        if (override.groupingSeparatorType != null && override.thousandSeparator != null)
+            merged.groupingSeparatorType = override.groupingSeparatorType;
+        return merged;
+    }
+
+    /**
+     * Liet ke cac truong ma cau hinh viet tay khac voi du lieu CLDR (de ra soat)
+     *
+     * @param handWritten Cau hinh viet tay
+     * @return Danh sach mo ta khac biet, rong neu khop
+     */
+    public static List<String> findDifferences(LanguageConfig handWritten) {
+        List<String> diffs = new ArrayList<>();
+        if (handWritten == null)
+            return diffs;
+
+        LanguageConfig cldr = generate(handWritten.code);
+        compare(diffs, "decimalSeparator", handWritten.decimalSeparator, cldr.decimalSeparator);
+        compare(diffs, "thousandSeparator", handWritten.thousandSeparator, cldr.thousandSeparator);
+        compare(diffs, "primaryCurrency", handWritten.primaryCurrency, cldr.primaryCurrency);
+        return diffs;
+    }
+
+    /**
+     * Chuyen pattern ngay cua CLDR (vd: "dd.MM.yy") sang regex (vd:
+     * "\d{1,2}\.\d{1,2}\.\d{2,4}")
+     *
+     * @param cldrPattern Pattern kieu DateTimeFormatter
+     * @param zeroDigit   Chu so 0 cua locale (khac '0' voi chu so ban dia)
+     * @return Regex tuong ung
+     */
+    public static String toDateRegex(String cldrPattern, char zeroDigit) {
+        String digit = zeroDigit == '0' ? "\\d"
+                : "[\\d" + zeroDigit + "-" + (char) (zeroDigit + 9) + "]";
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        int len = cldrPattern.length();
+        while (i < len) {
+            char c = cldrPattern.charAt(i);
+            if (c == '\'') {
+                // Van ban trong dau nhay: giu nguyen ('' = dau nhay don)
+                int end = cldrPattern.indexOf('\'', i + 1);
+                if (end < 0)
+                    end = len;
+                if (end == i + 1) {
+                    regex.append('\'');
+                } else {
+                    appendLiteral(regex, cldrPattern.substring(i + 1, end));
+                }
+                i = end + 1;
+                continue;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int run = 1;
+                while (i + run < len && cldrPattern.charAt(i + run) == c)
+                    run++;
+                appendField(regex, c, run, digit);
+                i += run;
+                continue;
+            }
+            if (BIDI_MARKS.indexOf(c) >= 0) {
+                regex.append('[').append(BIDI_MARKS).append("]?");
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                regex.append("\\s?");
+            } else {
+                appendLiteral(regex, String.valueOf(c));
+            }
+            i++;
+        }
+        return regex.toString();
+    }
+
+    // ==================== CACHE ====================
+
+    /**
+     * Nap cau hinh sinh tu CLDR tu file cache, chi sinh lai cac ngon ngu chua co.
+     * Cache bi bo qua neu duoc tao boi phien ban JDK khac (du lieu CLDR co the
+     * khac).
+     *
+     * @param cacheFile Duong dan file cache (snapshot nhi phan, xem
+     *                  LanguageConfigSnapshot)
+     * @param codes     Cac ma ngon ngu can sinh
+     * @return Map<code, LanguageConfig> theo thu tu codes
+     */
+    public static Map<String, LanguageConfig> loadOrGenerate(String cacheFile, Collection<String> codes)
+            throws IOException {
+        String jdk = System.getProperty("java.version");
+
+        LanguageConfigSnapshot cache = null;
+        File file = new File(cacheFile);
+        if (file.isFile()) {
+            try {
+                cache = LanguageConfigSnapshot.open(cacheFile);
+            } catch (IOException | RuntimeException e) {
+                L10nLogger.warn("[CONFIG] Cache CLDR hong, sinh lai: " + e.getMessage());
+            }
+        }
+        if (cache != null && !jdk.equals(cache.tag()))
+            cache = null;
+
+        boolean dirty = false;
+        Map<String, LanguageConfig> result = new LinkedHashMap<>();
+        for (String code : codes) {
+            LanguageConfig config = cache != null ? cache.get(code) : null;
+            if (config == null) {
+                config = generate(code);
+                dirty = true;
+            }
+            result.put(code, config);
+        }
+
+        if (dirty) {
+            // Giu lai cac ngon ngu da cache nhung khong duoc hoi lan nay
+            Map<String, LanguageConfig> all = new LinkedHashMap<>();
+            if (cache != null)
+                all.putAll(cache.decodeAll());
+            all.putAll(result);
+            LanguageConfigSnapshot.write(cacheFile, all, jdk);
+        }
+        return result;
+    }
+
+    /**
+     * In ra cac entry viet tay khac voi CLDR
+     * Cach dung: exec:java -Dexec.mainClass=org.example.LanguageConfigGenerator
+     */
+    public static void main(String[] args) {
+        String[] codes = LanguageConfig.getSupportedLanguages();
+        Arrays.sort(codes);
+        for (String code : codes) {
+            List<String> diffs = findDifferences(LanguageConfig.get(code));
+            if (!diffs.isEmpty()) {
+                System.out.println(code + ": " + String.join("; ", diffs));
+            }
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static boolean usesGrouping(Locale locale) {
+        NumberFormat format = NumberFormat.getNumberInstance(locale);
+        if (!format.isGroupingUsed())
+            return false;
+        return !(format instanceof DecimalFormat) || ((DecimalFormat) format).getGroupingSize() > 0;
+    }
+
+    /**
+     * LanguageConfig dung " " cho moi loai khoang trang (NBSP, narrow NBSP)
+     */
+    private static String normalizeSpace(char c) {
+        if (c == '\u00A0' || c == '\u202F' || Character.isSpaceChar(c))
+            return " ";
+        return String.valueOf(c);
+    }
+
+    private static String stripBidiMarks(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (BIDI_MARKS.indexOf(c) < 0)
+                sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static String displayName(Locale locale) {
+        String name = locale.getDisplayLanguage(locale);
+        if (name.isEmpty())
+            return locale.toLanguageTag();
+        return name.substring(0, 1).toUpperCase(locale) + name.substring(1);
+    }
+
+    private static void appendField(StringBuilder regex, char field, int count, String digit) {
+        switch (field) {
+            case 'y':
+            case 'u':
+                regex.append(digit).append(count == 2 ? "{2}" : "{2,4}");
+                break;
+            case 'M':
+            case 'L':
+                if (count >= 3)
+                    regex.append("\\p{L}+\\.?");
+                else
+                    regex.append(digit).append("{1,2}");
+                break;
+            case 'd':
+                regex.append(digit).append("{1,2}");
+                break;
+            case 'E':
+            case 'G':
+            case 'a':
+                regex.append("\\p{L}+\\.?");
+                break;
+            default:
+                // Truong gio/phut khong co trong pattern ngay SHORT
+                regex.append(digit).append("+");
+        }
+    }
+
+    private static void appendLiteral(StringBuilder regex, String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if ("\\[](){}.*+?^$|".indexOf(c) >= 0)
+                regex.append('\\');
+            regex.append(c);
+        }
+    }
+
+    private static String pick(String override, String generated) {
+        return override != null ? override : generated;
+    }
+
+    private static void compare(List<String> diffs, String field, String handWritten, String cldr) {
+        if (!Objects.equals(handWritten, cldr)) {
+            diffs.add(field + " '" + handWritten + "' != CLDR '" + cldr + "'");
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package org.example;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Snapshot nhi phan cua LanguageConfig de khoi dong nhanh
+ *
+ * Dinh dang: header (magic, version, tag) + bang chi muc (code, offset, length)
+ * + cac ban ghi. Khi mo chi doc header va chi muc; moi ban ghi chi duoc doc (tai
+ * offset cua no, FileChannel) va giai ma khi get(code) hoi lan dau. Gson chi
+ * dung cho authoring / export JSON.
+ */
+public class LanguageConfigSnapshot {
+
+    private static final int MAGIC = 0x4C31304E; // "L10N"
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final String tag;
+    private final Map<String, Integer> indexByCode;
+    private final String[] codes;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final AtomicReferenceArray<LanguageConfig> decoded;
+
+    private LanguageConfigSnapshot(Path file, String tag, String[] codes, int[] offsets, int[] lengths) {
+        this.file = file;
+        this.tag = tag;
+        this.codes = codes;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.decoded = new AtomicReferenceArray<>(codes.length);
+        this.indexByCode = new HashMap<>(codes.length * 2);
+        for (int i = 0; i < codes.length; i++) {
+            indexByCode.put(codes[i], i);
+        }
+    }
+
+    // ==================== DOC ====================
+
+    /**
+     * Mo file snapshot: chi doc header va bang chi muc
+     *
+     * @param filePath Duong dan file snapshot
+     * @return Snapshot (cac ban ghi chua duoc giai ma)
+     */
+    public static LanguageConfigSnapshot open(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Khong phai file snapshot LanguageConfig: " + filePath);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Phien ban snapshot khong ho tro: " + version);
+
+            String tag = in.readUTF();
+            int count = in.readInt();
+            String[] codes = new String[count];
+            int[] offsets = new int[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                codes[i] = in.readUTF();
+                offsets[i] = in.readInt();
+                lengths[i] = in.readInt();
+            }
+            return new LanguageConfigSnapshot(path, tag, codes, offsets, lengths);
+        }
+    }
+
+    /**
+     * Lay cau hinh theo ma ngon ngu, giai ma ban ghi o lan goi dau tien
+     *
+     * @param code Ma ngon ngu
+     * @return LanguageConfig hoac null neu khong co trong snapshot
+     */
+    public LanguageConfig get(String code) {
+        Integer index = indexByCode.get(code);
+        if (index == null)
+            return null;
+
+        LanguageConfig config = decoded.get(index);
+        if (config == null) {
+            config = decode(index);
+            if (!decoded.compareAndSet(index, null, config)) {
+                config = decoded.get(index);
+            }
+        }
+        return config;
+    }
+
+    public boolean contains(String code) {
+        return indexByCode.containsKey(code);
+    }
+
+    /**
+     * Cac ma ngon ngu theo thu tu trong file
+     */
+    public String[] codes() {
+        return codes.clone();
+    }
+
+    /**
+     * Nhan tuy y luc ghi (vd: phien ban JDK da sinh du lieu)
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Giai ma tat ca ban ghi (khi can chi muc day du cua registry)
+     */
+    public Map<String, LanguageConfig> decodeAll() {
+        Map<String, LanguageConfig> result = new LinkedHashMap<>();
+        for (String code : codes) {
+            result.put(code, get(code));
+        }
+        return result;
+    }
+
+    // ==================== GHI ====================
+
+    /**
+     * Ghi cac cau hinh ra file snapshot nhi phan
+     *
+     * @param filePath Duong dan file
+     * @param configs  Map<code, LanguageConfig>
+     * @param tag      Nhan tuy y luu trong header
+     */
+    public static void write(String filePath, Map<String, LanguageConfig> configs, String tag) throws IOException {
+        List<String> codes = new ArrayList<>(configs.keySet());
+        List<byte[]> records = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            records.add(encode(configs.get(code)));
+        }
+
+        // Tinh kich thuoc header de biet offset cua ban ghi dau tien
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeUTF(tag != null ? tag : "");
+        header.writeInt(codes.size());
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        for (String code : codes) {
+            index.writeUTF(code);
+            index.writeLong(0); // offset + length
+        }
+        int indexSize = indexBytes.size();
+
+        int offset = headerBytes.size() + indexSize;
+        for (int i = 0; i < codes.size(); i++) {
+            header.writeUTF(codes.get(i));
+            header.writeInt(offset);
+            header.writeInt(records.get(i).length);
+            offset += records.get(i).length;
+        }
+
+        Path path = Paths.get(filePath);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            headerBytes.writeTo(out);
+            for (byte[] record : records) {
+                out.write(record);
+            }
+        }
+    }
+
+    // ==================== MA HOA BAN GHI ====================
+
+    private static byte[] encode(LanguageConfig config) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, config.code);
+        writeString(out, config.languageName);
+        writeString(out, config.primaryCurrency);
+        writeString(out, config.secondaryCurrency);
+        writeString(out, config.defaultCurrency);
+        writeString(out, config.datePattern);
+        writeString(out, config.decimalSeparator);
+        writeString(out, config.thousandSeparator);
+
+        String[] keywords = config.expectedKeywords != null ? config.expectedKeywords : new String[0];
+        out.writeShort(keywords.length);
+        for (String keyword : keywords) {
+            writeString(out, keyword);
+        }
+
+        out.writeBoolean(config.isRTL);
+        writeEnum(out, config.decimalSeparatorType);
+        writeEnum(out, config.groupingSeparatorType);
+        writeEnum(out, config.scriptGroup);
+        writeEnum(out, config.testGroup);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private LanguageConfig decode(int index) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(read(index)));
+            String code = readString(in);
+            String name = readString(in);
+            String primary = readString(in);
+            String secondary = readString(in);
+            String defaultCur = readString(in);
+            String datePattern = readString(in);
+            String decimal = readString(in);
+            String thousand = readString(in);
+
+            String[] keywords = new String[in.readUnsignedShort()];
+            for (int i = 0; i < keywords.length; i++) {
+                keywords[i] = readString(in);
+            }
+
+            boolean isRTL = in.readBoolean();
+            LanguageConfig.DecimalSeparatorType decimalType = readEnum(in, LanguageConfig.DecimalSeparatorType.values());
+            LanguageConfig.GroupingSeparatorType groupingType = readEnum(in,
+                    LanguageConfig.GroupingSeparatorType.values());
+            LanguageConfig.ScriptGroup scriptGroup = readEnum(in, LanguageConfig.ScriptGroup.values());
+            LanguageConfig.TestGroup testGroup = readEnum(in, LanguageConfig.TestGroup.values());
+
+            return new LanguageConfig(code, name, primary, secondary, defaultCur, datePattern, decimal, thousand,
+                    keywords, isRTL, decimalType, groupingType, scriptGroup, testGroup);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ban ghi snapshot hong: " + codes[index], e);
+        }
+    }
+
+    /**
+     * Doc mot ban ghi tai offset cua no
+     */
+    private byte[] read(int index) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(lengths[index]);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offsets[index] + buffer.position()) < 0)
+                    throw new EOFException("Ban ghi snapshot bi cat: " + codes[index]);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeUTF(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value != null ? value.ordinal() : -1);
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        int ordinal = in.readByte();
+        return ordinal >= 0 && ordinal < values.length ? values[ordinal] : null;
+    }
+}
@@ -0,0 +1,398 @@
+package org.example;
+
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.*;
+
+/**
+ * Nhan dien ngon ngu theo trigram ky tu cho tung text node
+ *
+ * Danh sach cum tu tieng Anh co dinh bo sot moi thu khong nam trong danh sach
+ * (mo ta san pham, trang CMS...). Bo nhan dien nay cham diem tung node theo
+ * profile trigram cua cac ngon ngu trong LanguageConfig va bao cac node ma ngon
+ * ngu khop nhat khac ngon ngu mong doi.
+ *
+ * Profile duoc hoc tu du lieu CLDR cua JDK (ten quoc gia, ngon ngu, tien te,
+ * thang, thu theo locale) cong expectedKeywords - khong can file ngu lieu rieng.
+ * Trigram duoc bam vao BUCKETS o; trong so nam trong mot mang float duy nhat,
+ * xep theo [bucket][ngon ngu] nen moi trigram doc mot doan bo nho lien tuc.
+ * Khi cham diem khong cap phat va khong boxing.
+ */
+public final class LanguageIdentifier {
+
+    private static final int BUCKET_BITS = 12;
+    private static final int BUCKETS = 1 << BUCKET_BITS;
+    private static final double SMOOTHING = 0.1;
+
+    // Node ngan hon (so trigram) thi khong du thong tin de ket luan
+    public static final int MIN_TRIGRAMS = 16;
+
+    // Chenh lech log-xac suat trung binh moi trigram giua ngon ngu khop nhat va
+    // ngon ngu mong doi
+    public static final double DEFAULT_MIN_MARGIN = 0.25;
+
+    // Tu chuc nang pho bien nhat cua moi ngon ngu (ma locale): ten CLDR chi co danh
+    // tu, van ban lien tuc can them tu noi, gioi tu, dai tu
+    private static final Map<String, String> SEED_WORDS = new HashMap<>();
+    static {
+        SEED_WORDS.put("en", "the of and to in is you that it for on with as are this be at by from or have an not your our all can will more new about");
+        SEED_WORDS.put("fr", "le la les de des du et un une est en que qui dans pour pas sur au avec ce il vous nous votre plus par sont cette");
+        SEED_WORDS.put("es", "el la los las de del y en que un una es por con para no se su al lo como más pero sus le ya este nuestro");
+        SEED_WORDS.put("pt", "o a os as de do da dos das e em um uma que para com não por se no na mais como seu sua ao são nosso você");
+        SEED_WORDS.put("gl", "o a os as de do da e en un unha que para con non por se no na máis como seu súa ao son noso vostede");
+        SEED_WORDS.put("ca", "el la els les de del i en que un una és per amb no es al als com més però seu seva aquest nostre");
+        SEED_WORDS.put("it", "il lo la i gli le di del della e un una è che per con non in si al sono come più ma suo questo nostro");
+        SEED_WORDS.put("de", "der die das und ist zu den von mit sich des auf für nicht ein eine dem im es auch an werden bei oder wir sie unser");
+        SEED_WORDS.put("nl", "de het een en van is dat op te in voor met niet zijn er aan ook als bij maar om uit door onze je");
+        SEED_WORDS.put("da", "og i at det er en til på som de med den af for ikke der var har et vi du kan fra vores");
+        SEED_WORDS.put("nb", "og i det er som en til på av for med at den ikke de var har et vi du kan fra vår");
+        SEED_WORDS.put("sv", "och i att det som en på är av för med till den inte har de om ett vi du kan från vår");
+        SEED_WORDS.put("fi", "ja on ei se että hän oli ovat kanssa tai mutta myös kun jos niin tämä ole voi meidän sinun");
+        SEED_WORDS.put("et", "ja on ei see et ka oli nad kui ning aga või mis kes siis selle meie teie");
+        SEED_WORDS.put("lv", "un ir no uz ar par ka kas tas bet vai arī kā nav jūs mēs mūsu jūsu");
+        SEED_WORDS.put("lt", "ir yra į su kad iš bet ar kaip tai nėra jūs mes mūsų jūsų");
+        SEED_WORDS.put("pl", "i w nie na się z do jest to że o jak ale po co tak za od przez dla nasz twój");
+        SEED_WORDS.put("cs", "a v se na je že s z do to o k ale jak pro by jsou tak jsme náš váš");
+        SEED_WORDS.put("sk", "a v sa na je že s z do to o k ale ako pre by sú tak sme náš váš");
+        SEED_WORDS.put("sl", "in je v na se da za z so ki pa ne tudi kot bo po pri naš vaš");
+        SEED_WORDS.put("hr", "i je u na se da za s su od ne ali kao što iz bi koji naš vaš");
+        SEED_WORDS.put("bs", "i je u na se da za sa su od ne ali kao što iz bi koji naš vaš");
+        SEED_WORDS.put("sr", "i je u na se da za sa su od ne ali kao što iz bi koji naš vaš gde ovde cena deo vreme posle sledeći");
+        SEED_WORDS.put("hu", "a az és hogy nem is egy van meg el de csak ki ha már mint vagy volt lesz még ön");
+        SEED_WORDS.put("ro", "și în de la a cu pe un o că nu se din pentru este sunt mai care ca al nostru dumneavoastră");
+        SEED_WORDS.put("sq", "dhe në të një është për me nga që nuk se si por ka jemi tuaj jonë");
+        SEED_WORDS.put("tr", "ve bir bu da de için ile mi ne çok daha olarak gibi ama en her sizin bizim");
+        SEED_WORDS.put("id", "dan yang di ke dari ini itu untuk dengan tidak ada akan pada juga kami anda");
+        SEED_WORDS.put("vi", "và của là có không được trong cho những một các với này đã người chúng tôi bạn");
+        SEED_WORDS.put("el", "και το η ο να του της σε με για που είναι τα οι δεν από στο τον μας σας");
+        SEED_WORDS.put("ru", "и в не на что с он как по это но из у за от для мы вы наш ваш");
+        SEED_WORDS.put("uk", "і в не на що з як до це але від за для у ми ви наш ваш та є");
+        SEED_WORDS.put("bg", "и в не на да се че с за от като по това но е ние вие наш ваш");
+        SEED_WORDS.put("mk", "и во не на да се дека со за од како по ова но е ние вие наш ваш");
+        SEED_WORDS.put("ar", "في من على إلى أن هذا مع عن التي الذي هو هي كان لا ما");
+        SEED_WORDS.put("fa", "و در به از که این را با است برای آن یک می ما شما");
+        SEED_WORDS.put("he", "של את על עם זה לא כי הוא היא גם אבל או אנחנו אתם");
+        SEED_WORDS.put("hi", "का की के है में और को से यह पर नहीं हम आप एक भी");
+        SEED_WORDS.put("bn", "এবং এই যে না করে হয় তার আমরা আপনি একটি থেকে");
+        SEED_WORDS.put("ja", "の に は を た が で て と し です ます ある いる する から こと");
+        SEED_WORDS.put("zh", "的 是 在 了 不 和 有 我们 这 个 为 中 上 大 来 您");
+        SEED_WORDS.put("ko", "이 그 저 것 수 등 및 에서 으로 하는 있는 없는 합니다 당신");
+    }
+
+    // So lan lap tu chuc nang trong ngu lieu (can bang voi ten CLDR)
+    private static final int SEED_WEIGHT = 30;
+
+    private static volatile LanguageIdentifier defaultInstance;
+
+    private final String[] languages; // Ma profile (ngon ngu locale: es, fr, pt...)
+    private final Map<String, Integer> profileOf; // Ma LanguageConfig -> profile (mx -> es)
+    private final float[] weights; // [bucket * languages.length + lang] = log P(trigram | lang)
+
+    private LanguageIdentifier(Collection<String> codes) {
+        List<String> profiles = new ArrayList<>();
+        Map<String, Integer> indexOf = new HashMap<>();
+        Map<String, StringBuilder> corpora = new LinkedHashMap<>();
+        for (String code : codes) {
+            String profile = LanguageConfigGenerator.localeFor(code).getLanguage();
+            if (profile.isEmpty())
+                profile = code;
+            Integer index = indexOf.get(profile);
+            if (index == null) {
+                index = profiles.size();
+                profiles.add(profile);
+                indexOf.put(profile, index);
+                corpora.put(profile, corpus(LanguageConfigGenerator.localeFor(code)));
+            }
+            indexOf.put(code, index);
+            LanguageConfig config = LanguageConfig.get(code);
+            if (config != null && config.expectedKeywords != null) {
+                for (String keyword : config.expectedKeywords)
+                    corpora.get(profile).append(keyword).append(' ');
+            }
+        }
+
+        this.languages = profiles.toArray(new String[0]);
+        this.profileOf = indexOf;
+        int count = languages.length;
+        this.weights = new float[BUCKETS * count];
+
+        int[] counts = new int[BUCKETS];
+        for (int lang = 0; lang < count; lang++) {
+            Arrays.fill(counts, 0);
+            int total = countTrigrams(corpora.get(languages[lang]), counts);
+            // Lam tron ty le voi kich thuoc ngu lieu: trigram chua gap co cung xac suat
+            // o moi profile, profile nho (it ten CLDR) khong duoc loi the
+            double alpha = SMOOTHING * total / BUCKETS;
+            double denominator = Math.log(total * (1 + SMOOTHING));
+            for (int b = 0; b < BUCKETS; b++)
+                weights[b * count + lang] = (float) (Math.log(counts[b] + alpha) - denominator);
+        }
+    }
+
+    /**
+     * Bo nhan dien cho moi ngon ngu trong LanguageConfig (tao lan dau khi can)
+     */
+    public static LanguageIdentifier getDefault() {
+        LanguageIdentifier instance = defaultInstance;
+        if (instance == null) {
+            synchronized (LanguageIdentifier.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    instance = new LanguageIdentifier(Arrays.asList(LanguageConfig.getSupportedLanguages()));
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Bo nhan dien chi cho mot so ngon ngu
+     */
+    public static LanguageIdentifier of(Collection<String> codes) {
+        return new LanguageIdentifier(codes);
+    }
+
+    // ==================== NHAN DIEN ====================
+
+    /**
+     * Ngon ngu khop nhat cua doan van ban
+     *
+     * @return Ma profile (vd: "es" cho ca es va mx) hoac null neu qua ngan
+     */
+    public String identify(CharSequence text) {
+        float[] scores = new float[languages.length];
+        int trigrams = score(text, scores, new int[text.length() + 1]);
+        return trigrams < MIN_TRIGRAMS ? null : languages[best(scores)];
+    }
+
+    /**
+     * Cham diem doan van ban so voi ngon ngu mong doi
+     *
+     * @return Ket qua, hoac null neu ngon ngu khong co profile
+     */
+    public Result score(CharSequence text, String expectedCode) {
+        Integer expected = profileOf.get(expectedCode);
+        if (expected == null)
+            return null;
+        float[] scores = new float[languages.length];
+        int trigrams = score(text, scores, new int[text.length() + 1]);
+        int best = best(scores);
+        double margin = trigrams > 0 ? (scores[best] - scores[expected]) / trigrams : 0;
+        return new Result(languages[expected], languages[best], trigrams, margin);
+    }
+
+    /**
+     * Cac node cua trang co ngon ngu khac ngon ngu mong doi
+     *
+     * @param minMargin Chenh lech toi thieu moi trigram (DEFAULT_MIN_MARGIN)
+     */
+    public List<Mismatch> findMismatches(PageSnapshot snapshot, String expectedCode, double minMargin) {
+        List<Mismatch> mismatches = new ArrayList<>();
+        Integer expected = profileOf.get(expectedCode);
+        if (expected == null)
+            return mismatches;
+
+        float[] scores = new float[languages.length];
+        int[] buckets = new int[256];
+        for (PageSnapshot.TextNode node : snapshot.getNodes()) {
+            if (node.text.length() < MIN_TRIGRAMS)
+                continue;
+            if (buckets.length <= node.text.length())
+                buckets = new int[node.text.length() * 2];
+            int trigrams = score(node.text, scores, buckets);
+            if (trigrams < MIN_TRIGRAMS)
+                continue;
+            int best = best(scores);
+            if (best == expected)
+                continue;
+            double margin = (scores[best] - scores[expected]) / trigrams;
+            if (margin >= minMargin) {
+                mismatches.add(new Mismatch(node, new Result(languages[expected], languages[best], trigrams,
+                        margin)));
+            }
+        }
+        return mismatches;
+    }
+
+    public List<Mismatch> findMismatches(PageSnapshot snapshot, String expectedCode) {
+        return findMismatches(snapshot, expectedCode, DEFAULT_MIN_MARGIN);
+    }
+
+    /**
+     * Ma profile cua ngon ngu (null neu khong ho tro)
+     */
+    public String profileOf(String code) {
+        Integer index = profileOf.get(code);
+        return index != null ? languages[index] : null;
+    }
+
+    // ==================== TRIGRAM ====================
+
+    /**
+     * Cong don log-xac suat cua moi trigram vao scores
+     *
+     * @param buckets Bo dem tam, do dai it nhat text.length() + 1
+     * @return So trigram da cham
+     */
+    private int score(CharSequence text, float[] scores, int[] buckets) {
+        int count = languages.length;
+        float[] w = weights;
+        Arrays.fill(scores, 0f);
+        int trigrams = trigrams(text, buckets);
+        // Tach khoi vong lap ky tu: vong trong chi cong hai mang lien tuc (JIT vector hoa)
+        for (int t = 0; t < trigrams; t++) {
+            int offset = buckets[t] * count;
+            for (int lang = 0; lang < count; lang++)
+                scores[lang] += w[offset + lang];
+        }
+        return trigrams;
+    }
+
+    private static int countTrigrams(CharSequence text, int[] counts) {
+        int[] buckets = new int[text.length() + 1];
+        int total = trigrams(text, buckets);
+        for (int t = 0; t < total; t++)
+            counts[buckets[t]]++;
+        return total;
+    }
+
+    /**
+     * Bam cac trigram cua van ban (da chuan hoa, gom khoang trang) vao buckets
+     *
+     * @return So trigram
+     */
+    private static int trigrams(CharSequence text, int[] buckets) {
+        int total = 0;
+        char a = ' ';
+        char b = ' ';
+        int len = text.length();
+        for (int i = 0; i <= len; i++) {
+            char c = i < len ? normalize(text.charAt(i)) : ' ';
+            if (c == ' ' && b == ' ')
+                continue;
+            buckets[total++] = bucket(a, b, c);
+            a = b;
+            b = c;
+        }
+        return total;
+    }
+
+    /**
+     * Chu cai -> chu thuong; moi ky tu khac la ranh gioi tu
+     */
+    private static char normalize(char c) {
+        if (c < 0x80)
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c >= 'a' && c <= 'z' ? c : ' ';
+        return Character.isLetter(c) ? Character.toLowerCase(c) : ' ';
+    }
+
+    private static int bucket(char a, char b, char c) {
+        int h = ((a * 31) + b) * 31 + c;
+        return (h * 0x9E3779B1) >>> (32 - BUCKET_BITS);
+    }
+
+    private static int best(float[] scores) {
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best])
+                best = i;
+        }
+        return best;
+    }
+
+    // ==================== NGU LIEU ====================
+
+    /**
+     * Ngu lieu cua mot locale tu du lieu CLDR cua JDK
+     */
+    private static StringBuilder corpus(Locale locale) {
+        StringBuilder sb = new StringBuilder(32768);
+        boolean english = "en".equals(locale.getLanguage());
+        String seed = SEED_WORDS.get(locale.getLanguage());
+        if (seed != null) {
+            for (int i = 0; i < SEED_WEIGHT; i++)
+                sb.append(seed).append(' ');
+        }
+
+        for (String iso : Locale.getISOCountries()) {
+            Locale country = new Locale("", iso);
+            appendName(sb, country.getDisplayCountry(locale), country.getDisplayCountry(Locale.ENGLISH), english);
+        }
+        for (String iso : Locale.getISOLanguages()) {
+            Locale language = new Locale(iso);
+            appendName(sb, language.getDisplayLanguage(locale), language.getDisplayLanguage(Locale.ENGLISH),
+                    english);
+        }
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            appendName(sb, currency.getDisplayName(locale), currency.getDisplayName(Locale.ENGLISH), english);
+        }
+        for (Month month : Month.values()) {
+            appendName(sb, month.getDisplayName(TextStyle.FULL, locale),
+                    month.getDisplayName(TextStyle.FULL, Locale.ENGLISH), english);
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            appendName(sb, day.getDisplayName(TextStyle.FULL, locale),
+                    day.getDisplayName(TextStyle.FULL, Locale.ENGLISH), english);
+        }
+        return sb;
+    }
+
+    /**
+     * Bo qua ten ma JDK khong co ban dich (tra ve ma ISO hoac ten tieng Anh)
+     */
+    private static void appendName(StringBuilder sb, String name, String englishName, boolean english) {
+        if (name == null || name.length() <= 3)
+            return;
+        if (!english && name.equals(englishName))
+            return;
+        sb.append(name).append(' ');
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Diem cua mot doan van ban
+     */
+    public static class Result {
+        public final String expected;
+        public final String detected;
+        public final int trigrams;
+        public final double margin; // Chenh lech trung binh moi trigram (>= 0)
+
+        Result(String expected, String detected, int trigrams, double margin) {
+            this.expected = expected;
+            this.detected = detected;
+            this.trigrams = trigrams;
+            this.margin = margin;
+        }
+
+        public boolean matchesExpected() {
+            return expected.equals(detected);
+        }
+
+        @Override
+        public String toString() {
+            return detected + (matchesExpected() ? "" : " (mong doi " + expected + String.format(", +%.2f)", margin));
+        }
+    }
+
+    /**
+     * Mot node co ngon ngu khac ngon ngu mong doi
+     */
+    public static class Mismatch {
+        public final PageSnapshot.TextNode node;
+        public final Result result;
+
+        Mismatch(PageSnapshot.TextNode node, Result result) {
+            this.node = node;
+            this.result = result;
+        }
+
+        @Override
+        public String toString() {
+            return node.path + " [" + result + "]: " + node.text;
+        }
+    }
+}
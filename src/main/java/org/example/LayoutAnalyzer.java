@@ -0,0 +1,222 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Phat hien va cham bo cuc tu khung cua PageSnapshot
+ *
+ * checkElementOverflow chi so scrollWidth voi offsetWidth cua chinh element,
+ * bo sot nhan dich de len nhan ben canh hoac bi to tien overflow:hidden cat
+ * mat. LayoutAnalyzer tim:
+ * - Chong lan: hai text box giao nhau. Box duoc bo vao luoi deu (o cellSize
+ * px), chi so cap trong cung o; moi cap chi bao mot lan (o chua goc tren-trai
+ * cua phan giao). Gan tuyen tinh theo so box thay vi n^2 cap.
+ * - Bi cat: text box vuot ra ngoai khung cat cua to tien (snapshot da tinh
+ * san). Node an hoan toan (slide carousel, menu dong) khong tinh - chi bao
+ * node bi cat mot phan.
+ *
+ * Hai node cung dong chay van ban (node nay nam trong element cua node kia)
+ * khong tinh chong lan: khung Range cua text nhieu dong la hinh bao ca doan.
+ */
+public class LayoutAnalyzer {
+
+    public static final int DEFAULT_CELL_SIZE = 64; // px
+    public static final float MIN_OVERLAP = 2; // px tren ca hai chieu
+    public static final float CLIP_TOLERANCE = 1; // px (lam tron)
+
+    private final int cellSize;
+
+    public LayoutAnalyzer() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public LayoutAnalyzer(int cellSize) {
+        this.cellSize = Math.max(8, cellSize);
+    }
+
+    // ==================== PHAN TICH ====================
+
+    public Result analyze(PageSnapshot snapshot) {
+        List<PageSnapshot.TextNode> nodes = new ArrayList<>();
+        for (PageSnapshot.TextNode node : snapshot.getNodes()) {
+            if (node.box != null && !node.box.isEmpty())
+                nodes.add(node);
+        }
+        return new Result(findOverlaps(nodes), findClipped(nodes), nodes.size());
+    }
+
+    /**
+     * Cac cap text box giao nhau (luoi deu)
+     */
+    public List<Overlap> findOverlaps(List<PageSnapshot.TextNode> nodes) {
+        int n = nodes.size();
+        float[] x0 = new float[n], y0 = new float[n], x1 = new float[n], y1 = new float[n];
+        Map<Long, int[]> cells = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            PageSnapshot.Box box = nodes.get(i).box;
+            x0[i] = box.x;
+            y0[i] = box.y;
+            x1[i] = box.right();
+            y1[i] = box.bottom();
+            for (int cy = cell(y0[i]); cy <= cell(y1[i]); cy++) {
+                for (int cx = cell(x0[i]); cx <= cell(x1[i]); cx++)
+                    add(cells, key(cx, cy), i);
+            }
+        }
+
+        List<Overlap> overlaps = new ArrayList<>();
+        for (Map.Entry<Long, int[]> entry : cells.entrySet()) {
+            int[] members = entry.getValue(); // [so luong, chi so...]
+            int cx = (int) (entry.getKey() >> 32);
+            int cy = (int) (long) entry.getKey();
+            for (int a = 1; a <= members[0]; a++) {
+                int i = members[a];
+                for (int b = a + 1; b <= members[0]; b++) {
+                    int j = members[b];
+                    float left = Math.max(x0[i], x0[j]);
+                    float top = Math.max(y0[i], y0[j]);
+                    float width = Math.min(x1[i], x1[j]) - left;
+                    float height = Math.min(y1[i], y1[j]) - top;
+                    if (width < MIN_OVERLAP || height < MIN_OVERLAP)
+                        continue;
+                    // Chi o chua goc tren-trai cua phan giao bao cap nay
+                    if (cell(left) != cx || cell(top) != cy)
+                        continue;
+                    PageSnapshot.TextNode first = nodes.get(Math.min(i, j));
+                    PageSnapshot.TextNode second = nodes.get(Math.max(i, j));
+                    if (sameFlow(first.path, second.path))
+                        continue;
+                    overlaps.add(new Overlap(first, second, width * height));
+                }
+            }
+        }
+        overlaps.sort(Comparator.comparingDouble((Overlap o) -> -o.area));
+        return overlaps;
+    }
+
+    /**
+     * Cac text box bi khung cat cua to tien cat mot phan
+     */
+    public List<Clipped> findClipped(List<PageSnapshot.TextNode> nodes) {
+        List<Clipped> clipped = new ArrayList<>();
+        for (PageSnapshot.TextNode node : nodes) {
+            PageSnapshot.Box box = node.box;
+            PageSnapshot.Box clip = node.clip;
+            if (clip == null)
+                continue;
+            float width = Math.min(box.right(), clip.right()) - Math.max(box.x, clip.x);
+            float height = Math.min(box.bottom(), clip.bottom()) - Math.max(box.y, clip.y);
+            if (width <= 0 || height <= 0)
+                continue; // An hoan toan: co y (carousel, menu dong)
+            boolean cut = box.x < clip.x - CLIP_TOLERANCE || box.right() > clip.right() + CLIP_TOLERANCE
+                    || box.y < clip.y - CLIP_TOLERANCE || box.bottom() > clip.bottom() + CLIP_TOLERANCE;
+            if (cut)
+                clipped.add(new Clipped(node, (width * height) / (box.width * box.height)));
+        }
+        return clipped;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Them chi so vao danh sach cua o ([so luong, chi so...], nhan doi khi day)
+     */
+    private static void add(Map<Long, int[]> cells, long key, int index) {
+        int[] members = cells.get(key);
+        if (members == null) {
+            members = new int[4];
+            cells.put(key, members);
+        } else if (members[0] + 1 == members.length) {
+            members = Arrays.copyOf(members, members.length * 2);
+            cells.put(key, members);
+        }
+        members[++members[0]] = index;
+    }
+
+    /**
+     * Hai node cung dong van ban: element cua node nay la element cua node kia
+     * hoac nam trong no
+     */
+    static boolean sameFlow(String firstPath, String secondPath) {
+        String first = elementPath(firstPath);
+        String second = elementPath(secondPath);
+        return first.equals(second) || second.startsWith(first + ">") || first.startsWith(second + ">");
+    }
+
+    private static String elementPath(String path) {
+        int tilde = path.lastIndexOf('~');
+        return tilde > path.lastIndexOf('>') ? path.substring(0, tilde) : path;
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Hai text box chong len nhau
+     */
+    public static class Overlap {
+        public final PageSnapshot.TextNode first;
+        public final PageSnapshot.TextNode second;
+        public final float area; // px^2
+
+        Overlap(PageSnapshot.TextNode first, PageSnapshot.TextNode second, float area) {
+            this.first = first;
+            this.second = second;
+            this.area = area;
+        }
+
+        /**
+         * Khoa on dinh giua cac ngon ngu (de loai chong lan da co o ban "en")
+         */
+        public String key() {
+            return first.path + "|" + second.path;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' %s x '%s' %s (%.0fpx2)", first.text, first.box, second.text, second.box,
+                    area);
+        }
+    }
+
+    /**
+     * Text box bi cat mot phan
+     */
+    public static class Clipped {
+        public final PageSnapshot.TextNode node;
+        public final double visibleFraction;
+
+        Clipped(PageSnapshot.TextNode node, double visibleFraction) {
+            this.node = node;
+            this.visibleFraction = visibleFraction;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' %s trong %s: thay %.0f%%", node.text, node.box, node.clip,
+                    visibleFraction * 100);
+        }
+    }
+
+    /**
+     * Ket qua phan tich mot trang
+     */
+    public static class Result {
+        public final List<Overlap> overlaps;
+        public final List<Clipped> clipped;
+        public final int boxes;
+
+        Result(List<Overlap> overlaps, List<Clipped> clipped, int boxes) {
+            this.overlaps = overlaps;
+            this.clipped = clipped;
+            this.boxes = boxes;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ngu phap so theo ngon ngu, bien dich thanh DFA nho
+ *
+ * Moi LanguageConfig co mot NumberGrammar (dau thap phan, dau nhom, kich thuoc
+ * nhom - ke ca kieu nhom 2 chu so cua An Do cho hi/bn: 12,34,567). Grammar
+ * duoc tao mot lan cho moi ngon ngu, bat bien va dung chung giua cac thread.
+ *
+ * Quet mot luot qua ca doan van ban (vd: text cua ca trang) va kiem tra tung so
+ * gap duoc: dau (+, -, U+2212), chu so, dau phan cach giua hai chu so. Khoang
+ * trang (ke ca NBSP / NNBSP) chi la dau nhom khi ngon ngu dung nhom SPACE va
+ * nhom phia sau dung kich thuoc; neu khong, no la ranh gioi giua hai so.
+ */
+public final class NumberGrammar {
+
+    public enum NumberError {
+        NONE,
+        GROUP_SIZE, // Nhom chu so sai kich thuoc (1,23,456 voi en; 123,456 voi hi)
+        SEPARATOR, // Dau phan cach khong thuoc ngon ngu (1.234,56 voi en)
+        FRACTION_DIGITS // Qua nhieu chu so thap phan
+    }
+
+    // So chu so thap phan toi da (gia tien)
+    public static final int DEFAULT_MAX_FRACTION_DIGITS = 2;
+
+    // Trang thai DFA
+    private static final int LEAD = 0;
+    private static final int GROUP = 1;
+    private static final int FRACTION = 2;
+    private static final int INVALID = 3;
+
+    private static final Map<String, NumberGrammar> CACHE = new ConcurrentHashMap<>();
+
+    // Grammar long leo cho validateNumberFormat(String, DecimalSeparatorType) cu
+    private static final NumberGrammar LENIENT_DOT = new NumberGrammar('.', ",", 3, 3, false,
+            DEFAULT_MAX_FRACTION_DIGITS);
+    private static final NumberGrammar LENIENT_COMMA = new NumberGrammar(',', ". \u00A0\u202F", 3, 3, false,
+            DEFAULT_MAX_FRACTION_DIGITS);
+
+    private final char decimal;
+    private final String grouping;
+    private final int groupSize;
+    private final int lastGroupSize;
+    private final int leadMax;
+    private final boolean checkGroupSizes;
+    private final int maxFractionDigits;
+
+    private NumberGrammar(char decimal, String grouping, int groupSize, int lastGroupSize, boolean checkGroupSizes,
+            int maxFractionDigits) {
+        this.decimal = decimal;
+        this.grouping = grouping;
+        this.groupSize = groupSize;
+        this.lastGroupSize = lastGroupSize;
+        this.leadMax = Math.max(groupSize, 1);
+        this.checkGroupSizes = checkGroupSizes;
+        this.maxFractionDigits = maxFractionDigits;
+    }
+
+    // ==================== TAO GRAMMAR ====================
+
+    /**
+     * Grammar cua mot ngon ngu (tao lan dau, sau do lay tu cache)
+     */
+    public static NumberGrammar forConfig(LanguageConfig config) {
+        char decimal = config.decimalSeparator != null && !config.decimalSeparator.isEmpty()
+                ? config.decimalSeparator.charAt(0)
+                : config.decimalSeparatorType == LanguageConfig.DecimalSeparatorType.COMMA ? ',' : '.';
+        LanguageConfig.GroupingSeparatorType groupingType = config.groupingSeparatorType != null
+                ? config.groupingSeparatorType
+                : LanguageConfig.GroupingSeparatorType.NONE;
+        boolean indian = config.scriptGroup == LanguageConfig.ScriptGroup.INDIC;
+
+        String key = config.code + '|' + decimal + '|' + groupingType + '|' + indian;
+        return CACHE.computeIfAbsent(key, k -> new NumberGrammar(decimal, groupingChars(groupingType),
+                indian ? 2 : 3, 3, true, DEFAULT_MAX_FRACTION_DIGITS));
+    }
+
+    /**
+     * Grammar chi phan biet dau thap phan, khong kiem tra kich thuoc nhom
+     */
+    public static NumberGrammar lenient(LanguageConfig.DecimalSeparatorType type) {
+        return type == LanguageConfig.DecimalSeparatorType.DOT ? LENIENT_DOT : LENIENT_COMMA;
+    }
+
+    private static String groupingChars(LanguageConfig.GroupingSeparatorType type) {
+        switch (type) {
+            case COMMA:
+                return ",";
+            case DOT:
+                return ".";
+            case SPACE:
+                return " \u00A0\u202F";
+            default:
+                return "";
+        }
+    }
+
+    // ==================== KIEM TRA ====================
+
+    /**
+     * Kiem tra chuoi: co it nhat mot so va moi so deu dung ngu phap
+     */
+    public boolean validate(CharSequence text) {
+        if (text == null)
+            return false;
+        Cursor cursor = new Cursor();
+        boolean found = false;
+        int i = 0;
+        while ((i = next(text, i, cursor)) >= 0) {
+            if (cursor.error != NumberError.NONE)
+                return false;
+            found = true;
+        }
+        return found;
+    }
+
+    /**
+     * Quet mot luot va tra ve moi so trong van ban (dung va sai)
+     */
+    public List<NumberMatch> findAll(CharSequence text) {
+        List<NumberMatch> matches = new ArrayList<>();
+        if (text == null)
+            return matches;
+        Cursor cursor = new Cursor();
+        int i = 0;
+        while ((i = next(text, i, cursor)) >= 0) {
+            matches.add(new NumberMatch(text.subSequence(cursor.start, cursor.end).toString(), cursor.start,
+                    cursor.end, cursor.negative, cursor.error));
+        }
+        return matches;
+    }
+
+    /**
+     * Chi cac so sai ngu phap
+     */
+    public List<NumberMatch> findErrors(CharSequence text) {
+        List<NumberMatch> errors = findAll(text);
+        errors.removeIf(m -> m.error == NumberError.NONE);
+        return errors;
+    }
+
+    /**
+     * Tim so tiep theo tu vi tri from
+     *
+     * @return Vi tri ngay sau so, hoac -1 neu het
+     */
+    private int next(CharSequence text, int from, Cursor cursor) {
+        int len = text.length();
+        int i = from;
+        while (i < len && !isDigit(text.charAt(i)))
+            i++;
+        if (i >= len)
+            return -1;
+
+        cursor.start = i;
+        cursor.negative = false;
+        if (i > 0 && isSign(text.charAt(i - 1)) && (i < 2 || !Character.isLetterOrDigit(text.charAt(i - 2)))) {
+            cursor.start = i - 1;
+            cursor.negative = text.charAt(i - 1) != '+';
+        }
+
+        int state = LEAD;
+        int run = 0;
+        NumberError error = NumberError.NONE;
+        while (i < len) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                run++;
+                i++;
+                continue;
+            }
+            if (!isSeparator(c) || i + 1 >= len || !isDigit(text.charAt(i + 1)))
+                break;
+
+            boolean space = isSpace(c);
+            if (state == INVALID) {
+                if (space)
+                    break;
+            } else if (c == decimal && state != FRACTION) {
+                if (state == GROUP && checkGroupSizes && run != lastGroupSize && error == NumberError.NONE)
+                    error = NumberError.GROUP_SIZE;
+                state = FRACTION;
+            } else if (grouping.indexOf(c) >= 0 && state != FRACTION) {
+                boolean sizeOk = !checkGroupSizes || (state == LEAD ? run <= leadMax : run == groupSize);
+                if (space) {
+                    // Khoang trang sai nhom = ranh gioi giua hai so
+                    int ahead = digitRun(text, i + 1);
+                    if (!sizeOk || (checkGroupSizes && ahead != groupSize && ahead != lastGroupSize))
+                        break;
+                } else if (!sizeOk && error == NumberError.NONE) {
+                    error = NumberError.GROUP_SIZE;
+                }
+                state = GROUP;
+            } else if (space) {
+                break;
+            } else {
+                if (error == NumberError.NONE)
+                    error = NumberError.SEPARATOR;
+                state = INVALID;
+            }
+            run = 0;
+            i++;
+        }
+
+        if (error == NumberError.NONE) {
+            if (state == GROUP && checkGroupSizes && run != lastGroupSize)
+                error = NumberError.GROUP_SIZE;
+            else if (state == FRACTION && run > maxFractionDigits)
+                error = NumberError.FRACTION_DIGITS;
+        }
+        cursor.end = i;
+        cursor.error = error;
+        return i;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static int digitRun(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && isDigit(text.charAt(i)))
+            i++;
+        return i - from;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSign(char c) {
+        return c == '-' || c == '+' || c == '\u2212';
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\u00A0' || c == '\u202F';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ',' || c == '\'' || isSpace(c);
+    }
+
+    private static final class Cursor {
+        int start;
+        int end;
+        boolean negative;
+        NumberError error;
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot so tim thay trong van ban
+     */
+    public static class NumberMatch {
+        public final String text;
+        public final int start;
+        public final int end;
+        public final boolean negative;
+        public final NumberError error;
+
+        NumberMatch(String text, int start, int end, boolean negative, NumberError error) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.negative = negative;
+            this.error = error;
+        }
+
+        public boolean isValid() {
+            return error == NumberError.NONE;
+        }
+
+        @Override
+        public String toString() {
+            return isValid() ? "OK: " + text : "ERROR: " + text + " (" + error + ")";
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Gallery thanh phan: do tran chu cua ca catalog trong mot trang
+ *
+ * Tai tung trang de tim mot nut bi tran rat ton. Gallery lay markup that cua
+ * shop (nut, menu, tieu de san pham) tu trang dang mo, xoa body (giu <head>
+ * nen CSS va web font van con, cung origin) va voi moi lo chuoi dich: nhan ban
+ * markup, thay text, chen tat ca roi do offsetWidth / scrollWidth - mot lan goi
+ * JS, mot lan layout cho ca lo. Ket qua dung tieu chi cua checkElementOverflow
+ * (TextChecker.toOverflowResult) va duoc day ra sink theo tung lo.
+ *
+ * Moi ban dich chi duoc do trong thanh phan cua no: theo ban do chuoi goc ->
+ * thanh phan, hoac (chuoi goc chua gan) trong cac thanh phan ma chuoi goc tieng
+ * Anh vua khung.
+ *
+ * Cha cua thanh phan duoc nhan ban nong (tag + class, khong con) tu goc den
+ * cha truc tiep de selector CSS co ngu canh van khop; cha truc tiep duoc dat
+ * do rong bang do rong that tren trang.
+ */
+public class OverflowGallery {
+
+    public static final int BATCH_SIZE = 2000; // So chuoi moi lan goi JS
+
+    // Thanh phan mac dinh cua theme classic (selector dau tien khop tren trang)
+    public static final Map<String, String> DEFAULT_COMPONENTS = new LinkedHashMap<>();
+    static {
+        DEFAULT_COMPONENTS.put("button",
+                "button[data-button-action='add-to-cart'], .add-to-cart, .btn-primary");
+        DEFAULT_COMPONENTS.put("nav", "#top-menu > li > a, .nav-link, .dropdown-item");
+        DEFAULT_COMPONENTS.put("product-title", ".product-miniature .product-title, .product-title");
+    }
+
+    // Lay mau tu trang hien tai roi thay body bang vung gallery
+    private static final String INSTALL_SCRIPT = "var specs = arguments[0], g = {templates: {}}, out = {};"
+            + "for (var i = 0; i < specs.length; i++) {"
+            + "  var e = document.querySelector(specs[i][1]);"
+            + "  if (!e) continue;"
+            + "  var chain = [];"
+            + "  for (var p = e.parentElement; p && p !== document.body; p = p.parentElement)"
+            + "    chain.unshift(p.cloneNode(false));"
+            + "  var width = Math.round(e.parentElement.getBoundingClientRect().width);"
+            + "  g.templates[specs[i][0]] = {chain: chain, element: e.cloneNode(true), width: width};"
+            + "  out[specs[i][0]] = width;"
+            + "}"
+            + "document.body.innerHTML = '';"
+            + "g.root = document.createElement('div');"
+            + "document.body.appendChild(g.root);"
+            + "window.__l10nGallery = g;"
+            + "return out;";
+
+    // Nhan ban markup cho moi chuoi, mot lan layout, tra ve [offsetWidth, scrollWidth, ...]
+    private static final String MEASURE_SCRIPT = "var g = window.__l10nGallery;"
+            + "var t = g && g.templates[arguments[0]], texts = arguments[1];"
+            + "if (!t) return null;"
+            + "function setText(e, text) {"
+            + "  var w = document.createTreeWalker(e, NodeFilter.SHOW_TEXT), n, best = null;"
+            + "  while ((n = w.nextNode()))"
+            + "    if (!best || n.nodeValue.trim().length > best.nodeValue.trim().length) best = n;"
+            + "  if (best) best.nodeValue = text; else e.textContent = text;"
+            + "}"
+            + "var frag = document.createDocumentFragment(), elements = [];"
+            + "for (var i = 0; i < texts.length; i++) {"
+            + "  var top = null, parent = null;"
+            + "  for (var k = 0; k < t.chain.length; k++) {"
+            + "    var c = t.chain[k].cloneNode(false);"
+            + "    if (parent) parent.appendChild(c); else top = c;"
+            + "    parent = c;"
+            + "  }"
+            + "  if (!parent) { top = parent = document.createElement('div'); }"
+            + "  parent.style.width = t.width + 'px';"
+            + "  parent.style.boxSizing = 'border-box';"
+            + "  var e = t.element.cloneNode(true);"
+            + "  setText(e, texts[i]);"
+            + "  parent.appendChild(e);"
+            + "  frag.appendChild(top);"
+            + "  elements.push(e);"
+            + "}"
+            + "g.root.appendChild(frag);"
+            + "var out = [];"
+            + "for (i = 0; i < elements.length; i++) out.push(elements[i].offsetWidth, elements[i].scrollWidth);"
+            + "g.root.innerHTML = '';"
+            + "return out;";
+
+    private final JavascriptExecutor js;
+    private final Map<String, Integer> componentWidths = new LinkedHashMap<>();
+
+    public OverflowGallery(WebDriver driver) {
+        this.js = (JavascriptExecutor) driver;
+    }
+
+    // ==================== GALLERY ====================
+
+    /**
+     * Lay mau thanh phan tu trang dang mo va bien trang thanh gallery (trang can
+     * tai lai sau khi dung xong)
+     *
+     * @param components Ten thanh phan -> selector CSS
+     * @return Ten thanh phan tim thay -> do rong cha (px)
+     */
+    public Map<String, Integer> install(Map<String, String> components) {
+        List<List<String>> specs = new ArrayList<>();
+        for (Map.Entry<String, String> entry : components.entrySet())
+            specs.add(Arrays.asList(entry.getKey(), entry.getValue()));
+
+        componentWidths.clear();
+        Object raw = js.executeScript(INSTALL_SCRIPT, specs);
+        if (raw instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) raw).entrySet())
+                componentWidths.put(String.valueOf(entry.getKey()), ((Number) entry.getValue()).intValue());
+        }
+        return Collections.unmodifiableMap(componentWidths);
+    }
+
+    /**
+     * Do cac chuoi trong mot thanh phan, theo lo BATCH_SIZE
+     *
+     * @param sink Nhan ket qua (ca OK va OVERFLOW) sau moi lo
+     * @return So chuoi bi tran
+     */
+    public int measure(String component, List<String> texts, Consumer<TextChecker.TextOverflowResult> sink) {
+        if (!componentWidths.containsKey(component))
+            return 0;
+        int overflowing = 0;
+        for (int from = 0; from < texts.size(); from += BATCH_SIZE) {
+            List<String> batch = texts.subList(from, Math.min(texts.size(), from + BATCH_SIZE));
+            Object raw = js.executeScript(MEASURE_SCRIPT, component, new ArrayList<>(batch));
+            overflowing += collect(component, batch, raw, sink);
+        }
+        return overflowing;
+    }
+
+    /**
+     * Do ban dich cua catalog, chuoi goc chua gan thanh phan (xem ban co ban do)
+     */
+    public int measureCatalog(TranslationCatalog catalog, Consumer<TextChecker.TextOverflowResult> sink) {
+        return measureCatalog(catalog, Collections.emptyMap(), sink);
+    }
+
+    /**
+     * Do ban dich cua catalog trong thanh phan cua no (khong do moi chuoi trong moi
+     * thanh phan: doan van, tro giup khong phai nhan nut)
+     *
+     * @param componentOf Chuoi goc -> thanh phan (TranslationCatalog.loadComponentMap);
+     *                    chuoi goc khong co trong ban do chi duoc do trong thanh
+     *                    phan ma chuoi goc tieng Anh vua khung va la nhan ngan
+     *                    (checkTextLength "en" OK - cung tieu chi CatalogLinter)
+     * @return So ket qua bi tran
+     */
+    public int measureCatalog(TranslationCatalog catalog, Map<String, String> componentOf,
+            Consumer<TextChecker.TextOverflowResult> sink) {
+        Map<String, Set<String>> targets = new LinkedHashMap<>(); // Thanh phan -> ban dich
+        Map<String, Set<String>> unmapped = new LinkedHashMap<>(); // Chuoi goc ngan -> ban dich
+        for (int i = 0; i < catalog.size(); i++) {
+            String source = catalog.source(i);
+            String component = componentOf.get(source);
+            if (component != null) {
+                if (componentWidths.containsKey(component))
+                    targets.computeIfAbsent(component, c -> new LinkedHashSet<>()).add(catalog.target(i));
+            } else if (TextChecker.checkTextLength(source, "en").status == TextChecker.TextLengthStatus.OK) {
+                unmapped.computeIfAbsent(source, c -> new LinkedHashSet<>()).add(catalog.target(i));
+            }
+        }
+
+        // Chuoi goc chua gan: do ban tieng Anh truoc, chi giu thanh phan ma no vua
+        if (!unmapped.isEmpty()) {
+            List<String> sources = new ArrayList<>(unmapped.keySet());
+            for (String component : componentWidths.keySet()) {
+                Set<String> tooWide = new HashSet<>();
+                measure(component, sources, result -> {
+                    if (result.isOverflowing)
+                        tooWide.add(result.text);
+                });
+                for (String source : sources) {
+                    if (!tooWide.contains(source))
+                        targets.computeIfAbsent(component, c -> new LinkedHashSet<>()).addAll(unmapped.get(source));
+                }
+            }
+        }
+
+        int overflowing = 0;
+        for (Map.Entry<String, Set<String>> entry : targets.entrySet())
+            overflowing += measure(entry.getKey(), new ArrayList<>(entry.getValue()), sink);
+        return overflowing;
+    }
+
+    public Map<String, Integer> getComponentWidths() {
+        return Collections.unmodifiableMap(componentWidths);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Doi mang [offsetWidth, scrollWidth, ...] cua mot lo thanh ket qua
+     */
+    static int collect(String component, List<String> texts, Object raw,
+            Consumer<TextChecker.TextOverflowResult> sink) {
+        if (!(raw instanceof List))
+            return 0;
+        List<?> widths = (List<?>) raw;
+        int overflowing = 0;
+        for (int i = 0; i < texts.size() && 2 * i + 1 < widths.size(); i++) {
+            TextChecker.TextOverflowResult result = TextChecker.toOverflowResult(component, texts.get(i),
+                    ((Number) widths.get(2 * i)).intValue(), ((Number) widths.get(2 * i + 1)).intValue());
+            if (result == null)
+                continue;
+            if (result.isOverflowing)
+                overflowing++;
+            sink.accept(result);
+        }
+        return overflowing;
+    }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.*;
+
+/**
+ * Anh chup van ban cua trang: moi text node hien thi kem duong dan cau truc
+ *
+ * Chi mot lan goi JS (TreeWalker qua document.body) thay vi findElements +
+ * getText cho tung element. Duong dan dang "body>main:1>section#wrapper>div.row:2>a:1"
+ * (tag, id on dinh hoac class dau tien + thu tu trong cac anh em cung tag;
+ * "~2" cho text node thu hai cua cung element) duy nhat trong trang va on dinh
+ * giua cac ngon ngu nen dung duoc de ghep node giua hai ban dich (DomPathJoin).
+ * Khung pixel cua tung node dung cho LayoutAnalyzer (chong lan, bi cat), font
+ * (font-family da tinh) cho GlyphCoverageChecker.
+ */
+public class PageSnapshot {
+
+    // TreeWalker: bo qua script/style/noscript va node an; duong dan cua element
+    // duoc nho lai (WeakMap) nen moi element chi tinh mot lan. Id co chu so
+    // (product-12, js-abc123) va class trang thai bi bo de duong dan khong doi
+    // giua cac ngon ngu va cac lan tai trang. Moi text node con kem font-family,
+    // khung (Range) va khung cat cua to tien gan nhat co overflow hidden / clip
+    // (nho theo element); auto / scroll co thanh cuon nen noi dung van xem duoc.
+    private static final String SNAPSHOT_SCRIPT = "var skip = {SCRIPT:1, STYLE:1, NOSCRIPT:1, TEMPLATE:1};"
+            + "var unstable = /\\d|^(active|selected|current|open|show|hover|focus|js-)/;"
+            + "var landmarks = 'header,nav,main,footer,aside,#header,#footer,#wrapper,#left-column,#right-column';"
+            + "var cache = new WeakMap(), texts = new Map();"
+            + "function path(e) {"
+            + "  if (!e || e === document.body) return 'body';"
+            + "  var p = cache.get(e); if (p) return p;"
+            + "  var tag = e.tagName.toLowerCase(), part;"
+            + "  if (e.id && !unstable.test(e.id)) { part = tag + '#' + e.id; } else {"
+            + "    part = tag;"
+            + "    for (var i = 0; i < e.classList.length; i++)"
+            + "      if (!unstable.test(e.classList[i])) { part += '.' + e.classList[i]; break; }"
+            + "    var n = 1, s = e.previousElementSibling;"
+            + "    while (s) { if (s.tagName === e.tagName) n++; s = s.previousElementSibling; }"
+            + "    part += ':' + n; }"
+            + "  p = path(e.parentElement) + '>' + part; cache.set(e, p); return p;"
+            + "}"
+            + "function section(e) {"
+            + "  var l = e.closest(landmarks);"
+            + "  return l ? (l.id && !unstable.test(l.id) ? l.id : l.tagName.toLowerCase()) : 'body';"
+            + "}"
+            + "var hides = /^(hidden|clip)$/;"
+            + "var clips = new WeakMap(), sx = window.scrollX, sy = window.scrollY, range = document.createRange();"
+            + "function clip(e) {"
+            + "  if (!e || e === document.documentElement) return null;"
+            + "  if (clips.has(e)) return clips.get(e);"
+            + "  var s = getComputedStyle(e), c;"
+            + "  if (s.display !== 'inline' && (hides.test(s.overflowX) || hides.test(s.overflowY))) {"
+            + "    var r = e.getBoundingClientRect();"
+            + "    c = [Math.round(r.left + sx + e.clientLeft), Math.round(r.top + sy + e.clientTop),"
+            + "      e.clientWidth, e.clientHeight];"
+            + "  } else { c = clip(e.parentElement); }"
+            + "  clips.set(e, c); return c;"
+            + "}"
+            + "var out = [];"
+            + "var w = document.createTreeWalker(document.body, NodeFilter.SHOW_TEXT, {acceptNode: function(t) {"
+            + "  var e = t.parentElement;"
+            + "  if (!e || skip[e.tagName] || !t.nodeValue.trim()) return NodeFilter.FILTER_REJECT;"
+            + "  if (e.offsetParent === null && getComputedStyle(e).position !== 'fixed')"
+            + "    return NodeFilter.FILTER_REJECT;"
+            + "  return NodeFilter.FILTER_ACCEPT; }});"
+            + "while (w.nextNode()) {"
+            + "  var t = w.currentNode, e = t.parentElement, k = (texts.get(e) || 0) + 1;"
+            + "  texts.set(e, k);"
+            + "  range.selectNodeContents(t);"
+            + "  var b = range.getBoundingClientRect();"
+            + "  out.push([path(e) + (k > 1 ? '~' + k : ''), section(e), t.nodeValue.replace(/\\s+/g, ' ').trim(),"
+            + "    getComputedStyle(e).fontFamily, Math.round(b.left + sx), Math.round(b.top + sy), Math.round(b.width), Math.round(b.height)]"
+            + "    .concat(clip(e) || []));"
+            + "}"
+            + "return out;";
+
+    private final List<TextNode> nodes;
+
+    public PageSnapshot(List<TextNode> nodes) {
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+    }
+
+    /**
+     * Chup van ban cua trang hien tai (mot lan goi JS)
+     */
+    public static PageSnapshot capture(JavascriptExecutor js) {
+        List<TextNode> nodes = new ArrayList<>();
+        Object raw = js.executeScript(SNAPSHOT_SCRIPT);
+        if (raw instanceof List) {
+            for (Object item : (List<?>) raw) {
+                List<?> row = (List<?>) item;
+                nodes.add(new TextNode(String.valueOf(row.get(0)), String.valueOf(row.get(1)),
+                        String.valueOf(row.get(2)), (String) row.get(3), box(row, 4), box(row, 8)));
+            }
+        }
+        return new PageSnapshot(nodes);
+    }
+
+    public List<TextNode> getNodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Tong so ky tu van ban cua trang
+     */
+    public long totalLength() {
+        long total = 0;
+        for (TextNode node : nodes)
+            total += node.text.length();
+        return total;
+    }
+
+    private static Box box(List<?> row, int from) {
+        if (row.size() < from + 4)
+            return null;
+        return new Box(((Number) row.get(from)).floatValue(), ((Number) row.get(from + 1)).floatValue(),
+                ((Number) row.get(from + 2)).floatValue(), ((Number) row.get(from + 3)).floatValue());
+    }
+
+    // ==================== CLASS NODE ====================
+
+    /**
+     * Mot text node: duong dan element cha, vung trang (header, footer, wrapper...)
+     * va van ban (khoang trang da gom)
+     */
+    public static class TextNode {
+        public final String path;
+        public final String section;
+        public final String text;
+        public final Box box; // Khung cua text (toa do trang), null neu khong co
+        public final Box clip; // Khung cua to tien gan nhat co overflow hidden / clip, null neu khong co
+        public final String font; // font-family da tinh cua element cha, null neu khong co
+
+        public TextNode(String path, String text) {
+            this(path, "body", text);
+        }
+
+        public TextNode(String path, String section, String text) {
+            this(path, section, text, null, null);
+        }
+
+        public TextNode(String path, String section, String text, Box box, Box clip) {
+            this(path, section, text, null, box, clip);
+        }
+
+        public TextNode(String path, String section, String text, String font, Box box, Box clip) {
+            this.path = path;
+            this.section = section;
+            this.text = text;
+            this.font = font;
+            this.box = box;
+            this.clip = clip;
+        }
+
+        @Override
+        public String toString() {
+            return path + ": " + text;
+        }
+    }
+
+    /**
+     * Hinh chu nhat theo pixel, toa do trang (da cong scroll)
+     */
+    public static class Box {
+        public final float x;
+        public final float y;
+        public final float width;
+        public final float height;
+
+        public Box(float x, float y, float width, float height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public float right() {
+            return x + width;
+        }
+
+        public float bottom() {
+            return y + height;
+        }
+
+        public boolean isEmpty() {
+            return width <= 0 || height <= 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%.0f,%.0f %.0fx%.0f]", x, y, width, height);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example;
+
+import java.text.BreakIterator;
+import java.util.*;
+
+/**
+ * Tim cum tu theo ranh gioi tu
+ *
+ * text.contains("New") khop ca "Newsletter", "Art" khop "Article" - gay FAIL
+ * gia. PhraseMatcher van quet bang indexOf (nhanh nhu tim chuoi thuong), chi
+ * kiem tra them hai dau cua moi lan khop:
+ * - Ky tu ke ben khong phai chu/so: la ranh gioi
+ * - Hai ky tu cung chu viet co khoang trang (Latin, Cyrillic...): khong phai
+ * - Con lai (CJK, Thai, hai chu viet khac nhau): hoi BreakIterator cua locale
+ *
+ * BreakIterator tao ton kem nen duoc cache theo locale trong tung thread va chi
+ * duoc gan van ban khi that su can.
+ */
+public class PhraseMatcher {
+
+    // Moi thread: ma ngon ngu -> BreakIterator tu
+    private static final ThreadLocal<Map<String, BreakIterator>> ITERATORS = ThreadLocal.withInitial(HashMap::new);
+
+    private final String text;
+    private final String languageCode;
+    private BreakIterator iterator; // Gan van ban lan dau khi can
+
+    private PhraseMatcher(String text, String languageCode) {
+        this.text = text;
+        this.languageCode = languageCode != null ? languageCode : "en";
+    }
+
+    // ==================== STATIC UTILITY METHODS ====================
+
+    /**
+     * Van ban co chua cum tu (tron tu) khong
+     *
+     * @param text         Van ban cua trang
+     * @param phrase       Cum tu can tim
+     * @param languageCode Ngon ngu cua trang (chon quy tac tach tu)
+     */
+    public static boolean contains(String text, String phrase, String languageCode) {
+        if (text == null || phrase == null || phrase.isEmpty())
+            return false;
+        return new PhraseMatcher(text, languageCode).indexOf(phrase, 0) >= 0;
+    }
+
+    /**
+     * Cac cum tu xuat hien (tron tu) trong van ban, theo thu tu cua phrases
+     */
+    public static List<String> findPhrases(String text, String[] phrases, String languageCode) {
+        List<String> found = new ArrayList<>();
+        if (text == null || phrases == null)
+            return found;
+        PhraseMatcher matcher = new PhraseMatcher(text, languageCode);
+        for (String phrase : phrases) {
+            if (phrase != null && !phrase.isEmpty() && matcher.indexOf(phrase, 0) >= 0)
+                found.add(phrase);
+        }
+        return found;
+    }
+
+    /**
+     * Vi tri dau tien cua cum tu (tron tu) tu vi tri from, hoac -1
+     */
+    public static int indexOf(String text, String phrase, int from, String languageCode) {
+        if (text == null || phrase == null || phrase.isEmpty())
+            return -1;
+        return new PhraseMatcher(text, languageCode).indexOf(phrase, from);
+    }
+
+    // ==================== KHOP ====================
+
+    private int indexOf(String phrase, int from) {
+        int end = phrase.length();
+        int i = text.indexOf(phrase, from);
+        while (i >= 0) {
+            if (isBoundary(i, phrase.charAt(0), true) && isBoundary(i + end, phrase.charAt(end - 1), false))
+                return i;
+            i = text.indexOf(phrase, i + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Vi tri offset co phai ranh gioi tu khong
+     *
+     * @param edge   Ky tu cua cum tu nam sat offset
+     * @param before Offset la dau cum tu (ky tu ke ben nam truoc)
+     */
+    private boolean isBoundary(int offset, char edge, boolean before) {
+        if (offset == 0 || offset == text.length())
+            return true;
+        char neighbor = before ? text.charAt(offset - 1) : text.charAt(offset);
+        if (!isWordChar(neighbor) || !isWordChar(edge))
+            return true;
+
+        ScriptRunAnalyzer.Script edgeScript = ScriptRunAnalyzer.scriptOf(edge);
+        ScriptRunAnalyzer.Script neighborScript = ScriptRunAnalyzer.scriptOf(neighbor);
+        if (edgeScript == neighborScript && isSpaced(edgeScript))
+            return false;
+        return breakIterator().isBoundary(offset);
+    }
+
+    private BreakIterator breakIterator() {
+        if (iterator == null) {
+            iterator = ITERATORS.get().computeIfAbsent(languageCode,
+                    code -> BreakIterator.getWordInstance(LanguageConfigGenerator.localeFor(code)));
+            iterator.setText(text);
+        }
+        return iterator;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Chu viet dung khoang trang giua cac tu
+     */
+    private static boolean isSpaced(ScriptRunAnalyzer.Script script) {
+        switch (script) {
+            case HAN:
+            case KANA:
+            case THAI:
+            case OTHER:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        if (c < 0x80)
+            return (c | 0x20) >= 'a' && (c | 0x20) <= 'z' || c >= '0' && c <= '9';
+        if (Character.isLetterOrDigit(c))
+            return true;
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+}
@@ -0,0 +1,302 @@
+package org.example;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Chi muc gia theo (san pham, ngon ngu, loai trang) de kiem tra tinh nhat quan
+ *
+ * Trong luc kiem tra, moi gia tim thay duoc ghi lai duoi dang so nguyen (minor
+ * units + so chu so thap phan) va ky hieu tien te - khong giu text cua trang.
+ * Khoa duoc ma hoa thanh so nguyen qua tu dien, du lieu nam trong cac mang
+ * nguyen thuy nen chi muc nho ngay ca khi crawl toan bo site.
+ *
+ * Sau khi crawl, hash-join giua cac ban ghi:
+ * - Cung san pham + cung ngon ngu, khac loai trang (listing vs trang san pham)
+ * - Cung san pham + cung loai trang, khac ngon ngu (cung tien te phai cung gia;
+ * khac tien te thi so sanh qua ty gia neu da khai bao)
+ */
+public class PriceIndex {
+
+    public enum Kind {
+        CROSS_PAGE, // Cung ngon ngu, khac trang
+        CROSS_LANGUAGE // Cung trang, khac ngon ngu
+    }
+
+    // So chu so thap phan chuan hoa khi so sanh
+    private static final int SCALE = 4;
+    private static final long[] POW10 = { 1, 10, 100, 1000, 10000 };
+
+    // Sai so cho phep khi quy doi ty gia (1%)
+    private static final double RATE_TOLERANCE = 0.01;
+
+    // URL san pham PrestaShop: /en/men/1-1-hummingbird-printed-t-shirt.html hoac ?id_product=1
+    private static final Pattern URL_PRODUCT_ID = Pattern
+            .compile("(?:[?&]id_product=(\\d+))|/(\\d+)(?:-\\d+)?-[^/]*\\.html");
+
+    // Tu dien: chuoi -> id
+    private final Map<String, Integer> productIds = new HashMap<>();
+    private final Map<String, Integer> languageIds = new HashMap<>();
+    private final Map<String, Integer> pageIds = new HashMap<>();
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private final List<String> products = new ArrayList<>();
+    private final List<String> languages = new ArrayList<>();
+    private final List<String> pages = new ArrayList<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    // Ban ghi (mang song song)
+    private int size;
+    private int[] productOf = new int[64];
+    private short[] languageOf = new short[64];
+    private short[] pageOf = new short[64];
+    private short[] symbolOf = new short[64];
+    private long[] amountOf = new long[64];
+
+    // (product, language, page) da ghi -> gia dau tien duoc giu
+    private final Set<Long> seenKeys = new HashSet<>();
+
+    // Ty gia: ky hieu -> so don vi cho moi 1 don vi tien te goc
+    private final Map<String, Double> rates = new HashMap<>();
+
+    // ==================== GHI ====================
+
+    /**
+     * Ghi mot gia. Moi (san pham, ngon ngu, trang) chi giu gia dau tien.
+     *
+     * @param productId      Ma san pham (data-id-product hoac tu URL)
+     * @param language       Ma ngon ngu
+     * @param pageType       Loai trang (vd: "Homepage", "Product", "Category")
+     * @param symbol         Ky hieu tien te
+     * @param minorUnits     Gia tri so nguyen (vd: 123456 cho 1234,56)
+     * @param fractionDigits So chu so thap phan cua minorUnits
+     * @return true neu ban ghi moi duoc them
+     */
+    public synchronized boolean record(String productId, String language, String pageType, String symbol,
+            long minorUnits, int fractionDigits) {
+        if (productId == null || productId.isEmpty() || language == null || pageType == null || symbol == null)
+            return false;
+        if (fractionDigits < 0 || fractionDigits > SCALE)
+            return false;
+
+        int product = intern(productId, productIds, products);
+        int lang = intern(language, languageIds, languages);
+        int page = intern(pageType, pageIds, pages);
+        if (!seenKeys.add(((long) product << 32) | ((long) lang << 16) | page))
+            return false;
+
+        ensureCapacity(size + 1);
+        productOf[size] = product;
+        languageOf[size] = (short) lang;
+        pageOf[size] = (short) page;
+        symbolOf[size] = (short) intern(symbol, symbolIds, symbols);
+        amountOf[size] = minorUnits * POW10[SCALE - fractionDigits];
+        size++;
+        return true;
+    }
+
+    /**
+     * Ghi ket qua tu CurrencyChecker.validateCurrency (bo qua ket qua khong hop le)
+     */
+    public boolean record(String productId, String language, String pageType,
+            CurrencyChecker.CurrencyCheckResult result) {
+        if (result == null || !result.isValid)
+            return false;
+        return record(productId, language, pageType, result.detectedSymbol, result.minorUnits, result.fractionDigits);
+    }
+
+    /**
+     * Khai bao ty gia de so sanh gia giua hai tien te khac nhau
+     *
+     * @param symbol      Ky hieu tien te
+     * @param unitsPerBase So don vi cua tien te nay cho 1 don vi tien te goc
+     */
+    public synchronized void setRate(String symbol, double unitsPerBase) {
+        rates.put(symbol, unitsPerBase);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // ==================== HASH JOIN ====================
+
+    /**
+     * Cung san pham, cung ngon ngu nhung gia khac nhau giua cac trang.
+     * Build: ban ghi dau tien cua moi (san pham, ngon ngu); probe: cac ban ghi con
+     * lai.
+     */
+    public synchronized List<Inconsistency> findPageInconsistencies() {
+        List<Inconsistency> found = new ArrayList<>();
+        Map<Long, Integer> build = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            long key = ((long) productOf[row] << 32) | languageOf[row];
+            Integer reference = build.putIfAbsent(key, row);
+            if (reference != null && !sameAmount(reference, row)) {
+                found.add(inconsistency(Kind.CROSS_PAGE, reference, row));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Cung san pham, cung loai trang nhung gia khac nhau giua cac ngon ngu
+     *
+     * @param baseLanguage Ngon ngu tham chieu (null = ngon ngu ghi dau tien cua
+     *                     moi san pham)
+     */
+    public synchronized List<Inconsistency> findLanguageInconsistencies(String baseLanguage) {
+        List<Inconsistency> found = new ArrayList<>();
+        Integer base = baseLanguage != null ? languageIds.get(baseLanguage) : null;
+        if (baseLanguage != null && base == null)
+            return found;
+
+        // Build: ban ghi cua ngon ngu tham chieu theo (san pham, trang)
+        Map<Long, Integer> build = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            if (base == null || languageOf[row] == base) {
+                build.putIfAbsent(((long) productOf[row] << 32) | pageOf[row], row);
+            }
+        }
+        // Probe
+        for (int row = 0; row < size; row++) {
+            Integer reference = build.get(((long) productOf[row] << 32) | pageOf[row]);
+            if (reference == null || languageOf[reference] == languageOf[row])
+                continue;
+            if (!sameAmount(reference, row)) {
+                found.add(inconsistency(Kind.CROSS_LANGUAGE, reference, row));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Tat ca bat nhat quan (khac trang + khac ngon ngu)
+     */
+    public List<Inconsistency> findInconsistencies() {
+        List<Inconsistency> all = findPageInconsistencies();
+        all.addAll(findLanguageInconsistencies(null));
+        return all;
+    }
+
+    /**
+     * Bat nhat quan lien quan den mot ngon ngu (mot ben la ngon ngu do). Chi muc
+     * song qua nhieu lan chay; moi lan chay chi bao phan cua ngon ngu dang kiem tra.
+     */
+    public List<Inconsistency> findInconsistencies(String language) {
+        List<Inconsistency> found = new ArrayList<>();
+        for (Inconsistency inc : findInconsistencies()) {
+            if (language.equals(inc.actualLanguage) || language.equals(inc.expectedLanguage))
+                found.add(inc);
+        }
+        return found;
+    }
+
+    // ==================== STATIC UTILITY METHODS ====================
+
+    /**
+     * Lay ma san pham tu URL PrestaShop
+     *
+     * @return Ma san pham hoac null
+     */
+    public static String productIdFromUrl(String url) {
+        if (url == null)
+            return null;
+        Matcher m = URL_PRODUCT_ID.matcher(url);
+        if (!m.find())
+            return null;
+        return m.group(1) != null ? m.group(1) : m.group(2);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private boolean sameAmount(int a, int b) {
+        if (symbolOf[a] == symbolOf[b])
+            return amountOf[a] == amountOf[b];
+
+        // Khac tien te: chi so sanh khi co ty gia cho ca hai
+        Double rateA = rates.get(symbols.get(symbolOf[a]));
+        Double rateB = rates.get(symbols.get(symbolOf[b]));
+        if (rateA == null || rateB == null)
+            return true;
+        double baseA = amountOf[a] / rateA;
+        double baseB = amountOf[b] / rateB;
+        return Math.abs(baseA - baseB) <= Math.max(baseA, baseB) * RATE_TOLERANCE;
+    }
+
+    private Inconsistency inconsistency(Kind kind, int reference, int row) {
+        return new Inconsistency(kind, products.get(productOf[row]),
+                languages.get(languageOf[reference]), pages.get(pageOf[reference]), format(reference),
+                languages.get(languageOf[row]), pages.get(pageOf[row]), format(row));
+    }
+
+    private String format(int row) {
+        long amount = amountOf[row];
+        long whole = amount / POW10[SCALE];
+        long fraction = amount % POW10[SCALE];
+        StringBuilder sb = new StringBuilder().append(whole);
+        if (fraction != 0) {
+            String digits = String.valueOf(POW10[SCALE] + fraction).substring(1);
+            int end = digits.length();
+            while (end > 0 && digits.charAt(end - 1) == '0')
+                end--;
+            sb.append('.').append(digits, 0, end);
+        }
+        return sb.append(' ').append(symbols.get(symbolOf[row])).toString();
+    }
+
+    private static int intern(String value, Map<String, Integer> ids, List<String> values) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= productOf.length)
+            return;
+        int capacity = Math.max(needed, productOf.length * 2);
+        productOf = Arrays.copyOf(productOf, capacity);
+        languageOf = Arrays.copyOf(languageOf, capacity);
+        pageOf = Arrays.copyOf(pageOf, capacity);
+        symbolOf = Arrays.copyOf(symbolOf, capacity);
+        amountOf = Arrays.copyOf(amountOf, capacity);
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot cap gia bat nhat quan (tham chieu vs thuc te)
+     */
+    public static class Inconsistency {
+        public final Kind kind;
+        public final String productId;
+        public final String expectedLanguage;
+        public final String expectedPage;
+        public final String expectedPrice;
+        public final String actualLanguage;
+        public final String actualPage;
+        public final String actualPrice;
+
+        Inconsistency(Kind kind, String productId, String expectedLanguage, String expectedPage,
+                String expectedPrice, String actualLanguage, String actualPage, String actualPrice) {
+            this.kind = kind;
+            this.productId = productId;
+            this.expectedLanguage = expectedLanguage;
+            this.expectedPage = expectedPage;
+            this.expectedPrice = expectedPrice;
+            this.actualLanguage = actualLanguage;
+            this.actualPage = actualPage;
+            this.actualPrice = actualPrice;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + kind + "] San pham " + productId + ": " + expectedPrice + " (" + expectedLanguage + "/"
+                    + expectedPage + ") != " + actualPrice + " (" + actualLanguage + "/" + actualPage + ")";
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.example;
+
+/**
+ * Bo quet gia tien mot luot (single-pass), khong tao chuoi trung gian
+ *
+ * Quet chuoi gia tu trai sang phai mot lan: tim ky hieu tien te (qua
+ * CurrencySymbolTrie, longest-match) va so dau tien. Phan so duoc tich luy thanh long theo don vi nho
+ * nhat (minor units) kem so chu so thap phan, khong can replaceAll /
+ * Double.parseDouble.
+ *
+ * Doi tuong PriceScanner bat bien, dung chung giua cac thread duoc. PriceToken
+ * la doi tuong ket qua co the tai su dung (moi thread mot token).
+ */
+public class PriceScanner {
+
+    // Gioi han so chu so de minor units khong tran long
+    private static final int MAX_DIGITS = 18;
+
+    private static final long[] POW10 = new long[MAX_DIGITS + 1];
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final CurrencySymbolTrie trie;
+
+    /**
+     * @param symbols Danh sach ky hieu tien te can nhan dien
+     */
+    public PriceScanner(String[] symbols) {
+        this.trie = new CurrencySymbolTrie(symbols);
+    }
+
+    // ==================== QUET ====================
+
+    /**
+     * Quet chuoi gia tien
+     *
+     * @param text             Chuoi gia (vd: "1.234,56 €", "$9.99")
+     * @param decimalSeparator Dau thap phan ('.' hoac ','), 0 = tu suy ra
+     * @param token            Token ket qua (se bi reset)
+     * @return true neu tim thay ca ky hieu va so
+     */
+    public boolean scan(CharSequence text, char decimalSeparator, PriceToken token) {
+        token.reset();
+        if (text == null)
+            return false;
+
+        int len = text.length();
+        int i = 0;
+        while (i < len) {
+            char c = text.charAt(i);
+            if (token.numberStart < 0 && isDigit(c)) {
+                i = scanNumber(text, i, decimalSeparator, token);
+                if (token.symbol != null)
+                    break;
+                continue;
+            }
+            if (token.symbol == null) {
+                int matched = trie.matchAt(text, i);
+                if (matched >= 0) {
+                    token.symbol = trie.symbol(matched);
+                    token.symbolStart = i;
+                    token.symbolEnd = i + trie.length(matched);
+                    token.symbolPrefix = token.numberStart < 0;
+                    if (token.numberStart >= 0)
+                        break;
+                    i = token.symbolEnd;
+                    continue;
+                }
+            }
+            i++;
+        }
+        return token.symbol != null && token.numberStart >= 0;
+    }
+
+    /**
+     * Tim ky hieu tien te dau tien trong chuoi (khong quet so)
+     *
+     * @return Ky hieu hoac null
+     */
+    public String findSymbol(CharSequence text) {
+        if (text == null)
+            return null;
+        int matched = trie.find(text, 0);
+        return matched >= 0 ? trie.symbol(matched) : null;
+    }
+
+    /**
+     * Doc mot so bat dau tai start: chu so xen ke dau phan cach (moi dau phan cach
+     * phai nam giua hai chu so)
+     *
+     * @return Vi tri ngay sau so
+     */
+    private static int scanNumber(CharSequence text, int start, char decimalSeparator, PriceToken token) {
+        int len = text.length();
+        int i = start;
+        boolean inFraction = false;
+        int digits = 0;
+        long value = 0;
+
+        token.numberStart = start;
+        while (i < len) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                if (digits >= MAX_DIGITS) {
+                    token.overflow = true;
+                } else {
+                    value = value * 10 + (c - '0');
+                }
+                digits++;
+                if (inFraction)
+                    token.fractionDigits++;
+                else
+                    token.integerDigits++;
+                i++;
+                continue;
+            }
+            if (!isSeparator(c) || i + 1 >= len || !isDigit(text.charAt(i + 1)))
+                break;
+
+            boolean decimal;
+            if (decimalSeparator != 0) {
+                decimal = c == decimalSeparator;
+            } else {
+                decimal = (c == '.' || c == ',') && isTrailingFraction(text, i + 1);
+            }
+            if (decimal) {
+                if (inFraction)
+                    break;
+                inFraction = true;
+                token.decimalSeen = c;
+            } else {
+                if (inFraction)
+                    break;
+                if (token.groupingSeen == 0)
+                    token.groupingSeen = c;
+                else if (token.groupingSeen != c)
+                    token.mixedGrouping = true;
+                token.groupCount++;
+            }
+            i++;
+        }
+        token.numberEnd = i;
+        token.minorUnits = value;
+        return i;
+    }
+
+    /**
+     * Che do tu suy ra: dau phan cach la dau thap phan neu theo sau la 1-2 chu so
+     * va so ket thuc o do
+     */
+    private static boolean isTrailingFraction(CharSequence text, int from) {
+        int len = text.length();
+        int i = from;
+        while (i < len && isDigit(text.charAt(i)))
+            i++;
+        int run = i - from;
+        if (run < 1 || run > 2)
+            return false;
+        return i + 1 >= len || !isSeparator(text.charAt(i)) || !isDigit(text.charAt(i + 1));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Dau phan cach so: . , ' khoang trang, NBSP (U+00A0), NNBSP (U+202F)
+     */
+    static boolean isSeparator(char c) {
+        return c == '.' || c == ',' || c == ' ' || c == '\u00A0' || c == '\u202F' || c == '\'';
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Ket qua quet (co the tai su dung). Vi tri tinh theo chi so ky tu trong chuoi
+     * goc, -1 neu khong co.
+     */
+    public static class PriceToken {
+        public String symbol;
+        public int symbolStart;
+        public int symbolEnd;
+        public boolean symbolPrefix;
+
+        public int numberStart;
+        public int numberEnd;
+        public long minorUnits;
+        public int integerDigits;
+        public int fractionDigits;
+        public char decimalSeen;
+        public char groupingSeen;
+        public int groupCount;
+        public boolean mixedGrouping;
+        public boolean overflow;
+
+        public PriceToken() {
+            reset();
+        }
+
+        public void reset() {
+            symbol = null;
+            symbolStart = -1;
+            symbolEnd = -1;
+            symbolPrefix = false;
+            numberStart = -1;
+            numberEnd = -1;
+            minorUnits = 0;
+            integerDigits = 0;
+            fractionDigits = 0;
+            decimalSeen = 0;
+            groupingSeen = 0;
+            groupCount = 0;
+            mixedGrouping = false;
+            overflow = false;
+        }
+
+        public boolean hasSymbol() {
+            return symbol != null;
+        }
+
+        public boolean hasNumber() {
+            return numberStart >= 0;
+        }
+
+        /**
+         * Gia tri so (minorUnits / 10^fractionDigits), -1 neu khong co so hoac tran
+         */
+        public double value() {
+            if (!hasNumber() || overflow)
+                return -1;
+            return (double) minorUnits / POW10[fractionDigits];
+        }
+
+        @Override
+        public String toString() {
+            return "PriceToken{symbol=" + symbol + ", minorUnits=" + minorUnits + ", fractionDigits="
+                    + fractionDigits + ", decimal=" + (decimalSeen != 0 ? "'" + decimalSeen + "'" : "-")
+                    + ", grouping=" + (groupingSeen != 0 ? "'" + groupingSeen + "'" : "-") + "}";
+        }
+    }
+}
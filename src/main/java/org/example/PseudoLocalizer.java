@@ -0,0 +1,219 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.*;
+
+/**
+ * Pseudo-localization: gia lap ban dich ngay tren trang dang mo
+ *
+ * Moi text node hien thi duoc viet lai thanh "[Add to cart lorem]" voi chu
+ * Latin doi sang chu co dau (lo font thieu glyph, chu bi cat chieu cao) va them
+ * chu dem den do dai predictTranslatedLength du doan cho ngon ngu dich (lo tran
+ * chu); dau [ ] cho thay chu bi cat. Ngon ngu RTL con dat dir="rtl" cho trang.
+ * Sau do kiem tra tran chu va RTL theo lo (mot lan goi JS moi loai) roi tra lai
+ * van ban goc.
+ *
+ * Ngon ngu co he so do dai gan nhau (cung buc 5%) va cung huong chu dung chung
+ * mot trang gia lap (profiles) nen ca 46 ngon ngu chi can vai lan viet lai
+ * trong mot phien "en" - trang phai dang o "en" vi chi chu Latin duoc viet lai.
+ */
+public class PseudoLocalizer {
+
+    private static final String PLAIN = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String ACCENTED = "\u00E0\u0180\u00E7\u010F\u00E9\u0192\u011D\u0125\u00EE\u0135\u0137\u013C\u0271"
+            + "\u00F1\u00F6\u00FE\u01EB\u0155\u0161\u0163\u00FB\u1E7D\u0175\u1E8B\u00FD\u017E"
+            + "\u00C5\u0181\u00C7\u010E\u00C9\u0191\u011C\u0124\u00CE\u0134\u0136\u013B\u1E40"
+            + "\u00D1\u00D6\u00DE\u01EA\u0154\u0160\u0162\u00DB\u1E7C\u0174\u1E8A\u00DD\u017D";
+    private static final String FILLER = accent(" lorem ipsum dolor sit amet consectetur adipiscing elit sed do");
+
+    // Giu tham chieu text node (window.__l10nPseudo) de viet lai va tra lai theo chi so
+    private static final String COLLECT_SCRIPT = "var skip = {SCRIPT:1, STYLE:1, NOSCRIPT:1, TEMPLATE:1};"
+            + "var nodes = [], texts = [];"
+            + "var w = document.createTreeWalker(document.body, NodeFilter.SHOW_TEXT, {acceptNode: function(t) {"
+            + "  var e = t.parentElement;"
+            + "  if (!e || skip[e.tagName] || !/[A-Za-z]/.test(t.nodeValue)) return NodeFilter.FILTER_REJECT;"
+            + "  if (e.offsetParent === null && getComputedStyle(e).position !== 'fixed')"
+            + "    return NodeFilter.FILTER_REJECT;"
+            + "  return NodeFilter.FILTER_ACCEPT; }});"
+            + "while (w.nextNode()) { nodes.push(w.currentNode); texts.push(w.currentNode.nodeValue); }"
+            + "window.__l10nPseudo = {nodes: nodes, original: texts.slice(), dir: document.documentElement.dir};"
+            + "return texts;";
+
+    private static final String APPLY_SCRIPT = "var p = window.__l10nPseudo, texts = arguments[0];"
+            + "if (!p) return 0;"
+            + "for (var i = 0; i < texts.length && i < p.nodes.length; i++) p.nodes[i].nodeValue = texts[i];"
+            + "document.documentElement.dir = arguments[1] ? 'rtl' : p.dir;"
+            + "return texts.length;";
+
+    private static final String RESTORE_SCRIPT = "var p = window.__l10nPseudo;"
+            + "if (!p) return;"
+            + "for (var i = 0; i < p.nodes.length; i++) p.nodes[i].nodeValue = p.original[i];"
+            + "document.documentElement.dir = p.dir;"
+            + "window.__l10nPseudo = null;";
+
+    // Trang RTL: khong duoc cuon ngang; vung chinh khong duoc ep direction: ltr
+    private static final String RTL_SCRIPT = "var out = [], root = document.documentElement;"
+            + "if (root.scrollWidth > root.clientWidth + 1)"
+            + "  out.push(['html', 'Trang cuon ngang ' + (root.scrollWidth - root.clientWidth) + 'px']);"
+            + "var list = document.querySelectorAll(arguments[0]);"
+            + "for (var i = 0; i < list.length; i++) {"
+            + "  var e = list[i];"
+            + "  if (e.offsetParent === null) continue;"
+            + "  if (getComputedStyle(e).direction !== 'rtl') {"
+            + "    var name = e.tagName.toLowerCase() + (e.id ? '#' + e.id : e.classList.length ? '.' + e.classList[0] : '');"
+            + "    out.push([name, 'direction van la ltr']);"
+            + "  }"
+            + "}"
+            + "return out;";
+
+    private static final String RTL_CONTAINERS = "header, nav, main, footer, #header, #footer, #wrapper, "
+            + ".breadcrumb, .product-miniature, .btn, form";
+
+    // Buc gom he so do dai thanh mot trang gia lap (5%)
+    public static final double PROFILE_STEP = 0.05;
+
+    private final JavascriptExecutor js;
+
+    public PseudoLocalizer(WebDriver driver) {
+        this.js = (JavascriptExecutor) driver;
+    }
+
+    // ==================== STATIC UTILITY METHODS ====================
+
+    /**
+     * Chuoi gia lap cho ngon ngu: chu co dau + chu dem den do dai du doan, trong
+     * [ ]; khoang trang hai dau giu nguyen, chuoi khong co chu Latin khong doi
+     */
+    public static String pseudo(String text, String languageCode) {
+        if (text == null)
+            return null;
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start)))
+            start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1)))
+            end--;
+        String core = text.substring(start, end);
+        if (!hasLatinLetter(core))
+            return text;
+
+        // Khong rut ngan (CJK < 1.0): chi lam lo chu tran
+        int pad = Math.max(0, TextChecker.predictTranslatedLength(core, languageCode) - core.length());
+        StringBuilder sb = new StringBuilder(core.length() + pad + 2 + (text.length() - core.length()));
+        sb.append(text, 0, start).append('[').append(accent(core));
+        for (int i = 0; i < pad; i++)
+            sb.append(FILLER.charAt(i % FILLER.length()));
+        sb.append(']').append(text, end, text.length());
+        return sb.toString();
+    }
+
+    /**
+     * Thay chu Latin khong dau bang chu co dau tuong ung
+     */
+    public static String accent(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int index = c < 0x80 ? PLAIN.indexOf(c) : -1;
+            sb.append(index >= 0 ? ACCENTED.charAt(index) : c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gom ngon ngu cho ra gan cung trang gia lap: cung huong chu va he so do dai
+     * trong cung buc PROFILE_STEP (he so < 1 khong them chu dem nen tinh la 1).
+     * Khi co ExpansionModel, he so la trung vi da do va hiem khi trung nhau tuyet
+     * doi, nen gom theo buc thay vi theo gia tri. Ngon ngu dai dien la ngon ngu
+     * co he so lon nhat cua nhom (gia lap khong bao gio ngan hon thuc te).
+     *
+     * @return Ngon ngu dai dien -> moi ngon ngu cua nhom
+     */
+    public static Map<String, List<String>> profiles(Collection<String> languageCodes) {
+        int sample = 1000;
+        int step = (int) Math.round(sample * PROFILE_STEP);
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        Map<String, String> representativeOf = new HashMap<>();
+        Map<String, Integer> lengthOf = new HashMap<>();
+        for (String code : languageCodes) {
+            LanguageConfig config = LanguageConfig.get(code);
+            boolean rtl = config != null && config.isRTL;
+            int length = Math.max(sample, TextChecker.predictTranslatedLength("x".repeat(sample), code));
+            String key = (length + step - 1) / step + (rtl ? "/rtl" : "/ltr");
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(code);
+            String representative = representativeOf.get(key);
+            if (representative == null || length > lengthOf.get(representative)) {
+                representativeOf.put(key, code);
+                lengthOf.put(code, length);
+            }
+        }
+        Map<String, List<String>> profiles = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> group : groups.entrySet())
+            profiles.put(representativeOf.get(group.getKey()), group.getValue());
+        return profiles;
+    }
+
+    // ==================== TREN TRANG ====================
+
+    /**
+     * Viet lai moi text node hien thi cua trang cho ngon ngu (goi restore() de tra lai)
+     *
+     * @return So text node da viet lai
+     */
+    public int apply(String languageCode) {
+        restore();
+        Object raw = js.executeScript(COLLECT_SCRIPT);
+        List<String> pseudo = new ArrayList<>();
+        if (raw instanceof List) {
+            for (Object text : (List<?>) raw)
+                pseudo.add(pseudo(String.valueOf(text), languageCode));
+        }
+        LanguageConfig config = LanguageConfig.get(languageCode);
+        js.executeScript(APPLY_SCRIPT, pseudo, config != null && config.isRTL);
+        return pseudo.size();
+    }
+
+    /**
+     * Tra lai van ban va huong chu goc
+     */
+    public void restore() {
+        js.executeScript(RESTORE_SCRIPT);
+    }
+
+    /**
+     * Tran chu cua moi element quan trong (TextChecker.CRITICAL_SELECTORS), mot lan goi JS
+     */
+    public List<TextChecker.TextOverflowResult> checkOverflow() {
+        return TextChecker.measureOverflow(js, TextChecker.CRITICAL_SELECTORS);
+    }
+
+    /**
+     * Loi RTL co ban sau khi dat dir="rtl": cuon ngang, vung bi ep ltr
+     *
+     * @return Moi phan tu: { element, van de }
+     */
+    public List<String[]> checkRtl() {
+        List<String[]> issues = new ArrayList<>();
+        Object raw = js.executeScript(RTL_SCRIPT, RTL_CONTAINERS);
+        if (raw instanceof List) {
+            for (Object item : (List<?>) raw) {
+                List<?> row = (List<?>) item;
+                issues.add(new String[] { String.valueOf(row.get(0)), String.valueOf(row.get(1)) });
+            }
+        }
+        return issues;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static boolean hasLatinLetter(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c | 0x20) >= 'a' && (c | 0x20) <= 'z')
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,203 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Kiem tra bo cuc RTL bang hinh hoc: so khung text giua ban "en" va ban RTL
+ *
+ * testRTLLayout chi doc thuoc tinh dir; trang co dir="rtl" van co the giu menu,
+ * logo, gia... o ben trai (CSS float/left cung, flex khong doi chieu). Lop nay
+ * ghep text node cua hai snapshot theo duong dan cau truc (HashMap, tuyen tinh
+ * theo so node) va so vi tri ngang voi anh guong qua truc giua trang:
+ * - MIRRORED: mep dau (trai o LTR, phai o RTL), mep cuoi hoac tam cua khung RTL
+ * trung anh guong cua khung "en" (trong sai so). Do dai ban dich khac nhau nen
+ * khong doi hoi ca hai mep cung khop.
+ * - NOT_FLIPPED: khung RTL van o cho cu (mep trai, mep phai hoac tam khong doi).
+ * - MISPLACED: khong khop ca hai (chuyen cho do ban dich dai hon, xuong dong...).
+ * Node doi xung qua truc giua (can giua, rong het trang) khong phan biet duoc
+ * nen bi bo qua. Chi so vi tri ngang; toa do doc doi theo do dai ban dich.
+ *
+ * Thanh phan (vung trang: header, footer, wrapper...) co tu NOT_FLIPPED_RATIO
+ * node khong doi chieu tro len bi danh dau la chua lat.
+ */
+public class RtlMirrorVerifier {
+
+    public static final float MIN_TOLERANCE = 8; // px
+    public static final double TOLERANCE_RATIO = 0.01; // Cua do rong trang (trang rong: lam tron lon hon)
+    public static final double NOT_FLIPPED_RATIO = 0.5;
+    public static final int MIN_COMPONENT_NODES = 3; // It hon: khong ket luan cho thanh phan
+
+    public enum Status {
+        MIRRORED,
+        NOT_FLIPPED,
+        MISPLACED
+    }
+
+    // ==================== KIEM TRA ====================
+
+    /**
+     * So hai snapshot, do rong trang lay tu mep phai xa nhat cua ban "en"
+     */
+    public Result verify(PageSnapshot english, PageSnapshot rtl) {
+        return verify(english, rtl, 0);
+    }
+
+    /**
+     * So hai snapshot cung mot trang
+     *
+     * @param pageWidth Do rong vung hien thi (documentElement.clientWidth); <= 0 =
+     *                  lay tu mep phai xa nhat cua ban "en"
+     */
+    public Result verify(PageSnapshot english, PageSnapshot rtl, float pageWidth) {
+        Map<String, PageSnapshot.Box> englishBoxes = new HashMap<>(english.size() * 2);
+        float maxRight = 0;
+        for (PageSnapshot.TextNode node : english.getNodes()) {
+            if (node.box == null || node.box.isEmpty())
+                continue;
+            englishBoxes.putIfAbsent(node.path, node.box);
+            maxRight = Math.max(maxRight, node.box.right());
+        }
+        float width = pageWidth > 0 ? pageWidth : maxRight;
+        float tolerance = (float) Math.max(MIN_TOLERANCE, width * TOLERANCE_RATIO);
+
+        Result result = new Result(width);
+        for (PageSnapshot.TextNode node : rtl.getNodes()) {
+            PageSnapshot.Box before = englishBoxes.get(node.path);
+            if (before == null || node.box == null || node.box.isEmpty()) {
+                result.unmatched++;
+                continue;
+            }
+            // Ngoai vung hien thi (slide carousel, menu an ben canh) hoac doi xung
+            if (before.x < -tolerance || before.right() > width + tolerance
+                    || Math.abs(before.x - (width - before.right())) <= tolerance) {
+                result.skipped++;
+                continue;
+            }
+            Status status = classify(before, node.box, width, tolerance);
+            result.add(node, before, status);
+        }
+        return result;
+    }
+
+    /**
+     * Phan loai vi tri ngang cua mot khung RTL so voi khung "en"
+     */
+    static Status classify(PageSnapshot.Box english, PageSnapshot.Box rtl, float pageWidth, float tolerance) {
+        float englishCenter = english.x + english.width / 2;
+        float rtlCenter = rtl.x + rtl.width / 2;
+        if (Math.abs(rtl.right() - (pageWidth - english.x)) <= tolerance
+                || Math.abs(rtl.x - (pageWidth - english.right())) <= tolerance
+                || Math.abs(rtlCenter - (pageWidth - englishCenter)) <= tolerance)
+            return Status.MIRRORED;
+        if (Math.abs(rtl.x - english.x) <= tolerance || Math.abs(rtl.right() - english.right()) <= tolerance
+                || Math.abs(rtlCenter - englishCenter) <= tolerance)
+            return Status.NOT_FLIPPED;
+        return Status.MISPLACED;
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot node khong duoc lat dung
+     */
+    public static class Mismatch {
+        public final PageSnapshot.TextNode node;
+        public final PageSnapshot.Box englishBox;
+        public final Status status;
+
+        Mismatch(PageSnapshot.TextNode node, PageSnapshot.Box englishBox, Status status) {
+            this.node = node;
+            this.englishBox = englishBox;
+            this.status = status;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s '%s' en %s -> rtl %s", status, node.text, englishBox, node.box);
+        }
+    }
+
+    /**
+     * Thong ke mot thanh phan (vung trang)
+     */
+    public static class Component {
+        public final String name;
+        public int checked;
+        public int mirrored;
+        public int notFlipped;
+
+        Component(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Da du node va phan lon khong doi chieu
+         */
+        public boolean isUnflipped() {
+            return checked >= MIN_COMPONENT_NODES && notFlipped >= checked * NOT_FLIPPED_RATIO;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + notFlipped + "/" + checked + " khong doi chieu";
+        }
+    }
+
+    /**
+     * Ket qua so mot trang
+     */
+    public static class Result {
+        public final float pageWidth;
+        public int checked;
+        public int mirrored;
+        public int skipped; // Doi xung hoac ngoai vung hien thi
+        public int unmatched; // Khong co trong ban "en" hoac khong co khung
+        public final List<Mismatch> notFlipped = new ArrayList<>();
+        public final List<Mismatch> misplaced = new ArrayList<>();
+        public final Map<String, Component> components = new LinkedHashMap<>();
+
+        Result(float pageWidth) {
+            this.pageWidth = pageWidth;
+        }
+
+        void add(PageSnapshot.TextNode node, PageSnapshot.Box englishBox, Status status) {
+            checked++;
+            Component component = components.computeIfAbsent(node.section, Component::new);
+            component.checked++;
+            if (status == Status.MIRRORED) {
+                mirrored++;
+                component.mirrored++;
+            } else if (status == Status.NOT_FLIPPED) {
+                component.notFlipped++;
+                notFlipped.add(new Mismatch(node, englishBox, status));
+            } else {
+                misplaced.add(new Mismatch(node, englishBox, status));
+            }
+        }
+
+        /**
+         * Cac thanh phan chua lat sang RTL
+         */
+        public List<Component> unflippedComponents() {
+            List<Component> unflipped = new ArrayList<>();
+            for (Component component : components.values()) {
+                if (component.isUnflipped())
+                    unflipped.add(component);
+            }
+            return unflipped;
+        }
+
+        /**
+         * Ty le node duoc lat dung tren so node so duoc (1.0 neu khong co node nao)
+         */
+        public double mirroredRatio() {
+            return checked == 0 ? 1.0 : (double) mirrored / checked;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d node lat dung (%.0f%%), %d khong doi chieu, %d lech, bo qua %d",
+                    mirrored, checked, mirroredRatio() * 100, notFlipped.size(), misplaced.size(), skipped);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Phan tich tron lan chu viet (script mixing) theo Character.UnicodeScript
+ *
+ * Voi ngon ngu khong dung chu Latin (CJK, Cyrillic, Arabic, Hebrew, Indic,
+ * Thai), mot doan chu Latin dai trong text node gan nhu chac chan la van ban
+ * chua dich - du cum tu do co trong danh sach tieng Anh hay khong.
+ *
+ * Duyet theo code point, khong cap phat: ASCII va Latin-1 di duong tat, chi
+ * code point khac moi tra Character.UnicodeScript. Ket qua moi node gom histogram
+ * so ky tu theo nhom chu viet va cac doan Latin vuot nguong. Danh sach cho phep
+ * (thuong hieu, ten san pham) va ma SKU (chu hoa + so, khong khoang trang) duoc
+ * bo qua.
+ */
+public class ScriptRunAnalyzer {
+
+    /**
+     * Nhom chu viet dung cho histogram
+     */
+    public enum Script {
+        LATIN,
+        CYRILLIC,
+        HAN,
+        KANA,
+        HANGUL,
+        ARABIC,
+        HEBREW,
+        DEVANAGARI,
+        BENGALI,
+        THAI,
+        COMMON, // So, dau cau, khoang trang, ky hieu
+        OTHER
+    }
+
+    private static final Script[] SCRIPTS = Script.values();
+
+    // Do dai mac dinh (ky tu, tinh tu chu Latin dau den chu Latin cuoi) de bao loi
+    public static final int DEFAULT_MIN_RUN_LENGTH = 12;
+
+    private final int minRunLength;
+    private final Set<String> allowlist;
+
+    public ScriptRunAnalyzer() {
+        this(DEFAULT_MIN_RUN_LENGTH, Collections.emptySet());
+    }
+
+    /**
+     * @param minRunLength Do dai toi thieu cua doan Latin bi bao loi
+     * @param allowlist    Thuong hieu / ten rieng duoc phep (khong phan biet hoa
+     *                     thuong, so khop tung tu)
+     */
+    public ScriptRunAnalyzer(int minRunLength, Collection<String> allowlist) {
+        this.minRunLength = minRunLength;
+        this.allowlist = new HashSet<>();
+        for (String word : allowlist) {
+            this.allowlist.add(word.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Ca chuoi chi gom tu trong danh sach cho phep (thuong hieu giu nguyen o moi
+     * ngon ngu); false neu danh sach rong
+     */
+    public boolean isAllowlisted(CharSequence text) {
+        return text != null && !allowlist.isEmpty() && hasLetterOrDigit(text) && isAllowlisted(text, 0, text.length());
+    }
+
+    private static boolean hasLetterOrDigit(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ngon ngu co can kiem tra tron lan chu Latin khong
+     */
+    public static boolean appliesTo(LanguageConfig config) {
+        if (config == null || config.scriptGroup == null)
+            return false;
+        switch (config.scriptGroup) {
+            case CJK:
+            case CYRILLIC:
+            case ARABIC:
+            case HEBREW:
+            case INDIC:
+            case THAI:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ==================== PHAN LOAI CODE POINT ====================
+
+    /**
+     * Nhom chu viet cua mot code point
+     */
+    public static Script scriptOf(int cp) {
+        // Duong tat ASCII / Latin-1 / Latin Extended
+        if (cp < 0x80) {
+            return (cp | 0x20) >= 'a' && (cp | 0x20) <= 'z' ? Script.LATIN : Script.COMMON;
+        }
+        if (cp < 0x250) {
+            return Character.isLetter(cp) ? Script.LATIN : Script.COMMON;
+        }
+        switch (Character.UnicodeScript.of(cp)) {
+            case LATIN:
+                return Script.LATIN;
+            case CYRILLIC:
+                return Script.CYRILLIC;
+            case HAN:
+                return Script.HAN;
+            case HIRAGANA:
+            case KATAKANA:
+                return Script.KANA;
+            case HANGUL:
+                return Script.HANGUL;
+            case ARABIC:
+                return Script.ARABIC;
+            case HEBREW:
+                return Script.HEBREW;
+            case DEVANAGARI:
+                return Script.DEVANAGARI;
+            case BENGALI:
+                return Script.BENGALI;
+            case THAI:
+                return Script.THAI;
+            case COMMON:
+            case INHERITED:
+                return Script.COMMON;
+            default:
+                return Script.OTHER;
+        }
+    }
+
+    // ==================== PHAN TICH ====================
+
+    /**
+     * Phan tich mot doan van ban
+     *
+     * @param text      Van ban
+     * @param histogram Mang do dai Script.values().length, duoc cong don (co the
+     *                  null)
+     * @param runs      Noi nhan cac doan Latin vuot nguong dang cap [start, end)
+     *                  (co the null)
+     * @return So doan Latin vuot nguong
+     */
+    public int analyze(CharSequence text, int[] histogram, List<int[]> runs) {
+        int len = text.length();
+        int flagged = 0;
+        int runStart = -1; // chu Latin dau tien cua doan hien tai
+        int runEnd = -1; // sau chu Latin cuoi cung
+        int i = 0;
+        while (i < len) {
+            char c = text.charAt(i);
+            int cp;
+            int width = 1;
+            if (Character.isHighSurrogate(c) && i + 1 < len) {
+                cp = Character.toCodePoint(c, text.charAt(i + 1));
+                width = 2;
+            } else {
+                cp = c;
+            }
+            Script script = scriptOf(cp);
+            if (histogram != null)
+                histogram[script.ordinal()]++;
+
+            if (script == Script.LATIN) {
+                if (runStart < 0)
+                    runStart = i;
+                runEnd = i + width;
+            } else if (script != Script.COMMON && runStart >= 0) {
+                // Chu viet khac cat doan Latin
+                if (report(text, runStart, runEnd, runs))
+                    flagged++;
+                runStart = -1;
+            }
+            i += width;
+        }
+        if (runStart >= 0 && report(text, runStart, runEnd, runs))
+            flagged++;
+        return flagged;
+    }
+
+    /**
+     * Phan tich ca trang: histogram tung node va cac doan Latin bi bao loi
+     *
+     * @return Ket qua cho cac node co doan Latin vuot nguong
+     */
+    public PageResult analyze(PageSnapshot snapshot) {
+        PageResult page = new PageResult();
+        List<int[]> runs = new ArrayList<>();
+        for (PageSnapshot.TextNode node : snapshot.getNodes()) {
+            int[] histogram = new int[SCRIPTS.length];
+            runs.clear();
+            int flagged = analyze(node.text, histogram, runs);
+            for (int s = 0; s < SCRIPTS.length; s++)
+                page.histogram[s] += histogram[s];
+            if (flagged > 0) {
+                NodeResult result = new NodeResult(node, histogram);
+                for (int[] run : runs)
+                    result.latinRuns.add(node.text.substring(run[0], run[1]));
+                page.flaggedNodes.add(result);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Doan Latin co vuot nguong va khong thuoc danh sach cho phep / SKU khong
+     */
+    private boolean report(CharSequence text, int start, int end, List<int[]> runs) {
+        if (end - start < minRunLength)
+            return false;
+        if (isSku(text, start, end) || isAllowlisted(text, start, end))
+            return false;
+        if (runs != null)
+            runs.add(new int[] { start, end });
+        return true;
+    }
+
+    /**
+     * Ma SKU / model: mot tu, khong co chu thuong, co chu so (vd: HB-2024-XL)
+     */
+    private static boolean isSku(CharSequence text, int start, int end) {
+        boolean digit = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ' ' || Character.isLowerCase(c))
+                return false;
+            if (c >= '0' && c <= '9')
+                digit = true;
+        }
+        return digit;
+    }
+
+    /**
+     * Moi tu trong doan deu nam trong danh sach cho phep
+     */
+    private boolean isAllowlisted(CharSequence text, int start, int end) {
+        if (allowlist.isEmpty())
+            return false;
+        int i = start;
+        while (i < end) {
+            while (i < end && !Character.isLetterOrDigit(text.charAt(i)))
+                i++;
+            int wordStart = i;
+            while (i < end && Character.isLetterOrDigit(text.charAt(i)))
+                i++;
+            if (i > wordStart && !allowlist
+                    .contains(text.subSequence(wordStart, i).toString().toLowerCase(Locale.ROOT)))
+                return false;
+        }
+        return true;
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot text node co doan Latin vuot nguong
+     */
+    public static class NodeResult {
+        public final PageSnapshot.TextNode node;
+        public final int[] histogram;
+        public final List<String> latinRuns = new ArrayList<>();
+
+        NodeResult(PageSnapshot.TextNode node, int[] histogram) {
+            this.node = node;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Ty le chu Latin tren tong so chu cai (khong tinh COMMON)
+         */
+        public double latinRatio() {
+            return ratio(histogram, Script.LATIN);
+        }
+
+        @Override
+        public String toString() {
+            return node.path + " -> " + latinRuns + String.format(" (Latin %.0f%%)", latinRatio() * 100);
+        }
+    }
+
+    /**
+     * Ket qua ca trang
+     */
+    public static class PageResult {
+        public final int[] histogram = new int[SCRIPTS.length];
+        public final List<NodeResult> flaggedNodes = new ArrayList<>();
+
+        public int count(Script script) {
+            return histogram[script.ordinal()];
+        }
+
+        public double ratio(Script script) {
+            return ScriptRunAnalyzer.ratio(histogram, script);
+        }
+    }
+
+    private static double ratio(int[] histogram, Script script) {
+        int letters = 0;
+        for (int s = 0; s < histogram.length; s++) {
+            if (s != Script.COMMON.ordinal())
+                letters += histogram[s];
+        }
+        return letters > 0 ? (double) histogram[script.ordinal()] / letters : 0;
+    }
+}
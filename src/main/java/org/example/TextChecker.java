@@ -33,10 +33,35 @@ public class TextChecker {
     public static final int TEXT_LENGTH_ERROR_THRESHOLD = 80; // Loi neu text dai hon
     public static final double OVERFLOW_RATIO_THRESHOLD = 1.0; // scrollWidth/offsetWidth > 1.0 = tran
 
+    // Cac selector cho cac nut/van ban quan trong can kiem tra tran chu
+    public static final String[] CRITICAL_SELECTORS = {
+            ".btn", "button", "[class*='btn']", // Buttons
+            ".add-to-cart", ".cart-button", // Add to cart
+            ".nav-link", ".menu-item", ".dropdown-item", // Navigation
+            ".product-title", ".product-name", // Product names
+            "h1", "h2", "h3", // Headers
+            ".alert", ".notification" // Alerts
+    };
+
     // Cac ngon ngu co xu huong van ban dai
     private static final Set<String> LONG_TEXT_LANGUAGES = new HashSet<>(Arrays.asList(
             "de", "pl", "hu", "fi", "nl", "cs", "sk", "lt", "lv", "et", "hr", "sl"));
 
+    // offsetWidth / scrollWidth cua moi element hien thi khop cac selector, mot lan goi
+    private static final String OVERFLOW_SCRIPT = "var selectors = arguments[0], out = [];"
+            + "for (var i = 0; i < selectors.length; i++) {"
+            + "  var list = document.querySelectorAll(selectors[i]);"
+            + "  for (var k = 0; k < list.length; k++) {"
+            + "    var e = list[k];"
+            + "    if (e.offsetParent === null) continue;"
+            + "    out.push([selectors[i], e.innerText, e.offsetWidth, e.scrollWidth, k]);"
+            + "  }"
+            + "}"
+            + "return out;";
+
+    // Mo hinh do gian hoc tu cac lan chay (null = dung hang so)
+    private static volatile ExpansionModel expansionModel;
+
     public TextChecker(WebDriver driver, String language, List<L10nError> errors) {
         this.driver = driver;
         this.currentLanguage = language;
@@ -55,16 +80,11 @@ public class TextChecker {
      * @return Danh sach tu tieng Anh tim thay
      */
     public static List<String> findUntranslatedEnglishText(String text, String languageCode) {
-        List<String> found = new ArrayList<>();
         if (text == null || "en".equals(languageCode))
-            return found;
+            return new ArrayList<>();
 
-        for (String englishWord : ENGLISH_ONLY_WORDS) {
-            if (text.contains(englishWord)) {
-                found.add(englishWord);
-            }
-        }
-        return found;
+        // Khop tron tu (ke ca ngon ngu khong co khoang trang: ja, zh, th)
+        return PhraseMatcher.findPhrases(text, ENGLISH_ONLY_WORDS, languageCode);
     }
 
     /**
@@ -108,6 +128,14 @@ public class TextChecker {
      * @return TextLengthResult
      */
     public static TextLengthResult checkTextLength(String text, String languageCode) {
+        return checkTextLength(text, languageCode, ExpansionModel.ALL_COMPONENTS);
+    }
+
+    /**
+     * Kiem tra do dai van ban trong mot thanh phan (vung trang: header, footer...);
+     * nguong theo p95 do gian da do cua thanh phan neu co mo hinh
+     */
+    public static TextLengthResult checkTextLength(String text, String languageCode, String component) {
         TextLengthResult result = new TextLengthResult();
         result.originalText = text;
         result.length = text != null ? text.length() : 0;
@@ -122,7 +150,13 @@ public class TextChecker {
         int warningThreshold = TEXT_LENGTH_WARNING_THRESHOLD;
         int errorThreshold = TEXT_LENGTH_ERROR_THRESHOLD;
 
-        if (LONG_TEXT_LANGUAGES.contains(languageCode)) {
+        ExpansionModel model = expansionModel;
+        if (model != null) {
+            // Nguong theo p95 do gian da do cua ngon ngu
+            double multiplier = model.thresholdMultiplier(languageCode, component);
+            warningThreshold = (int) (warningThreshold * multiplier);
+            errorThreshold = (int) (errorThreshold * multiplier);
+        } else if (LONG_TEXT_LANGUAGES.contains(languageCode)) {
             // Tang nguong 30% cho cac ngon ngu co van ban dai
             warningThreshold = (int) (warningThreshold * 1.3);
             errorThreshold = (int) (errorThreshold * 1.3);
@@ -159,6 +193,23 @@ public class TextChecker {
         return results;
     }
 
+    /**
+     * Kiem tra do dai tung text node cua trang theo vung trang cua node
+     *
+     * @return Chi node WARNING / TOO_LONG (elementId = duong dan node)
+     */
+    public static List<TextLengthResult> checkTextLengths(PageSnapshot snapshot, String languageCode) {
+        List<TextLengthResult> results = new ArrayList<>();
+        for (PageSnapshot.TextNode node : snapshot.getNodes()) {
+            TextLengthResult result = checkTextLength(node.text, languageCode, node.section);
+            if (result.status == TextLengthStatus.WARNING || result.status == TextLengthStatus.TOO_LONG) {
+                result.elementId = node.path;
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
     /**
      * Kiem tra cac ngon ngu co van ban dai co the gay tran UI
      * 
@@ -169,6 +220,14 @@ public class TextChecker {
         return LONG_TEXT_LANGUAGES.contains(languageCode);
     }
 
+    /**
+     * Dung mo hinh do gian hoc tu cac lan chay cho checkTextLength va
+     * predictTranslatedLength (null = tro lai hang so)
+     */
+    public static void useExpansionModel(ExpansionModel model) {
+        expansionModel = model;
+    }
+
     /**
      * Du doan do dai van ban dich tu tieng Anh
      * 
@@ -181,6 +240,14 @@ public class TextChecker {
             return 0;
         int baseLength = englishText.length();
 
+        // He so trung vi da do (neu co mo hinh va du mau)
+        ExpansionModel model = expansionModel;
+        if (model != null) {
+            double median = model.medianRatio(targetLanguage);
+            if (!Double.isNaN(median))
+                return (int) (baseLength * median);
+        }
+
         // Ty le tang do dai trung binh
         double multiplier = 1.0;
         switch (targetLanguage) {
@@ -208,6 +275,54 @@ public class TextChecker {
         return (int) (baseLength * multiplier);
     }
 
+    /**
+     * Tieu chi tran chu tu offsetWidth / scrollWidth da do (dung chung cho
+     * checkElementOverflow va OverflowGallery)
+     *
+     * @return TextOverflowResult, null neu van ban qua ngan de kiem tra
+     */
+    public static TextOverflowResult toOverflowResult(String selector, String text, int offsetWidth,
+            int scrollWidth) {
+        if (text == null || text.length() < 5)
+            return null;
+
+        TextOverflowResult result = new TextOverflowResult();
+        result.elementSelector = selector;
+        result.text = text;
+        result.offsetWidth = offsetWidth;
+        result.scrollWidth = scrollWidth;
+
+        // Tinh ty le overflow
+        result.overflowRatio = offsetWidth > 0 ? (double) scrollWidth / offsetWidth : 0;
+
+        // Kiem tra overflow
+        result.isOverflowing = result.overflowRatio > OVERFLOW_RATIO_THRESHOLD &&
+                scrollWidth > offsetWidth + 5; // Tolerance 5px
+        return result;
+    }
+
+    /**
+     * Tran chu cua moi element hien thi khop cac selector, mot lan goi JS (dung
+     * chung cho PseudoLocalizer va ViewportSweep)
+     */
+    public static List<TextOverflowResult> measureOverflow(JavascriptExecutor js, String[] selectors) {
+        List<TextOverflowResult> results = new ArrayList<>();
+        Object raw = js.executeScript(OVERFLOW_SCRIPT, Arrays.asList(selectors));
+        if (!(raw instanceof List))
+            return results;
+        for (Object item : (List<?>) raw) {
+            List<?> row = (List<?>) item;
+            TextOverflowResult result = toOverflowResult(String.valueOf(row.get(0)), String.valueOf(row.get(1)),
+                    ((Number) row.get(2)).intValue(), ((Number) row.get(3)).intValue());
+            if (result == null)
+                continue;
+            if (row.size() > 4)
+                result.elementIndex = ((Number) row.get(4)).intValue();
+            results.add(result);
+        }
+        return results;
+    }
+
     // ==================== ENUMS & RESULT CLASSES ====================
 
     public enum TextLengthStatus {
@@ -242,6 +357,14 @@ public class TextChecker {
         public int scrollWidth;
         public boolean isOverflowing;
         public double overflowRatio;
+        public int elementIndex; // Thu tu trong cac element khop selector (measureOverflow)
+
+        /**
+         * Khoa on dinh giua cac ngon ngu (text doi theo ban dich, vi tri thi khong)
+         */
+        public String key() {
+            return elementSelector + "#" + elementIndex;
+        }
 
         @Override
         public String toString() {
@@ -258,7 +381,8 @@ public class TextChecker {
      * Kiem tra van ban dich thuat tren trang
      */
     public void check(LanguageConfig config) {
-        System.out.println("\n[KIEM TRA VAN BAN / DICH THUAT]");
+        L10nLogger.setSection("VAN BAN");
+        L10nLogger.info("\n[KIEM TRA VAN BAN / DICH THUAT]");
 
         try {
             String pageText = driver.findElement(By.tagName("body")).getText();
@@ -269,7 +393,7 @@ public class TextChecker {
             for (Map.Entry<String, Boolean> entry : keywordResults.entrySet()) {
                 if (entry.getValue()) {
                     foundCount++;
-                    System.out.println("   [OK] Tim thay: " + entry.getKey());
+                    L10nLogger.info("   [OK] Tim thay: " + entry.getKey());
                 }
             }
             double coverage = calculateKeywordCoverage(keywordResults);
@@ -279,23 +403,79 @@ public class TextChecker {
             for (String englishWord : untranslatedWords) {
                 String errorMsg = "Tim thay van ban tieng Anh: '" + englishWord + "' trong trang "
                         + config.languageName;
-                System.out.println("   [LOI] " + errorMsg);
+                L10nLogger.warn("   [LOI] " + errorMsg);
                 errors.add(new L10nError("UNTRANSLATED_TEXT", "Van ban chua dich", errorMsg, driver.getCurrentUrl()));
             }
 
             // Ket qua
-            System.out.println("   >> Tim thay " + foundCount + "/" + config.expectedKeywords.length +
+            L10nLogger.info("   >> Tim thay " + foundCount + "/" + config.expectedKeywords.length +
                     " tu khoa mong doi (coverage: " + String.format("%.1f%%", coverage * 100) + ")");
 
+            // Doan chu Latin dai trong trang khong dung chu Latin
+            PageSnapshot snapshot = PageSnapshot.capture(js);
+            if (ScriptRunAnalyzer.appliesTo(config)) {
+                checkScriptMixing(config, snapshot);
+            }
+
+            // Ngon ngu cua tung text node (trigram)
+            if (!"en".equals(currentLanguage)) {
+                checkNodeLanguages(config, snapshot);
+            }
+
+            // BVA: do dai tung node theo nguong cua vung trang
+            if (!"en".equals(currentLanguage)) {
+                for (TextLengthResult length : checkTextLengths(snapshot, currentLanguage)) {
+                    L10nLogger.warn("   [BVA] " + length);
+                    if (length.status == TextLengthStatus.TOO_LONG)
+                        errors.add(new L10nError("TEXT_TOO_LONG", "Van ban qua dai",
+                                length.message + " tai " + length.elementId, driver.getCurrentUrl()));
+                }
+            }
+
             // BVA: Kiem tra text overflow
             if (isLongTextLanguage(currentLanguage)) {
-                System.out.println("\n[BOUNDARY VALUE ANALYSIS - TEXT OVERFLOW]");
+                L10nLogger.info("\n[BOUNDARY VALUE ANALYSIS - TEXT OVERFLOW]");
                 checkTextOverflow(config);
             }
 
         } catch (Exception e) {
-            System.out.println("   [LOI] Loi kiem tra van ban: " + e.getMessage());
+            L10nLogger.error("   [LOI] Loi kiem tra van ban: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Kiem tra tron lan chu viet: doan Latin dai trong text node cua trang CJK,
+     * Cyrillic, Arabic, Hebrew, Indic, Thai (mot lan goi JS cho ca trang)
+     */
+    public ScriptRunAnalyzer.PageResult checkScriptMixing(LanguageConfig config, PageSnapshot snapshot) {
+        ScriptRunAnalyzer.PageResult result = new ScriptRunAnalyzer().analyze(snapshot);
+        L10nLogger.info(String.format("   Chu Latin: %.1f%% (%d text node)",
+                result.ratio(ScriptRunAnalyzer.Script.LATIN) * 100, snapshot.size()));
+
+        for (ScriptRunAnalyzer.NodeResult node : result.flaggedNodes) {
+            for (String run : node.latinRuns) {
+                String errorMsg = "Doan chu Latin trong trang " + config.languageName + ": '" + run + "' tai "
+                        + node.node.path;
+                L10nLogger.warn("   [LOI] " + errorMsg);
+                errors.add(new L10nError("MIXED_SCRIPT", "Tron lan chu viet", errorMsg, driver.getCurrentUrl()));
+            }
         }
+        return result;
+    }
+
+    /**
+     * Nhan dien ngon ngu tung text node, bao cac node khong thuoc ngon ngu mong doi
+     */
+    public List<LanguageIdentifier.Mismatch> checkNodeLanguages(LanguageConfig config, PageSnapshot snapshot) {
+        List<LanguageIdentifier.Mismatch> mismatches = LanguageIdentifier.getDefault().findMismatches(snapshot,
+                config.code);
+        for (LanguageIdentifier.Mismatch mismatch : mismatches) {
+            String errorMsg = "Text node co ngon ngu '" + mismatch.result.detected + "' trong trang "
+                    + config.languageName + ": '" + mismatch.node.text + "' tai " + mismatch.node.path;
+            L10nLogger.warn("   [LOI] " + errorMsg);
+            errors.add(new L10nError("WRONG_LANGUAGE", "Sai ngon ngu", errorMsg, driver.getCurrentUrl()));
+        }
+        return mismatches;
     }
 
     /**
@@ -305,19 +485,9 @@ public class TextChecker {
     public List<TextOverflowResult> checkTextOverflow(LanguageConfig config) {
         List<TextOverflowResult> results = new ArrayList<>();
 
-        // Cac selector cho cac nut/van ban quan trong can kiem tra
-        String[] criticalSelectors = {
-                ".btn", "button", "[class*='btn']", // Buttons
-                ".add-to-cart", ".cart-button", // Add to cart
-                ".nav-link", ".menu-item", ".dropdown-item", // Navigation
-                ".product-title", ".product-name", // Product names
-                "h1", "h2", "h3", // Headers
-                ".alert", ".notification" // Alerts
-        };
-
-        System.out.println("   Kiem tra text overflow tren cac element quan trong...");
+        L10nLogger.info("   Kiem tra text overflow tren cac element quan trong...");
 
-        for (String selector : criticalSelectors) {
+        for (String selector : CRITICAL_SELECTORS) {
             try {
                 List<WebElement> elements = driver.findElements(By.cssSelector(selector));
 
@@ -328,7 +498,7 @@ public class TextChecker {
                             results.add(result);
 
                             if (result.isOverflowing) {
-                                System.out.println("   [LOI] OVERFLOW: " + result);
+                                L10nLogger.warn("   [LOI] OVERFLOW: " + result);
                                 errors.add(new L10nError("TEXT_OVERFLOW", "Van ban bi tran",
                                         "Element '" + selector + "' bi overflow (ratio: " +
                                                 String.format("%.2f", result.overflowRatio) + ")",
@@ -345,7 +515,7 @@ public class TextChecker {
         }
 
         int overflowCount = (int) results.stream().filter(r -> r.isOverflowing).count();
-        System.out.println("   >> Tim thay " + overflowCount + "/" + results.size() + " elements bi overflow");
+        L10nLogger.info("   >> Tim thay " + overflowCount + "/" + results.size() + " elements bi overflow");
 
         return results;
     }
@@ -361,26 +531,13 @@ public class TextChecker {
                 return null;
             }
 
-            TextOverflowResult result = new TextOverflowResult();
-            result.elementSelector = selector;
-            result.text = text;
-
             // Lay offsetWidth va scrollWidth qua JavaScript
-            result.offsetWidth = ((Long) js.executeScript(
+            int offsetWidth = ((Long) js.executeScript(
                     "return arguments[0].offsetWidth;", element)).intValue();
-            result.scrollWidth = ((Long) js.executeScript(
+            int scrollWidth = ((Long) js.executeScript(
                     "return arguments[0].scrollWidth;", element)).intValue();
 
-            // Tinh ty le overflow
-            result.overflowRatio = result.offsetWidth > 0
-                    ? (double) result.scrollWidth / result.offsetWidth
-                    : 0;
-
-            // Kiem tra overflow
-            result.isOverflowing = result.overflowRatio > OVERFLOW_RATIO_THRESHOLD &&
-                    result.scrollWidth > result.offsetWidth + 5; // Tolerance 5px
-
-            return result;
+            return toOverflowResult(selector, text, offsetWidth, scrollWidth);
         } catch (Exception e) {
             return null;
         }
@@ -398,7 +555,7 @@ public class TextChecker {
                 "button[data-button-action='add-to-cart']"
         };
 
-        System.out.println("\n[BVA - Add to Cart Buttons]");
+        L10nLogger.info("\n[BVA - Add to Cart Buttons]");
 
         for (String selector : addToCartSelectors) {
             try {
@@ -413,11 +570,11 @@ public class TextChecker {
                         TextLengthResult lengthResult = checkTextLength(result.text, currentLanguage);
                         if (lengthResult.status == TextLengthStatus.TOO_LONG ||
                                 lengthResult.status == TextLengthStatus.WARNING) {
-                            System.out.println("   [BVA] " + lengthResult);
+                            L10nLogger.warn("   [BVA] " + lengthResult);
                         }
 
                         if (result.isOverflowing) {
-                            System.out.println("   [LOI] " + result);
+                            L10nLogger.warn("   [LOI] " + result);
                         }
                     }
                 }
@@ -0,0 +1,676 @@
+package org.example;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog dich cua shop (XLIFF / CSV): chuoi goc tieng Anh -> ban dich mong doi
+ *
+ * expectedKeywords chi co 7 tu moi ngon ngu; catalog that co hang chuc nghin
+ * muc. Moi catalog duoc ma hoa gon: moi chuoi nam chung mot mang char[], moi
+ * muc la 4 so nguyen (vi tri + do dai cua goc va dich), chi muc la bang bam dia
+ * chi mo int[] theo chuoi goc. Tra cuu khong tao chuoi tru khi tim thay.
+ *
+ * XLIFF doc theo luong bang StAX (1.2: trans-unit, 2.0: segment; tat DTD va
+ * entity ngoai). Ban nhi phan (save / open) duoc map vao bo nho nen nap lai 40
+ * ngon ngu chi mat vai giay.
+ */
+public class TranslationCatalog {
+
+    private static final int MAGIC = 0x4C313054; // "L10T"
+    private static final int VERSION = 1;
+
+    public static final String CACHE_EXTENSION = ".bin"; // Ban nhi phan da luu (save/open)
+    public static final String[] SOURCE_EXTENSIONS = { ".xlf", ".xliff", ".xml", ".csv", ".tsv" };
+
+    private final String language;
+    private char[] pool;
+    private int poolSize;
+    private int[] entries; // [i*4] = goc: start, length; dich: start, length
+    private int size;
+    private int[] table; // chi so muc + 1; 0 = o trong
+
+    public TranslationCatalog(String language) {
+        this(language, new char[4096], 0, new int[256], 0);
+    }
+
+    private TranslationCatalog(String language, char[] pool, int poolSize, int[] entries, int size) {
+        this.language = language;
+        this.pool = pool;
+        this.poolSize = poolSize;
+        this.entries = entries;
+        this.size = size;
+        this.table = new int[tableCapacity(size)];
+        for (int i = 0; i < size; i++)
+            place(i);
+    }
+
+    // ==================== THEM / TRA CUU ====================
+
+    /**
+     * Them mot muc (goc trung lap: giu muc dau tien; ban dich rong bi bo qua)
+     *
+     * @return true neu muc duoc them
+     */
+    public synchronized boolean add(String source, String target) {
+        String key = normalize(source);
+        String value = normalize(target);
+        if (key.isEmpty() || value.isEmpty() || find(key) >= 0)
+            return false;
+
+        if ((size + 1) * 2 > table.length) {
+            table = new int[table.length * 2];
+            for (int i = 0; i < size; i++)
+                place(i);
+        }
+        if ((size + 1) * 4 > entries.length)
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        int e = size * 4;
+        entries[e] = append(key);
+        entries[e + 1] = key.length();
+        entries[e + 2] = append(value);
+        entries[e + 3] = value.length();
+        place(size);
+        size++;
+        return true;
+    }
+
+    /**
+     * Ban dich mong doi cua chuoi goc (null neu khong co trong catalog)
+     */
+    public synchronized String translate(CharSequence source) {
+        int entry = find(normalize(source));
+        return entry < 0 ? null : new String(pool, entries[entry * 4 + 2], entries[entry * 4 + 3]);
+    }
+
+    /**
+     * Chuoi co phai chuoi goc trong catalog khong
+     */
+    public synchronized boolean isSource(CharSequence text) {
+        return find(normalize(text)) >= 0;
+    }
+
+    /**
+     * Chuoi goc cua muc thu index (0 .. size-1, theo thu tu nap)
+     */
+    public synchronized String source(int index) {
+        return new String(pool, entries[index * 4], entries[index * 4 + 1]);
+    }
+
+    /**
+     * Ban dich cua muc thu index
+     */
+    public synchronized String target(int index) {
+        return new String(pool, entries[index * 4 + 2], entries[index * 4 + 3]);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Ban chi doc cac muc hien co, doc khong can khoa (cho nhieu thread quet song
+     * song). add() chi ghi them vao cuoi mang hoac cap mang moi, nen cac muc da
+     * chup khong bao gio bi ghi de.
+     */
+    public synchronized Entries freeze() {
+        return new Entries(language, pool, entries, size);
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    // ==================== KIEM TRA TRANG ====================
+
+    /**
+     * Node cua ban dich van la chuoi goc (tieng Anh) co ban dich khac trong catalog
+     */
+    public List<Untranslated> findUntranslated(PageSnapshot translated) {
+        List<Untranslated> found = new ArrayList<>();
+        for (PageSnapshot.TextNode node : translated.getNodes()) {
+            String expected = translate(node.text);
+            if (expected != null && !expected.equals(normalize(node.text)))
+                found.add(new Untranslated(node, expected));
+        }
+        return found;
+    }
+
+    /**
+     * Chuoi mong doi co tren trang khong: moi node cua ban "en" co trong catalog
+     * thi ban dich cua no phai la text cua mot node trong ban dich
+     */
+    public PageCheck verify(PageSnapshot english, PageSnapshot translated) {
+        Set<String> present = new HashSet<>(translated.size() * 2);
+        for (PageSnapshot.TextNode node : translated.getNodes())
+            present.add(normalize(node.text));
+
+        PageCheck check = new PageCheck();
+        Set<String> seen = new HashSet<>();
+        for (PageSnapshot.TextNode node : english.getNodes()) {
+            String source = normalize(node.text);
+            if (!seen.add(source))
+                continue;
+            String expected = translate(source);
+            if (expected == null)
+                continue;
+            if (present.contains(expected))
+                check.found.add(expected);
+            else
+                check.missing.put(source, expected);
+        }
+        return check;
+    }
+
+    // ==================== NAP CATALOG ====================
+
+    /**
+     * Nap catalog theo duoi file: .xlf/.xliff/.xml, .csv/.tsv, .bin (ban da luu)
+     *
+     * @param language Ma ngon ngu (null = lay tu file XLIFF)
+     */
+    public static TranslationCatalog load(Path file, String language) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(CACHE_EXTENSION))
+            return open(file);
+        if (name.endsWith(".csv") || name.endsWith(".tsv"))
+            return loadCsv(file, language);
+        return loadXliff(file, language);
+    }
+
+    /**
+     * File nen nap cho mot ngon ngu trong thu muc catalog: ban .bin chi khi no moi
+     * hon moi file nguon (SOURCE_EXTENSIONS) - catalog xuat lai thi cache cu bi bo qua
+     *
+     * @return null neu khong co file nao
+     */
+    public static Path locate(Path dir, String language) throws IOException {
+        Path newest = null;
+        for (String extension : SOURCE_EXTENSIONS) {
+            Path file = dir.resolve(language + extension);
+            if (Files.isRegularFile(file) && (newest == null
+                    || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(newest)) > 0))
+                newest = file;
+        }
+        Path cache = dir.resolve(language + CACHE_EXTENSION);
+        if (Files.isRegularFile(cache) && (newest == null
+                || Files.getLastModifiedTime(cache).compareTo(Files.getLastModifiedTime(newest)) >= 0))
+            return cache;
+        return newest;
+    }
+
+    /**
+     * File can nap cho moi ngon ngu co trong thu muc (locate cho tung ma ngon ngu)
+     *
+     * @return Ma ngon ngu -> file, theo thu tu ma
+     */
+    public static Map<String, Path> locateAll(Path dir) throws IOException {
+        Set<String> codes = new TreeSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                if (dot > 0)
+                    codes.add(name.substring(0, dot));
+            }
+        }
+        Map<String, Path> files = new TreeMap<>();
+        for (String code : codes) {
+            Path file = locate(dir, code);
+            if (file != null)
+                files.put(code, file);
+        }
+        return files;
+    }
+
+    public static boolean isCache(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(CACHE_EXTENSION);
+    }
+
+    /**
+     * Nap nhieu ngon ngu song song
+     *
+     * @param files Ma ngon ngu -> file catalog
+     */
+    public static Map<String, TranslationCatalog> loadAll(Map<String, Path> files) throws IOException {
+        Map<String, TranslationCatalog> catalogs = new ConcurrentHashMap<>();
+        try {
+            files.entrySet().parallelStream().forEach(entry -> {
+                try {
+                    catalogs.put(entry.getKey(), load(entry.getValue(), entry.getKey()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return catalogs;
+    }
+
+    /**
+     * Doc XLIFF 1.2 (trans-unit/source/target) hoac 2.0 (segment/source/target)
+     * theo luong; the inline (g, x, ph...) chi lay phan text. Chi source/target la
+     * con truc tiep cua trans-unit/segment: goi y TM trong alt-trans bi bo qua.
+     */
+    public static TranslationCatalog loadXliff(Path file, String language) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            TranslationCatalog catalog = null;
+            StringBuilder text = new StringBuilder();
+            String source = null;
+            String target = null;
+            int capture = 0; // 1 = source, 2 = target
+            int depth = 0;
+            int unitDepth = -1; // Do sau cua trans-unit/segment dang doc
+            try {
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String element = reader.getLocalName();
+                        depth++;
+                        if (catalog == null && (element.equals("xliff") || element.equals("file"))) {
+                            String lang = reader.getAttributeValue(null,
+                                    element.equals("xliff") ? "trgLang" : "target-language");
+                            if (lang != null || element.equals("file"))
+                                catalog = new TranslationCatalog(language != null ? language : lang);
+                        } else if (element.equals("trans-unit") || element.equals("segment")) {
+                            source = null;
+                            target = null;
+                            unitDepth = depth;
+                        } else if (capture == 0 && depth == unitDepth + 1
+                                && (element.equals("source") || element.equals("target"))) {
+                            capture = element.equals("source") ? 1 : 2;
+                            text.setLength(0);
+                        }
+                    } else if (capture != 0 && (event == XMLStreamConstants.CHARACTERS
+                            || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE)) {
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String element = reader.getLocalName();
+                        depth--;
+                        if (capture == 1 && element.equals("source")) {
+                            source = text.toString();
+                            capture = 0;
+                        } else if (capture == 2 && element.equals("target")) {
+                            target = text.toString();
+                            capture = 0;
+                        } else if (element.equals("trans-unit") || element.equals("segment")) {
+                            unitDepth = -1;
+                            if (catalog == null)
+                                catalog = new TranslationCatalog(language);
+                            if (source != null && target != null)
+                                catalog.add(source, target);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+            return catalog != null ? catalog : new TranslationCatalog(language);
+        } catch (XMLStreamException e) {
+            throw new IOException("Loi doc XLIFF " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Doc CSV / TSV: cot "source" va "target" neu co dong tieu de, nguoc lai hai
+     * cot dau. File .tsv phan cach bang tab; .csv lay dau phan cach (',' ';' tab)
+     * tu dong dau.
+     */
+    public static TranslationCatalog loadCsv(Path file, String language) throws IOException {
+        TranslationCatalog catalog = new TranslationCatalog(language);
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(in, delimiterOf(file));
+            List<String> row = csv.next();
+            if (row == null)
+                return catalog;
+            int sourceColumn = indexOfIgnoreCase(row, "source");
+            int targetColumn = indexOfIgnoreCase(row, "target");
+            if (sourceColumn < 0 || targetColumn < 0) {
+                // Khong co tieu de: dong dau la du lieu
+                sourceColumn = 0;
+                targetColumn = 1;
+                if (row.size() > 1)
+                    catalog.add(row.get(0), row.get(1));
+            }
+            int needed = Math.max(sourceColumn, targetColumn);
+            while ((row = csv.next()) != null) {
+                if (row.size() > needed)
+                    catalog.add(row.get(sourceColumn), row.get(targetColumn));
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Doc ban do chuoi goc -> thanh phan giao dien (button, nav, product-title...):
+     * CSV co cot "source" va "component" neu co dong tieu de, nguoc lai hai cot
+     * dau. Khoa da gom khoang trang nhu chuoi goc cua catalog.
+     */
+    public static Map<String, String> loadComponentMap(Path file) throws IOException {
+        Map<String, String> components = new HashMap<>();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(in, delimiterOf(file));
+            List<String> row = csv.next();
+            if (row == null)
+                return components;
+            int sourceColumn = indexOfIgnoreCase(row, "source");
+            int componentColumn = indexOfIgnoreCase(row, "component");
+            if (sourceColumn < 0 || componentColumn < 0) {
+                sourceColumn = 0;
+                componentColumn = 1;
+                if (row.size() > 1)
+                    components.put(normalize(row.get(0)), row.get(1).trim());
+            }
+            int needed = Math.max(sourceColumn, componentColumn);
+            while ((row = csv.next()) != null) {
+                if (row.size() > needed)
+                    components.put(normalize(row.get(sourceColumn)), row.get(componentColumn).trim());
+            }
+        }
+        components.remove("");
+        return components;
+    }
+
+    // ==================== BAN NHI PHAN (MEMORY-MAPPED) ====================
+
+    /**
+     * Ghi ban gon: header, bang muc (int), mang chuoi (char)
+     */
+    public synchronized void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        String lang = language != null ? language : "";
+        ByteBuffer buffer = ByteBuffer.allocate(4 * 5 + lang.length() * 2 + size * 16 + poolSize * 2);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(lang.length());
+        buffer.asCharBuffer().put(lang);
+        buffer.position(buffer.position() + lang.length() * 2);
+        buffer.putInt(size).putInt(poolSize);
+        buffer.asIntBuffer().put(entries, 0, size * 4);
+        buffer.position(buffer.position() + size * 16);
+        buffer.asCharBuffer().put(pool, 0, poolSize);
+        buffer.rewind();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        }
+    }
+
+    /**
+     * Mo ban gon bang memory map (chi chep mang muc va mang chuoi, dung lai bang bam)
+     */
+    public static TranslationCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC)
+                throw new IOException("Khong phai file catalog: " + file);
+            int version = buffer.getInt();
+            if (version != VERSION)
+                throw new IOException("Phien ban catalog khong ho tro: " + version);
+
+            char[] lang = new char[buffer.getInt()];
+            buffer.asCharBuffer().get(lang);
+            buffer.position(buffer.position() + lang.length * 2);
+            int size = buffer.getInt();
+            int poolSize = buffer.getInt();
+            int[] entries = new int[Math.max(size * 4, 4)];
+            buffer.asIntBuffer().get(entries, 0, size * 4);
+            buffer.position(buffer.position() + size * 16);
+            char[] pool = new char[Math.max(poolSize, 1)];
+            buffer.asCharBuffer().get(pool, 0, poolSize);
+            return new TranslationCatalog(lang.length > 0 ? new String(lang) : null, pool, poolSize, entries, size);
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Gom khoang trang (ke ca NBSP) va bo hai dau
+     */
+    static String normalize(CharSequence text) {
+        if (text == null)
+            return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '\u00A0' || c == '\u202F') {
+                space = sb.length() > 0;
+                continue;
+            }
+            if (space) {
+                sb.append(' ');
+                space = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private int find(String key) {
+        int mask = table.length - 1;
+        for (int i = hash(key, 0, key.length()) & mask;; i = (i + 1) & mask) {
+            int entry = table[i] - 1;
+            if (entry < 0)
+                return -1;
+            if (equalsAt(entry, key))
+                return entry;
+        }
+    }
+
+    private boolean equalsAt(int entry, String key) {
+        int start = entries[entry * 4];
+        int length = entries[entry * 4 + 1];
+        if (length != key.length())
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (pool[start + i] != key.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private void place(int entry) {
+        int mask = table.length - 1;
+        int i = hash(pool, entries[entry * 4], entries[entry * 4 + 1]) & mask;
+        while (table[i] != 0)
+            i = (i + 1) & mask;
+        table[i] = entry + 1;
+    }
+
+    private int append(String value) {
+        if (poolSize + value.length() > pool.length)
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + value.length()));
+        int start = poolSize;
+        value.getChars(0, value.length(), pool, start);
+        poolSize += value.length();
+        return start;
+    }
+
+    private static int hash(CharSequence text, int start, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++)
+            h = 31 * h + text.charAt(start + i);
+        return mix(h);
+    }
+
+    private static int hash(char[] chars, int start, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++)
+            h = 31 * h + chars[start + i];
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableCapacity(int size) {
+        int capacity = 512;
+        while (capacity < size * 2 + 2)
+            capacity <<= 1;
+        return capacity;
+    }
+
+    private static int indexOfIgnoreCase(List<String> row, String name) {
+        for (int i = 0; i < row.size(); i++) {
+            if (row.get(i).trim().equalsIgnoreCase(name))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Dau phan cach theo duoi file: tab cho .tsv, 0 (doan tu dong dau) cho .csv
+     */
+    private static char delimiterOf(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tsv") ? '\t' : 0;
+    }
+
+    /**
+     * Doc CSV theo RFC 4180 (truong trong ngoac kep, "" la dau ngoac, xuong dong
+     * trong truong)
+     */
+    private static final class CsvReader {
+        private final Reader in;
+        private char delimiter; // 0 = chua biet (lay tu dong dau)
+
+        CsvReader(Reader in, char delimiter) {
+            this.in = in;
+            this.delimiter = delimiter;
+        }
+
+        List<String> next() throws IOException {
+            int c = read();
+            while (c == '\r' || c == '\n')
+                c = read();
+            if (c < 0)
+                return null;
+
+            List<String> row = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean first = delimiter == 0;
+            while (c >= 0) {
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (first && (c == ',' || c == ';' || c == '\t')) {
+                    delimiter = (char) c;
+                    first = false;
+                    row.add(field.toString());
+                    field.setLength(0);
+                } else if (c == delimiter) {
+                    row.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            row.add(field.toString());
+            return row;
+        }
+
+        private int read() throws IOException {
+            return in.read();
+        }
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Node van la chuoi goc, kem ban dich mong doi
+     */
+    public static class Untranslated {
+        public final PageSnapshot.TextNode node;
+        public final String expected;
+
+        Untranslated(PageSnapshot.TextNode node, String expected) {
+            this.node = node;
+            this.expected = expected;
+        }
+
+        @Override
+        public String toString() {
+            return "'" + node.text + "' -> mong doi '" + expected + "' (" + node.path + ")";
+        }
+    }
+
+    /**
+     * Ket qua kiem tra chuoi mong doi tren mot trang
+     */
+    public static class PageCheck {
+        public final List<String> found = new ArrayList<>();
+        public final Map<String, String> missing = new LinkedHashMap<>(); // goc -> ban dich mong doi
+
+        public int expectedCount() {
+            return found.size() + missing.size();
+        }
+
+        public double coverage() {
+            return expectedCount() == 0 ? 1.0 : (double) found.size() / expectedCount();
+        }
+    }
+
+    /**
+     * Cac muc cua catalog tai thoi diem freeze(): khong doi, khong khoa
+     */
+    public static final class Entries {
+        public final String language;
+        private final char[] pool;
+        private final int[] entries;
+        private final int size;
+
+        Entries(String language, char[] pool, int[] entries, int size) {
+            this.language = language;
+            this.pool = pool;
+            this.entries = entries;
+            this.size = size;
+        }
+
+        public String source(int index) {
+            return new String(pool, entries[index * 4], entries[index * 4 + 1]);
+        }
+
+        public String target(int index) {
+            return new String(pool, entries[index * 4 + 2], entries[index * 4 + 3]);
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.util.*;
+
+/**
+ * Quet tran chu qua nhieu kich thuoc man hinh tren trang da tai
+ *
+ * Chrome mo --start-maximized nen tran chu chi xay ra o tablet / mobile (de,
+ * fi, pl...) bi bo sot. Thay vi mo phien rieng cho tung thiet bi, lop nay doi
+ * viewport gia lap qua CDP (Emulation.setDeviceMetricsOverride) ngay tren
+ * trang dang mo - media query va layout tinh lai, khong tai lai trang - va o
+ * moi breakpoint chay lai cac phep do theo lo: PageSnapshot + LayoutAnalyzer
+ * (chong lan, bi cat) va TextChecker.measureOverflow (offsetWidth /
+ * scrollWidth). Xong thi xoa override, trang tro lai kich thuoc that.
+ *
+ * Chi ChromeDriver co CDP; driver khac thi sweep tra ve rong.
+ */
+public class ViewportSweep {
+
+    public static final int MOBILE_MAX_WIDTH = 768; // px, tu day tro xuong gia lap mobile (meta viewport)
+    public static final List<Viewport> DEFAULT_VIEWPORTS = Collections
+            .unmodifiableList(parse("375x812,768x1024,1024x768"));
+
+    // Cho su kien resize va hai frame de script cua theme kip doi bo cuc
+    private static final String SETTLE_SCRIPT = "var done = arguments[arguments.length - 1];"
+            + "requestAnimationFrame(function() { requestAnimationFrame(function() { done(true); }); });";
+
+    private final WebDriver driver;
+    private final JavascriptExecutor js;
+
+    public ViewportSweep(WebDriver driver) {
+        this.driver = driver;
+        this.js = (JavascriptExecutor) driver;
+    }
+
+    /**
+     * Driver co CDP (Chrome)
+     */
+    public boolean isSupported() {
+        return driver instanceof ChromeDriver;
+    }
+
+    // ==================== QUET ====================
+
+    /**
+     * Do trang hien tai o moi breakpoint, roi tra lai viewport that
+     *
+     * @param selectors Selector do tran chu (TextChecker.CRITICAL_SELECTORS)
+     * @return Ket qua theo thu tu breakpoint (rong neu driver khong ho tro CDP)
+     */
+    public List<Measurement> sweep(List<Viewport> viewports, String[] selectors) {
+        List<Measurement> measurements = new ArrayList<>();
+        if (!isSupported() || viewports.isEmpty())
+            return measurements;
+        ChromeDriver chrome = (ChromeDriver) driver;
+        try {
+            for (Viewport viewport : viewports) {
+                chrome.executeCdpCommand("Emulation.setDeviceMetricsOverride", viewport.toCdpParams());
+                js.executeAsyncScript(SETTLE_SCRIPT);
+                PageSnapshot snapshot = PageSnapshot.capture(js);
+                measurements.add(new Measurement(viewport, snapshot, new LayoutAnalyzer().analyze(snapshot),
+                        TextChecker.measureOverflow(js, selectors)));
+            }
+        } finally {
+            chrome.executeCdpCommand("Emulation.clearDeviceMetricsOverride", new HashMap<>());
+        }
+        return measurements;
+    }
+
+    /**
+     * Doc danh sach breakpoint dang "375x812,768x1024" (bo qua muc sai)
+     */
+    public static List<Viewport> parse(String spec) {
+        List<Viewport> viewports = new ArrayList<>();
+        if (spec == null)
+            return viewports;
+        for (String item : spec.split(",")) {
+            String[] size = item.trim().toLowerCase(Locale.ROOT).split("x");
+            if (size.length != 2)
+                continue;
+            try {
+                int width = Integer.parseInt(size[0].trim());
+                int height = Integer.parseInt(size[1].trim());
+                if (width > 0 && height > 0)
+                    viewports.add(new Viewport(width, height, width <= MOBILE_MAX_WIDTH));
+            } catch (NumberFormatException e) {
+                // Bo qua muc khong hop le
+            }
+        }
+        return viewports;
+    }
+
+    // ==================== CLASS KET QUA ====================
+
+    /**
+     * Mot breakpoint gia lap
+     */
+    public static class Viewport {
+        public final int width;
+        public final int height;
+        public final boolean mobile;
+
+        public Viewport(int width, int height, boolean mobile) {
+            this.width = width;
+            this.height = height;
+            this.mobile = mobile;
+        }
+
+        Map<String, Object> toCdpParams() {
+            Map<String, Object> params = new HashMap<>();
+            params.put("width", width);
+            params.put("height", height);
+            params.put("deviceScaleFactor", 1);
+            params.put("mobile", mobile);
+            return params;
+        }
+
+        @Override
+        public String toString() {
+            return width + "x" + height + (mobile ? " (mobile)" : "");
+        }
+    }
+
+    /**
+     * Ket qua do o mot breakpoint
+     */
+    public static class Measurement {
+        public final Viewport viewport;
+        public final PageSnapshot snapshot;
+        public final LayoutAnalyzer.Result layout;
+        public final List<TextChecker.TextOverflowResult> overflows; // Chi element bi tran
+
+        Measurement(Viewport viewport, PageSnapshot snapshot, LayoutAnalyzer.Result layout,
+                List<TextChecker.TextOverflowResult> measured) {
+            this.viewport = viewport;
+            this.snapshot = snapshot;
+            this.layout = layout;
+            this.overflows = new ArrayList<>();
+            for (TextChecker.TextOverflowResult result : measured) {
+                if (result.isOverflowing)
+                    overflows.add(result);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return viewport + ": " + overflows.size() + " tran chu, " + layout.overlaps.size() + " chong lan, "
+                    + layout.clipped.size() + " bi cat";
+        }
+    }
+}
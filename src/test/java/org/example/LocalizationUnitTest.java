@@ -140,6 +140,40 @@ public class LocalizationUnitTest {
                 CurrencyChecker.validateNumberFormat("1.234,56", LanguageConfig.DecimalSeparatorType.COMMA));
     }
 
+    @Test
+    public void testNumberGrammar_GroupSizes() {
+        LanguageConfig en = LanguageConfig.get("en");
+        Assert.assertTrue(CurrencyChecker.validateNumberFormat("$1,234,567.89", en));
+        Assert.assertTrue("Ungrouped numbers should be accepted", CurrencyChecker.validateNumberFormat("1234.5", en));
+        Assert.assertFalse("Wrong group size", CurrencyChecker.validateNumberFormat("1,23,456.00", en));
+        Assert.assertFalse("Wrong decimal separator", CurrencyChecker.validateNumberFormat("1.234,56", en));
+        Assert.assertFalse("Too many fraction digits", CurrencyChecker.validateNumberFormat("9.999", en));
+    }
+
+    @Test
+    public void testNumberGrammar_IndianGrouping() {
+        LanguageConfig hi = LanguageConfig.get("hi");
+        Assert.assertTrue(CurrencyChecker.validateNumberFormat("₹12,34,567.00", hi));
+        Assert.assertTrue(CurrencyChecker.validateNumberFormat("₹1,234", hi));
+        Assert.assertFalse("Western grouping should fail for hi", CurrencyChecker.validateNumberFormat("₹1,234,567", hi));
+    }
+
+    @Test
+    public void testNumberGrammar_SpaceGroupingAndSign() {
+        LanguageConfig fr = LanguageConfig.get("fr");
+        Assert.assertTrue(CurrencyChecker.validateNumberFormat("1\u202F234,56 €", fr));
+        Assert.assertTrue(CurrencyChecker.validateNumberFormat("-1 234,56 €", fr));
+        Assert.assertFalse("Comma grouping should fail for fr", CurrencyChecker.validateNumberFormat("1,234.56 €", fr));
+
+        List<NumberGrammar.NumberMatch> matches = NumberGrammar.forConfig(fr)
+                .findAll("Taille 42 10 articles, total -1 234,56 €");
+        Assert.assertEquals("Space between unrelated numbers should split them", 3, matches.size());
+        Assert.assertEquals("42", matches.get(0).text);
+        Assert.assertEquals("10", matches.get(1).text);
+        Assert.assertTrue(matches.get(2).negative);
+        Assert.assertTrue(matches.get(2).isValid());
+    }
+
     @Test
     public void testConvertPriceFormat() {
         String euPrice = "1.234,56";
@@ -150,6 +184,137 @@ public class LocalizationUnitTest {
         Assert.assertEquals("Should convert back to EU format", euPrice, backToEu);
     }
 
+    @Test
+    public void testDetectCurrencySymbol_LongestMatch() {
+        Assert.assertEquals("R$ should win over $", "R$", CurrencyChecker.detectCurrencySymbol("R$ 10,00"));
+        Assert.assertEquals("NT$ should win over $", "NT$", CurrencyChecker.detectCurrencySymbol("NT$1,000"));
+        Assert.assertEquals("$", CurrencyChecker.detectCurrencySymbol("$5"));
+    }
+
+    @Test
+    public void testDetectCurrencySymbol_WordBoundary() {
+        Assert.assertNull("L inside a word should not match", CurrencyChecker.detectCurrencySymbol("Lorem 10"));
+        Assert.assertNull("kr inside a word should not match", CurrencyChecker.detectCurrencySymbol("kraft 10"));
+        Assert.assertEquals("L", CurrencyChecker.detectCurrencySymbol("10 L"));
+        Assert.assertEquals("kr", CurrencyChecker.detectCurrencySymbol("99kr"));
+    }
+
+    @Test
+    public void testValidateCurrency_SymbolPosition() {
+        LanguageConfig config = LanguageConfig.get("en");
+        Assert.assertTrue(CurrencyChecker.validateCurrency("$9.99", config).symbolPrefix);
+        Assert.assertFalse(CurrencyChecker.validateCurrency("9,99 €", LanguageConfig.get("fr")).symbolPrefix);
+    }
+
+    @Test
+    public void testScanPrice_MinorUnitsAndSeparators() {
+        PriceScanner.PriceToken token = new PriceScanner.PriceToken();
+        Assert.assertTrue(CurrencyChecker.scanPrice("1.234,56 €", ",", token));
+        Assert.assertEquals("€", token.symbol);
+        Assert.assertFalse("Symbol should be a suffix", token.symbolPrefix);
+        Assert.assertEquals(123456L, token.minorUnits);
+        Assert.assertEquals(2, token.fractionDigits);
+        Assert.assertEquals(',', token.decimalSeen);
+        Assert.assertEquals('.', token.groupingSeen);
+        Assert.assertEquals(0, token.numberStart);
+        Assert.assertEquals(8, token.numberEnd);
+
+        Assert.assertTrue(CurrencyChecker.scanPrice("$1,234.56", ".", token));
+        Assert.assertTrue("Symbol should be a prefix", token.symbolPrefix);
+        Assert.assertEquals(123456L, token.minorUnits);
+        Assert.assertEquals(1234.56, token.value(), 0.001);
+    }
+
+    @Test
+    public void testScanPrice_InferDecimalAndNbsp() {
+        PriceScanner.PriceToken token = new PriceScanner.PriceToken();
+        Assert.assertTrue(CurrencyChecker.scanPrice("1\u202F234,5 zł", null, token));
+        Assert.assertEquals("zł", token.symbol);
+        Assert.assertEquals(12345L, token.minorUnits);
+        Assert.assertEquals(1, token.fractionDigits);
+        Assert.assertEquals('\u202F', token.groupingSeen);
+
+        Assert.assertTrue("Three digits after separator should be grouping",
+                CurrencyChecker.scanPrice("1.234 €", null, token));
+        Assert.assertEquals(1234L, token.minorUnits);
+        Assert.assertEquals(0, token.fractionDigits);
+
+        Assert.assertFalse("Symbol without number should fail", CurrencyChecker.scanPrice("€", null, token));
+        Assert.assertTrue(token.hasSymbol());
+        Assert.assertEquals(-1, token.value(), 0.001);
+    }
+
+    @Test
+    public void testScanPrice_OverflowStopsAccumulating() {
+        PriceScanner.PriceToken token = new PriceScanner.PriceToken();
+        Assert.assertTrue(CurrencyChecker.scanPrice("1234567890123456789012345 €", null, token));
+        Assert.assertTrue(token.overflow);
+        Assert.assertEquals("Only the first 18 digits are kept", 123456789012345678L, token.minorUnits);
+        Assert.assertEquals(25, token.integerDigits);
+        Assert.assertEquals(-1, token.value(), 0.001);
+    }
+
+    // ==================== PRICE INDEX TESTS ====================
+
+    @Test
+    public void testPriceIndexCrossPage() {
+        PriceIndex index = new PriceIndex();
+        LanguageConfig fr = LanguageConfig.get("fr");
+        index.record("1", "fr", "Homepage", CurrencyChecker.validateCurrency("28,72 €", fr));
+        index.record("1", "fr", "Product", CurrencyChecker.validateCurrency("28,72 €", fr));
+        index.record("2", "fr", "Homepage", CurrencyChecker.validateCurrency("19,12 €", fr));
+        index.record("2", "fr", "Product", CurrencyChecker.validateCurrency("23,90 €", fr));
+        Assert.assertFalse("Same key should keep the first price",
+                index.record("2", "fr", "Product", CurrencyChecker.validateCurrency("1,00 €", fr)));
+
+        List<PriceIndex.Inconsistency> found = index.findPageInconsistencies();
+        Assert.assertEquals(1, found.size());
+        Assert.assertEquals("2", found.get(0).productId);
+        Assert.assertEquals("19.12 €", found.get(0).expectedPrice);
+        Assert.assertEquals("23.9 €", found.get(0).actualPrice);
+    }
+
+    @Test
+    public void testPriceIndexCrossLanguage() {
+        PriceIndex index = new PriceIndex();
+        index.record("1", "en", "Product", CurrencyChecker.validateCurrency("€28.72", LanguageConfig.get("en")));
+        index.record("1", "de", "Product", CurrencyChecker.validateCurrency("28,72 €", LanguageConfig.get("de")));
+        index.record("1", "fr", "Product", CurrencyChecker.validateCurrency("2 872,00 €", LanguageConfig.get("fr")));
+        index.record("1", "ja", "Product", "¥", 4500, 0);
+
+        List<PriceIndex.Inconsistency> found = index.findLanguageInconsistencies("en");
+        Assert.assertEquals("Only the wrongly formatted fr price should differ", 1, found.size());
+        Assert.assertEquals("fr", found.get(0).actualLanguage);
+
+        index.setRate("€", 1.0);
+        index.setRate("¥", 160.0);
+        found = index.findLanguageInconsistencies("en");
+        Assert.assertEquals("Wrong conversion to ¥ should be reported", 2, found.size());
+    }
+
+    @Test
+    public void testPriceIndexInconsistenciesForLanguage() {
+        PriceIndex index = new PriceIndex();
+        index.record("1", "en", "Product", "€", 2872, 2);
+        index.record("1", "fr", "Product", "€", 287200, 2); // Lan chay fr
+        index.record("1", "de", "Product", "€", 2872, 2); // Lan chay de: khong loi moi
+        index.record("2", "de", "Homepage", "€", 1912, 2);
+        index.record("2", "de", "Product", "€", 2390, 2);
+
+        Assert.assertEquals(2, index.findInconsistencies().size());
+        Assert.assertEquals(1, index.findInconsistencies("fr").size());
+        List<PriceIndex.Inconsistency> de = index.findInconsistencies("de");
+        Assert.assertEquals(1, de.size());
+        Assert.assertEquals(PriceIndex.Kind.CROSS_PAGE, de.get(0).kind);
+    }
+
+    @Test
+    public void testProductIdFromUrl() {
+        Assert.assertEquals("1", PriceIndex.productIdFromUrl("https://shop.test/en/men/1-1-hummingbird-printed-t-shirt.html"));
+        Assert.assertEquals("7", PriceIndex.productIdFromUrl("https://shop.test/index.php?id_product=7&controller=product"));
+        Assert.assertNull(PriceIndex.productIdFromUrl("https://shop.test/en/3-clothes"));
+    }
+
     // ==================== DATE CHECKER TESTS ====================
 
     @Test
@@ -262,6 +427,63 @@ public class LocalizationUnitTest {
         Assert.assertEquals("Should convert to ISO format", "2024-01-15", isoDate);
     }
 
+    @Test
+    public void testDateTokenizerNativeMonthNames() {
+        List<DateTokenizer.DateToken> tokens = DateTokenizer.forLanguage("fr")
+                .scan("Livraison le lundi 15 janvier 2024, commande du 22/01/2024.");
+        Assert.assertEquals(2, tokens.size());
+        Assert.assertEquals("lundi 15 janvier 2024", tokens.get(0).text);
+        Assert.assertEquals(1, tokens.get(0).month);
+        Assert.assertEquals(1, tokens.get(0).weekday);
+        Assert.assertFalse("Native names should not be flagged", tokens.get(0).isWrongLanguage());
+        Assert.assertEquals(DateChecker.DateFormat.DMY, tokens.get(1).format);
+
+        tokens = DateTokenizer.forLanguage("de").scan("Lieferung am 15. Januar 2024");
+        Assert.assertEquals(1, tokens.size());
+        Assert.assertEquals("15. Januar 2024", tokens.get(0).text);
+    }
+
+    @Test
+    public void testDateTokenizerWrongLanguageAndFormat() {
+        List<DateTokenizer.DateToken> tokens = DateTokenizer.forLanguage("fr")
+                .scan("Le 15 January 2024 et le 15 enero 2024, puis 12/15/2024 et 2024-01-15.");
+        Assert.assertEquals(4, tokens.size());
+        Assert.assertEquals("en", tokens.get(0).foreignLanguage);
+        Assert.assertNotNull("Spanish month should be foreign on fr page", tokens.get(1).foreignLanguage);
+        Assert.assertEquals(DateChecker.DateFormat.MDY, tokens.get(2).format);
+        Assert.assertFalse("ISO date should not match fr pattern", tokens.get(3).matchesExpected);
+
+        Assert.assertTrue(DateChecker.validateToken(tokens.get(0), "fr").hasEnglishMonth);
+        Assert.assertFalse(DateChecker.validateToken(tokens.get(2), "fr").isValid);
+        Assert.assertNotNull(DateChecker.validateToken(tokens.get(3), "fr").warningMessage);
+    }
+
+    @Test
+    public void testDateTokenizerCjkAndVersionNumbers() {
+        List<DateTokenizer.DateToken> tokens = DateTokenizer.forLanguage("ja").scan("配送日 2024年1月15日 v1.2.3.4");
+        Assert.assertEquals(1, tokens.size());
+        Assert.assertEquals("2024年1月15日", tokens.get(0).text);
+        Assert.assertTrue(tokens.get(0).matchesExpected);
+        Assert.assertFalse("Substring of another word should not count",
+                DateChecker.containsEnglishMonth("Mayonnaise 15/01/2024"));
+    }
+
+    @Test
+    public void testEnglishMonthRequiresCapital() {
+        Assert.assertFalse("Lowercase 'may' is a verb", DateChecker.containsEnglishMonth("you may 15/01/2024"));
+        Assert.assertFalse(DateChecker.containsEnglishMonth("march on 15/01/2024"));
+        Assert.assertTrue(DateChecker.containsEnglishMonth("15 May 2024"));
+    }
+
+    @Test
+    public void testSerbianLatinMonthNamesAreNative() {
+        List<DateTokenizer.DateToken> tokens = DateTokenizer.forLanguage("sr").scan("Isporuka 15. januar 2024");
+        Assert.assertEquals(1, tokens.size());
+        Assert.assertEquals(1, tokens.get(0).month);
+        Assert.assertFalse(tokens.get(0).isWrongLanguage());
+        Assert.assertNull(DateChecker.validateToken(tokens.get(0), "sr").errorMessage);
+    }
+
     // ==================== TEXT CHECKER TESTS ====================
 
     @Test
@@ -374,6 +596,1114 @@ public class LocalizationUnitTest {
         Assert.assertTrue("Japanese should be shorter than English", japaneseLength < englishText.length());
     }
 
+    // ==================== SCRIPT RUN ANALYZER TESTS ====================
+
+    @Test
+    public void testScriptHistogram() {
+        int[] histogram = new int[ScriptRunAnalyzer.Script.values().length];
+        new ScriptRunAnalyzer().analyze("\u30AB\u30FC\u30C8\u306B\u8FFD\u52A0 (2) \u0426\u0435\u043D\u0430 abc",
+                histogram, null);
+
+        // U+30FC (choonpu) thuoc COMMON
+        Assert.assertEquals(3, histogram[ScriptRunAnalyzer.Script.KANA.ordinal()]);
+        Assert.assertEquals(2, histogram[ScriptRunAnalyzer.Script.HAN.ordinal()]);
+        Assert.assertEquals(4, histogram[ScriptRunAnalyzer.Script.CYRILLIC.ordinal()]);
+        Assert.assertEquals(3, histogram[ScriptRunAnalyzer.Script.LATIN.ordinal()]);
+        Assert.assertEquals("Spaces, digits, brackets and choonpu are COMMON", 7,
+                histogram[ScriptRunAnalyzer.Script.COMMON.ordinal()]);
+    }
+
+    @Test
+    public void testLatinRunFlaggedInJapanesePage() {
+        PageSnapshot snapshot = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>div:1", "\u30AB\u30FC\u30C8\u306B\u8FFD\u52A0"),
+                new PageSnapshot.TextNode("body>div:2", "\u914D\u9001: Free shipping on orders over 50"),
+                new PageSnapshot.TextNode("body>div:3", "\u5546\u54C1 Sale \u4E2D")));
+
+        ScriptRunAnalyzer.PageResult result = new ScriptRunAnalyzer().analyze(snapshot);
+
+        Assert.assertEquals("Only the long Latin run should be flagged", 1, result.flaggedNodes.size());
+        ScriptRunAnalyzer.NodeResult node = result.flaggedNodes.get(0);
+        Assert.assertEquals("body>div:2", node.node.path);
+        Assert.assertEquals("Run ends at the last Latin letter", "Free shipping on orders over",
+                node.latinRuns.get(0));
+        Assert.assertTrue(ScriptRunAnalyzer.appliesTo(LanguageConfig.get("ja")));
+        Assert.assertFalse(ScriptRunAnalyzer.appliesTo(LanguageConfig.get("fr")));
+    }
+
+    @Test
+    public void testAllowlistAndSkuNotFlagged() {
+        ScriptRunAnalyzer analyzer = new ScriptRunAnalyzer(8, java.util.Arrays.asList("Hummingbird", "PrestaShop"));
+
+        Assert.assertEquals("Allowlisted brand words", 0,
+                analyzer.analyze("\u0422\u0435\u043C\u0430 Hummingbird PrestaShop", null, null));
+        Assert.assertEquals("SKU-like token", 0, analyzer.analyze("\u0410\u0440\u0442. DEMO-2024-XL-01", null, null));
+        Assert.assertEquals("Untranslated phrase", 1,
+                analyzer.analyze("\u0422\u0435\u043C\u0430 Hummingbird printed", null, null));
+    }
+
+    @Test
+    public void testScriptRunAllowlistMatchesWholeText() {
+        ScriptRunAnalyzer analyzer = new ScriptRunAnalyzer(ScriptRunAnalyzer.DEFAULT_MIN_RUN_LENGTH,
+                java.util.Arrays.asList("PrestaShop", "Hummingbird"));
+
+        Assert.assertTrue(analyzer.isAllowlisted("prestashop"));
+        Assert.assertTrue(analyzer.isAllowlisted("Hummingbird - PrestaShop"));
+        Assert.assertFalse(analyzer.isAllowlisted("PrestaShop demo store"));
+        Assert.assertFalse(analyzer.isAllowlisted(" - "));
+        Assert.assertFalse(new ScriptRunAnalyzer().isAllowlisted("PrestaShop"));
+    }
+
+    // ==================== PHRASE MATCHER TESTS ====================
+
+    @Test
+    public void testPhraseMatchRespectsWordBoundaries() {
+        Assert.assertFalse("'New' must not match 'Newsletter'",
+                PhraseMatcher.contains("Inscrivez-vous a la Newsletter", "New", "fr"));
+        Assert.assertFalse("'Art' must not match 'Article'", PhraseMatcher.contains("Article 12", "Art", "fr"));
+        Assert.assertTrue(PhraseMatcher.contains("Produits (New)", "New", "fr"));
+        Assert.assertEquals("Later whole-word occurrence is found", 12,
+                PhraseMatcher.indexOf("Newsletter, New!", "New", 0, "fr"));
+    }
+
+    @Test
+    public void testPhraseMatchInScriptsWithoutSpaces() {
+        // Latin giua chu Nhat: ranh gioi do doi chu viet
+        Assert.assertTrue(PhraseMatcher.contains("\u65B0\u7740New\u30A2\u30A4\u30C6\u30E0", "New", "ja"));
+        Assert.assertFalse(PhraseMatcher.contains("\u65B0\u7740News\u30A2\u30A4\u30C6\u30E0", "New", "ja"));
+        // Thai: BreakIterator tach "ตะกร้า" + "สินค้า"
+        Assert.assertTrue(PhraseMatcher.contains("\u0E15\u0E30\u0E01\u0E23\u0E49\u0E32\u0E2A\u0E34\u0E19\u0E04\u0E49\u0E32",
+                "\u0E2A\u0E34\u0E19\u0E04\u0E49\u0E32", "th"));
+    }
+
+    @Test
+    public void testFindPhrasesKeepsOrderAndSkipsPartialWords() {
+        String[] phrases = { "Sale", "Art", "Add to cart" };
+        List<String> found = PhraseMatcher.findPhrases("Article - Add to cart - Salesforce", phrases, "de");
+
+        Assert.assertEquals(java.util.Collections.singletonList("Add to cart"), found);
+    }
+
+    // ==================== LANGUAGE IDENTIFIER TESTS ====================
+
+    @Test
+    public void testIdentifyLanguageOfSentences() {
+        LanguageIdentifier identifier = LanguageIdentifier.getDefault();
+
+        Assert.assertEquals("en", identifier.identify("Subscribe to our newsletter and get the latest offers"));
+        Assert.assertEquals("de", identifier.identify("Melden Sie sich für unseren Newsletter an und erhalten Sie"));
+        Assert.assertEquals("nl", identifier.identify("Schrijf je in voor onze nieuwsbrief en ontvang de aanbiedingen"));
+        Assert.assertTrue("Close Cyrillic languages stay under the reporting margin",
+                identifier.score("Подпишитесь на нашу рассылку и получайте предложения", "ru")
+                        .margin < LanguageIdentifier.DEFAULT_MIN_MARGIN);
+        Assert.assertNull("Short text is not identified", identifier.identify("Home"));
+    }
+
+    @Test
+    public void testFindEnglishNodeOnFrenchPage() {
+        PageSnapshot snapshot = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>div:1", "Inscrivez-vous à notre newsletter pour recevoir nos offres"),
+                new PageSnapshot.TextNode("body>div:2", "This comfortable shirt is made from soft organic cotton"),
+                new PageSnapshot.TextNode("body>div:3", "Panier")));
+
+        List<LanguageIdentifier.Mismatch> mismatches = LanguageIdentifier.getDefault().findMismatches(snapshot,
+                "fr");
+
+        Assert.assertEquals(1, mismatches.size());
+        Assert.assertEquals("body>div:2", mismatches.get(0).node.path);
+        Assert.assertEquals("en", mismatches.get(0).result.detected);
+        Assert.assertTrue(mismatches.get(0).result.margin >= LanguageIdentifier.DEFAULT_MIN_MARGIN);
+    }
+
+    @Test
+    public void testRegionalVariantsShareProfile() {
+        LanguageIdentifier identifier = LanguageIdentifier.getDefault();
+
+        Assert.assertEquals("es", identifier.profileOf("mx"));
+        Assert.assertEquals("fr", identifier.profileOf("qc"));
+        Assert.assertEquals("pt", identifier.profileOf("br"));
+        Assert.assertTrue("Spanish text matches the Mexican config",
+                identifier.score("Suscríbete a nuestro boletín y recibe las últimas ofertas en tu correo", "mx")
+                        .matchesExpected());
+    }
+
+    @Test
+    public void testSerbianLatinPageIsNotWrongLanguage() {
+        LanguageIdentifier identifier = LanguageIdentifier.getDefault();
+        PageSnapshot snapshot = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>div:1",
+                        "Dodaj u korpu, proizvod je dostupan odmah i besplatna dostava za sve porud\u017ebine"),
+                new PageSnapshot.TextNode("body>div:2",
+                        "Prijavite se na na\u0161 bilten i dobijte najnovije ponude i popuste")));
+
+        Assert.assertEquals("sr", identifier.profileOf("sr"));
+        Assert.assertTrue(identifier.findMismatches(snapshot, "sr").isEmpty());
+        Assert.assertTrue(identifier.score(snapshot.getNodes().get(0).text, "sr")
+                .margin < LanguageIdentifier.DEFAULT_MIN_MARGIN);
+    }
+
+    // ==================== ENGLISH CORPUS TESTS ====================
+
+    @Test
+    public void testEnglishCorpusNormalizesSegments() {
+        EnglishCorpus corpus = new EnglishCorpus();
+        Assert.assertTrue(corpus.add("Proceed to checkout"));
+        Assert.assertFalse("Duplicate segment", corpus.add("  proceed   TO checkout  "));
+
+        Assert.assertTrue("Case, spacing and edge punctuation are ignored",
+                corpus.contains("» Proceed\u00A0to checkout:"));
+        Assert.assertFalse(corpus.contains("Proceed to checkout now"));
+        Assert.assertFalse("Segments with too few letters are skipped", corpus.add("12,99 $"));
+        Assert.assertEquals(1, corpus.size());
+    }
+
+    @Test
+    public void testEnglishCorpusFindsUntranslatedNodes() {
+        EnglishCorpus corpus = new EnglishCorpus();
+        corpus.harvest(new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>footer:1>a:1", "Our company"),
+                new PageSnapshot.TextNode("body>footer:1>a:2", "Legal Notice"))));
+
+        List<PageSnapshot.TextNode> matches = corpus.findMatches(new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>footer:1>a:1", "Notre société"),
+                new PageSnapshot.TextNode("body>footer:1>a:2", "Legal notice"))));
+
+        Assert.assertEquals(1, matches.size());
+        Assert.assertEquals("body>footer:1>a:2", matches.get(0).path);
+    }
+
+    @Test
+    public void testEnglishCorpusRoundTrip() throws Exception {
+        java.io.File file = java.io.File.createTempFile("english_corpus", ".bin");
+        file.deleteOnExit();
+
+        EnglishCorpus corpus = new EnglishCorpus();
+        for (int i = 0; i < 5000; i++)
+            corpus.add("Product description number " + i);
+        corpus.save(file.getAbsolutePath(), "test");
+
+        EnglishCorpus loaded = EnglishCorpus.load(file.getAbsolutePath());
+        Assert.assertEquals(5000, loaded.size());
+        Assert.assertEquals("test", loaded.getTag());
+        Assert.assertTrue(loaded.contains("product description number 4999"));
+        Assert.assertFalse(loaded.contains("Product description number 5000"));
+    }
+
+    // ==================== DOM PATH JOIN TESTS ====================
+
+    @Test
+    public void testDomPathJoinFindsIdenticalNodesBySection() {
+        PageSnapshot english = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>header#header>a:1", "header", "Sign in"),
+                new PageSnapshot.TextNode("body>section#wrapper>h1:1", "wrapper", "Popular Products"),
+                new PageSnapshot.TextNode("body>section#wrapper>span.price:1", "wrapper", "$29.00"),
+                new PageSnapshot.TextNode("body>footer#footer>a:1", "footer", "Legal Notice")));
+        PageSnapshot french = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>header#header>a:1", "header", "Connexion"),
+                new PageSnapshot.TextNode("body>section#wrapper>h1:1", "wrapper", "Popular products"),
+                new PageSnapshot.TextNode("body>section#wrapper>span.price:1", "wrapper", "$29.00"),
+                new PageSnapshot.TextNode("body>footer#footer>a:1", "footer", "Legal Notice"),
+                new PageSnapshot.TextNode("body>footer#footer>a:2", "footer", "Legal Notice")));
+
+        DomPathJoin join = new DomPathJoin(english);
+        Map<String, List<PageSnapshot.TextNode>> bySection = join.findIdenticalBySection(french);
+
+        Assert.assertEquals(java.util.Arrays.asList("wrapper", "footer"), new java.util.ArrayList<>(bySection.keySet()));
+        Assert.assertEquals("Prices are not untranslated text", 1, bySection.get("wrapper").size());
+        Assert.assertEquals("Only the node at the same path", 1, bySection.get("footer").size());
+        Assert.assertEquals(0.8, join.coverage(french), 1e-9);
+    }
+
+    @Test
+    public void testDomPathJoinReusesBuildSideAcrossLanguages() {
+        PageSnapshot english = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>nav:1>a:1", "Clothes"),
+                new PageSnapshot.TextNode("body>nav:1>a:2", "Accessories")));
+        DomPathJoin join = new DomPathJoin(english);
+
+        Assert.assertEquals(1, join.findIdentical(new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>nav:1>a:1", "Vêtements"),
+                new PageSnapshot.TextNode("body>nav:1>a:2", "Accessories")))).size());
+        Assert.assertEquals(0, join.findIdentical(new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>nav:1>a:1", "Kleidung"),
+                new PageSnapshot.TextNode("body>nav:1>a:2", "Zubehör")))).size());
+    }
+
+    // ==================== GOLDEN BASELINE TESTS ====================
+
+    @Test
+    public void testGoldenBaselineHashComparison() throws Exception {
+        java.io.File file = java.io.File.createTempFile("golden_baseline", ".bin");
+        file.deleteOnExit();
+
+        GoldenBaseline blessed = new GoldenBaseline();
+        blessed.bless("fr", "Homepage", "FOOTER", "Notre société\nMentions légales\n\nContactez-nous");
+        blessed.bless("fr", "Homepage", "HEADER", "Connexion\nPanier (0)");
+        blessed.save(file.getAbsolutePath(), "nightly");
+
+        GoldenBaseline baseline = GoldenBaseline.open(file.getAbsolutePath());
+        Assert.assertEquals(2, baseline.size());
+        Assert.assertEquals("Whitespace differences are not changes", GoldenBaseline.Status.UNCHANGED,
+                baseline.compare("fr", "Homepage", "HEADER", "  Connexion \n Panier   (0)\n").status);
+        Assert.assertEquals(GoldenBaseline.Status.MISSING,
+                baseline.compare("de", "Homepage", "HEADER", "Anmelden").status);
+    }
+
+    @Test
+    public void testGoldenBaselineDiffsChangedSection() throws Exception {
+        java.io.File file = java.io.File.createTempFile("golden_baseline", ".bin");
+        file.deleteOnExit();
+
+        GoldenBaseline blessed = new GoldenBaseline();
+        blessed.bless("fr", "Homepage", "FOOTER", "Notre société\nMentions légales\nContactez-nous");
+        blessed.save(file.getAbsolutePath(), "nightly");
+
+        GoldenBaseline.Result result = GoldenBaseline.open(file.getAbsolutePath()).compare("fr", "Homepage",
+                "FOOTER", "Notre société\nLegal Notice\nContactez-nous");
+
+        Assert.assertEquals(GoldenBaseline.Status.CHANGED, result.status);
+        Assert.assertEquals(java.util.Collections.singletonList("Legal Notice"), result.added);
+        Assert.assertEquals(java.util.Collections.singletonList("Mentions légales"), result.removed);
+    }
+
+    @Test
+    public void testGoldenBaselineReblessKeepsOtherSections() throws Exception {
+        java.io.File file = java.io.File.createTempFile("golden_baseline", ".bin");
+        file.deleteOnExit();
+
+        GoldenBaseline first = new GoldenBaseline();
+        first.bless("fr", "Homepage", "HEADER", "Connexion");
+        first.bless("de", "Homepage", "HEADER", "Anmelden");
+        first.save(file.getAbsolutePath(), "v1");
+
+        GoldenBaseline second = GoldenBaseline.open(file.getAbsolutePath());
+        second.bless("fr", "Homepage", "HEADER", "Se connecter");
+        second.save(file.getAbsolutePath(), "v2");
+
+        GoldenBaseline reopened = GoldenBaseline.open(file.getAbsolutePath());
+        Assert.assertEquals("v2", reopened.getTag());
+        Assert.assertEquals(GoldenBaseline.Status.UNCHANGED,
+                reopened.compare("fr", "Homepage", "HEADER", "Se connecter").status);
+        Assert.assertEquals(GoldenBaseline.Status.UNCHANGED,
+                reopened.compare("de", "Homepage", "HEADER", "Anmelden").status);
+    }
+
+    @Test
+    public void testGoldenBaselineCompareAfterSaveUsesNewBaseline() throws Exception {
+        java.io.File file = java.io.File.createTempFile("golden_baseline", ".bin");
+        file.deleteOnExit();
+        GoldenBaseline first = new GoldenBaseline();
+        first.bless("fr", "Homepage", "HEADER", "Connexion");
+        first.bless("fr", "Homepage", "FOOTER", "Mentions l\u00e9gales");
+        first.save(file.getAbsolutePath(), "v1");
+
+        GoldenBaseline baseline = GoldenBaseline.open(file.getAbsolutePath());
+        baseline.bless("fr", "Homepage", "HEADER", "Se connecter");
+        baseline.save(file.getAbsolutePath(), "v2");
+
+        Assert.assertEquals("Same session sees the blessed text", GoldenBaseline.Status.UNCHANGED,
+                baseline.compare("fr", "Homepage", "HEADER", "Se connecter").status);
+        GoldenBaseline.Result result = baseline.compare("fr", "Homepage", "FOOTER", "Legal Notice");
+        Assert.assertEquals(GoldenBaseline.Status.CHANGED, result.status);
+        Assert.assertEquals(java.util.Collections.singletonList("Mentions l\u00e9gales"), result.removed);
+        Assert.assertEquals(2, baseline.size());
+    }
+
+    // ==================== TRANSLATION CATALOG TESTS ====================
+
+    @Test
+    public void testTranslationCatalogReadsXliff12And20() throws Exception {
+        java.nio.file.Path v12 = java.nio.file.Files.createTempFile("catalog", ".xlf");
+        java.nio.file.Path v20 = java.nio.file.Files.createTempFile("catalog", ".xliff");
+        v12.toFile().deleteOnExit();
+        v20.toFile().deleteOnExit();
+        java.nio.file.Files.write(v12, ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<xliff version=\"1.2\"><file source-language=\"en\" target-language=\"fr\"><body>"
+                + "<trans-unit id=\"1\"><source>Add to cart</source><target>Ajouter au panier</target></trans-unit>"
+                + "<trans-unit id=\"2\"><source>Sign <g id=\"b\">in</g></source><target>Se <g id=\"b\">connecter</g></target></trans-unit>"
+                + "<trans-unit id=\"3\"><source>Untranslated</source></trans-unit>"
+                + "</body></file></xliff>").getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        java.nio.file.Files.write(v20, ("<xliff xmlns=\"urn:oasis:names:tc:xliff:document:2.0\" version=\"2.0\""
+                + " srcLang=\"en\" trgLang=\"de\"><file id=\"f\"><unit id=\"u\"><segment>"
+                + "<source>Add to cart</source><target>In den Warenkorb</target>"
+                + "</segment></unit></file></xliff>").getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        TranslationCatalog fr = TranslationCatalog.load(v12, null);
+        Assert.assertEquals("fr", fr.getLanguage());
+        Assert.assertEquals(2, fr.size());
+        Assert.assertEquals("Ajouter au panier", fr.translate("  Add to\ncart "));
+        Assert.assertEquals("Inline elements keep their text", "Se connecter", fr.translate("Sign in"));
+        Assert.assertNull(fr.translate("Untranslated"));
+
+        TranslationCatalog de = TranslationCatalog.load(v20, null);
+        Assert.assertEquals("de", de.getLanguage());
+        Assert.assertEquals("In den Warenkorb", de.translate("Add to cart"));
+    }
+
+    @Test
+    public void testTranslationCatalogLocatePrefersNewerSource() throws Exception {
+        java.nio.file.Path dir = java.nio.file.Files.createTempDirectory("catalogs");
+        java.nio.file.Path csv = dir.resolve("fr.csv");
+        java.nio.file.Path bin = dir.resolve("fr.bin");
+        java.nio.file.Path tsv = dir.resolve("de.tsv");
+        java.nio.file.Files.write(csv, "source,target\nCart,Panier\n".getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        TranslationCatalog.load(csv, "fr").save(bin);
+        java.nio.file.attribute.FileTime old = java.nio.file.attribute.FileTime.fromMillis(1_000_000_000L);
+        java.nio.file.attribute.FileTime later = java.nio.file.attribute.FileTime.fromMillis(2_000_000_000L);
+        try {
+            java.nio.file.Files.setLastModifiedTime(csv, old);
+            java.nio.file.Files.setLastModifiedTime(bin, later);
+            Assert.assertEquals(bin, TranslationCatalog.locate(dir, "fr"));
+
+            // Catalog xuat lai: cache cu khong dung nua
+            java.nio.file.Files.setLastModifiedTime(bin, old);
+            java.nio.file.Files.setLastModifiedTime(csv, later);
+            Assert.assertEquals(csv, TranslationCatalog.locate(dir, "fr"));
+            Assert.assertNull(TranslationCatalog.locate(dir, "de"));
+
+            java.nio.file.Files.write(tsv, "Cart\tWarenkorb\n".getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            Assert.assertEquals(tsv, TranslationCatalog.locate(dir, "de"));
+            Assert.assertEquals(java.util.Arrays.asList("de", "fr"),
+                    new java.util.ArrayList<>(TranslationCatalog.locateAll(dir).keySet()));
+        } finally {
+            java.nio.file.Files.deleteIfExists(tsv);
+            java.nio.file.Files.delete(csv);
+            java.nio.file.Files.delete(bin);
+            java.nio.file.Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testTranslationCatalogIgnoresAltTrans() throws Exception {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("catalog", ".xlf");
+        file.toFile().deleteOnExit();
+        java.nio.file.Files.write(file, ("<xliff version=\"1.2\"><file source-language=\"en\" target-language=\"fr\"><body>"
+                + "<trans-unit id=\"1\"><source>Add to cart</source><target>Ajouter au panier</target>"
+                + "<alt-trans match-quality=\"80\"><source>Add to wishlist</source><target>Ajouter aux favoris</target></alt-trans>"
+                + "</trans-unit>"
+                + "<trans-unit id=\"2\"><source>Checkout</source>"
+                + "<alt-trans><source>Checkout</source><target>Commander</target></alt-trans></trans-unit>"
+                + "</body></file></xliff>").getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        TranslationCatalog fr = TranslationCatalog.load(file, null);
+
+        Assert.assertEquals(1, fr.size());
+        Assert.assertEquals("Ajouter au panier", fr.translate("Add to cart"));
+        Assert.assertNull("TM suggestion is not a translation", fr.translate("Add to wishlist"));
+        Assert.assertNull(fr.translate("Checkout"));
+    }
+
+    @Test
+    public void testTranslationCatalogCsvAndBinaryRoundTrip() throws Exception {
+        java.nio.file.Path csv = java.nio.file.Files.createTempFile("catalog", ".csv");
+        java.nio.file.Path bin = java.nio.file.Files.createTempFile("catalog", ".bin");
+        csv.toFile().deleteOnExit();
+        bin.toFile().deleteOnExit();
+        java.nio.file.Files.write(csv, ("id;source;target\n"
+                + "1;Add to cart;\"Ajouter au panier\"\n"
+                + "2;\"Say \"\"hi\"\"; now\";\"Dites \"\"salut\"\"\nmaintenant\"\n")
+                .getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        TranslationCatalog catalog = TranslationCatalog.load(csv, "fr");
+        Assert.assertEquals(2, catalog.size());
+        Assert.assertEquals("Dites \"salut\" maintenant", catalog.translate("Say \"hi\"; now"));
+
+        catalog.save(bin);
+        TranslationCatalog reopened = TranslationCatalog.open(bin);
+        Assert.assertEquals("fr", reopened.getLanguage());
+        Assert.assertEquals(2, reopened.size());
+        Assert.assertEquals("Ajouter au panier", reopened.translate("Add to cart"));
+        Assert.assertTrue(reopened.add("Checkout", "Commander"));
+        Assert.assertEquals("Commander", reopened.translate("Checkout"));
+    }
+
+    @Test
+    public void testTranslationCatalogTsvSplitsOnTabOnly() throws Exception {
+        java.nio.file.Path tsv = java.nio.file.Files.createTempFile("catalog", ".tsv");
+        tsv.toFile().deleteOnExit();
+        java.nio.file.Files.write(tsv, "Hello, world\tBonjour, le monde\nCart\tPanier\n"
+                .getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        TranslationCatalog catalog = TranslationCatalog.load(tsv, "fr");
+        Assert.assertEquals(2, catalog.size());
+        Assert.assertEquals("Bonjour, le monde", catalog.translate("Hello, world"));
+        Assert.assertEquals("Panier", catalog.translate("Cart"));
+    }
+
+    @Test
+    public void testTranslationCatalogFreezeKeepsEntries() {
+        TranslationCatalog catalog = new TranslationCatalog("fr");
+        catalog.add("Cart", "Panier");
+        TranslationCatalog.Entries frozen = catalog.freeze();
+        for (int i = 0; i < 1000; i++)
+            catalog.add("Item " + i, "Article " + i);
+
+        Assert.assertEquals(1, frozen.size());
+        Assert.assertEquals("Cart", frozen.source(0));
+        Assert.assertEquals("Panier", frozen.target(0));
+        Assert.assertEquals(1001, catalog.freeze().size());
+        Assert.assertEquals("Article 999", catalog.freeze().target(1000));
+    }
+
+    @Test
+    public void testTranslationCatalogMatchesPage() {
+        TranslationCatalog catalog = new TranslationCatalog("fr");
+        catalog.add("Add to cart", "Ajouter au panier");
+        catalog.add("Sign in", "Connexion");
+        catalog.add("Contact us", "Contactez-nous");
+
+        PageSnapshot english = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("header/a", "Sign in"),
+                new PageSnapshot.TextNode("main/button", "Add to cart"),
+                new PageSnapshot.TextNode("footer/a", "Contact us")));
+        PageSnapshot french = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("header/a", "Connexion"),
+                new PageSnapshot.TextNode("main/button", "Add to cart"),
+                new PageSnapshot.TextNode("footer/a", "Nous contacter")));
+
+        List<TranslationCatalog.Untranslated> untranslated = catalog.findUntranslated(french);
+        Assert.assertEquals(1, untranslated.size());
+        Assert.assertEquals("Ajouter au panier", untranslated.get(0).expected);
+
+        TranslationCatalog.PageCheck check = catalog.verify(english, french);
+        Assert.assertEquals(java.util.Collections.singletonList("Connexion"), check.found);
+        Assert.assertEquals(2, check.missing.size());
+        Assert.assertEquals("Contactez-nous", check.missing.get("Contact us"));
+    }
+
+    // ==================== CATALOG LINTER TESTS ====================
+
+    @Test
+    public void testCatalogLinterCsvQuotesLineBreaks() {
+        Assert.assertEquals("Panier", CatalogLinter.csv("Panier"));
+        Assert.assertEquals("\"Ligne 1\r\nLigne 2\"", CatalogLinter.csv("Ligne 1\r\nLigne 2"));
+        Assert.assertEquals("\"Fin\r\"", CatalogLinter.csv("Fin\r"));
+        Assert.assertEquals("\"a \"\"b\"\", c\"", CatalogLinter.csv("a \"b\", c"));
+    }
+
+    @Test
+    public void testCatalogLinterEntryRules() {
+        LanguageConfig fr = LanguageConfig.get("fr");
+
+        Assert.assertTrue(CatalogLinter.lintEntry("Add to cart", "Ajouter au panier", fr).isEmpty());
+        CatalogLinter.Finding identical = CatalogLinter.lintEntry("Contact us", "Contact us", fr).get(0);
+        Assert.assertEquals(CatalogLinter.Rule.UNTRANSLATED, identical.rule);
+        Assert.assertEquals("Kept on purpose is legitimate in TranslationCatalog", CatalogLinter.Severity.WARNING,
+                identical.severity);
+        Assert.assertEquals(CatalogLinter.Rule.ENGLISH_TEXT,
+                CatalogLinter.lintEntry("Sign in to continue", "Sign in pour continuer", fr).get(0).rule);
+
+        List<CatalogLinter.Finding> date = CatalogLinter.lintEntry("Shipped on 12/31/2024",
+                "Expedie le 12/31/2024", fr);
+        Assert.assertEquals(1, date.size());
+        Assert.assertEquals(CatalogLinter.Rule.DATE, date.get(0).rule);
+    }
+
+    @Test
+    public void testCatalogLinterLengthRules() {
+        LanguageConfig de = LanguageConfig.get("de");
+
+        List<CatalogLinter.Finding> findings = CatalogLinter.lintEntry("Terms of service apply",
+                "Es gelten die allgemeinen Geschaeftsbedingungen sowie die besonderen Bedingungen "
+                        + "fuer Lieferungen und Leistungen",
+                de);
+        Assert.assertTrue(findings.stream().anyMatch(f -> f.rule == CatalogLinter.Rule.TEXT_LENGTH));
+        Assert.assertTrue(findings.stream().anyMatch(f -> f.rule == CatalogLinter.Rule.EXPANSION));
+    }
+
+    @Test
+    public void testCatalogLinterParallelMatchesSequential() {
+        TranslationCatalog fr = new TranslationCatalog("fr");
+        java.util.List<CatalogLinter.Finding> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            String source = "Product " + i + " description";
+            String target = i % 3 == 0 ? source : "Description du produit " + i;
+            fr.add(source, target);
+            expected.addAll(CatalogLinter.lintEntry(source, target, LanguageConfig.get("fr")));
+        }
+        java.util.Map<String, TranslationCatalog> catalogs = new java.util.HashMap<>();
+        catalogs.put("fr", fr);
+        catalogs.put("xx", new TranslationCatalog("xx"));
+
+        java.util.Queue<CatalogLinter.Finding> streamed = new java.util.concurrent.ConcurrentLinkedQueue<>();
+        CatalogLinter.Summary summary = new CatalogLinter().lint(catalogs, streamed::add);
+
+        Assert.assertEquals(20000, summary.entries);
+        Assert.assertEquals(expected.size(), streamed.size());
+        Assert.assertEquals(expected.size(), summary.findings());
+        Assert.assertEquals(java.util.Collections.singletonList("xx"), summary.skippedLanguages);
+    }
+
+    // ==================== FONT METRICS PREDICTOR TESTS ====================
+
+    private static FontMetricsPredictor sansSerif16() {
+        return new FontMetricsPredictor(new java.awt.Font(java.awt.Font.SANS_SERIF, java.awt.Font.PLAIN, 16));
+    }
+
+    @Test
+    public void testFontMetricsWidthAndWrapping() {
+        FontMetricsPredictor predictor = sansSerif16();
+
+        Assert.assertTrue("Wide glyphs are wider", predictor.width("WWWWW") > predictor.width("iiiii") * 2);
+        Assert.assertEquals(predictor.width("Add") + predictor.width(" to cart"), predictor.width("Add to cart"),
+                0.01);
+        float word = predictor.width("Warenkorb");
+        Assert.assertEquals(1, predictor.lines("In den Warenkorb", word * 3));
+        Assert.assertEquals(2, predictor.lines("In den Warenkorb", word * 1.2f));
+        Assert.assertEquals("A long word still takes one line", 1, predictor.lines("Warenkorb", word / 2));
+    }
+
+    @Test
+    public void testFontMetricsFlagsUnbreakableWordsAndBreaksCjk() {
+        FontMetricsPredictor predictor = sansSerif16();
+        float word = predictor.width("Warenkorb");
+        FontMetricsPredictor.Budget title = new FontMetricsPredictor.Budget("product-title", word * 0.8f, 3);
+
+        FontMetricsPredictor.Prediction german = predictor.predict("Warenkorb", title);
+        Assert.assertEquals(1, german.lines);
+        Assert.assertTrue("Word wider than the box overflows even within the line budget", german.overflows());
+        Assert.assertFalse(predictor.predict("In den Korb", title).overflows());
+
+        String japanese = "\u30b7\u30e7\u30c3\u30d4\u30f3\u30b0\u30ab\u30fc\u30c8\u306b\u8ffd\u52a0";
+        float glyph = predictor.widestWord(japanese);
+        Assert.assertTrue("Each kana/kanji is its own break unit", glyph < predictor.width(japanese) / 5);
+        int lines = predictor.lines(japanese, predictor.width(japanese) / 3 + glyph);
+        Assert.assertTrue("No spaces but still wraps: " + lines, lines >= 3);
+        Assert.assertTrue(predictor.predict(japanese,
+                new FontMetricsPredictor.Budget("product-title", predictor.width(japanese) / 3 + glyph, 2))
+                .overflows());
+    }
+
+    @Test
+    public void testFontMetricsFindsCatalogOverflows() {
+        FontMetricsPredictor predictor = sansSerif16();
+        FontMetricsPredictor.Budget button = new FontMetricsPredictor.Budget("button",
+                predictor.width("Add to cart") * 1.3f, 1);
+
+        TranslationCatalog de = new TranslationCatalog("de");
+        de.add("Add to cart", "In den Warenkorb legen");
+        de.add("Sign in", "Anmelden");
+        de.add("Proceed to checkout and pay", "Zur Kasse gehen");
+
+        List<FontMetricsPredictor.Prediction> overflows = predictor.findOverflows(de,
+                java.util.Collections.emptyMap(), java.util.Collections.emptyMap(), button);
+        Assert.assertEquals("Source already wider than budget is skipped", 1, overflows.size());
+        Assert.assertEquals("In den Warenkorb legen", overflows.get(0).text);
+        Assert.assertTrue(overflows.get(0).ratio() > 1);
+    }
+
+    @Test
+    public void testFontMetricsBudgetsFromProperties() throws Exception {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("budgets", ".properties");
+        file.toFile().deleteOnExit();
+        java.nio.file.Files.write(file, "button = 180\nproduct-title = 250, 2\n".getBytes());
+
+        Map<String, FontMetricsPredictor.Budget> budgets = FontMetricsPredictor.loadBudgets(file);
+        Assert.assertEquals(180f, budgets.get("button").maxWidth, 0);
+        Assert.assertEquals(1, budgets.get("button").maxLines);
+        Assert.assertEquals(2, budgets.get("product-title").maxLines);
+    }
+
+    @Test
+    public void testFontMetricsBudgetsApplyByComponent() {
+        FontMetricsPredictor predictor = sansSerif16();
+        Map<String, FontMetricsPredictor.Budget> budgets = new java.util.HashMap<>();
+        budgets.put("button", new FontMetricsPredictor.Budget("button", predictor.width("Add to cart") * 1.1f, 1));
+        budgets.put("nav", new FontMetricsPredictor.Budget("nav", predictor.width("In den Warenkorb legen") * 2, 1));
+        Map<String, String> componentOf = new java.util.HashMap<>();
+        componentOf.put("Add to cart", "button");
+        componentOf.put("Sign in", "nav");
+
+        TranslationCatalog de = new TranslationCatalog("de");
+        de.add("Add to cart", "In den Warenkorb legen");
+        de.add("Sign in", "Anmelden bei Ihrem Kundenkonto");
+        de.add("Store information", "Informationen zum Geschaeft und zu den Oeffnungszeiten");
+
+        List<FontMetricsPredictor.Prediction> overflows = predictor.findOverflows(de, componentOf, budgets, null);
+        Assert.assertEquals("Unmapped source without fallback is skipped", 1, overflows.size());
+        Assert.assertEquals("button", overflows.get(0).budget.component);
+        Assert.assertEquals("Add to cart", overflows.get(0).source);
+    }
+
+    // ==================== OVERFLOW GALLERY TESTS ====================
+
+    @Test
+    public void testOverflowCriteria() {
+        Assert.assertNull("Short text is not checked", TextChecker.toOverflowResult("button", "OK", 10, 50));
+        Assert.assertFalse("Within 5px tolerance",
+                TextChecker.toOverflowResult("button", "Ajouter", 100, 104).isOverflowing);
+        TextChecker.TextOverflowResult result = TextChecker.toOverflowResult("button", "In den Warenkorb", 100, 150);
+        Assert.assertTrue(result.isOverflowing);
+        Assert.assertEquals(1.5, result.overflowRatio, 0.001);
+    }
+
+    @Test
+    public void testOverflowGalleryCollectsBatch() {
+        List<String> texts = java.util.Arrays.asList("Ajouter au panier", "OK", "In den Warenkorb legen");
+        List<Long> widths = java.util.Arrays.asList(180L, 170L, 180L, 20L, 180L, 240L);
+        List<TextChecker.TextOverflowResult> results = new java.util.ArrayList<>();
+
+        int overflowing = OverflowGallery.collect("button", texts, widths, results::add);
+
+        Assert.assertEquals(1, overflowing);
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("button", results.get(1).elementSelector);
+        Assert.assertEquals("In den Warenkorb legen", results.get(1).text);
+        Assert.assertEquals(0, OverflowGallery.collect("button", texts, null, results::add));
+    }
+
+    @Test
+    public void testOverflowGalleryMeasuresTargetsOnlyInTheirComponent() throws Exception {
+        // Trinh duyet gia: button rong 100px, nav 300px; moi ky tu 8px
+        Map<String, List<String>> measured = new java.util.HashMap<>();
+        org.openqa.selenium.WebDriver driver = (org.openqa.selenium.WebDriver) java.lang.reflect.Proxy
+                .newProxyInstance(getClass().getClassLoader(), new Class<?>[] {
+                        org.openqa.selenium.WebDriver.class, org.openqa.selenium.JavascriptExecutor.class },
+                        (proxy, method, args) -> {
+                            if (!method.getName().equals("executeScript"))
+                                return null;
+                            Object[] params = (Object[]) args[1];
+                            if (params.length == 1) {
+                                Map<String, Long> widths = new java.util.LinkedHashMap<>();
+                                widths.put("button", 100L);
+                                widths.put("nav", 300L);
+                                return widths;
+                            }
+                            String component = (String) params[0];
+                            List<Long> out = new java.util.ArrayList<>();
+                            for (Object text : (List<?>) params[1]) {
+                                measured.computeIfAbsent(component, c -> new java.util.ArrayList<>())
+                                        .add((String) text);
+                                out.add(component.equals("button") ? 100L : 300L);
+                                out.add(8L * ((String) text).length());
+                            }
+                            return out;
+                        });
+        TranslationCatalog catalog = new TranslationCatalog("de");
+        catalog.add("Add to cart", "In den Warenkorb");
+        catalog.add("Home", "Startseite");
+        catalog.add("Choose your size and color, then add the product to your cart for checkout.",
+                "Waehlen Sie Groesse und Farbe und legen Sie das Produkt in den Warenkorb.");
+        catalog.add("Free shipping worldwide", "Kostenloser Versand weltweit");
+        Map<String, String> componentOf = new java.util.HashMap<>();
+        componentOf.put("Home", "nav");
+
+        OverflowGallery gallery = new OverflowGallery(driver);
+        gallery.install(OverflowGallery.DEFAULT_COMPONENTS);
+        List<TextChecker.TextOverflowResult> results = new java.util.ArrayList<>();
+        int overflowing = gallery.measureCatalog(catalog, componentOf, results::add);
+
+        // Doan van dai khong bao gio duoc do; "Home" chi o nav; chuoi goc qua rong
+        // cho nut (184px) chi do ban dich o nav
+        String paragraph = catalog.translate("Choose your size and color, then add the product to your cart for checkout.");
+        for (List<String> texts : measured.values())
+            Assert.assertFalse(texts.contains(paragraph));
+        Assert.assertFalse(measured.get("button").contains("Startseite"));
+        Assert.assertFalse(measured.get("button").contains("Kostenloser Versand weltweit"));
+        Assert.assertTrue(measured.get("nav").contains("Startseite"));
+        Assert.assertTrue(measured.get("nav").contains("Kostenloser Versand weltweit"));
+        Assert.assertEquals(1, overflowing); // "In den Warenkorb" (128px) trong nut 100px
+        Assert.assertEquals("button", results.stream().filter(r -> r.isOverflowing).findFirst().get().elementSelector);
+    }
+
+    // ==================== PSEUDO LOCALIZER TESTS ====================
+
+    @Test
+    public void testPseudoLocalizationExpandsToPredictedLength() {
+        String english = "Proceed to checkout";
+        String german = PseudoLocalizer.pseudo(english, "de");
+
+        Assert.assertTrue(german.startsWith("["));
+        Assert.assertTrue(german.endsWith("]"));
+        Assert.assertEquals(TextChecker.predictTranslatedLength(english, "de") + 2, german.length());
+        Assert.assertFalse("Letters are accented", german.contains("checkout"));
+        Assert.assertEquals("CJK is never shortened", english.length() + 2,
+                PseudoLocalizer.pseudo(english, "ja").length());
+    }
+
+    @Test
+    public void testPseudoLocalizationKeepsNonLetters() {
+        Assert.assertEquals("  19,99 \u20AC ", PseudoLocalizer.pseudo("  19,99 \u20AC ", "de"));
+        String pseudo = PseudoLocalizer.pseudo("\n  Size 42 ", "fr");
+        Assert.assertTrue(pseudo.startsWith("\n  ["));
+        Assert.assertTrue(pseudo.endsWith("] "));
+        Assert.assertTrue(pseudo.contains(" 42"));
+        Assert.assertEquals(PseudoLocalizer.accent("Size"), pseudo.substring(4, 8));
+    }
+
+    @Test
+    public void testPseudoLocalizationProfilesGroupLanguages() {
+        Map<String, List<String>> profiles = PseudoLocalizer.profiles(
+                java.util.Arrays.asList("fr", "it", "de", "ar", "he", "ja", "zh"));
+
+        Assert.assertEquals(4, profiles.size());
+        Assert.assertEquals(java.util.Arrays.asList("fr", "it"), profiles.get("fr"));
+        Assert.assertEquals(java.util.Arrays.asList("ar", "he"), profiles.get("ar"));
+        Assert.assertEquals(java.util.Arrays.asList("ja", "zh"), profiles.get("ja"));
+    }
+
+    @Test
+    public void testPseudoLocalizationProfilesBucketLearnedFactors() {
+        ExpansionModel model = new ExpansionModel();
+        for (int i = 0; i < ExpansionModel.MIN_SAMPLES; i++) {
+            model.observe("fr", "main", "a".repeat(100), "b".repeat(142));
+            model.observe("it", "main", "a".repeat(100), "c".repeat(143));
+            model.observe("es", "main", "a".repeat(100), "d".repeat(120));
+        }
+        try {
+            TextChecker.useExpansionModel(model);
+            Map<String, List<String>> profiles = PseudoLocalizer.profiles(java.util.Arrays.asList("fr", "it", "es"));
+
+            Assert.assertEquals("Measured medians within one step share a page", 2, profiles.size());
+            Assert.assertEquals("Longest factor represents the group", java.util.Arrays.asList("fr", "it"),
+                    profiles.get("it"));
+            Assert.assertEquals(java.util.Arrays.asList("es"), profiles.get("es"));
+        } finally {
+            TextChecker.useExpansionModel(null);
+        }
+    }
+
+    // ==================== EXPANSION MODEL TESTS ====================
+
+    @Test
+    public void testExpansionModelQuantiles() {
+        ExpansionModel model = new ExpansionModel();
+        String english = "abcdefghij"; // 10 ky tu
+        for (int i = 0; i < 100; i++)
+            model.observe("de", "header", english, "x".repeat(10 + i / 10)); // Ty le 1.0 .. 1.9, moi muc 10 lan
+        for (int i = 0; i < 100; i++)
+            model.observe("fi", "footer", "Contact us", "Ota yhteytta meihin".substring(0, 10 + i % 10));
+
+        Assert.assertEquals(200, model.count("de", "header") + model.count("fi", "*"));
+        Assert.assertEquals(1.4, model.quantile("de", "header", 0.5), 0.03);
+        Assert.assertEquals(1.9, model.quantile("de", "*", 0.95), 0.04);
+        Assert.assertTrue("Too few samples", Double.isNaN(model.quantile("pl", "*", 0.5)));
+        Assert.assertEquals("Falls back to the old constant", 1.3, model.thresholdMultiplier("pl", "header"), 0);
+        Assert.assertEquals(1.0, model.thresholdMultiplier("fr", "*"), 0);
+    }
+
+    @Test
+    public void testExpansionModelLearnsFromPagePairs() {
+        PageSnapshot english = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("a:1", "header", "Sign in"),
+                new PageSnapshot.TextNode("a:2", "footer", "Contact us"),
+                new PageSnapshot.TextNode("a:3", "footer", "Legal Notice"),
+                new PageSnapshot.TextNode("a:4", "footer", "OK")));
+        PageSnapshot german = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("a:1", "header", "Anmelden"),
+                new PageSnapshot.TextNode("a:2", "footer", "Kontaktieren Sie uns"),
+                new PageSnapshot.TextNode("a:3", "footer", "Legal Notice"),
+                new PageSnapshot.TextNode("a:4", "footer", "OK")));
+
+        ExpansionModel model = new ExpansionModel();
+        Assert.assertEquals("Untranslated and too short pairs are skipped", 2, model.observe("de", english, german));
+        Assert.assertEquals(1, model.count("de", "footer"));
+        Assert.assertEquals(2, model.count("de", "*"));
+    }
+
+    @Test
+    public void testExpansionModelDrivesTextLengthThresholds() throws Exception {
+        ExpansionModel model = new ExpansionModel();
+        for (int i = 0; i < 50; i++)
+            model.observe("fr", "main", "Add to cart", "Ajouter au panier"); // ty le ~1.55
+        java.io.File file = java.io.File.createTempFile("expansion_model", ".bin");
+        file.deleteOnExit();
+        model.save(file.getAbsolutePath());
+        ExpansionModel loaded = ExpansionModel.load(file.getAbsolutePath());
+        Assert.assertEquals(50, loaded.count("fr", "main"));
+
+        String text = "x".repeat(100); // > 80 nhung < 80 * 1.55
+        Assert.assertEquals(TextChecker.TextLengthStatus.TOO_LONG, TextChecker.checkTextLength(text, "fr").status);
+        try {
+            TextChecker.useExpansionModel(loaded);
+            Assert.assertEquals(TextChecker.TextLengthStatus.WARNING, TextChecker.checkTextLength(text, "fr").status);
+            Assert.assertEquals(15, TextChecker.predictTranslatedLength("x".repeat(10), "fr"));
+            Assert.assertEquals("No samples: constant", 13, TextChecker.predictTranslatedLength("x".repeat(10), "de"));
+        } finally {
+            TextChecker.useExpansionModel(null);
+        }
+    }
+
+    @Test
+    public void testExpansionModelThresholdsPerSection() {
+        ExpansionModel model = new ExpansionModel();
+        for (int i = 0; i < ExpansionModel.MIN_SAMPLES; i++) {
+            model.observe("fr", "footer", "a".repeat(100), "b".repeat(200)); // Footer: x2
+            model.observe("fr", "header", "a".repeat(100), "c".repeat(101));
+        }
+        PageSnapshot page = new PageSnapshot(java.util.Arrays.asList(
+                new PageSnapshot.TextNode("body>footer>p:1", "footer", "x".repeat(100), null, null),
+                new PageSnapshot.TextNode("body>header>p:1", "header", "y".repeat(100), null, null)));
+        try {
+            TextChecker.useExpansionModel(model);
+            Assert.assertEquals(TextChecker.TextLengthStatus.OK,
+                    TextChecker.checkTextLength("x".repeat(100), "fr", "footer").status);
+            Assert.assertEquals(TextChecker.TextLengthStatus.TOO_LONG,
+                    TextChecker.checkTextLength("x".repeat(100), "fr", "header").status);
+
+            List<TextChecker.TextLengthResult> results = TextChecker.checkTextLengths(page, "fr");
+            Assert.assertEquals(1, results.size());
+            Assert.assertEquals("body>header>p:1", results.get(0).elementId);
+        } finally {
+            TextChecker.useExpansionModel(null);
+        }
+    }
+
+    @Test
+    public void testExpansionModelCountsRevisitedNodesOnce() {
+        PageSnapshot english = new PageSnapshot(java.util.Collections.singletonList(
+                new PageSnapshot.TextNode("body>a:1", "header", "Add to cart", null, null)));
+        PageSnapshot french = new PageSnapshot(java.util.Collections.singletonList(
+                new PageSnapshot.TextNode("body>a:1", "header", "Ajouter au panier", null, null)));
+        PageSnapshot changed = new PageSnapshot(java.util.Collections.singletonList(
+                new PageSnapshot.TextNode("body>a:1", "header", "Ajouter", null, null)));
+        ExpansionModel model = new ExpansionModel();
+
+        Assert.assertEquals(1, model.observe("fr", english, french));
+        Assert.assertEquals("Same node, same text", 0, model.observe("fr", english, french));
+        Assert.assertEquals("Text changed", 1, model.observe("fr", english, changed));
+        Assert.assertEquals(2, model.count("fr", "header"));
+    }
+
+    // ==================== LAYOUT ANALYZER TESTS ====================
+
+    private static PageSnapshot.TextNode box(String path, String text, float x, float y, float w, float h,
+            PageSnapshot.Box clip) {
+        return new PageSnapshot.TextNode(path, "body", text, new PageSnapshot.Box(x, y, w, h), clip);
+    }
+
+    @Test
+    public void testLayoutAnalyzerFindsOverlaps() {
+        PageSnapshot snapshot = new PageSnapshot(java.util.Arrays.asList(
+                box("body>nav:1>a:1", "Accueil", 0, 0, 80, 20, null),
+                box("body>nav:1>a:2", "Vetements et accessoires", 70, 0, 200, 20, null), // 10px sur a:1
+                box("body>nav:1>a:3", "Art", 280, 0, 30, 20, null),
+                box("body>p:1", "Livraison gratuite a partir de", 0, 100, 300, 40, null),
+                box("body>p:1>b:1", "50 EUR", 120, 120, 60, 20, null))); // Cung dong van ban
+
+        LayoutAnalyzer.Result result = new LayoutAnalyzer().analyze(snapshot);
+
+        Assert.assertEquals(1, result.overlaps.size());
+        Assert.assertEquals("body>nav:1>a:1|body>nav:1>a:2", result.overlaps.get(0).key());
+        Assert.assertEquals(200, result.overlaps.get(0).area, 0.01);
+        Assert.assertTrue(LayoutAnalyzer.sameFlow("body>p:1~2", "body>p:1>b:1"));
+        Assert.assertFalse(LayoutAnalyzer.sameFlow("body>p:1", "body>p:10"));
+    }
+
+    @Test
+    public void testLayoutAnalyzerFindsPartiallyClippedText() {
+        PageSnapshot.Box button = new PageSnapshot.Box(0, 0, 120, 40);
+        PageSnapshot snapshot = new PageSnapshot(java.util.Arrays.asList(
+                box("body>button:1", "In den Warenkorb", 10, 10, 150, 20, button), // 40px bi cat
+                box("body>button:2", "Kaufen", 10, 10, 60, 20, button),
+                box("body>div.carousel:1>p:2", "Slide 2", 500, 10, 60, 20, button))); // An hoan toan
+
+        List<LayoutAnalyzer.Clipped> clipped = new LayoutAnalyzer().analyze(snapshot).clipped;
+
+        Assert.assertEquals(1, clipped.size());
+        Assert.assertEquals("In den Warenkorb", clipped.get(0).node.text);
+        Assert.assertEquals(110.0 / 150, clipped.get(0).visibleFraction, 0.001);
+    }
+
+    @Test
+    public void testLayoutAnalyzerGridMatchesPairwise() {
+        java.util.Random random = new java.util.Random(7);
+        List<PageSnapshot.TextNode> nodes = new java.util.ArrayList<>();
+        for (int i = 0; i < 6000; i++) {
+            nodes.add(box("body>div:" + i, "t" + i, random.nextInt(4000), random.nextInt(8000),
+                    10 + random.nextInt(150), 12 + random.nextInt(20), null));
+        }
+
+        List<LayoutAnalyzer.Overlap> grid = new LayoutAnalyzer().findOverlaps(nodes);
+
+        int pairwise = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            PageSnapshot.Box a = nodes.get(i).box;
+            for (int j = i + 1; j < nodes.size(); j++) {
+                PageSnapshot.Box b = nodes.get(j).box;
+                float w = Math.min(a.right(), b.right()) - Math.max(a.x, b.x);
+                float h = Math.min(a.bottom(), b.bottom()) - Math.max(a.y, b.y);
+                if (w >= LayoutAnalyzer.MIN_OVERLAP && h >= LayoutAnalyzer.MIN_OVERLAP)
+                    pairwise++;
+            }
+        }
+        Assert.assertTrue(pairwise > 0);
+        Assert.assertEquals(pairwise, grid.size());
+    }
+
+    // ==================== RTL MIRROR VERIFIER TESTS ====================
+
+    private static PageSnapshot.TextNode box(String path, String section, String text, float x, float w) {
+        return new PageSnapshot.TextNode(path, section, text, new PageSnapshot.Box(x, 10, w, 20), null);
+    }
+
+    @Test
+    public void testRtlMirrorVerifierAcceptsMirroredLayout() {
+        PageSnapshot english = new PageSnapshot(java.util.Arrays.asList(
+                box("body>header:1>a.logo:1", "header", "My Store", 20, 100),
+                box("body>header:1>a:2", "header", "Sign in", 900, 80),
+                box("body>main:1>h1:1", "main", "Popular Products", 400, 200))); // Can giua
+        PageSnapshot arabic = new PageSnapshot(java.util.Arrays.asList(
+                box("body>header:1>a.logo:1", "header", "\u0645\u062a\u062c\u0631\u064a", 920, 60), // Mep phai = 1000 - 20
+                box("body>header:1>a:2", "header", "\u062f\u062e\u0648\u0644", 20, 50), // Mep trai = 1000 - 980
+                box("body>main:1>h1:1", "main", "\u0645\u0646\u062a\u062c\u0627\u062a", 430, 140)));
+
+        RtlMirrorVerifier.Result result = new RtlMirrorVerifier().verify(english, arabic, 1000);
+
+        Assert.assertEquals(2, result.checked);
+        Assert.assertEquals(2, result.mirrored);
+        Assert.assertEquals(1, result.skipped);
+        Assert.assertTrue(result.unflippedComponents().isEmpty());
+        Assert.assertEquals(1.0, result.mirroredRatio(), 0.001);
+    }
+
+    @Test
+    public void testRtlMirrorVerifierFlagsUnflippedComponent() {
+        List<PageSnapshot.TextNode> en = new java.util.ArrayList<>();
+        List<PageSnapshot.TextNode> he = new java.util.ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            en.add(box("body>footer:1>a:" + i, "footer", "Link " + i, 20 + 110 * i, 90));
+            he.add(box("body>footer:1>a:" + i, "footer", "\u05e7\u05d9\u05e9\u05d5\u05e8", 20 + 110 * i, 40)); // Van bat dau tu trai
+        }
+        en.add(box("body>nav:1>a:1", "nav", "Clothes", 100, 70));
+        he.add(box("body>nav:1>a:1", "nav", "\u05d1\u05d2\u05d3\u05d9\u05dd", 600, 60)); // Doi cho, khong phai anh guong
+        he.add(box("body>nav:1>a:9", "nav", "\u05d7\u05d3\u05e9", 10, 30)); // Khong co o ban en
+
+        RtlMirrorVerifier.Result result = new RtlMirrorVerifier().verify(new PageSnapshot(en),
+                new PageSnapshot(he), 1200);
+
+        List<RtlMirrorVerifier.Component> unflipped = result.unflippedComponents();
+        Assert.assertEquals(1, unflipped.size());
+        Assert.assertEquals("footer", unflipped.get(0).name);
+        Assert.assertEquals(4, result.notFlipped.size());
+        Assert.assertEquals(1, result.misplaced.size());
+        Assert.assertEquals(RtlMirrorVerifier.Status.MISPLACED, result.misplaced.get(0).status);
+        Assert.assertEquals(1, result.unmatched);
+        Assert.assertEquals(0.0, result.mirroredRatio(), 0.001);
+    }
+
+    // ==================== GLYPH COVERAGE CHECKER TESTS ====================
+
+    private static PageSnapshot.TextNode fontNode(String path, String font, String text) {
+        return new PageSnapshot.TextNode(path, "body", text, font, null, null);
+    }
+
+    @Test
+    public void testGlyphCoverageCollectsDistinctCodePointsPerFont() {
+        PageSnapshot snapshot = new PageSnapshot(java.util.Arrays.asList(
+                fontNode("body>h1:1", "\"Noto Sans JP\", sans-serif", "\u65b0\u5546\u54c1 2024"),
+                fontNode("body>p:1", "\"Noto Sans JP\", sans-serif", "\u65b0\u3057\u3044"),
+                fontNode("body>button:1", "Roboto", "\u30ab\u30c3\u30c8 OK")));
+
+        Map<String, Map<Integer, PageSnapshot.TextNode>> byFont = GlyphCoverageChecker.collect(snapshot,
+                GlyphCoverageChecker.scriptsOf(LanguageConfig.ScriptGroup.CJK));
+
+        Assert.assertEquals(2, byFont.size());
+        Map<Integer, PageSnapshot.TextNode> noto = byFont.get("\"Noto Sans JP\", sans-serif");
+        Assert.assertEquals(5, noto.size()); // 2024 va khoang trang bi bo, \u65b0 chi mot lan
+        Assert.assertEquals("body>h1:1", noto.get(0x65b0).path);
+        Assert.assertEquals(3, byFont.get("Roboto").size());
+        Assert.assertTrue(GlyphCoverageChecker.collect(snapshot,
+                GlyphCoverageChecker.scriptsOf(LanguageConfig.ScriptGroup.LATIN)).isEmpty());
+    }
+
+    @Test
+    public void testGlyphCoverageReportsFallbackAndCachesCoveredCodePoints() {
+        List<String> requested = new java.util.ArrayList<>();
+        org.openqa.selenium.JavascriptExecutor js = new org.openqa.selenium.JavascriptExecutor() {
+            @Override
+            public Object executeScript(String script, Object... args) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Object executeAsyncScript(String script, Object... args) {
+                List<?> specs = (List<?>) args[0];
+                List<Object> out = new java.util.ArrayList<>();
+                for (Object spec : specs) {
+                    String chars = (String) ((List<?>) spec).get(1);
+                    requested.add(chars);
+                    // Font thieu dau viet tat Devanagari "\u0970"
+                    out.add(chars.contains("\u0970") ? java.util.Arrays.asList("\u0970")
+                            : java.util.Collections.emptyList());
+                }
+                return out;
+            }
+        };
+        GlyphCoverageChecker checker = new GlyphCoverageChecker();
+        LanguageConfig hindi = LanguageConfig.get("hi");
+
+        GlyphCoverageChecker.Result first = checker.check(js, new PageSnapshot(java.util.Arrays.asList(
+                fontNode("body>p:1", "Mukta", "\u0915\u0940\u092e\u0924 100 \u0970"))), hindi);
+
+        Assert.assertEquals(5, first.codePoints);
+        Assert.assertEquals(5, first.measured);
+        Assert.assertEquals(1, first.missing.size());
+        Assert.assertEquals(0x0970, first.missing.get(0).codePoint);
+        Assert.assertEquals(4, checker.coveredCount("Mukta"));
+
+        GlyphCoverageChecker.Result second = checker.check(js, new PageSnapshot(java.util.Arrays.asList(
+                fontNode("body>p:1", "Mukta", "\u0915\u0940\u092e\u0924"))), hindi);
+
+        Assert.assertEquals(4, second.cached);
+        Assert.assertEquals(0, second.measured);
+        Assert.assertEquals(1, requested.size()); // Trang thu hai khong goi JS
+
+        // Phien trinh duyet moi (ngon ngu tiep theo): cache van dung, chi do ky tu moi
+        GlyphCoverageChecker.Result third = checker.check(js, new PageSnapshot(java.util.Arrays.asList(
+                fontNode("body>p:1", "Mukta", "\u0915\u0940\u0928"))), hindi);
+
+        Assert.assertEquals(2, third.cached);
+        Assert.assertEquals(1, third.measured);
+        Assert.assertEquals("\u0928", requested.get(1));
+    }
+
+    // ==================== VIEWPORT SWEEP TESTS ====================
+
+    @Test
+    public void testViewportSweepParsesBreakpoints() {
+        List<ViewportSweep.Viewport> viewports = ViewportSweep.parse(" 375x812, 768X1024,abc,1280x, 1366x768");
+
+        Assert.assertEquals(3, viewports.size());
+        Assert.assertEquals(375, viewports.get(0).width);
+        Assert.assertEquals(812, viewports.get(0).height);
+        Assert.assertTrue(viewports.get(0).mobile);
+        Assert.assertTrue(viewports.get(1).mobile);
+        Assert.assertFalse(viewports.get(2).mobile);
+        Assert.assertEquals(Boolean.TRUE, viewports.get(0).toCdpParams().get("mobile"));
+        Assert.assertEquals(1366, viewports.get(2).toCdpParams().get("width"));
+        Assert.assertTrue(ViewportSweep.parse("").isEmpty());
+        Assert.assertEquals(3, ViewportSweep.DEFAULT_VIEWPORTS.size());
+    }
+
+    @Test
+    public void testMeasureOverflowUsesCheckElementOverflowCriteria() {
+        org.openqa.selenium.JavascriptExecutor js = new org.openqa.selenium.JavascriptExecutor() {
+            @Override
+            public Object executeScript(String script, Object... args) {
+                return java.util.Arrays.asList(
+                        java.util.Arrays.asList(".btn", "In den Warenkorb legen", 120L, 168L, 0L),
+                        java.util.Arrays.asList(".btn", "Kaufen", 120L, 120L, 1L),
+                        java.util.Arrays.asList("h1", "Hi", 40L, 90L, 0L)); // Qua ngan: bo qua
+            }
+
+            @Override
+            public Object executeAsyncScript(String script, Object... args) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        List<TextChecker.TextOverflowResult> results = TextChecker.measureOverflow(js,
+                TextChecker.CRITICAL_SELECTORS);
+
+        Assert.assertEquals(2, results.size());
+        Assert.assertTrue(results.get(0).isOverflowing);
+        Assert.assertEquals(1.4, results.get(0).overflowRatio, 0.001);
+        Assert.assertFalse(results.get(1).isOverflowing);
+        Assert.assertEquals("Key ignores the translated text", ".btn#0", results.get(0).key());
+        Assert.assertEquals(".btn#1", results.get(1).key());
+    }
+
     // ==================== LANGUAGE CONFIG TESTS ====================
 
     @Test
@@ -437,4 +1767,246 @@ public class LocalizationUnitTest {
             Assert.assertTrue("All should have isRTL = true", config.isRTL);
         }
     }
+
+    @Test
+    public void testGetByScriptGroupUsesPrecomputedIndex() {
+        List<LanguageConfig> cjk = LanguageConfig.getByScriptGroup(LanguageConfig.ScriptGroup.CJK);
+
+        Assert.assertTrue("CJK group should contain ja", cjk.contains(LanguageConfig.get("ja")));
+        Assert.assertSame("Repeated calls should return the same snapshot list", cjk,
+                LanguageConfig.getByScriptGroup(LanguageConfig.ScriptGroup.CJK));
+        try {
+            cjk.add(LanguageConfig.get("en"));
+            Assert.fail("Snapshot lists should be immutable");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void testGetDatePatternIsPrecompiled() {
+        java.util.regex.Pattern pattern = LanguageConfig.getDatePattern("de");
+
+        Assert.assertNotNull("Should have compiled pattern for de", pattern);
+        Assert.assertTrue("German date should match", pattern.matcher("15.01.2024").matches());
+        Assert.assertNull("Unknown language should have no pattern", LanguageConfig.getDatePattern("zz"));
+    }
+
+    @Test
+    public void testLoadFromJsonSwapsSnapshot() throws Exception {
+        java.io.File json = java.io.File.createTempFile("l10n_config", ".json");
+        json.deleteOnExit();
+        java.nio.file.Files.write(json.toPath(), ("{\"xr\": {\"languageName\": \"Test RTL\", "
+                + "\"datePattern\": \"\\\\d{4}-\\\\d{2}-\\\\d{2}\", \"decimalSeparator\": \".\", "
+                + "\"thousandSeparator\": \",\", \"isRTL\": true, \"testGroup\": \"RTL\", "
+                + "\"expectedKeywords\": []}}").getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        List<LanguageConfig> rtlBefore = LanguageConfig.getRTLLanguages();
+        Runnable restore = LanguageConfig.checkpoint();
+        try {
+            LanguageConfig.loadFromJson(json.getAbsolutePath());
+
+            LanguageConfig loaded = LanguageConfig.get("xr");
+            Assert.assertNotNull("Loaded language should be available", loaded);
+            Assert.assertEquals("Code should default to the JSON key", "xr", loaded.code);
+            Assert.assertEquals("Derived decimal type should be filled", LanguageConfig.DecimalSeparatorType.DOT,
+                    loaded.decimalSeparatorType);
+            Assert.assertTrue("RTL index should include loaded language", LanguageConfig.getRTLLanguages().contains(loaded));
+            Assert.assertFalse("Old snapshot should not be mutated", rtlBefore.contains(loaded));
+            Assert.assertTrue("Date pattern should be compiled on reload",
+                    LanguageConfig.getDatePattern("xr").matcher("2024-01-15").matches());
+            Assert.assertNotNull("Built-in languages should be kept", LanguageConfig.get("fr"));
+        } finally {
+            restore.run();
+        }
+        Assert.assertNull("Temporary language is gone after the test", LanguageConfig.get("xr"));
+    }
+
+    // ==================== LANGUAGE CONFIG GENERATOR TESTS ====================
+
+    @Test
+    public void testGenerateFromLocaleData() {
+        LanguageConfig de = LanguageConfigGenerator.generate("de");
+
+        Assert.assertEquals("German decimal separator should be comma", ",", de.decimalSeparator);
+        Assert.assertEquals("German grouping separator should be dot", ".", de.thousandSeparator);
+        Assert.assertEquals("German currency should be Euro", "€", de.primaryCurrency);
+        Assert.assertEquals("German should be LATIN_COMMA", LanguageConfig.TestGroup.LATIN_COMMA, de.testGroup);
+        Assert.assertTrue("Generated date regex should match German date",
+                "15.01.24".matches(de.datePattern));
+    }
+
+    @Test
+    public void testGenerateMapsPrestaShopCodes() {
+        Assert.assertEquals("tw should map to zh-TW", "zh-TW", LanguageConfigGenerator.localeFor("tw").toLanguageTag());
+        Assert.assertEquals("mx should map to es-MX", "es-MX", LanguageConfigGenerator.localeFor("mx").toLanguageTag());
+        Assert.assertEquals("tw uses dot decimal in CLDR", ".", LanguageConfigGenerator.generate("tw").decimalSeparator);
+    }
+
+    @Test
+    public void testToDateRegex() {
+        String regex = LanguageConfigGenerator.toDateRegex("dd/MM/y", '0');
+        Assert.assertTrue("Should match DMY date", "15/01/2024".matches(regex));
+        Assert.assertFalse("Should not match ISO date", "2024-01-15".matches(regex));
+
+        String quoted = LanguageConfigGenerator.toDateRegex("y'年'M'月'd'日'", '0');
+        Assert.assertTrue("Quoted literals should be kept", "2024年1月15日".matches(quoted));
+    }
+
+    @Test
+    public void testMergeHandWrittenOverridesGenerated() {
+        LanguageConfig generated = LanguageConfigGenerator.generate("fr");
+        // Entry viet tay chi co mot so truong (vd: tu JSON)
+        LanguageConfig override = new com.google.gson.Gson().fromJson(
+                "{\"code\": \"fr\", \"primaryCurrency\": \"CHF\"}", LanguageConfig.class);
+
+        LanguageConfig merged = LanguageConfigGenerator.merge(generated, override);
+
+        Assert.assertEquals("Override should win", "CHF", merged.primaryCurrency);
+        Assert.assertEquals("Missing override fields should come from CLDR", generated.decimalSeparator,
+                merged.decimalSeparator);
+    }
+
+    @Test
+    public void testLoadOrGenerateWritesCache() throws Exception {
+        java.io.File cache = java.io.File.createTempFile("l10n_cldr", ".bin");
+        cache.delete();
+        cache.deleteOnExit();
+
+        Map<String, LanguageConfig> first = LanguageConfigGenerator.loadOrGenerate(cache.getAbsolutePath(),
+                java.util.Arrays.asList("de", "th"));
+        Assert.assertTrue("Cache file should be written", cache.isFile());
+
+        Map<String, LanguageConfig> second = LanguageConfigGenerator.loadOrGenerate(cache.getAbsolutePath(),
+                java.util.Arrays.asList("th"));
+        Assert.assertEquals("Cached value should be reused", first.get("th").decimalSeparator,
+                second.get("th").decimalSeparator);
+        Assert.assertEquals("th should be THAI script", LanguageConfig.ScriptGroup.THAI, second.get("th").scriptGroup);
+    }
+
+    @Test
+    public void testLoadGeneratedMergesIntoRegistry() throws Exception {
+        java.io.File cache = java.io.File.createTempFile("l10n_cldr", ".bin");
+        cache.delete();
+        cache.deleteOnExit();
+        LanguageConfig handWritten = LanguageConfig.get("fr");
+
+        Runnable restore = LanguageConfig.checkpoint();
+        try {
+            Assert.assertFalse(LanguageConfig.isSupported("th"));
+            LanguageConfig.loadGenerated(cache.getAbsolutePath(), "th");
+
+            LanguageConfig th = LanguageConfig.get("th");
+            Assert.assertNotNull("Extra code should be generated from CLDR", th);
+            Assert.assertEquals(LanguageConfig.ScriptGroup.THAI, th.scriptGroup);
+            Assert.assertNotNull("Generated date pattern should be compiled", LanguageConfig.getDatePattern("th"));
+
+            LanguageConfig fr = LanguageConfig.get("fr");
+            Assert.assertEquals("Hand-written fields win", handWritten.languageName, fr.languageName);
+            Assert.assertEquals(handWritten.datePattern, fr.datePattern);
+            Assert.assertEquals(handWritten.decimalSeparator, fr.decimalSeparator);
+            Assert.assertTrue("Cache file should be written", cache.isFile());
+        } finally {
+            restore.run();
+        }
+        Assert.assertFalse("Generated language is gone after the test", LanguageConfig.isSupported("th"));
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+        java.io.File file = java.io.File.createTempFile("l10n_config", ".bin");
+        file.deleteOnExit();
+
+        Map<String, LanguageConfig> configs = new java.util.LinkedHashMap<>();
+        configs.put("fr", LanguageConfig.get("fr"));
+        configs.put("ar", LanguageConfig.get("ar"));
+        LanguageConfigSnapshot.write(file.getAbsolutePath(), configs, "test");
+
+        LanguageConfigSnapshot snapshot = LanguageConfigSnapshot.open(file.getAbsolutePath());
+        Assert.assertEquals("Tag should be kept", "test", snapshot.tag());
+        Assert.assertArrayEquals("Codes should keep order", new String[] { "fr", "ar" }, snapshot.codes());
+        Assert.assertFalse("Unknown code should not be found", snapshot.contains("xx"));
+        Assert.assertNull("Unknown code should return null", snapshot.get("xx"));
+
+        LanguageConfig ar = snapshot.get("ar");
+        LanguageConfig original = LanguageConfig.get("ar");
+        Assert.assertEquals(original.primaryCurrency, ar.primaryCurrency);
+        Assert.assertEquals(original.datePattern, ar.datePattern);
+        Assert.assertEquals(original.decimalSeparator, ar.decimalSeparator);
+        Assert.assertArrayEquals(original.expectedKeywords, ar.expectedKeywords);
+        Assert.assertTrue("ar should stay RTL", ar.isRTL);
+        Assert.assertEquals(original.testGroup, ar.testGroup);
+        Assert.assertSame("Decoded record should be reused", ar, snapshot.get("ar"));
+    }
+
+    @Test
+    public void testSnapshotOpenReadsOnlyIndex() throws Exception {
+        java.io.File file = java.io.File.createTempFile("l10n_config", ".bin");
+        file.deleteOnExit();
+        Map<String, LanguageConfig> configs = new java.util.LinkedHashMap<>();
+        configs.put("fr", LanguageConfig.get("fr"));
+        configs.put("ar", LanguageConfig.get("ar"));
+        LanguageConfigSnapshot.write(file.getAbsolutePath(), configs, "test");
+
+        LanguageConfigSnapshot snapshot = LanguageConfigSnapshot.open(file.getAbsolutePath());
+        // Cat ban ghi cuoi sau khi mo: ban ghi khac van doc duoc
+        try (java.io.RandomAccessFile raf = new java.io.RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 4);
+        }
+        LanguageConfig fr = snapshot.get("fr");
+        Assert.assertEquals(LanguageConfig.get("fr").datePattern, fr.datePattern);
+        try {
+            snapshot.get("ar");
+            Assert.fail("Truncated record is only read on demand");
+        } catch (java.io.UncheckedIOException expected) {
+            // Ban ghi hong chi lo ra khi get
+        }
+
+        java.util.regex.Pattern pattern = LanguageConfig.getDatePattern(fr);
+        Assert.assertNotNull("Decoded config outside the registry compiles its own pattern", pattern);
+        Assert.assertEquals(fr.datePattern, pattern.pattern());
+        Assert.assertTrue(DateChecker.validateDate("15/01/2024", fr).isValid);
+    }
+
+    // ==================== LOGGER TESTS ====================
+
+    @Test
+    public void testLoggerToAscii() {
+        Assert.assertEquals("ASCII text should be unchanged", "Price: 10.00", L10nLogger.toAscii("Price: 10.00"));
+        Assert.assertEquals("Currency symbols should map to ISO codes", "10,00 EUR", L10nLogger.toAscii("10,00 €"));
+        Assert.assertEquals("Other non-ASCII should become '?'", "Fran?ais", L10nLogger.toAscii("Français"));
+        Assert.assertEquals("Null should become empty string", "", L10nLogger.toAscii(null));
+    }
+
+    @Test
+    public void testLoggerFileOutputFromEvents() throws Exception {
+        java.io.File logFile = java.io.File.createTempFile("l10n_logger", ".txt");
+        logFile.deleteOnExit();
+
+        java.io.ByteArrayOutputStream console = new java.io.ByteArrayOutputStream();
+        java.io.PrintStream originalOut = System.out;
+        L10nLogger.flush();
+        System.setOut(new java.io.PrintStream(console, true, "UTF-8"));
+        try {
+            L10nLogger.openFile(logFile.getAbsolutePath());
+            L10nLogger.setContext("fr", "Homepage", "HEADER");
+            L10nLogger.info("[OK] Gia: 10,00 €");
+            L10nLogger.report("Chi ghi vao file");
+            L10nLogger.console(L10nLogger.Level.INFO, "Chi in ra console");
+            L10nLogger.closeFile();
+        } finally {
+            L10nLogger.flush();
+            System.setOut(originalOut);
+            L10nLogger.clearContext();
+        }
+
+        List<String> printed = java.util.Arrays.asList(console.toString("UTF-8").split("\\R"));
+        Assert.assertEquals("Console should get ASCII text and console-only events",
+                java.util.Arrays.asList("[OK] Gia: 10,00 EUR", "Chi in ra console"), printed);
+
+        List<String> lines = java.nio.file.Files.readAllLines(logFile.toPath(),
+                java.nio.charset.StandardCharsets.UTF_8);
+        Assert.assertEquals("File should contain only file-targeted events", 2, lines.size());
+        Assert.assertEquals("File should keep original Unicode text", "[OK] Gia: 10,00 €", lines.get(0));
+        Assert.assertEquals("Report event should be written", "Chi ghi vao file", lines.get(1));
+    }
 }